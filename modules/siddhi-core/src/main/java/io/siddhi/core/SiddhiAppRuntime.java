@@ -23,6 +23,7 @@ import io.siddhi.core.aggregation.AggregationRuntime;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.debugger.SiddhiDebugger;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.exception.DefinitionNotExistException;
@@ -58,6 +59,7 @@ import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.persistence.util.PersistenceHelper;
 import io.siddhi.core.util.snapshot.PersistenceReference;
 import io.siddhi.core.util.statistics.BufferedEventsTracker;
+import io.siddhi.core.util.statistics.GaugeTracker;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.window.Window;
@@ -85,6 +87,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 /**
@@ -122,6 +125,7 @@ public class SiddhiAppRuntime {
     private Map<String, SiddhiAppRuntime> siddhiAppRuntimeMap;
     private MemoryUsageTracker memoryUsageTracker;
     private BufferedEventsTracker bufferedEventsTracker;
+    private GaugeTracker gaugeTracker;
     private LatencyTracker storeQueryLatencyTracker;
     private SiddhiDebugger siddhiDebugger;
     private boolean running = false;
@@ -173,8 +177,10 @@ public class SiddhiAppRuntime {
         }
         for (Map.Entry<String, List<Source>> sourceEntries : sourceMap.entrySet()) {
             InputHandler inputHandler = getInputHandler(sourceEntries.getKey());
+            StreamJunction streamJunction = streamJunctionMap.get(sourceEntries.getKey());
             for (Source source : sourceEntries.getValue()) {
                 source.getMapper().setInputHandler(inputHandler);
+                streamJunction.addSource(source);
             }
         }
     }
@@ -705,6 +711,11 @@ public class SiddhiAppRuntime {
                 .getStatisticsConfiguration()
                 .getFactory()
                 .createBufferSizeTracker(siddhiAppContext.getStatisticsManager());
+        gaugeTracker = siddhiAppContext
+                .getSiddhiContext()
+                .getStatisticsConfiguration()
+                .getFactory()
+                .createGaugeTracker(siddhiAppContext.getStatisticsManager());
         for (Map.Entry<String, StreamJunction> entry : streamJunctionMap.entrySet()) {
             registerForBufferedEvents(entry);
         }
@@ -715,27 +726,48 @@ public class SiddhiAppRuntime {
                 registerForBufferedEvents(streamJunctionEntry);
             }
         }
+        for (Map.Entry<String, StreamEventPool> entry : siddhiAppContext.getStreamEventPoolMap().entrySet()) {
+            registerGauge(entry.getValue()::getBufferedEventsSize, SiddhiConstants.METRIC_INFIX_EVENT_POOLS,
+                    entry.getKey(), "size");
+        }
     }
 
     private void registerForBufferedEvents(Map.Entry<String, StreamJunction> entry) {
-        if (entry.getValue().containsBufferedEvents()) {
-            String metricName = siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
-                    SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI_APPS +
-                    SiddhiConstants.METRIC_DELIMITER + getName() + SiddhiConstants.METRIC_DELIMITER +
-                    SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
-                    SiddhiConstants.METRIC_INFIX_STREAMS + SiddhiConstants.METRIC_DELIMITER +
-                    entry.getKey() + SiddhiConstants.METRIC_DELIMITER + "size";
-            boolean matchExist = false;
-            for (String regex : siddhiAppContext.getIncludedMetrics()) {
-                if (metricName.matches(regex)) {
-                    matchExist = true;
-                    break;
-                }
+        StreamJunction streamJunction = entry.getValue();
+        if (streamJunction.containsBufferedEvents()) {
+            String metricName = getMetricName(SiddhiConstants.METRIC_INFIX_STREAMS, entry.getKey(), "size");
+            if (isMetricIncluded(metricName)) {
+                bufferedEventsTracker.registerEventBufferHolder(streamJunction, metricName);
             }
-            if (matchExist) {
-                bufferedEventsTracker.registerEventBufferHolder(entry.getValue(), metricName);
+        }
+        if (streamJunction.isBatchSizeAdaptive()) {
+            registerGauge(streamJunction::getAdaptiveBatchSize, SiddhiConstants.METRIC_INFIX_STREAMS, entry.getKey(),
+                    "batch.size");
+        }
+    }
+
+    private void registerGauge(LongSupplier valueSupplier, String type, String name, String function) {
+        String metricName = getMetricName(type, name, function);
+        if (isMetricIncluded(metricName)) {
+            gaugeTracker.registerGauge(valueSupplier, metricName);
+        }
+    }
+
+    private String getMetricName(String type, String name, String function) {
+        return siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
+                SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI_APPS +
+                SiddhiConstants.METRIC_DELIMITER + getName() + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER + type +
+                SiddhiConstants.METRIC_DELIMITER + name + SiddhiConstants.METRIC_DELIMITER + function;
+    }
+
+    private boolean isMetricIncluded(String metricName) {
+        for (String regex : siddhiAppContext.getIncludedMetrics()) {
+            if (metricName.matches(regex)) {
+                return true;
             }
         }
+        return false;
     }
 
     public void handleExceptionWith(ExceptionHandler<Object> exceptionHandler) {
@@ -19,6 +19,7 @@ package io.siddhi.core;
 
 import io.siddhi.core.config.SiddhiContext;
 import io.siddhi.core.config.StatisticsConfiguration;
+import io.siddhi.core.config.ThreadType;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.stream.input.source.SourceHandlerManager;
 import io.siddhi.core.stream.output.sink.SinkHandlerManager;
@@ -194,6 +195,17 @@ public class SiddhiManager {
         siddhiContext.setStatisticsConfiguration(statisticsConfiguration);
     }
 
+    /**
+     * Method to set the type of threads backing the executor services of the Siddhi apps created hereafter, unless
+     * overridden by the app via @app:execution(threads='...'). {@link ThreadType#VIRTUAL} requires Java 21 or above,
+     * and falls back to platform threads on older JVMs.
+     *
+     * @param threadType Thread type to be used.
+     */
+    public void setThreadType(ThreadType threadType) {
+        siddhiContext.setThreadType(threadType);
+    }
+
     /**
      * Method used to get all SiddhiAppRuntimes
      *
@@ -26,6 +26,7 @@ import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.util.IncrementalTimeConverterUtil;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.query.api.aggregation.TimePeriod;
 
 import java.util.HashMap;
@@ -43,7 +44,7 @@ public class IncrementalDataAggregator {
     private final List<TimePeriod.Duration> incrementalDurations;
     private final TimePeriod.Duration aggregateForDuration;
     private final BaseIncrementalValueStore baseIncrementalValueStore;
-    private final Map<String, BaseIncrementalValueStore> baseIncrementalValueStoreGroupByMap;
+    private final Map<CompositeKey, BaseIncrementalValueStore> baseIncrementalValueStoreGroupByMap;
 
     public IncrementalDataAggregator(List<TimePeriod.Duration> incrementalDurations,
                                      TimePeriod.Duration aggregateForDuration, long oldestEventTimeStamp,
@@ -66,13 +67,13 @@ public class IncrementalDataAggregator {
             IncrementalExecutor incrementalExecutor = incrementalExecutorMap.get(duration);
 
             BaseIncrementalValueStore baseIncrementalValueStore = incrementalExecutor.getBaseIncrementalValueStore();
-            Map<String, BaseIncrementalValueStore> baseIncrementalValueStoreGroupByMap = null;
+            Map<CompositeKey, BaseIncrementalValueStore> baseIncrementalValueStoreGroupByMap = null;
             if (incrementalExecutor.getBaseIncrementalValueStoreGroupByMap() != null) {
                 baseIncrementalValueStoreGroupByMap
                         = new HashMap<>(incrementalExecutor.getBaseIncrementalValueStoreGroupByMap());
             }
             if (baseIncrementalValueStoreGroupByMap != null) {
-                for (Map.Entry<String, BaseIncrementalValueStore> entry :
+                for (Map.Entry<CompositeKey, BaseIncrementalValueStore> entry :
                         baseIncrementalValueStoreGroupByMap.entrySet()) {
                     BaseIncrementalValueStore aBaseIncrementalValueStore = entry.getValue();
                     if (aBaseIncrementalValueStore.isProcessed()) {
@@ -88,14 +89,15 @@ public class IncrementalDataAggregator {
         return createEventChunkFromAggregatedData();
     }
 
-    private void processInMemoryAggregates(StreamEvent streamEvent, long timestamp, String groupByKey) {
+    private void processInMemoryAggregates(StreamEvent streamEvent, long timestamp, CompositeKey groupByKey) {
         long startTimeOfAggregates = IncrementalTimeConverterUtil.getStartTimeOfAggregates(timestamp,
                 aggregateForDuration);
         synchronized (this) {
             if (groupByKey != null) {
                 BaseIncrementalValueStore aBaseIncrementalValueStore =
                         this.baseIncrementalValueStoreGroupByMap.computeIfAbsent(
-                                groupByKey, k -> baseIncrementalValueStore.cloneStore(k, startTimeOfAggregates));
+                                groupByKey,
+                                k -> baseIncrementalValueStore.cloneStore(k.toString(), startTimeOfAggregates));
                 process(streamEvent, aBaseIncrementalValueStore);
             } else {
                 process(streamEvent, this.baseIncrementalValueStore);
@@ -133,7 +135,7 @@ public class IncrementalDataAggregator {
                 processedInMemoryEventChunk.add(this.baseIncrementalValueStore.createStreamEvent());
             }
         } else {
-            for (Map.Entry<String, BaseIncrementalValueStore> entryAgainstGroupBy :
+            for (Map.Entry<CompositeKey, BaseIncrementalValueStore> entryAgainstGroupBy :
                     baseIncrementalValueStoreGroupByMap.entrySet()) {
                 processedInMemoryEventChunk.add(entryAgainstGroupBy.getValue().createStreamEvent());
             }
@@ -27,10 +27,12 @@ import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.selector.GroupByKeyGenerator;
-import io.siddhi.core.query.selector.attribute.processor.executor.GroupByAggregationAttributeExecutor;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.IncrementalTimeConverterUtil;
 import io.siddhi.core.util.Scheduler;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.CompositeKey;
+import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.snapshot.Snapshotable;
 import io.siddhi.query.api.aggregation.TimePeriod;
 import org.apache.log4j.Logger;
@@ -64,7 +66,7 @@ public class IncrementalExecutor implements Executor, Snapshotable {
     private SiddhiAppContext siddhiAppContext;
 
     private BaseIncrementalValueStore baseIncrementalValueStore = null;
-    private Map<String, BaseIncrementalValueStore> baseIncrementalValueStoreGroupByMap = null;
+    private Map<CompositeKey, BaseIncrementalValueStore> baseIncrementalValueStoreGroupByMap = null;
 
     public IncrementalExecutor(TimePeriod.Duration duration, List<ExpressionExecutor> processExpressionExecutors,
                                GroupByKeyGenerator groupByKeyGenerator, MetaStreamEvent metaStreamEvent,
@@ -77,7 +79,8 @@ public class IncrementalExecutor implements Executor, Snapshotable {
         this.table = table;
         this.siddhiAppContext = siddhiAppContext;
         this.aggregatorName = aggregatorName;
-        this.streamEventPool = new StreamEventPool(metaStreamEvent, 10);
+        this.streamEventPool = QueryParserHelper.createStreamEventPool(metaStreamEvent, 10,
+                aggregatorName + SiddhiConstants.METRIC_DELIMITER + duration, siddhiAppContext);
         this.timestampExpressionExecutor = processExpressionExecutors.remove(0);
         this.baseIncrementalValueStore = new BaseIncrementalValueStore(-1, processExpressionExecutors,
                 streamEventPool, siddhiAppContext, aggregatorName, shouldUpdateExpressionExecutor);
@@ -174,16 +177,11 @@ public class IncrementalExecutor implements Executor, Snapshotable {
     private void processAggregates(StreamEvent streamEvent) {
         synchronized (this) {
             if (isGroupBy) {
-                try {
-                    String groupedByKey = groupByKeyGenerator.constructEventKey(streamEvent);
-                    GroupByAggregationAttributeExecutor.getKeyThreadLocal().set(groupedByKey);
-                    BaseIncrementalValueStore aBaseIncrementalValueStore = baseIncrementalValueStoreGroupByMap
-                            .computeIfAbsent(groupedByKey,
-                                    k -> baseIncrementalValueStore.cloneStore(k, startTimeOfAggregates));
-                    process(streamEvent, aBaseIncrementalValueStore);
-                } finally {
-                    GroupByAggregationAttributeExecutor.getKeyThreadLocal().remove();
-                }
+                CompositeKey groupedByKey = groupByKeyGenerator.constructEventKey(streamEvent);
+                BaseIncrementalValueStore aBaseIncrementalValueStore = baseIncrementalValueStoreGroupByMap
+                        .computeIfAbsent(groupedByKey,
+                                k -> baseIncrementalValueStore.cloneStore(k.toString(), startTimeOfAggregates));
+                process(streamEvent, aBaseIncrementalValueStore);
             } else {
                 process(streamEvent, baseIncrementalValueStore);
             }
@@ -239,7 +237,7 @@ public class IncrementalExecutor implements Executor, Snapshotable {
         cleanBaseIncrementalValueStore(startTimeOfNewAggregates, aBaseIncrementalValueStore);
     }
 
-    private void dispatchEvents(Map<String, BaseIncrementalValueStore> baseIncrementalValueGroupByStore) {
+    private void dispatchEvents(Map<CompositeKey, BaseIncrementalValueStore> baseIncrementalValueGroupByStore) {
         int noOfEvents = baseIncrementalValueGroupByStore.size();
         if (noOfEvents > 0) {
             ComplexEventChunk<StreamEvent> eventChunk = new ComplexEventChunk<>(true);
@@ -274,7 +272,7 @@ public class IncrementalExecutor implements Executor, Snapshotable {
     }
 
 
-    Map<String, BaseIncrementalValueStore> getBaseIncrementalValueStoreGroupByMap() {
+    Map<CompositeKey, BaseIncrementalValueStore> getBaseIncrementalValueStoreGroupByMap() {
         return baseIncrementalValueStoreGroupByMap;
     }
 
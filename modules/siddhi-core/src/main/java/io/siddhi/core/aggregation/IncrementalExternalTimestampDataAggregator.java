@@ -25,6 +25,7 @@ import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.selector.GroupByKeyGenerator;
+import io.siddhi.core.util.collection.CompositeKey;
 
 import java.util.HashMap;
 import java.util.List;
@@ -38,7 +39,7 @@ public class IncrementalExternalTimestampDataAggregator {
 
     private final GroupByKeyGenerator groupByKeyGenerator;
     private final BaseIncrementalValueStore baseIncrementalValueStore;
-    private final Map<String, BaseIncrementalValueStore> baseIncrementalValueGroupByStore;
+    private final Map<CompositeKey, BaseIncrementalValueStore> baseIncrementalValueGroupByStore;
 
     public IncrementalExternalTimestampDataAggregator(List<ExpressionExecutor> baseExecutors,
                                                       GroupByKeyGenerator groupByKeyGenerator,
@@ -59,10 +60,10 @@ public class IncrementalExternalTimestampDataAggregator {
 
         while (retrievedData.hasNext()) {
             StreamEvent streamEvent = retrievedData.next();
-            String groupByKey = groupByKeyGenerator.constructEventKey(streamEvent);
+            CompositeKey groupByKey = groupByKeyGenerator.constructEventKey(streamEvent);
             BaseIncrementalValueStore baseIncrementalValueStore = baseIncrementalValueGroupByStore
                     .computeIfAbsent(
-                            groupByKey, k -> this.baseIncrementalValueStore.cloneStore(k, -1)
+                            groupByKey, k -> this.baseIncrementalValueStore.cloneStore(k.toString(), -1)
                     );
             process(streamEvent, baseIncrementalValueStore);
         }
@@ -94,7 +95,7 @@ public class IncrementalExternalTimestampDataAggregator {
 
     private ComplexEventChunk<StreamEvent> createEventChunkFromAggregatedData() {
         ComplexEventChunk<StreamEvent> processedInMemoryEventChunk = new ComplexEventChunk<>(true);
-        for (Map.Entry<String, BaseIncrementalValueStore> entryAgainstTime :
+        for (Map.Entry<CompositeKey, BaseIncrementalValueStore> entryAgainstTime :
                 baseIncrementalValueGroupByStore.entrySet()) {
             processedInMemoryEventChunk.add(entryAgainstTime.getValue().createStreamEvent());
         }
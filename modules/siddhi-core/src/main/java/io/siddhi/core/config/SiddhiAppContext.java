@@ -19,6 +19,7 @@
 package io.siddhi.core.config;
 
 import com.lmax.disruptor.ExceptionHandler;
+import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.function.Script;
 import io.siddhi.core.util.ElementIdGenerator;
 import io.siddhi.core.util.Scheduler;
@@ -33,6 +34,7 @@ import java.beans.ExceptionListener;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +53,7 @@ public class SiddhiAppContext {
     private boolean statsEnabled = false;
     private StatisticsManager statisticsManager = null;
 
+    private ThreadType threadType = ThreadType.PLATFORM;
     private ExecutorService executorService;
     private ScheduledExecutorService scheduledExecutorService;
     private List<EternalReferencedHolder> eternalReferencedHolders;
@@ -67,11 +70,19 @@ public class SiddhiAppContext {
     private List<String> includedMetrics;
     private boolean transportChannelCreationEnabled;
     private List<Scheduler> schedulerList;
+    private int eventPoolSize = -1;
+    private boolean eventPoolThreadLocalCache = false;
+    private boolean expressionCompilationEnabled = false;
+    private boolean adaptiveConditionOrderEnabled = false;
+    private int groupByShards = 1;
+    private boolean windowIndexEnabled = true;
+    private Map<String, StreamEventPool> streamEventPoolMap;
 
     public SiddhiAppContext() {
         this.eternalReferencedHolders = Collections.synchronizedList(new LinkedList<>());
         this.scriptFunctionMap = new HashMap<String, Script>();
         this.schedulerList = new ArrayList<Scheduler>();
+        this.streamEventPoolMap = new LinkedHashMap<String, StreamEventPool>();
     }
 
     public SiddhiContext getSiddhiContext() {
@@ -146,6 +157,14 @@ public class SiddhiAppContext {
         this.threadBarrier = threadBarrier;
     }
 
+    public ThreadType getThreadType() {
+        return threadType;
+    }
+
+    public void setThreadType(ThreadType threadType) {
+        this.threadType = threadType;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -249,4 +268,65 @@ public class SiddhiAppContext {
     public List<Scheduler> getSchedulerList() {
         return schedulerList;
     }
+
+    /**
+     * @return the pool size configured via @app:eventPool, or -1 when the component defaults should be used
+     */
+    public int getEventPoolSize() {
+        return eventPoolSize;
+    }
+
+    public void setEventPoolSize(int eventPoolSize) {
+        this.eventPoolSize = eventPoolSize;
+    }
+
+    public boolean isEventPoolThreadLocalCache() {
+        return eventPoolThreadLocalCache;
+    }
+
+    public void setEventPoolThreadLocalCache(boolean eventPoolThreadLocalCache) {
+        this.eventPoolThreadLocalCache = eventPoolThreadLocalCache;
+    }
+
+    public synchronized void addStreamEventPool(String name, StreamEventPool streamEventPool) {
+        if (!streamEventPoolMap.containsKey(name)) {
+            streamEventPoolMap.put(name, streamEventPool);
+        }
+    }
+
+    public synchronized Map<String, StreamEventPool> getStreamEventPoolMap() {
+        return new LinkedHashMap<String, StreamEventPool>(streamEventPoolMap);
+    }
+
+    public boolean isExpressionCompilationEnabled() {
+        return expressionCompilationEnabled;
+    }
+
+    public void setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+        this.expressionCompilationEnabled = expressionCompilationEnabled;
+    }
+
+    public boolean isAdaptiveConditionOrderEnabled() {
+        return adaptiveConditionOrderEnabled;
+    }
+
+    public void setAdaptiveConditionOrderEnabled(boolean adaptiveConditionOrderEnabled) {
+        this.adaptiveConditionOrderEnabled = adaptiveConditionOrderEnabled;
+    }
+
+    public int getGroupByShards() {
+        return groupByShards;
+    }
+
+    public void setGroupByShards(int groupByShards) {
+        this.groupByShards = groupByShards;
+    }
+
+    public boolean isWindowIndexEnabled() {
+        return windowIndexEnabled;
+    }
+
+    public void setWindowIndexEnabled(boolean windowIndexEnabled) {
+        this.windowIndexEnabled = windowIndexEnabled;
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event;
+
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
+
+import java.util.List;
+
+/**
+ * Batch of events of a stream held in columns, one array per attribute of the {@link StreamDefinition} in addition
+ * to the array of timestamps. Numeric and boolean attributes can be given as primitive arrays, so the values are
+ * boxed at most once, when they are placed into the events consumed by Siddhi.
+ * <p>
+ * The arrays are not copied, and they should not be modified until the batch is sent.
+ */
+public class ColumnarEventBatch {
+
+    private final StreamDefinition streamDefinition;
+    private final Attribute.Type[] attributeTypes;
+    private final long[] timestamps;
+    private final int size;
+    private final int[][] intColumns;
+    private final long[][] longColumns;
+    private final float[][] floatColumns;
+    private final double[][] doubleColumns;
+    private final boolean[][] boolColumns;
+    private final Object[][] objectColumns;
+
+    public ColumnarEventBatch(StreamDefinition streamDefinition, long[] timestamps) {
+        this.streamDefinition = streamDefinition;
+        this.timestamps = timestamps;
+        this.size = timestamps.length;
+        List<Attribute> attributeList = streamDefinition.getAttributeList();
+        int attributeCount = attributeList.size();
+        this.attributeTypes = new Attribute.Type[attributeCount];
+        for (int i = 0; i < attributeCount; i++) {
+            attributeTypes[i] = attributeList.get(i).getType();
+        }
+        this.intColumns = new int[attributeCount][];
+        this.longColumns = new long[attributeCount][];
+        this.floatColumns = new float[attributeCount][];
+        this.doubleColumns = new double[attributeCount][];
+        this.boolColumns = new boolean[attributeCount][];
+        this.objectColumns = new Object[attributeCount][];
+    }
+
+    public ColumnarEventBatch setColumn(String attributeName, int[] values) {
+        intColumns[getPosition(attributeName, Attribute.Type.INT, values.length)] = values;
+        return this;
+    }
+
+    public ColumnarEventBatch setColumn(String attributeName, long[] values) {
+        longColumns[getPosition(attributeName, Attribute.Type.LONG, values.length)] = values;
+        return this;
+    }
+
+    public ColumnarEventBatch setColumn(String attributeName, float[] values) {
+        floatColumns[getPosition(attributeName, Attribute.Type.FLOAT, values.length)] = values;
+        return this;
+    }
+
+    public ColumnarEventBatch setColumn(String attributeName, double[] values) {
+        doubleColumns[getPosition(attributeName, Attribute.Type.DOUBLE, values.length)] = values;
+        return this;
+    }
+
+    public ColumnarEventBatch setColumn(String attributeName, boolean[] values) {
+        boolColumns[getPosition(attributeName, Attribute.Type.BOOL, values.length)] = values;
+        return this;
+    }
+
+    public ColumnarEventBatch setColumn(String attributeName, String[] values) {
+        objectColumns[getPosition(attributeName, Attribute.Type.STRING, values.length)] = values;
+        return this;
+    }
+
+    /**
+     * Set the values of an attribute of any type as objects, e.g. to pass null values or object attributes.
+     *
+     * @param attributeName name of the attribute
+     * @param values        values of the attribute, of the type of the attribute
+     * @return this batch
+     */
+    public ColumnarEventBatch setColumn(String attributeName, Object[] values) {
+        objectColumns[getPosition(attributeName, null, values.length)] = values;
+        return this;
+    }
+
+    private int getPosition(String attributeName, Attribute.Type type, int length) {
+        int position = streamDefinition.getAttributePosition(attributeName);
+        if (type != null && attributeTypes[position] != type) {
+            throw new SiddhiAppRuntimeException("Attribute '" + attributeName + "' of stream '" +
+                    streamDefinition.getId() + "' is of type " + attributeTypes[position] + ", but a " + type +
+                    " column is given");
+        }
+        if (length != size) {
+            throw new SiddhiAppRuntimeException("Column of attribute '" + attributeName + "' of stream '" +
+                    streamDefinition.getId() + "' has " + length + " values, but the batch has " + size +
+                    " timestamps");
+        }
+        intColumns[position] = null;
+        longColumns[position] = null;
+        floatColumns[position] = null;
+        doubleColumns[position] = null;
+        boolColumns[position] = null;
+        objectColumns[position] = null;
+        return position;
+    }
+
+    public StreamDefinition getStreamDefinition() {
+        return streamDefinition;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTimestamp(int row) {
+        return timestamps[row];
+    }
+
+    /**
+     * Validate that the batch is of the given stream and all of its columns are set.
+     *
+     * @param streamDefinition definition of the stream the batch is sent to
+     */
+    public void validate(StreamDefinition streamDefinition) {
+        if (this.streamDefinition != streamDefinition &&
+                !this.streamDefinition.getAttributeList().equals(streamDefinition.getAttributeList())) {
+            throw new SiddhiAppRuntimeException("Columnar event batch of stream '" + this.streamDefinition.getId() +
+                    "' cannot be sent to stream '" + streamDefinition.getId() + "' as their attributes differ");
+        }
+        for (int i = 0; i < attributeTypes.length; i++) {
+            if (intColumns[i] == null && longColumns[i] == null && floatColumns[i] == null &&
+                    doubleColumns[i] == null && boolColumns[i] == null && objectColumns[i] == null) {
+                throw new SiddhiAppRuntimeException("Column of attribute '" +
+                        streamDefinition.getAttributeList().get(i).getName() + "' of stream '" +
+                        streamDefinition.getId() + "' is not set in the columnar event batch");
+            }
+        }
+    }
+
+    /**
+     * Copy the attribute values of the given row into the given data array. Values of attributes whose column is not
+     * set are null.
+     *
+     * @param row  index of the event in the batch
+     * @param data array to copy the values to, of at least the attribute count
+     */
+    public void copyRowTo(int row, Object[] data) {
+        for (int i = 0; i < attributeTypes.length; i++) {
+            if (objectColumns[i] != null) {
+                data[i] = objectColumns[i][row];
+                continue;
+            }
+            switch (attributeTypes[i]) {
+                case INT:
+                    data[i] = intColumns[i] != null ? intColumns[i][row] : null;
+                    break;
+                case LONG:
+                    data[i] = longColumns[i] != null ? longColumns[i][row] : null;
+                    break;
+                case FLOAT:
+                    data[i] = floatColumns[i] != null ? floatColumns[i][row] : null;
+                    break;
+                case DOUBLE:
+                    data[i] = doubleColumns[i] != null ? doubleColumns[i][row] : null;
+                    break;
+                case BOOL:
+                    data[i] = boolColumns[i] != null ? boolColumns[i][row] : null;
+                    break;
+                default:
+                    data[i] = null;
+                    break;
+            }
+        }
+    }
+
+    public Event[] toEvents() {
+        Event[] events = new Event[size];
+        for (int i = 0; i < size; i++) {
+            Event event = new Event(timestamps[i], new Object[attributeTypes.length]);
+            copyRowTo(i, event.getData());
+            events[i] = event;
+        }
+        return events;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarEventBatch{" +
+                "stream=" + streamDefinition.getId() +
+                ", size=" + size +
+                '}';
+    }
+}
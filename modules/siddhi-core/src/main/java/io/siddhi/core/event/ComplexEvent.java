@@ -42,6 +42,19 @@ public interface ComplexEvent extends Serializable {
 
     void setType(Type type);
 
+    /**
+     * Mark that a typed execute method of an {@link io.siddhi.core.executor.ExpressionExecutor} evaluated on this
+     * event has a null result, which cannot be represented by the primitive it returns.
+     */
+    void markNullResult();
+
+    /**
+     * Whether the result of the last typed execute method evaluated on this event is null, clearing the mark.
+     *
+     * @return true if the result is null
+     */
+    boolean wasNullResult();
+
     /**
      * Enums to represent Event.Type
      */
@@ -18,17 +18,24 @@
 
 package io.siddhi.core.event;
 
+import io.siddhi.core.util.collection.CompositeKey;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
 /**
  * Implementation of {@link ComplexEvent} to hold events belonging to the same GroupBy group.
  */
 public class GroupedComplexEvent implements ComplexEvent {
 
     private static final long serialVersionUID = 3654677405648232168L;
-    private final ComplexEvent complexEvent;
-    private String groupKey;
+    private ComplexEvent complexEvent;
+    private CompositeKey groupKey;
     private ComplexEvent next;
+    private transient Object restoredGroupKey;
 
-    public GroupedComplexEvent(String groupKey, ComplexEvent complexEvent) {
+    public GroupedComplexEvent(CompositeKey groupKey, ComplexEvent complexEvent) {
         this.groupKey = groupKey;
         this.complexEvent = complexEvent;
     }
@@ -78,18 +85,54 @@ public class GroupedComplexEvent implements ComplexEvent {
         complexEvent.setType(type);
     }
 
+    @Override
+    public void markNullResult() {
+        complexEvent.markNullResult();
+    }
+
+    @Override
+    public boolean wasNullResult() {
+        return complexEvent.wasNullResult();
+    }
+
     public ComplexEvent getComplexEvent() {
         return complexEvent;
     }
 
-    public String getGroupKey() {
+    public CompositeKey getGroupKey() {
         return groupKey;
     }
 
-    public void setGroupKey(String groupKey) {
+    public void setGroupKey(CompositeKey groupKey) {
         this.groupKey = groupKey;
     }
 
+    /**
+     * Convert the group key of an event restored from a snapshot persisted by an earlier version, which holds the key
+     * as a string of the values joined by {@link io.siddhi.core.util.SiddhiConstants#KEY_DELIMITER}.
+     *
+     * @param keyTypes  types of the group by attributes
+     * @param elementId id of the element restoring the event
+     */
+    public void restoreGroupKey(Attribute.Type[] keyTypes, String elementId) {
+        if (restoredGroupKey != null) {
+            groupKey = CompositeKey.restoreKey(restoredGroupKey, keyTypes, elementId);
+            restoredGroupKey = null;
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        complexEvent = (ComplexEvent) fields.get("complexEvent", null);
+        next = (ComplexEvent) fields.get("next", null);
+        Object key = fields.get("groupKey", null);
+        if (key == null || key instanceof CompositeKey) {
+            groupKey = (CompositeKey) key;
+        } else {
+            restoredGroupKey = key;
+        }
+    }
+
     @Override
     public String toString() {
         return "GroupedComplexEvent{" +
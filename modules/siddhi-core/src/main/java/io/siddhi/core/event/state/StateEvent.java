@@ -48,6 +48,7 @@ public class StateEvent implements ComplexEvent {
     protected Type type = Type.CURRENT;
     protected Object[] outputData;      //Attributes to sent as output
     private long id;
+    private transient boolean nullResult;
 
 
     public StateEvent(int streamEventsSize, int outputSize) {
@@ -205,6 +206,20 @@ public class StateEvent implements ComplexEvent {
         this.type = type;
     }
 
+    @Override
+    public void markNullResult() {
+        nullResult = true;
+    }
+
+    @Override
+    public boolean wasNullResult() {
+        if (nullResult) {
+            nullResult = false;
+            return true;
+        }
+        return false;
+    }
+
     public void setEvent(int position, StreamEvent streamEvent) {
         streamEvents[position] = streamEvent;
     }
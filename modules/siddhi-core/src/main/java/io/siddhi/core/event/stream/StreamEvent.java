@@ -43,6 +43,7 @@ public class StreamEvent implements ComplexEvent {
     private Object[] beforeWindowData;          //Attributes before window execution
     private Object[] onAfterWindowData;         //Attributes on and after window execution
     private StreamEvent next;
+    private transient boolean nullResult;
 
     public StreamEvent(int beforeWindowDataSize, int onAfterWindowDataSize, int outputDataSize) {
         if (beforeWindowDataSize > 0) {
@@ -108,6 +109,20 @@ public class StreamEvent implements ComplexEvent {
         this.type = type;
     }
 
+    @Override
+    public void markNullResult() {
+        nullResult = true;
+    }
+
+    @Override
+    public boolean wasNullResult() {
+        if (nullResult) {
+            nullResult = false;
+            return true;
+        }
+        return false;
+    }
+
     public StreamEvent getNext() {
         return next;
     }
@@ -17,6 +17,9 @@
  */
 package io.siddhi.core.event.stream;
 
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.util.statistics.ThroughputTracker;
+
 import java.io.Serializable;
 
 /**
@@ -30,6 +33,9 @@ public class StreamEventPool implements Serializable {
     private int size;
     private int index = 0;
     private StreamEvent streamEventList;
+    private transient ThroughputTracker hitTracker;
+    private transient ThroughputTracker missTracker;
+    private transient SiddhiAppContext siddhiAppContext;
 
     public StreamEventPool(MetaStreamEvent metaStreamEvent, int size) {
         eventFactory = new StreamEventFactory(metaStreamEvent.getBeforeWindowData().size(),
@@ -54,8 +60,14 @@ public class StreamEventPool implements Serializable {
             streamEventList = streamEventList.getNext();
             event.setNext(null);
             index--;
+            if (hitTracker != null && siddhiAppContext.isStatsEnabled()) {
+                hitTracker.eventIn();
+            }
             return event;
         } else {
+            if (missTracker != null && siddhiAppContext.isStatsEnabled()) {
+                missTracker.eventIn();
+            }
             return eventFactory.newInstance();
         }
     }
@@ -93,4 +105,19 @@ public class StreamEventPool implements Serializable {
     public int getSize() {
         return size;
     }
+
+    /**
+     * Enable reporting of the borrows served from the pool (hits) and the borrows that had to create a new event
+     * (misses).
+     *
+     * @param hitTracker       tracker notified on each hit, can be null
+     * @param missTracker      tracker notified on each miss, can be null
+     * @param siddhiAppContext context used to check whether statistics are enabled at the time of the borrow
+     */
+    public void setStatisticsTrackers(ThroughputTracker hitTracker, ThroughputTracker missTracker,
+                                      SiddhiAppContext siddhiAppContext) {
+        this.hitTracker = hitTracker;
+        this.missTracker = missTracker;
+        this.siddhiAppContext = siddhiAppContext;
+    }
 }
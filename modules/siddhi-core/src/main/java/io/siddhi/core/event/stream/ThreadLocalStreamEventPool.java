@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.util.statistics.ThroughputTracker;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Event pool containing StreamEvent for reuse, that keeps a separate cache of events per thread.
+ * Used when the same pool is accessed by multiple threads, such that each thread borrows from and returns to its own
+ * cache without any synchronization. Events returned by a thread are reused by that thread.
+ */
+public class ThreadLocalStreamEventPool extends StreamEventPool {
+
+    private static final long serialVersionUID = 2512317530151934583L;
+    private final int beforeWindowDataSize;
+    private final int onAfterWindowDataSize;
+    private final int outputDataSize;
+    private transient ThreadLocal<StreamEventPool> localPool;
+    private transient List<StreamEventPool> localPools;
+    private transient ThroughputTracker hitTracker;
+    private transient ThroughputTracker missTracker;
+    private transient SiddhiAppContext siddhiAppContext;
+
+    public ThreadLocalStreamEventPool(MetaStreamEvent metaStreamEvent, int size) {
+        super(metaStreamEvent, size);
+        this.beforeWindowDataSize = metaStreamEvent.getBeforeWindowData().size();
+        this.onAfterWindowDataSize = metaStreamEvent.getOnAfterWindowData().size();
+        this.outputDataSize = metaStreamEvent.getOutputData().size();
+        initLocalPools();
+    }
+
+    private void initLocalPools() {
+        localPools = new CopyOnWriteArrayList<StreamEventPool>();
+        localPool = new ThreadLocal<StreamEventPool>() {
+            @Override
+            protected StreamEventPool initialValue() {
+                StreamEventPool streamEventPool = new StreamEventPool(beforeWindowDataSize, onAfterWindowDataSize,
+                        outputDataSize, getSize());
+                streamEventPool.setStatisticsTrackers(hitTracker, missTracker, siddhiAppContext);
+                localPools.add(streamEventPool);
+                return streamEventPool;
+            }
+        };
+    }
+
+    @Override
+    public StreamEvent borrowEvent() {
+        return localPool.get().borrowEvent();
+    }
+
+    @Override
+    public void returnEvents(StreamEvent streamEvent) {
+        localPool.get().returnEvents(streamEvent);
+    }
+
+    /**
+     * @return Occupied buffer size across the caches of all threads
+     */
+    @Override
+    public int getBufferedEventsSize() {
+        int bufferedEventsSize = 0;
+        for (StreamEventPool streamEventPool : localPools) {
+            bufferedEventsSize += streamEventPool.getBufferedEventsSize();
+        }
+        return bufferedEventsSize;
+    }
+
+    @Override
+    public void setStatisticsTrackers(ThroughputTracker hitTracker, ThroughputTracker missTracker,
+                                      SiddhiAppContext siddhiAppContext) {
+        this.hitTracker = hitTracker;
+        this.missTracker = missTracker;
+        this.siddhiAppContext = siddhiAppContext;
+        for (StreamEventPool streamEventPool : localPools) {
+            streamEventPool.setStatisticsTrackers(hitTracker, missTracker, siddhiAppContext);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initLocalPools();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream.holder;
+
+import io.siddhi.core.event.stream.StreamEvent;
+
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_INDEX_IN_TYPE;
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_TYPE_INDEX;
+import static io.siddhi.core.util.SiddhiConstants.UNKNOWN_STATE;
+
+/**
+ * Index of the events of a {@link SnapshotableStreamEventQueue} by the value of one of their attributes, which the
+ * queue maintains as events are added and removed.
+ * <p>
+ * Float and double values are indexed such that values equal by {@code ==} have the same key, as compared by the
+ * conditions.
+ */
+public abstract class EventQueueIndex {
+
+    protected final int[] keyPosition;
+
+    protected EventQueueIndex(int keyAttributeType, int keyAttributeIndex) {
+        this.keyPosition = position(keyAttributeType, keyAttributeIndex);
+    }
+
+    abstract void add(StreamEvent event);
+
+    abstract void remove(StreamEvent event);
+
+    abstract void clear();
+
+    protected static int[] position(int attributeType, int attributeIndex) {
+        return new int[]{UNKNOWN_STATE, UNKNOWN_STATE, attributeType, attributeIndex};
+    }
+
+    protected static boolean isAt(int[] position, int attributeType, int attributeIndex) {
+        return position[STREAM_ATTRIBUTE_TYPE_INDEX] == attributeType &&
+                position[STREAM_ATTRIBUTE_INDEX_IN_TYPE] == attributeIndex;
+    }
+
+    protected static Object toKey(Object value) {
+        // -0.0 and 0.0 are equal by ==, but not by equals
+        if (value instanceof Double && (Double) value == 0) {
+            return 0d;
+        } else if (value instanceof Float && (Float) value == 0) {
+            return 0f;
+        }
+        return value;
+    }
+}
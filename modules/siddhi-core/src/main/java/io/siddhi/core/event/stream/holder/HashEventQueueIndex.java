@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream.holder;
+
+import io.siddhi.core.event.stream.StreamEvent;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Hash index of the events of a {@link SnapshotableStreamEventQueue} by the value of one of their attributes. The
+ * events of each value are kept in their order in the queue, and as events are mostly removed from the head of the
+ * queue, removing them from the index is usually constant time.
+ */
+public class HashEventQueueIndex extends EventQueueIndex {
+
+    private final Map<Object, ArrayDeque<StreamEvent>> eventsByValue = new HashMap<>();
+
+    HashEventQueueIndex(int attributeType, int attributeIndex) {
+        super(attributeType, attributeIndex);
+    }
+
+    boolean isOf(int attributeType, int attributeIndex) {
+        return isAt(keyPosition, attributeType, attributeIndex);
+    }
+
+    /**
+     * @param value attribute value
+     * @return events having the given value, in their order in the queue, which must not be modified
+     */
+    public Collection<StreamEvent> find(Object value) {
+        ArrayDeque<StreamEvent> events = eventsByValue.get(toKey(value));
+        return events != null ? events : Collections.emptyList();
+    }
+
+    @Override
+    void add(StreamEvent event) {
+        eventsByValue.computeIfAbsent(toKey(event.getAttribute(keyPosition)), key -> new ArrayDeque<>()).addLast(event);
+    }
+
+    @Override
+    void remove(StreamEvent event) {
+        Object key = toKey(event.getAttribute(keyPosition));
+        ArrayDeque<StreamEvent> events = eventsByValue.get(key);
+        if (events == null) {
+            return;
+        }
+        if (events.peekFirst() == event) {
+            events.pollFirst();
+        } else {
+            Iterator<StreamEvent> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() == event) {
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+        if (events.isEmpty()) {
+            eventsByValue.remove(key);
+        }
+    }
+
+    @Override
+    void clear() {
+        eventsByValue.clear();
+    }
+}
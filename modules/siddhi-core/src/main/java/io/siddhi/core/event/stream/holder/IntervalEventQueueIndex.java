@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream.holder;
+
+import io.siddhi.core.event.stream.StreamEvent;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Index of the events of a {@link SnapshotableStreamEventQueue} by the value of a key attribute, for looking up the
+ * events of a key having the value of a range attribute, such as a timestamp, within bounds. The events of each key
+ * are kept in an array in their order in the queue, holding only a reference per event as the hash indexes do.
+ * <p>
+ * While the range values of a key do not decrease in the order of the queue, as is usual for timestamps, the events
+ * within bounds are found by binary search and returned as a view of the array. Otherwise the events of the key are
+ * filtered by their range values as they are iterated. Events having a null range value are not indexed, as they never
+ * satisfy a range.
+ */
+public class IntervalEventQueueIndex extends EventQueueIndex {
+
+    private final int[] rangePosition;
+    private final Map<Object, KeyEvents> eventsByValue = new HashMap<>();
+
+    IntervalEventQueueIndex(int keyAttributeType, int keyAttributeIndex, int rangeAttributeType,
+                            int rangeAttributeIndex) {
+        super(keyAttributeType, keyAttributeIndex);
+        this.rangePosition = position(rangeAttributeType, rangeAttributeIndex);
+    }
+
+    boolean isOf(int keyAttributeType, int keyAttributeIndex, int rangeAttributeType, int rangeAttributeIndex) {
+        return isAt(keyPosition, keyAttributeType, keyAttributeIndex) &&
+                isAt(rangePosition, rangeAttributeType, rangeAttributeIndex);
+    }
+
+    /**
+     * @param value          key attribute value
+     * @param lowerBound     lower bound of the range attribute, or null if there is none
+     * @param lowerInclusive whether the lower bound is in the range
+     * @param upperBound     upper bound of the range attribute, or null if there is none
+     * @param upperInclusive whether the upper bound is in the range
+     * @return events having the given key value and a range value within the bounds, in their order in the queue,
+     * which must not be modified and are only valid until the queue changes
+     */
+    public Collection<StreamEvent> find(Object value, Object lowerBound, boolean lowerInclusive, Object upperBound,
+                                        boolean upperInclusive) {
+        KeyEvents events = eventsByValue.get(toKey(value));
+        if (events == null) {
+            return Collections.emptyList();
+        }
+        Comparable lower = lowerBound != null ? (Comparable) toKey(lowerBound) : null;
+        Comparable upper = upperBound != null ? (Comparable) toKey(upperBound) : null;
+        if (events.descents > 0) {
+            return new FilteredEvents(events, lower, lowerInclusive, upper, upperInclusive);
+        }
+        int from = lower != null ? events.search(lower, lowerInclusive) : 0;
+        int to = upper != null ? events.search(upper, !upperInclusive) : events.size;
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return new RangeEvents(events, from, to);
+    }
+
+    @Override
+    void add(StreamEvent event) {
+        if (event.getAttribute(rangePosition) == null) {
+            return;
+        }
+        eventsByValue.computeIfAbsent(toKey(event.getAttribute(keyPosition)), key -> new KeyEvents()).add(event);
+    }
+
+    @Override
+    void remove(StreamEvent event) {
+        if (event.getAttribute(rangePosition) == null) {
+            return;
+        }
+        Object key = toKey(event.getAttribute(keyPosition));
+        KeyEvents events = eventsByValue.get(key);
+        if (events == null) {
+            return;
+        }
+        events.remove(event);
+        if (events.size == 0) {
+            eventsByValue.remove(key);
+        }
+    }
+
+    @Override
+    void clear() {
+        eventsByValue.clear();
+    }
+
+    private Comparable rangeOf(StreamEvent event) {
+        return (Comparable) toKey(event.getAttribute(rangePosition));
+    }
+
+    private static boolean isInRange(Comparable rangeValue, Comparable lower, boolean lowerInclusive,
+                                     Comparable upper, boolean upperInclusive) {
+        if (lower != null) {
+            int comparison = rangeValue.compareTo(lower);
+            if (comparison < 0 || (comparison == 0 && !lowerInclusive)) {
+                return false;
+            }
+        }
+        if (upper != null) {
+            int comparison = rangeValue.compareTo(upper);
+            return comparison < 0 || (comparison == 0 && upperInclusive);
+        }
+        return true;
+    }
+
+    /**
+     * Events of a key in their order in the queue, held in a circular array such that events are added at the tail
+     * and mostly removed from the head in constant time. Tracks the number of adjacent events whose range value
+     * decreases, such that the events are known to be sorted by their range values when there are none.
+     */
+    private final class KeyEvents {
+
+        private StreamEvent[] events = new StreamEvent[4];
+        private int head = 0;
+        private int size = 0;
+        private int descents = 0;
+
+        private StreamEvent get(int index) {
+            return events[(head + index) & (events.length - 1)];
+        }
+
+        private void add(StreamEvent event) {
+            if (size == events.length) {
+                StreamEvent[] grownEvents = new StreamEvent[events.length * 2];
+                for (int i = 0; i < size; i++) {
+                    grownEvents[i] = get(i);
+                }
+                events = grownEvents;
+                head = 0;
+            }
+            if (size > 0 && isDescent(get(size - 1), event)) {
+                descents++;
+            }
+            events[(head + size) & (events.length - 1)] = event;
+            size++;
+        }
+
+        private void remove(StreamEvent event) {
+            int index = 0;
+            while (index < size && get(index) != event) {
+                index++;
+            }
+            if (index == size) {
+                return;
+            }
+            StreamEvent previous = index > 0 ? get(index - 1) : null;
+            StreamEvent next = index < size - 1 ? get(index + 1) : null;
+            if (previous != null && isDescent(previous, event)) {
+                descents--;
+            }
+            if (next != null && isDescent(event, next)) {
+                descents--;
+            }
+            if (previous != null && next != null && isDescent(previous, next)) {
+                descents++;
+            }
+            int mask = events.length - 1;
+            if (index == 0) {
+                events[head] = null;
+                head = (head + 1) & mask;
+            } else {
+                for (int i = index; i < size - 1; i++) {
+                    events[(head + i) & mask] = get(i + 1);
+                }
+                events[(head + size - 1) & mask] = null;
+            }
+            size--;
+        }
+
+        private boolean isDescent(StreamEvent event, StreamEvent nextEvent) {
+            return rangeOf(event).compareTo(rangeOf(nextEvent)) > 0;
+        }
+
+        /**
+         * @param bound     range value to search, when the events are sorted by their range values
+         * @param inclusive whether the events having the bound as their range value are at or after the position
+         * @return position of the first event having a range value after the bound, or at the bound if inclusive
+         */
+        private int search(Comparable bound, boolean inclusive) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = rangeOf(get(middle)).compareTo(bound);
+                if (comparison < 0 || (comparison == 0 && !inclusive)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * View of the events of a key between two positions.
+     */
+    private static final class RangeEvents extends AbstractList<StreamEvent> {
+
+        private final KeyEvents events;
+        private final int from;
+        private final int to;
+
+        private RangeEvents(KeyEvents events, int from, int to) {
+            this.events = events;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public StreamEvent get(int index) {
+            return events.get(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * View of the events of a key having a range value within bounds, filtered as they are iterated.
+     */
+    private final class FilteredEvents extends AbstractCollection<StreamEvent> {
+
+        private final KeyEvents events;
+        private final Comparable lower;
+        private final boolean lowerInclusive;
+        private final Comparable upper;
+        private final boolean upperInclusive;
+
+        private FilteredEvents(KeyEvents events, Comparable lower, boolean lowerInclusive, Comparable upper,
+                               boolean upperInclusive) {
+            this.events = events;
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        private int nextMatch(int index) {
+            while (index < events.size &&
+                    !isInRange(rangeOf(events.get(index)), lower, lowerInclusive, upper, upperInclusive)) {
+                index++;
+            }
+            return index;
+        }
+
+        @Override
+        public Iterator<StreamEvent> iterator() {
+            return new Iterator<StreamEvent>() {
+                private int index = nextMatch(0);
+
+                @Override
+                public boolean hasNext() {
+                    return index < events.size;
+                }
+
+                @Override
+                public StreamEvent next() {
+                    if (index >= events.size) {
+                        throw new NoSuchElementException();
+                    }
+                    StreamEvent event = events.get(index);
+                    index = nextMatch(index + 1);
+                    return event;
+                }
+            };
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return nextMatch(0) == events.size;
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (int index = nextMatch(0); index < events.size; index = nextMatch(index + 1)) {
+                size++;
+            }
+            return size;
+        }
+    }
+}
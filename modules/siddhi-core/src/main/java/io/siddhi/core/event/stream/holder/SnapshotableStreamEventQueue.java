@@ -20,6 +20,7 @@ package io.siddhi.core.event.stream.holder;
 import io.siddhi.core.event.stream.Operation;
 import io.siddhi.core.event.stream.Operation.Operator;
 import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.snapshot.SnapshotRequest;
 import io.siddhi.core.util.snapshot.state.SnapshotState;
 import io.siddhi.core.util.snapshot.state.SnapshotStateList;
@@ -27,6 +28,7 @@ import io.siddhi.core.util.snapshot.state.SnapshotStateList;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.TreeMap;
@@ -47,6 +49,7 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
     private boolean forceFullSnapshot = true;
     private boolean isOperationLogEnabled = true;
     private int eventIndex = -1;
+    private transient List<EventQueueIndex> indexes;
 
     public SnapshotableStreamEventQueue(StreamEventClonerHolder eventClonerHolder) {
         this(eventClonerHolder, Integer.MAX_VALUE);
@@ -76,6 +79,13 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
             last.setNext(events);
         }
         last = getLastEvent(events);
+        if (indexes != null) {
+            for (StreamEvent event = events; event != null; event = event.getNext()) {
+                for (EventQueueIndex index : indexes) {
+                    index.add(event);
+                }
+            }
+        }
     }
 
     /**
@@ -96,6 +106,7 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         if (lastReturned == null) {
             throw new IllegalStateException();
         }
+        removeFromIndexes(lastReturned);
         if (previousToLastReturned != null) {
             previousToLastReturned.setNext(lastReturned.getNext());
         } else {
@@ -119,6 +130,14 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         eventIndex--;
     }
 
+    private void removeFromIndexes(StreamEvent event) {
+        if (indexes != null) {
+            for (EventQueueIndex index : indexes) {
+                index.remove(event);
+            }
+        }
+    }
+
     private StreamEvent getLastEvent(StreamEvent complexEvents) {
         StreamEvent lastEvent = complexEvents;
         while (lastEvent != null && lastEvent.getNext() != null) {
@@ -178,6 +197,11 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         first = null;
         last = null;
         eventIndex = -1;
+        if (indexes != null) {
+            for (EventQueueIndex index : indexes) {
+                index.clear();
+            }
+        }
     }
 
     public void reset() {
@@ -186,6 +210,61 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         eventIndex = -1;
     }
 
+    /**
+     * Get the hash index of the events by the given attribute, creating it from the events in the queue when absent.
+     * The index is maintained as events are added and removed, and dropped when an event is overwritten.
+     *
+     * @param attributeType  type of the attribute data, such as {@link SiddhiConstants#OUTPUT_DATA_INDEX}
+     * @param attributeIndex index of the attribute within its data
+     * @return the index
+     */
+    public HashEventQueueIndex getIndex(int attributeType, int attributeIndex) {
+        if (indexes != null) {
+            for (EventQueueIndex index : indexes) {
+                if (index instanceof HashEventQueueIndex &&
+                        ((HashEventQueueIndex) index).isOf(attributeType, attributeIndex)) {
+                    return (HashEventQueueIndex) index;
+                }
+            }
+        }
+        return addIndex(new HashEventQueueIndex(attributeType, attributeIndex));
+    }
+
+    /**
+     * Get the index of the events by the given key attribute and sorted by the given range attribute, creating it from
+     * the events in the queue when absent. The index is maintained as the hash indexes are.
+     *
+     * @param keyAttributeType    type of the key attribute data, such as {@link SiddhiConstants#OUTPUT_DATA_INDEX}
+     * @param keyAttributeIndex   index of the key attribute within its data
+     * @param rangeAttributeType  type of the range attribute data
+     * @param rangeAttributeIndex index of the range attribute within its data
+     * @return the index
+     */
+    public IntervalEventQueueIndex getIntervalIndex(int keyAttributeType, int keyAttributeIndex,
+                                                    int rangeAttributeType, int rangeAttributeIndex) {
+        if (indexes != null) {
+            for (EventQueueIndex index : indexes) {
+                if (index instanceof IntervalEventQueueIndex && ((IntervalEventQueueIndex) index).isOf(
+                        keyAttributeType, keyAttributeIndex, rangeAttributeType, rangeAttributeIndex)) {
+                    return (IntervalEventQueueIndex) index;
+                }
+            }
+        }
+        return addIndex(new IntervalEventQueueIndex(keyAttributeType, keyAttributeIndex, rangeAttributeType,
+                rangeAttributeIndex));
+    }
+
+    private <T extends EventQueueIndex> T addIndex(T index) {
+        if (indexes == null) {
+            indexes = new ArrayList<>(1);
+        }
+        for (StreamEvent event = first; event != null; event = event.getNext()) {
+            index.add(event);
+        }
+        indexes.add(index);
+        return index;
+    }
+
     public StreamEvent getFirst() {
         return first;
     }
@@ -198,6 +277,7 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         reset();
         if (first != null) {
             StreamEvent firstEvent = first;
+            removeFromIndexes(firstEvent);
             first = first.getNext();
             firstEvent.setNext(null);
 
@@ -357,6 +437,8 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
     }
 
     public void overwrite(StreamEvent streamEvent) {
+        // Indexes are rebuilt when used again, as the overwriting event may have other values
+        indexes = null;
         if (!isFullSnapshot()) {
             if (isOperationLogEnabled) {
                 operationChangeLog.add(new Operation(Operator.OVERWRITE,
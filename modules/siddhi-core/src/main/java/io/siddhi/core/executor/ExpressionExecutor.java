@@ -23,13 +23,118 @@ import io.siddhi.query.api.definition.Attribute;
 
 /**
  * Parent interface for all Expression Executors classes.
+ * <p>
+ * In addition to {@link #execute(ComplexEvent)}, executors of numeric and bool expressions can be evaluated via the
+ * typed execute methods, which return the result as a primitive without boxing it. The typed methods widen the result
+ * to the requested type as in Java, e.g. executeDouble() of an INT executor. As null cannot be represented by a
+ * primitive, a null result is marked on the event via {@link ComplexEvent#markNullResult()} and zero or false is
+ * returned; callers check {@link ComplexEvent#wasNullResult()}, which clears the mark, after each typed call. The mark
+ * is kept on the event as an executor may evaluate the events of different threads concurrently. The default
+ * implementations unbox the result of {@link #execute(ComplexEvent)}; executors override them to keep their
+ * evaluation unboxed. Executors of binary operations still evaluate their right operand when the left one is null,
+ * as operands such as aggregations keep state over the events they see.
  */
 public interface ExpressionExecutor {
 
     Object execute(ComplexEvent event);
 
+    default int executeInt(ComplexEvent event) {
+        Object value = execute(event);
+        if (value == null) {
+            event.markNullResult();
+            return 0;
+        }
+        return ((Number) value).intValue();
+    }
+
+    default long executeLong(ComplexEvent event) {
+        if (getReturnType() == Attribute.Type.INT) {
+            return executeInt(event);
+        }
+        Object value = execute(event);
+        if (value == null) {
+            event.markNullResult();
+            return 0;
+        }
+        return ((Number) value).longValue();
+    }
+
+    default float executeFloat(ComplexEvent event) {
+        switch (getReturnType()) {
+            case INT:
+                return executeInt(event);
+            case LONG:
+                return executeLong(event);
+            default:
+                Object value = execute(event);
+                if (value == null) {
+                    event.markNullResult();
+                    return 0;
+                }
+                return ((Number) value).floatValue();
+        }
+    }
+
+    default double executeDouble(ComplexEvent event) {
+        switch (getReturnType()) {
+            case INT:
+                return executeInt(event);
+            case LONG:
+                return executeLong(event);
+            case FLOAT:
+                return executeFloat(event);
+            default:
+                Object value = execute(event);
+                if (value == null) {
+                    event.markNullResult();
+                    return 0;
+                }
+                return ((Number) value).doubleValue();
+        }
+    }
+
+    default boolean executeBoolean(ComplexEvent event) {
+        Object value = execute(event);
+        if (value == null) {
+            event.markNullResult();
+            return false;
+        }
+        return (Boolean) value;
+    }
+
+    /**
+     * Evaluate the executor as a condition over a batch of events. On entry, selection[i] tells whether events[i] is
+     * to be evaluated, and on return whether it was selected and the result is true; a null result is false. Events
+     * that are not selected are not evaluated. The default implementation calls {@link #executeBoolean(ComplexEvent)}
+     * for each selected event, while conditions override it to evaluate their operands one after the other over the
+     * whole batch.
+     *
+     * @param events    events to be evaluated
+     * @param size      number of events in the batch
+     * @param selection events to be evaluated, updated with the events for which the result is true
+     */
+    default void executeBoolean(ComplexEvent[] events, int size, boolean[] selection) {
+        for (int i = 0; i < size; i++) {
+            if (selection[i]) {
+                boolean result = executeBoolean(events[i]);
+                selection[i] = !events[i].wasNullResult() && result;
+            }
+        }
+    }
+
     Attribute.Type getReturnType();
 
+    /**
+     * Whether the result of the executor only depends on the attribute values of the given event. Evaluating a
+     * deterministic executor again for the same event returns the same value and has no side effects, hence
+     * deterministic executors that do not read any attributes are evaluated only once when the query is created.
+     *
+     * @return true if the executor is deterministic
+     */
+    default boolean isDeterministic() {
+        return false;
+    }
+
     ExpressionExecutor cloneExecutor(String key);
 
     void clean();
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.query.api.definition.Attribute;
+
+/**
+ * Executor of a deterministic sub-expression that occurs more than once within a query. The same instance is used at
+ * every occurrence, and the wrapped executor is evaluated only at the first occurrence of each evaluation of the
+ * {@link SharedExpressionScope}, while the other occurrences reuse its result.
+ */
+public class SharedExpressionExecutor implements ExpressionExecutor {
+
+    private final ExpressionExecutor expressionExecutor;
+    private final SharedExpressionScope sharedExpressionScope;
+    private long evaluation = -1;
+    private Object value;
+    private SharedExpressionExecutor lastClone;
+    private boolean cleaned = false;
+
+    public SharedExpressionExecutor(ExpressionExecutor expressionExecutor,
+                                    SharedExpressionScope sharedExpressionScope) {
+        this.expressionExecutor = expressionExecutor;
+        this.sharedExpressionScope = sharedExpressionScope;
+    }
+
+    @Override
+    public Object execute(ComplexEvent event) {
+        long currentEvaluation = sharedExpressionScope.getEvaluation();
+        if (evaluation != currentEvaluation) {
+            value = expressionExecutor.execute(event);
+            evaluation = currentEvaluation;
+        }
+        return value;
+    }
+
+    public ExpressionExecutor getExpressionExecutor() {
+        return expressionExecutor;
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return expressionExecutor.getReturnType();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return expressionExecutor.isDeterministic();
+    }
+
+    /**
+     * Clone the executor, binding the clone to the last clone of its scope. All occurrences cloned for the same clone
+     * of the scope share the same cloned executor.
+     *
+     * @param key partition key
+     * @return cloned executor
+     */
+    @Override
+    public ExpressionExecutor cloneExecutor(String key) {
+        SharedExpressionScope clonedScope = sharedExpressionScope.getLastClone();
+        if (lastClone == null || lastClone.sharedExpressionScope != clonedScope) {
+            lastClone = new SharedExpressionExecutor(expressionExecutor.cloneExecutor(key), clonedScope);
+        }
+        return lastClone;
+    }
+
+    @Override
+    public void clean() {
+        if (!cleaned) {
+            cleaned = true;
+            expressionExecutor.clean();
+        }
+    }
+}
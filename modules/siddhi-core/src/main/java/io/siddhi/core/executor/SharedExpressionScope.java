@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor;
+
+/**
+ * Scope within which {@link SharedExpressionExecutor}s reuse their results. The owner of the scope moves it to the next
+ * evaluation before evaluating its expressions for each event, which discards the results cached for the previous
+ * event. Evaluations of a scope must not happen concurrently.
+ */
+public class SharedExpressionScope {
+
+    private long evaluation;
+    private SharedExpressionScope lastClone;
+
+    public void nextEvaluation() {
+        evaluation++;
+    }
+
+    long getEvaluation() {
+        return evaluation;
+    }
+
+    /**
+     * Clone the scope. The shared executors of the scope cloned afterwards are bound to the new scope, hence the scope
+     * should be cloned before the executors using it.
+     *
+     * @return cloned scope
+     */
+    public SharedExpressionScope cloneScope() {
+        lastClone = new SharedExpressionScope();
+        return lastClone;
+    }
+
+    SharedExpressionScope getLastClone() {
+        return lastClone;
+    }
+}
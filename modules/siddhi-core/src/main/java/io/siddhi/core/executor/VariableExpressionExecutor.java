@@ -51,6 +51,11 @@ public class VariableExpressionExecutor implements ExpressionExecutor {
         return attribute.getType();
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return this;
@@ -0,0 +1,798 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor.compiled;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal writer of Java 8 class files, supporting the instructions used by {@link ExpressionCompiler}.
+ * <p>
+ * The maximum depth of the operand stack is computed as the instructions are written. Generated code must not keep
+ * values on the operand stack across branches, such that branch targets are given a stack map frame with an empty
+ * stack, holding the locals written on all the paths reaching the target. Reference locals are typed as
+ * {@code java.lang.Object}.
+ */
+class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_PRIVATE = 0x0002;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    static final int ICONST_0 = 0x03;
+    static final int LCONST_0 = 0x09;
+    static final int FCONST_0 = 0x0b;
+    static final int DCONST_0 = 0x0e;
+    static final int BIPUSH = 0x10;
+    static final int SIPUSH = 0x11;
+    static final int ILOAD = 0x15;
+    static final int LLOAD = 0x16;
+    static final int FLOAD = 0x17;
+    static final int DLOAD = 0x18;
+    static final int ALOAD = 0x19;
+    static final int AALOAD = 0x32;
+    static final int ISTORE = 0x36;
+    static final int LSTORE = 0x37;
+    static final int FSTORE = 0x38;
+    static final int DSTORE = 0x39;
+    static final int ASTORE = 0x3a;
+    static final int POP = 0x57;
+    static final int IADD = 0x60;
+    static final int ISUB = 0x64;
+    static final int IMUL = 0x68;
+    static final int IDIV = 0x6c;
+    static final int IREM = 0x70;
+    static final int I2L = 0x85;
+    static final int I2F = 0x86;
+    static final int I2D = 0x87;
+    static final int L2F = 0x89;
+    static final int L2D = 0x8a;
+    static final int F2D = 0x8d;
+    static final int LCMP = 0x94;
+    static final int FCMPL = 0x95;
+    static final int FCMPG = 0x96;
+    static final int DCMPL = 0x97;
+    static final int DCMPG = 0x98;
+    static final int IFEQ = 0x99;
+    static final int IFNE = 0x9a;
+    static final int IFLT = 0x9b;
+    static final int IFGE = 0x9c;
+    static final int IFGT = 0x9d;
+    static final int IFLE = 0x9e;
+    static final int IF_ICMPEQ = 0x9f;
+    static final int IF_ICMPNE = 0xa0;
+    static final int IF_ICMPLT = 0xa1;
+    static final int IF_ICMPGE = 0xa2;
+    static final int IF_ICMPGT = 0xa3;
+    static final int IF_ICMPLE = 0xa4;
+    static final int GOTO = 0xa7;
+    static final int IRETURN = 0xac;
+    static final int LRETURN = 0xad;
+    static final int FRETURN = 0xae;
+    static final int DRETURN = 0xaf;
+    static final int ARETURN = 0xb0;
+    static final int RETURN = 0xb1;
+    static final int GETSTATIC = 0xb2;
+    static final int GETFIELD = 0xb4;
+    static final int PUTFIELD = 0xb5;
+    static final int INVOKEVIRTUAL = 0xb6;
+    static final int INVOKESPECIAL = 0xb7;
+    static final int INVOKEINTERFACE = 0xb9;
+    static final int ATHROW = 0xbf;
+    static final int CHECKCAST = 0xc0;
+    static final int INSTANCEOF = 0xc1;
+    static final int IFNULL = 0xc6;
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    private static final int JAVA_8_VERSION = 52;
+    private static final int WIDE = 0xc4;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int FULL_FRAME = 255;
+    private static final int ITEM_TOP = 0;
+    private static final int ITEM_INTEGER = 1;
+    private static final int ITEM_FLOAT = 2;
+    private static final int ITEM_DOUBLE = 3;
+    private static final int ITEM_LONG = 4;
+    private static final int ITEM_OBJECT = 7;
+    private static final String OBJECT = "java/lang/Object";
+
+    private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer> constants = new HashMap<String, Integer>();
+    private int constantCount = 1;
+    private final List<byte[]> fields = new ArrayList<byte[]>();
+    private final List<byte[]> methods = new ArrayList<byte[]>();
+    private final String className;
+    private final String superClassName;
+
+    ClassFileWriter(String className, String superClassName) {
+        this.className = className;
+        this.superClassName = superClassName;
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    String getSuperClassName() {
+        return superClassName;
+    }
+
+    void addField(int access, String name, String descriptor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        fields.add(bytes.toByteArray());
+    }
+
+    /**
+     * Start writing a method. The method is added to the class when {@link MethodWriter#end()} is called.
+     *
+     * @param access         access flags of the method
+     * @param name           method name
+     * @param descriptor     method descriptor
+     * @param parameterTypes internal names of the parameter types, all parameters must be of reference types
+     * @return writer of the method code
+     */
+    MethodWriter addMethod(int access, String name, String descriptor, String... parameterTypes) {
+        return new MethodWriter(access, name, descriptor, parameterTypes);
+    }
+
+    byte[] toByteArray() {
+        int thisClassIndex = classRef(className);
+        int superClassIndex = classRef(superClassName);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(CLASS_FILE_MAGIC);
+            out.writeShort(0);
+            out.writeShort(JAVA_8_VERSION);
+            out.writeShort(constantCount);
+            constantPoolBytes.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClassIndex);
+            out.writeShort(superClassIndex);
+            out.writeShort(0);
+            out.writeShort(fields.size());
+            for (byte[] field : fields) {
+                out.write(field);
+            }
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    int utf8(String value) {
+        Integer index = constants.get("U" + value);
+        if (index == null) {
+            try {
+                constantPool.writeByte(1);
+                constantPool.writeUTF(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            index = register("U" + value, 1);
+        }
+        return index;
+    }
+
+    int classRef(String internalName) {
+        Integer index = constants.get("C" + internalName);
+        if (index == null) {
+            int nameIndex = utf8(internalName);
+            writeConstant(7, nameIndex);
+            index = register("C" + internalName, 1);
+        }
+        return index;
+    }
+
+    int intConstant(int value) {
+        Integer index = constants.get("I" + value);
+        if (index == null) {
+            try {
+                constantPool.writeByte(3);
+                constantPool.writeInt(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            index = register("I" + value, 1);
+        }
+        return index;
+    }
+
+    int floatConstant(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        Integer index = constants.get("F" + bits);
+        if (index == null) {
+            try {
+                constantPool.writeByte(4);
+                constantPool.writeInt(bits);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            index = register("F" + bits, 1);
+        }
+        return index;
+    }
+
+    int longConstant(long value) {
+        Integer index = constants.get("J" + value);
+        if (index == null) {
+            try {
+                constantPool.writeByte(5);
+                constantPool.writeLong(value);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            index = register("J" + value, 2);
+        }
+        return index;
+    }
+
+    int doubleConstant(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        Integer index = constants.get("D" + bits);
+        if (index == null) {
+            try {
+                constantPool.writeByte(6);
+                constantPool.writeLong(bits);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            index = register("D" + bits, 2);
+        }
+        return index;
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        String key = tag + owner + "." + name + ":" + descriptor;
+        Integer index = constants.get(key);
+        if (index == null) {
+            int classIndex = classRef(owner);
+            String nameAndTypeKey = "N" + name + ":" + descriptor;
+            Integer nameAndTypeIndex = constants.get(nameAndTypeKey);
+            if (nameAndTypeIndex == null) {
+                int nameIndex = utf8(name);
+                int descriptorIndex = utf8(descriptor);
+                writeConstant(12, nameIndex, descriptorIndex);
+                nameAndTypeIndex = register(nameAndTypeKey, 1);
+            }
+            writeConstant(tag, classIndex, nameAndTypeIndex);
+            index = register(key, 1);
+        }
+        return index;
+    }
+
+    private void writeConstant(int tag, int... shorts) {
+        try {
+            constantPool.writeByte(tag);
+            for (int value : shorts) {
+                constantPool.writeShort(value);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int register(String key, int slots) {
+        int index = constantCount;
+        constantCount += slots;
+        if (constantCount > 0xFFFF) {
+            throw new IllegalStateException("Constant pool of '" + className + "' is too large");
+        }
+        constants.put(key, index);
+        return index;
+    }
+
+    /**
+     * @return number of operand stack slots taken by a value of the given field descriptor
+     */
+    private static int slots(String descriptor) {
+        char type = descriptor.charAt(0);
+        return type == 'V' ? 0 : type == 'J' || type == 'D' ? 2 : 1;
+    }
+
+    /**
+     * @return number of operand stack slots taken by the arguments of the given method descriptor
+     */
+    private static int argumentSlots(String methodDescriptor) {
+        int slots = 0;
+        int index = 1;
+        while (methodDescriptor.charAt(index) != ')') {
+            char type = methodDescriptor.charAt(index);
+            boolean array = false;
+            while (type == '[') {
+                array = true;
+                type = methodDescriptor.charAt(++index);
+            }
+            if (type == 'L') {
+                index = methodDescriptor.indexOf(';', index);
+            }
+            slots += !array && (type == 'J' || type == 'D') ? 2 : 1;
+            index++;
+        }
+        return slots;
+    }
+
+    private static boolean isWide(Object localType) {
+        return localType instanceof Integer && ((Integer) localType == ITEM_LONG || (Integer) localType == ITEM_DOUBLE);
+    }
+
+    /**
+     * Branch target within a method.
+     */
+    static class Label {
+        private int offset = -1;
+        private boolean referenced;
+
+        /**
+         * @return whether a branch to the label was written
+         */
+        boolean isReferenced() {
+            return referenced;
+        }
+    }
+
+    /**
+     * Writer of the code of a single method.
+     * <p>
+     * Besides the code, the writer records the locals written, the branches and the branch targets in their order in
+     * the code, from which the locals written on all the paths reaching each branch target are computed when the
+     * method ends.
+     */
+    class MethodWriter {
+
+        private final int access;
+        private final String name;
+        private final String descriptor;
+        private final Object[] initialLocals;
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        private final List<Object[]> branches = new ArrayList<Object[]>();
+        private final List<Object[]> flow = new ArrayList<Object[]>();
+        private final List<Label> targets = new ArrayList<Label>();
+        private int maxLocals;
+        private int stack;
+        private int maxStack;
+
+        private MethodWriter(int access, String name, String descriptor, String[] parameterTypes) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.maxLocals = parameterTypes.length + 1;
+            this.initialLocals = new Object[maxLocals];
+            this.initialLocals[0] = className;
+            System.arraycopy(parameterTypes, 0, initialLocals, 1, parameterTypes.length);
+        }
+
+        /**
+         * Allocate a new local variable.
+         *
+         * @param size 2 for long and double values, 1 otherwise
+         * @return index of the local variable
+         */
+        int newLocal(int size) {
+            int index = maxLocals;
+            maxLocals += size;
+            return index;
+        }
+
+        void op(int opcode) {
+            code.write(opcode);
+            switch (opcode) {
+                case IRETURN:
+                case FRETURN:
+                case ARETURN:
+                case ATHROW:
+                    stack(-1);
+                    endOfFlow();
+                    break;
+                case LRETURN:
+                case DRETURN:
+                    stack(-2);
+                    endOfFlow();
+                    break;
+                case RETURN:
+                    endOfFlow();
+                    break;
+                case AALOAD:
+                case POP:
+                case FCMPL:
+                case FCMPG:
+                case L2F:
+                    stack(-1);
+                    break;
+                case LCMP:
+                case DCMPL:
+                case DCMPG:
+                    stack(-3);
+                    break;
+                case I2L:
+                case I2D:
+                case F2D:
+                    stack(1);
+                    break;
+                case I2F:
+                case L2D:
+                    break;
+                default:
+                    if (opcode < IADD || opcode > IREM + 3) {
+                        throw new IllegalArgumentException("Unsupported instruction " + opcode);
+                    }
+                    // Arithmetic instructions are ordered int, long, float and double
+                    stack((opcode - IADD) % 2 == 0 ? -1 : -2);
+            }
+        }
+
+        void pushInt(int value) {
+            if (value >= -1 && value <= 5) {
+                code.write(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                code.write(BIPUSH);
+                code.write(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                code.write(SIPUSH);
+                writeShort(value);
+            } else {
+                ldc(intConstant(value));
+            }
+            stack(1);
+        }
+
+        void pushLong(long value) {
+            if (value == 0L || value == 1L) {
+                code.write(LCONST_0 + (int) value);
+            } else {
+                code.write(LDC2_W);
+                writeShort(longConstant(value));
+            }
+            stack(2);
+        }
+
+        void pushFloat(float value) {
+            if (Float.floatToRawIntBits(value) == 0 || value == 1.0f || value == 2.0f) {
+                code.write(FCONST_0 + (int) value);
+            } else {
+                ldc(floatConstant(value));
+            }
+            stack(1);
+        }
+
+        void pushDouble(double value) {
+            if (Double.doubleToRawLongBits(value) == 0L || value == 1.0d) {
+                code.write(DCONST_0 + (int) value);
+            } else {
+                code.write(LDC2_W);
+                writeShort(doubleConstant(value));
+            }
+            stack(2);
+        }
+
+        private void ldc(int index) {
+            if (index < 256) {
+                code.write(LDC);
+                code.write(index);
+            } else {
+                code.write(LDC_W);
+                writeShort(index);
+            }
+        }
+
+        void varInsn(int opcode, int index) {
+            if (index < 256) {
+                code.write(opcode);
+                code.write(index);
+            } else {
+                code.write(WIDE);
+                code.write(opcode);
+                writeShort(index);
+            }
+            switch (opcode) {
+                case ILOAD:
+                case FLOAD:
+                case ALOAD:
+                    stack(1);
+                    break;
+                case LLOAD:
+                case DLOAD:
+                    stack(2);
+                    break;
+                case ISTORE:
+                    stack(-1);
+                    flow.add(new Object[]{index, ITEM_INTEGER});
+                    break;
+                case FSTORE:
+                    stack(-1);
+                    flow.add(new Object[]{index, ITEM_FLOAT});
+                    break;
+                case ASTORE:
+                    stack(-1);
+                    flow.add(new Object[]{index, OBJECT});
+                    break;
+                case LSTORE:
+                    stack(-2);
+                    flow.add(new Object[]{index, ITEM_LONG});
+                    break;
+                case DSTORE:
+                    stack(-2);
+                    flow.add(new Object[]{index, ITEM_DOUBLE});
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported instruction " + opcode);
+            }
+        }
+
+        void fieldInsn(int opcode, String owner, String fieldName, String fieldDescriptor) {
+            code.write(opcode);
+            writeShort(memberRef(9, owner, fieldName, fieldDescriptor));
+            int size = slots(fieldDescriptor);
+            stack(opcode == GETSTATIC ? size : opcode == GETFIELD ? size - 1 : -size - 1);
+        }
+
+        void methodInsn(int opcode, String owner, String methodName, String methodDescriptor) {
+            code.write(opcode);
+            writeShort(memberRef(10, owner, methodName, methodDescriptor));
+            invocation(methodDescriptor);
+        }
+
+        void interfaceMethodInsn(String owner, String methodName, String methodDescriptor) {
+            code.write(INVOKEINTERFACE);
+            writeShort(memberRef(11, owner, methodName, methodDescriptor));
+            code.write(argumentSlots(methodDescriptor) + 1);
+            code.write(0);
+            invocation(methodDescriptor);
+        }
+
+        private void invocation(String methodDescriptor) {
+            stack(-argumentSlots(methodDescriptor) - 1 +
+                    slots(methodDescriptor.substring(methodDescriptor.indexOf(')') + 1)));
+        }
+
+        void typeInsn(int opcode, String internalName) {
+            code.write(opcode);
+            writeShort(classRef(internalName));
+        }
+
+        void jump(int opcode, Label label) {
+            branches.add(new Object[]{code.size(), label});
+            label.referenced = true;
+            code.write(opcode);
+            writeShort(0);
+            if (opcode >= IF_ICMPEQ && opcode <= IF_ICMPLE) {
+                stack(-2);
+            } else if (opcode != GOTO) {
+                stack(-1);
+            }
+            if (stack != 0) {
+                throw new IllegalStateException("Values left on the operand stack at a branch in '" + className +
+                        "." + name + "'");
+            }
+            flow.add(new Object[]{label});
+            if (opcode == GOTO) {
+                endOfFlow();
+            }
+        }
+
+        void mark(Label label) {
+            if (stack != 0) {
+                throw new IllegalStateException("Values left on the operand stack at a branch target in '" +
+                        className + "." + name + "'");
+            }
+            label.offset = code.size();
+            targets.add(label);
+            flow.add(new Object[]{label, null});
+        }
+
+        private void endOfFlow() {
+            flow.add(new Object[0]);
+        }
+
+        private void stack(int change) {
+            stack += change;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        private void writeShort(int value) {
+            code.write((value >>> 8) & 0xFF);
+            code.write(value & 0xFF);
+        }
+
+        /**
+         * Compute the locals written on all the paths reaching each branch target, as the types of the local slots
+         * with null for the slots not written on all paths. The entries of the flow are a written local as its index
+         * and type, a branch as its target, a branch target as the target and null, and the end of the flow, after an
+         * unconditional branch, a return or a throw, as an empty entry. The flow is walked until the locals of the
+         * branch targets no longer change, as branches may lead backwards to code written earlier.
+         */
+        private Map<Label, Object[]> computeFrames() {
+            Map<Label, Object[]> frames = new IdentityHashMap<Label, Object[]>();
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                Object[] locals = Arrays.copyOf(initialLocals, maxLocals);
+                for (Object[] entry : flow) {
+                    if (entry.length == 0) {
+                        locals = null;
+                    } else if (entry.length == 1 || entry[1] == null) {
+                        Label label = (Label) entry[0];
+                        Object[] frame = frames.get(label);
+                        if (locals != null) {
+                            Object[] mergedFrame = merge(frame, locals);
+                            if (frame == null || !Arrays.equals(frame, mergedFrame)) {
+                                frames.put(label, mergedFrame);
+                                changed = true;
+                            }
+                            frame = mergedFrame;
+                        }
+                        if (entry.length == 2) {
+                            // Code after a target only reached by branches not yet walked is walked once they are
+                            locals = frame != null ? frame.clone() : null;
+                        }
+                    } else if (locals != null) {
+                        int index = (Integer) entry[0];
+                        locals[index] = entry[1];
+                        if (isWide(entry[1])) {
+                            locals[index + 1] = null;
+                        }
+                    }
+                }
+            }
+            return frames;
+        }
+
+        private Object[] merge(Object[] frame, Object[] locals) {
+            if (frame == null) {
+                return locals.clone();
+            }
+            Object[] merged = new Object[maxLocals];
+            for (int i = 0; i < maxLocals; i++) {
+                merged[i] = frame[i] != null && frame[i].equals(locals[i]) ? frame[i] : null;
+            }
+            return merged;
+        }
+
+        private void writeFrameLocals(DataOutputStream frames, Object[] locals) throws IOException {
+            if (locals == null) {
+                // Unreachable code is verified with the initial locals
+                locals = initialLocals;
+            }
+            int count = locals.length;
+            while (count > 0 && locals[count - 1] == null) {
+                count--;
+            }
+            List<Object> items = new ArrayList<Object>();
+            for (int i = 0; i < count; i++) {
+                items.add(locals[i]);
+                if (isWide(locals[i])) {
+                    i++;
+                }
+            }
+            frames.writeShort(items.size());
+            for (Object item : items) {
+                if (item == null) {
+                    frames.writeByte(ITEM_TOP);
+                } else if (item instanceof String) {
+                    frames.writeByte(ITEM_OBJECT);
+                    frames.writeShort(classRef((String) item));
+                } else {
+                    frames.writeByte((Integer) item);
+                }
+            }
+        }
+
+        void end() {
+            byte[] codeBytes = code.toByteArray();
+            for (Object[] branch : branches) {
+                int position = (Integer) branch[0];
+                int target = ((Label) branch[1]).offset;
+                if (target < 0) {
+                    throw new IllegalStateException("Unresolved branch target in '" + className + "." + name + "'");
+                }
+                int offset = target - position;
+                if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Code of '" + className + "." + name + "' is too large");
+                }
+                codeBytes[position + 1] = (byte) (offset >>> 8);
+                codeBytes[position + 2] = (byte) offset;
+            }
+            if (codeBytes.length > 0xFFFF || maxLocals > 0xFFFF) {
+                throw new IllegalStateException("Code of '" + className + "." + name + "' is too large");
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            try {
+                byte[] stackMapTable = null;
+                if (!targets.isEmpty()) {
+                    Map<Label, Object[]> computedFrames = computeFrames();
+                    ByteArrayOutputStream frameBytes = new ByteArrayOutputStream();
+                    DataOutputStream frames = new DataOutputStream(frameBytes);
+                    int frameCount = 0;
+                    int previousOffset = -1;
+                    for (int i = 0; i < targets.size(); i++) {
+                        Label target = targets.get(i);
+                        if (i + 1 < targets.size() && targets.get(i + 1).offset == target.offset) {
+                            // Of the targets at the same offset, the last one is reached by the paths to all of them
+                            continue;
+                        }
+                        frames.writeByte(FULL_FRAME);
+                        frames.writeShort(target.offset - previousOffset - 1);
+                        writeFrameLocals(frames, computedFrames.get(target));
+                        frames.writeShort(0);
+                        previousOffset = target.offset;
+                        frameCount++;
+                    }
+                    ByteArrayOutputStream tableBytes = new ByteArrayOutputStream();
+                    DataOutputStream table = new DataOutputStream(tableBytes);
+                    table.writeShort(frameCount);
+                    frameBytes.writeTo(table);
+                    stackMapTable = tableBytes.toByteArray();
+                }
+
+                out.writeShort(access);
+                out.writeShort(utf8(name));
+                out.writeShort(utf8(descriptor));
+                out.writeShort(1);
+                out.writeShort(utf8("Code"));
+                int codeAttributeLength = 2 + 2 + 4 + codeBytes.length + 2 + 2;
+                if (stackMapTable != null) {
+                    codeAttributeLength += 2 + 4 + stackMapTable.length;
+                }
+                out.writeInt(codeAttributeLength);
+                out.writeShort(maxStack);
+                out.writeShort(maxLocals);
+                out.writeInt(codeBytes.length);
+                out.write(codeBytes);
+                out.writeShort(0);
+                if (stackMapTable != null) {
+                    out.writeShort(1);
+                    out.writeShort(utf8("StackMapTable"));
+                    out.writeInt(stackMapTable.length);
+                    out.write(stackMapTable);
+                } else {
+                    out.writeShort(0);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            methods.add(bytes.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor.compiled;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
+
+/**
+ * Parent class of the condition executors generated by {@link ExpressionCompiler}. The generated sub classes
+ * implement {@link #executeBoolean(ComplexEvent)}, and evaluate the parts of the condition that are not compiled by
+ * calling the given leaf executors.
+ */
+public abstract class CompiledConditionExpressionExecutor extends ConditionExpressionExecutor {
+
+    private final ExpressionExecutor[] leafExecutors;
+
+    protected CompiledConditionExpressionExecutor(ExpressionExecutor[] leafExecutors) {
+        this.leafExecutors = leafExecutors;
+    }
+
+    @Override
+    public Boolean execute(ComplexEvent event) {
+        return executeBoolean(event);
+    }
+
+    @Override
+    public abstract boolean executeBoolean(ComplexEvent event);
+
+    @Override
+    public boolean isDeterministic() {
+        for (ExpressionExecutor leafExecutor : leafExecutors) {
+            if (!leafExecutor.isDeterministic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ExpressionExecutor cloneExecutor(String key) {
+        return ExpressionCompiler.newInstance(getClass(), ExpressionCompiler.cloneExecutors(leafExecutors, key));
+    }
+
+    @Override
+    public void clean() {
+        for (ExpressionExecutor leafExecutor : leafExecutors) {
+            leafExecutor.clean();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor.compiled;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.ExpressionExecutor;
+
+/**
+ * Parent class of the arithmetic executors generated by {@link ExpressionCompiler}. The generated sub classes
+ * implement the typed execute method matching the return type, marking a null result on the event as the other typed
+ * executors do, and evaluate the parts of the expression that are not compiled by calling the given leaf executors.
+ */
+public abstract class CompiledExpressionExecutor implements ExpressionExecutor {
+
+    private final ExpressionExecutor[] leafExecutors;
+
+    protected CompiledExpressionExecutor(ExpressionExecutor[] leafExecutors) {
+        this.leafExecutors = leafExecutors;
+    }
+
+    @Override
+    public Object execute(ComplexEvent event) {
+        Object result;
+        switch (getReturnType()) {
+            case INT:
+                result = executeInt(event);
+                break;
+            case LONG:
+                result = executeLong(event);
+                break;
+            case FLOAT:
+                result = executeFloat(event);
+                break;
+            default:
+                result = executeDouble(event);
+        }
+        return event.wasNullResult() ? null : result;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        for (ExpressionExecutor leafExecutor : leafExecutors) {
+            if (!leafExecutor.isDeterministic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ExpressionExecutor cloneExecutor(String key) {
+        return ExpressionCompiler.newInstance(getClass(), ExpressionCompiler.cloneExecutors(leafExecutors, key));
+    }
+
+    @Override
+    public void clean() {
+        for (ExpressionExecutor leafExecutor : leafExecutors) {
+            leafExecutor.clean();
+        }
+    }
+}
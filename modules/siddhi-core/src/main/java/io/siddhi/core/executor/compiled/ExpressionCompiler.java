@@ -0,0 +1,881 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor.compiled;
+
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.executor.ConstantExpressionExecutor;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.VariableExpressionExecutor;
+import io.siddhi.core.executor.condition.AndConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.NotConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.OrConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.CompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.equal.EqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.greaterthan.GreaterThanCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.greaterthanequal.GreaterThanEqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.lessthan.LessThanCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.lessthanequal.LessThanEqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.notequal.NotEqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.math.add.AddExpressionExecutorDouble;
+import io.siddhi.core.executor.math.add.AddExpressionExecutorFloat;
+import io.siddhi.core.executor.math.add.AddExpressionExecutorInt;
+import io.siddhi.core.executor.math.add.AddExpressionExecutorLong;
+import io.siddhi.core.executor.math.divide.DivideExpressionExecutorDouble;
+import io.siddhi.core.executor.math.divide.DivideExpressionExecutorFloat;
+import io.siddhi.core.executor.math.divide.DivideExpressionExecutorInt;
+import io.siddhi.core.executor.math.divide.DivideExpressionExecutorLong;
+import io.siddhi.core.executor.math.mod.ModExpressionExecutorDouble;
+import io.siddhi.core.executor.math.mod.ModExpressionExecutorFloat;
+import io.siddhi.core.executor.math.mod.ModExpressionExecutorInt;
+import io.siddhi.core.executor.math.mod.ModExpressionExecutorLong;
+import io.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorDouble;
+import io.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorFloat;
+import io.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorInt;
+import io.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorLong;
+import io.siddhi.core.executor.math.subtract.SubtractExpressionExecutorDouble;
+import io.siddhi.core.executor.math.subtract.SubtractExpressionExecutorFloat;
+import io.siddhi.core.executor.math.subtract.SubtractExpressionExecutorInt;
+import io.siddhi.core.executor.math.subtract.SubtractExpressionExecutorLong;
+import io.siddhi.query.api.definition.Attribute;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.siddhi.core.executor.compiled.ClassFileWriter.AALOAD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.ACC_PRIVATE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.ACC_PUBLIC;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.ALOAD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.ARETURN;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.ASTORE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.CHECKCAST;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.DCMPG;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.DCMPL;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.DLOAD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.DRETURN;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.DSTORE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.F2D;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.FCMPG;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.FCMPL;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.FLOAD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.FRETURN;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.FSTORE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.GETFIELD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.GETSTATIC;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.GOTO;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.I2D;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.I2F;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.I2L;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IADD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IDIV;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IFEQ;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IFNULL;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IF_ICMPEQ;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IF_ICMPGE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IF_ICMPGT;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IF_ICMPLE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IF_ICMPLT;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IF_ICMPNE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.ILOAD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IMUL;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.INSTANCEOF;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.INVOKESPECIAL;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.INVOKEVIRTUAL;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IREM;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.IRETURN;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.ISTORE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.ISUB;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.L2D;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.L2F;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.LCMP;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.LLOAD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.LRETURN;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.LSTORE;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.PUTFIELD;
+import static io.siddhi.core.executor.compiled.ClassFileWriter.RETURN;
+import static io.siddhi.core.util.SiddhiConstants.BEFORE_WINDOW_DATA_INDEX;
+import static io.siddhi.core.util.SiddhiConstants.ON_AFTER_WINDOW_DATA_INDEX;
+import static io.siddhi.core.util.SiddhiConstants.OUTPUT_DATA_INDEX;
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_INDEX_IN_TYPE;
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_TYPE_INDEX;
+
+/**
+ * Compiles trees of condition, compare and arithmetic expression executors into a single generated class, such that
+ * the whole tree is evaluated on primitives within one method instead of walking the executors for each event.
+ * <p>
+ * Attributes of stream events are read from the event data directly, at the positions of the attributes when the
+ * expression is compiled, hence expressions are compiled once the positions of the attributes of the query are final.
+ * Constants of other types and all other executors, such as functions and extensions, are kept as leaves of the
+ * generated code and still evaluated by their executors. Evaluation order and null handling follow the interpreted
+ * executors; a compare with a null operand is false, other than not equal which is true, and an arithmetic operation
+ * with a null operand or a zero divisor is null. When the left operand of a compare or an arithmetic operation is null,
+ * its right operand is still evaluated if it has leaves that may keep state, in code placed after the main path of the
+ * method that refers to the same leaves.
+ */
+public final class ExpressionCompiler {
+
+    private static final Logger log = Logger.getLogger(ExpressionCompiler.class);
+    private static final AtomicLong CLASS_COUNTER = new AtomicLong();
+
+    private static final String COMPLEX_EVENT = "io/siddhi/core/event/ComplexEvent";
+    private static final String STREAM_EVENT = "io/siddhi/core/event/stream/StreamEvent";
+    private static final String EXPRESSION_EXECUTOR = "io/siddhi/core/executor/ExpressionExecutor";
+    private static final String VARIABLE_EXPRESSION_EXECUTOR = "io/siddhi/core/executor/VariableExpressionExecutor";
+    private static final String CONDITION_EXPRESSION_EXECUTOR =
+            "io/siddhi/core/executor/condition/ConditionExpressionExecutor";
+    private static final String ATTRIBUTE_TYPE = "io/siddhi/query/api/definition/Attribute$Type";
+    private static final String EXECUTE_DESCRIPTOR = "(L" + COMPLEX_EVENT + ";)Ljava/lang/Object;";
+
+    private final ClassFileWriter classFileWriter;
+    private final List<ExpressionExecutor> leafExecutors = new ArrayList<ExpressionExecutor>();
+    private final List<String> leafTypes = new ArrayList<String>();
+    private final List<NullOperandHandler> nullOperandHandlers = new ArrayList<NullOperandHandler>();
+    private ClassFileWriter.MethodWriter methodWriter;
+
+    private ExpressionCompiler(String superClassName) {
+        this.classFileWriter = new ClassFileWriter("io/siddhi/core/executor/compiled/GeneratedExpressionExecutor" +
+                CLASS_COUNTER.incrementAndGet(), superClassName);
+    }
+
+    /**
+     * Compile the given executor tree. The given executor is returned as it is when it has no conditions, compares or
+     * arithmetic operations to compile, or when it cannot be compiled.
+     *
+     * @param expressionExecutor executor tree to be compiled
+     * @param name               name of the element the expression belongs to, used for logging
+     * @return compiled executor, or the given executor
+     */
+    public static ExpressionExecutor compile(ExpressionExecutor expressionExecutor, String name) {
+        try {
+            if (isCompiledCondition(expressionExecutor)) {
+                ExpressionCompiler compiler = new ExpressionCompiler(
+                        "io/siddhi/core/executor/compiled/CompiledConditionExpressionExecutor");
+                compiler.writeCondition(expressionExecutor);
+                return compiler.load();
+            } else if (isArithmetic(expressionExecutor)) {
+                ExpressionCompiler compiler = new ExpressionCompiler(
+                        "io/siddhi/core/executor/compiled/CompiledExpressionExecutor");
+                compiler.writeArithmetic(expressionExecutor);
+                return compiler.load();
+            }
+        } catch (RuntimeException | LinkageError e) {
+            log.warn("Unable to compile the expression of '" + name + "', hence it will be interpreted.", e);
+        }
+        return expressionExecutor;
+    }
+
+    static ExpressionExecutor newInstance(Class<?> compiledClass, ExpressionExecutor[] leafExecutors) {
+        try {
+            return (ExpressionExecutor) compiledClass.getConstructor(ExpressionExecutor[].class)
+                    .newInstance((Object) leafExecutors);
+        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
+                InvocationTargetException e) {
+            throw new SiddhiAppRuntimeException("Error creating an instance of the compiled expression '" +
+                    compiledClass.getName() + "'", e);
+        }
+    }
+
+    static ExpressionExecutor[] cloneExecutors(ExpressionExecutor[] executors, String key) {
+        ExpressionExecutor[] clonedExecutors = new ExpressionExecutor[executors.length];
+        for (int i = 0; i < executors.length; i++) {
+            clonedExecutors[i] = executors[i].cloneExecutor(key);
+        }
+        return clonedExecutors;
+    }
+
+    private static boolean isCompiledCondition(ExpressionExecutor executor) {
+        return executor instanceof AndConditionExpressionExecutor ||
+                executor instanceof OrConditionExpressionExecutor ||
+                executor instanceof NotConditionExpressionExecutor ||
+                isCompiledCompare(executor);
+    }
+
+    private static boolean isCompiledCompare(ExpressionExecutor executor) {
+        if (!(executor instanceof CompareConditionExpressionExecutor)) {
+            return false;
+        }
+        Attribute.Type leftType = ((CompareConditionExpressionExecutor) executor).getLeftExpressionExecutor()
+                .getReturnType();
+        Attribute.Type rightType = ((CompareConditionExpressionExecutor) executor).getRightExpressionExecutor()
+                .getReturnType();
+        if (leftType == Attribute.Type.BOOL && rightType == Attribute.Type.BOOL) {
+            return executor instanceof EqualCompareConditionExpressionExecutor ||
+                    executor instanceof NotEqualCompareConditionExpressionExecutor;
+        }
+        return isNumeric(leftType) && isNumeric(rightType);
+    }
+
+    private static boolean isNumeric(Attribute.Type type) {
+        return type == Attribute.Type.INT || type == Attribute.Type.LONG || type == Attribute.Type.FLOAT ||
+                type == Attribute.Type.DOUBLE;
+    }
+
+    private static boolean isArithmetic(ExpressionExecutor executor) {
+        return arithmeticOpcode(executor) != -1;
+    }
+
+    /**
+     * @return the int variant of the JVM instruction of the arithmetic executor, or -1 if it is not one
+     */
+    private static int arithmeticOpcode(ExpressionExecutor executor) {
+        if (executor instanceof AddExpressionExecutorInt || executor instanceof AddExpressionExecutorLong ||
+                executor instanceof AddExpressionExecutorFloat || executor instanceof AddExpressionExecutorDouble) {
+            return IADD;
+        } else if (executor instanceof SubtractExpressionExecutorInt ||
+                executor instanceof SubtractExpressionExecutorLong ||
+                executor instanceof SubtractExpressionExecutorFloat ||
+                executor instanceof SubtractExpressionExecutorDouble) {
+            return ISUB;
+        } else if (executor instanceof MultiplyExpressionExecutorInt ||
+                executor instanceof MultiplyExpressionExecutorLong ||
+                executor instanceof MultiplyExpressionExecutorFloat ||
+                executor instanceof MultiplyExpressionExecutorDouble) {
+            return IMUL;
+        } else if (executor instanceof DivideExpressionExecutorInt ||
+                executor instanceof DivideExpressionExecutorLong ||
+                executor instanceof DivideExpressionExecutorFloat ||
+                executor instanceof DivideExpressionExecutorDouble) {
+            return IDIV;
+        } else if (executor instanceof ModExpressionExecutorInt || executor instanceof ModExpressionExecutorLong ||
+                executor instanceof ModExpressionExecutorFloat || executor instanceof ModExpressionExecutorDouble) {
+            return IREM;
+        }
+        return -1;
+    }
+
+    private static ExpressionExecutor[] arithmeticOperands(ExpressionExecutor executor) {
+        if (executor instanceof AddExpressionExecutorInt) {
+            return new ExpressionExecutor[]{((AddExpressionExecutorInt) executor).getLeftExpressionExecutor(),
+                    ((AddExpressionExecutorInt) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof AddExpressionExecutorLong) {
+            return new ExpressionExecutor[]{((AddExpressionExecutorLong) executor).getLeftExpressionExecutor(),
+                    ((AddExpressionExecutorLong) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof AddExpressionExecutorFloat) {
+            return new ExpressionExecutor[]{((AddExpressionExecutorFloat) executor).getLeftExpressionExecutor(),
+                    ((AddExpressionExecutorFloat) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof AddExpressionExecutorDouble) {
+            return new ExpressionExecutor[]{((AddExpressionExecutorDouble) executor).getLeftExpressionExecutor(),
+                    ((AddExpressionExecutorDouble) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof SubtractExpressionExecutorInt) {
+            return new ExpressionExecutor[]{((SubtractExpressionExecutorInt) executor).getLeftExpressionExecutor(),
+                    ((SubtractExpressionExecutorInt) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof SubtractExpressionExecutorLong) {
+            return new ExpressionExecutor[]{((SubtractExpressionExecutorLong) executor).getLeftExpressionExecutor(),
+                    ((SubtractExpressionExecutorLong) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof SubtractExpressionExecutorFloat) {
+            return new ExpressionExecutor[]{((SubtractExpressionExecutorFloat) executor).getLeftExpressionExecutor(),
+                    ((SubtractExpressionExecutorFloat) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof SubtractExpressionExecutorDouble) {
+            return new ExpressionExecutor[]{((SubtractExpressionExecutorDouble) executor).getLeftExpressionExecutor(),
+                    ((SubtractExpressionExecutorDouble) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof MultiplyExpressionExecutorInt) {
+            return new ExpressionExecutor[]{((MultiplyExpressionExecutorInt) executor).getLeftExpressionExecutor(),
+                    ((MultiplyExpressionExecutorInt) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof MultiplyExpressionExecutorLong) {
+            return new ExpressionExecutor[]{((MultiplyExpressionExecutorLong) executor).getLeftExpressionExecutor(),
+                    ((MultiplyExpressionExecutorLong) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof MultiplyExpressionExecutorFloat) {
+            return new ExpressionExecutor[]{((MultiplyExpressionExecutorFloat) executor).getLeftExpressionExecutor(),
+                    ((MultiplyExpressionExecutorFloat) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof MultiplyExpressionExecutorDouble) {
+            return new ExpressionExecutor[]{((MultiplyExpressionExecutorDouble) executor).getLeftExpressionExecutor(),
+                    ((MultiplyExpressionExecutorDouble) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof DivideExpressionExecutorInt) {
+            return new ExpressionExecutor[]{((DivideExpressionExecutorInt) executor).getLeftExpressionExecutor(),
+                    ((DivideExpressionExecutorInt) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof DivideExpressionExecutorLong) {
+            return new ExpressionExecutor[]{((DivideExpressionExecutorLong) executor).getLeftExpressionExecutor(),
+                    ((DivideExpressionExecutorLong) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof DivideExpressionExecutorFloat) {
+            return new ExpressionExecutor[]{((DivideExpressionExecutorFloat) executor).getLeftExpressionExecutor(),
+                    ((DivideExpressionExecutorFloat) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof DivideExpressionExecutorDouble) {
+            return new ExpressionExecutor[]{((DivideExpressionExecutorDouble) executor).getLeftExpressionExecutor(),
+                    ((DivideExpressionExecutorDouble) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof ModExpressionExecutorInt) {
+            return new ExpressionExecutor[]{((ModExpressionExecutorInt) executor).getLeftExpressionExecutor(),
+                    ((ModExpressionExecutorInt) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof ModExpressionExecutorLong) {
+            return new ExpressionExecutor[]{((ModExpressionExecutorLong) executor).getLeftExpressionExecutor(),
+                    ((ModExpressionExecutorLong) executor).getRightExpressionExecutor()};
+        } else if (executor instanceof ModExpressionExecutorFloat) {
+            return new ExpressionExecutor[]{((ModExpressionExecutorFloat) executor).getLeftExpressionExecutor(),
+                    ((ModExpressionExecutorFloat) executor).getRightExpressionExecutor()};
+        } else {
+            return new ExpressionExecutor[]{((ModExpressionExecutorDouble) executor).getLeftExpressionExecutor(),
+                    ((ModExpressionExecutorDouble) executor).getRightExpressionExecutor()};
+        }
+    }
+
+    private void writeCondition(ExpressionExecutor executor) {
+        methodWriter = classFileWriter.addMethod(ACC_PUBLIC, "executeBoolean", "(L" + COMPLEX_EVENT + ";)Z",
+                COMPLEX_EVENT);
+        ClassFileWriter.Label falseLabel = new ClassFileWriter.Label();
+        writeCondition(executor, falseLabel);
+        methodWriter.pushInt(1);
+        methodWriter.op(IRETURN);
+        writeNullOperandHandlers();
+        methodWriter.mark(falseLabel);
+        methodWriter.pushInt(0);
+        methodWriter.op(IRETURN);
+        methodWriter.end();
+    }
+
+    private void writeArithmetic(ExpressionExecutor executor) {
+        Attribute.Type type = executor.getReturnType();
+        String typeName = type == Attribute.Type.INT ? "Int" : type == Attribute.Type.LONG ? "Long" :
+                type == Attribute.Type.FLOAT ? "Float" : "Double";
+        methodWriter = classFileWriter.addMethod(ACC_PUBLIC, "execute" + typeName,
+                "(L" + COMPLEX_EVENT + ";)" + descriptor(type), COMPLEX_EVENT);
+        ClassFileWriter.Label nullLabel = new ClassFileWriter.Label();
+        int returnOpcode = type == Attribute.Type.INT ? IRETURN : type == Attribute.Type.LONG ? LRETURN :
+                type == Attribute.Type.FLOAT ? FRETURN : DRETURN;
+        int result = writeNumber(executor, type, nullLabel);
+        methodWriter.varInsn(loadOpcode(type), result);
+        methodWriter.op(returnOpcode);
+        writeNullOperandHandlers();
+        methodWriter.mark(nullLabel);
+        methodWriter.varInsn(ALOAD, 1);
+        methodWriter.interfaceMethodInsn(COMPLEX_EVENT, "markNullResult", "()V");
+        switch (type) {
+            case INT:
+                methodWriter.pushInt(0);
+                break;
+            case LONG:
+                methodWriter.pushLong(0L);
+                break;
+            case FLOAT:
+                methodWriter.pushFloat(0.0f);
+                break;
+            default:
+                methodWriter.pushDouble(0.0d);
+        }
+        methodWriter.op(returnOpcode);
+        methodWriter.end();
+
+        methodWriter = classFileWriter.addMethod(ACC_PUBLIC, "getReturnType", "()L" + ATTRIBUTE_TYPE + ";");
+        methodWriter.fieldInsn(GETSTATIC, ATTRIBUTE_TYPE, type.name(), "L" + ATTRIBUTE_TYPE + ";");
+        methodWriter.op(ARETURN);
+        methodWriter.end();
+    }
+
+    /**
+     * Write the code evaluating the condition, that continues when the condition is true and jumps to the given label
+     * when it is false.
+     */
+    private void writeCondition(ExpressionExecutor executor, ClassFileWriter.Label falseLabel) {
+        if (executor instanceof AndConditionExpressionExecutor) {
+            writeCondition(((AndConditionExpressionExecutor) executor).getLeftConditionExecutor(), falseLabel);
+            writeCondition(((AndConditionExpressionExecutor) executor).getRightConditionExecutor(), falseLabel);
+        } else if (executor instanceof OrConditionExpressionExecutor) {
+            ClassFileWriter.Label rightLabel = new ClassFileWriter.Label();
+            ClassFileWriter.Label trueLabel = new ClassFileWriter.Label();
+            writeCondition(((OrConditionExpressionExecutor) executor).getLeftConditionExecutor(), rightLabel);
+            methodWriter.jump(GOTO, trueLabel);
+            methodWriter.mark(rightLabel);
+            writeCondition(((OrConditionExpressionExecutor) executor).getRightConditionExecutor(), falseLabel);
+            methodWriter.mark(trueLabel);
+        } else if (executor instanceof NotConditionExpressionExecutor) {
+            ClassFileWriter.Label trueLabel = new ClassFileWriter.Label();
+            writeCondition(((NotConditionExpressionExecutor) executor).getConditionExecutor(), trueLabel);
+            methodWriter.jump(GOTO, falseLabel);
+            methodWriter.mark(trueLabel);
+        } else if (isCompiledCompare(executor)) {
+            writeCompare((CompareConditionExpressionExecutor) executor, falseLabel);
+        } else if (executor instanceof ConstantExpressionExecutor &&
+                ((ConstantExpressionExecutor) executor).getValue() != null) {
+            methodWriter.pushInt((Boolean) ((ConstantExpressionExecutor) executor).getValue() ? 1 : 0);
+            methodWriter.jump(IFEQ, falseLabel);
+        } else if (executor instanceof ConditionExpressionExecutor) {
+            writeLoadLeaf(executor);
+            methodWriter.varInsn(ALOAD, 1);
+            methodWriter.methodInsn(INVOKEVIRTUAL, CONDITION_EXPRESSION_EXECUTOR, "executeBoolean",
+                    "(L" + COMPLEX_EVENT + ";)Z");
+            methodWriter.jump(IFEQ, falseLabel);
+        } else {
+            int value = writeLeafValue(executor, Attribute.Type.BOOL, falseLabel);
+            methodWriter.varInsn(ILOAD, value);
+            methodWriter.jump(IFEQ, falseLabel);
+        }
+    }
+
+    private void writeCompare(CompareConditionExpressionExecutor executor, ClassFileWriter.Label falseLabel) {
+        ExpressionExecutor left = executor.getLeftExpressionExecutor();
+        ExpressionExecutor right = executor.getRightExpressionExecutor();
+        // Not equal is true when an operand is null, all other compares are false
+        boolean notEqual = executor instanceof NotEqualCompareConditionExpressionExecutor;
+        ClassFileWriter.Label nullLabel = notEqual ? new ClassFileWriter.Label() : falseLabel;
+        if (left.getReturnType() == Attribute.Type.BOOL) {
+            int leftValue = writeBool(left, leftNullLabel(left, right, nullLabel));
+            int rightValue = writeBool(right, nullLabel);
+            methodWriter.varInsn(ILOAD, leftValue);
+            methodWriter.varInsn(ILOAD, rightValue);
+            methodWriter.jump(notEqual ? IF_ICMPEQ : IF_ICMPNE, falseLabel);
+        } else {
+            writeNumericCompare(executor, left, right, nullLabel, falseLabel);
+        }
+        if (notEqual) {
+            methodWriter.mark(nullLabel);
+        }
+    }
+
+    private void writeNumericCompare(CompareConditionExpressionExecutor executor, ExpressionExecutor left,
+                                     ExpressionExecutor right, ClassFileWriter.Label nullLabel,
+                                     ClassFileWriter.Label falseLabel) {
+        Attribute.Type type = widerType(left.getReturnType(), right.getReturnType());
+        int leftValue = writeNumber(left, type, leftNullLabel(left, right, nullLabel));
+        int rightValue = writeNumber(right, type, nullLabel);
+        methodWriter.varInsn(loadOpcode(type), leftValue);
+        methodWriter.varInsn(loadOpcode(type), rightValue);
+        boolean lessThan = executor instanceof LessThanCompareConditionExpressionExecutor ||
+                executor instanceof LessThanEqualCompareConditionExpressionExecutor;
+        // Jump to the false label on the negated condition. NaN compares as greater for less than checks, and as
+        // less for all others, such that any compare with NaN other than not equal is false.
+        if (type == Attribute.Type.INT) {
+            methodWriter.jump(negatedIntCompareOpcode(executor), falseLabel);
+        } else {
+            if (type == Attribute.Type.LONG) {
+                methodWriter.op(LCMP);
+            } else if (type == Attribute.Type.FLOAT) {
+                methodWriter.op(lessThan ? FCMPG : FCMPL);
+            } else {
+                methodWriter.op(lessThan ? DCMPG : DCMPL);
+            }
+            methodWriter.jump(negatedIntCompareOpcode(executor) - (IF_ICMPEQ - IFEQ), falseLabel);
+        }
+    }
+
+    private static int negatedIntCompareOpcode(CompareConditionExpressionExecutor executor) {
+        if (executor instanceof EqualCompareConditionExpressionExecutor) {
+            return IF_ICMPNE;
+        } else if (executor instanceof NotEqualCompareConditionExpressionExecutor) {
+            return IF_ICMPEQ;
+        } else if (executor instanceof GreaterThanCompareConditionExpressionExecutor) {
+            return IF_ICMPLE;
+        } else if (executor instanceof GreaterThanEqualCompareConditionExpressionExecutor) {
+            return IF_ICMPLT;
+        } else if (executor instanceof LessThanCompareConditionExpressionExecutor) {
+            return IF_ICMPGE;
+        } else {
+            return IF_ICMPGT;
+        }
+    }
+
+    /**
+     * Write the code evaluating a boolean operand into a new local, jumping to the given label when it is null.
+     */
+    private int writeBool(ExpressionExecutor executor, ClassFileWriter.Label nullLabel) {
+        if (isCompiledCondition(executor)) {
+            ClassFileWriter.Label falseLabel = new ClassFileWriter.Label();
+            ClassFileWriter.Label endLabel = new ClassFileWriter.Label();
+            int local = methodWriter.newLocal(1);
+            writeCondition(executor, falseLabel);
+            methodWriter.pushInt(1);
+            methodWriter.varInsn(ISTORE, local);
+            methodWriter.jump(GOTO, endLabel);
+            methodWriter.mark(falseLabel);
+            methodWriter.pushInt(0);
+            methodWriter.varInsn(ISTORE, local);
+            methodWriter.mark(endLabel);
+            return local;
+        } else if (executor instanceof ConstantExpressionExecutor && ((ConstantExpressionExecutor) executor).getValue()
+                != null) {
+            int local = methodWriter.newLocal(1);
+            methodWriter.pushInt((Boolean) ((ConstantExpressionExecutor) executor).getValue() ? 1 : 0);
+            methodWriter.varInsn(ISTORE, local);
+            return local;
+        }
+        return writeLeafValue(executor, Attribute.Type.BOOL, nullLabel);
+    }
+
+    /**
+     * Write the code evaluating a numeric operand, converted to the given type, into a new local, jumping to the given
+     * label when it is null.
+     */
+    private int writeNumber(ExpressionExecutor executor, Attribute.Type type, ClassFileWriter.Label nullLabel) {
+        Attribute.Type executorType = executor.getReturnType();
+        int opcode = arithmeticOpcode(executor);
+        if (opcode != -1) {
+            ExpressionExecutor[] operands = arithmeticOperands(executor);
+            int left = writeNumber(operands[0], executorType, leftNullLabel(operands[0], operands[1], nullLabel));
+            int right = writeNumber(operands[1], executorType, nullLabel);
+            if (opcode == IDIV || opcode == IREM) {
+                // Division by zero results in null
+                methodWriter.varInsn(loadOpcode(executorType), right);
+                switch (executorType) {
+                    case INT:
+                        break;
+                    case LONG:
+                        methodWriter.pushLong(0L);
+                        methodWriter.op(LCMP);
+                        break;
+                    case FLOAT:
+                        methodWriter.pushFloat(0.0f);
+                        methodWriter.op(FCMPL);
+                        break;
+                    default:
+                        methodWriter.pushDouble(0.0d);
+                        methodWriter.op(DCMPL);
+                }
+                methodWriter.jump(IFEQ, nullLabel);
+            }
+            methodWriter.varInsn(loadOpcode(executorType), left);
+            methodWriter.varInsn(loadOpcode(executorType), right);
+            methodWriter.op(opcode + typeOffset(executorType));
+        } else if (executor instanceof ConstantExpressionExecutor &&
+                ((ConstantExpressionExecutor) executor).getValue() != null) {
+            Object value = ((ConstantExpressionExecutor) executor).getValue();
+            switch (executorType) {
+                case INT:
+                    methodWriter.pushInt((Integer) value);
+                    break;
+                case LONG:
+                    methodWriter.pushLong((Long) value);
+                    break;
+                case FLOAT:
+                    methodWriter.pushFloat((Float) value);
+                    break;
+                default:
+                    methodWriter.pushDouble((Double) value);
+            }
+        } else {
+            int local = writeLeafValue(executor, executorType, nullLabel);
+            if (executorType == type) {
+                return local;
+            }
+            methodWriter.varInsn(loadOpcode(executorType), local);
+        }
+        writeConversion(executorType, type);
+        int local = methodWriter.newLocal(slots(type));
+        methodWriter.varInsn(storeOpcode(type), local);
+        return local;
+    }
+
+    /**
+     * Write the code evaluating a leaf executor and unboxing its value into a new local, jumping to the given label
+     * when the value is null.
+     */
+    private int writeLeafValue(ExpressionExecutor executor, Attribute.Type type, ClassFileWriter.Label nullLabel) {
+        int boxed = methodWriter.newLocal(1);
+        String dataGetter = executor.getClass() == VariableExpressionExecutor.class ?
+                dataGetter(((VariableExpressionExecutor) executor).getPosition()) : null;
+        if (dataGetter != null) {
+            // Attributes of stream events are read from their data, and those of other events via the executor
+            ClassFileWriter.Label otherEventLabel = new ClassFileWriter.Label();
+            ClassFileWriter.Label loadedLabel = new ClassFileWriter.Label();
+            methodWriter.varInsn(ALOAD, 1);
+            methodWriter.typeInsn(INSTANCEOF, STREAM_EVENT);
+            methodWriter.jump(IFEQ, otherEventLabel);
+            methodWriter.varInsn(ALOAD, 1);
+            methodWriter.typeInsn(CHECKCAST, STREAM_EVENT);
+            methodWriter.methodInsn(INVOKEVIRTUAL, STREAM_EVENT, dataGetter, "()[Ljava/lang/Object;");
+            methodWriter.pushInt(((VariableExpressionExecutor) executor).getPosition()
+                    [STREAM_ATTRIBUTE_INDEX_IN_TYPE]);
+            methodWriter.op(AALOAD);
+            methodWriter.varInsn(ASTORE, boxed);
+            methodWriter.jump(GOTO, loadedLabel);
+            methodWriter.mark(otherEventLabel);
+            writeExecuteLeaf(executor);
+            methodWriter.varInsn(ASTORE, boxed);
+            methodWriter.mark(loadedLabel);
+        } else {
+            writeExecuteLeaf(executor);
+            methodWriter.varInsn(ASTORE, boxed);
+        }
+        methodWriter.varInsn(ALOAD, boxed);
+        methodWriter.jump(IFNULL, nullLabel);
+        methodWriter.varInsn(ALOAD, boxed);
+        String boxType;
+        String unboxMethod;
+        switch (type) {
+            case BOOL:
+                boxType = "java/lang/Boolean";
+                unboxMethod = "booleanValue";
+                break;
+            case INT:
+                boxType = "java/lang/Integer";
+                unboxMethod = "intValue";
+                break;
+            case LONG:
+                boxType = "java/lang/Long";
+                unboxMethod = "longValue";
+                break;
+            case FLOAT:
+                boxType = "java/lang/Float";
+                unboxMethod = "floatValue";
+                break;
+            default:
+                boxType = "java/lang/Double";
+                unboxMethod = "doubleValue";
+        }
+        methodWriter.typeInsn(CHECKCAST, boxType);
+        methodWriter.methodInsn(INVOKEVIRTUAL, boxType, unboxMethod, "()" + descriptor(type));
+        int local = methodWriter.newLocal(slots(type));
+        methodWriter.varInsn(storeOpcode(type), local);
+        return local;
+    }
+
+    private void writeExecuteLeaf(ExpressionExecutor executor) {
+        writeLoadLeaf(executor);
+        methodWriter.varInsn(ALOAD, 1);
+        if (executor.getClass() == VariableExpressionExecutor.class) {
+            methodWriter.methodInsn(INVOKEVIRTUAL, VARIABLE_EXPRESSION_EXECUTOR, "execute", EXECUTE_DESCRIPTOR);
+        } else {
+            methodWriter.interfaceMethodInsn(EXPRESSION_EXECUTOR, "execute", EXECUTE_DESCRIPTOR);
+        }
+    }
+
+    /**
+     * @return name of the method of {@link io.siddhi.core.event.stream.StreamEvent} returning the data holding the
+     * attribute at the given position, or null if the position is not known
+     */
+    private static String dataGetter(int[] position) {
+        if (position[STREAM_ATTRIBUTE_INDEX_IN_TYPE] < 0) {
+            return null;
+        }
+        switch (position[STREAM_ATTRIBUTE_TYPE_INDEX]) {
+            case BEFORE_WINDOW_DATA_INDEX:
+                return "getBeforeWindowData";
+            case ON_AFTER_WINDOW_DATA_INDEX:
+                return "getOnAfterWindowData";
+            case OUTPUT_DATA_INDEX:
+                return "getOutputData";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the label to jump to when the left operand of a binary operation is null, which leads to the code
+     * evaluating the right operand when it has leaves that may keep state, such as aggregations, as the interpreted
+     * executors evaluate the right operand regardless of the left
+     */
+    private ClassFileWriter.Label leftNullLabel(ExpressionExecutor left, ExpressionExecutor right,
+                                                ClassFileWriter.Label nullLabel) {
+        if ((left instanceof ConstantExpressionExecutor && ((ConstantExpressionExecutor) left).getValue() != null) ||
+                isCompiledCondition(left) || !hasStatefulLeaves(right)) {
+            return nullLabel;
+        }
+        ClassFileWriter.Label label = new ClassFileWriter.Label();
+        nullOperandHandlers.add(new NullOperandHandler(label, right, nullLabel));
+        return label;
+    }
+
+    /**
+     * @return whether any of the leaves of the generated code of the given operand is not deterministic, going through
+     * the same executors as the code generation
+     */
+    private static boolean hasStatefulLeaves(ExpressionExecutor executor) {
+        ExpressionExecutor[] operands;
+        if (isArithmetic(executor)) {
+            operands = arithmeticOperands(executor);
+        } else if (executor instanceof AndConditionExpressionExecutor) {
+            operands = new ExpressionExecutor[]{
+                    ((AndConditionExpressionExecutor) executor).getLeftConditionExecutor(),
+                    ((AndConditionExpressionExecutor) executor).getRightConditionExecutor()};
+        } else if (executor instanceof OrConditionExpressionExecutor) {
+            operands = new ExpressionExecutor[]{
+                    ((OrConditionExpressionExecutor) executor).getLeftConditionExecutor(),
+                    ((OrConditionExpressionExecutor) executor).getRightConditionExecutor()};
+        } else if (executor instanceof NotConditionExpressionExecutor) {
+            operands = new ExpressionExecutor[]{((NotConditionExpressionExecutor) executor).getConditionExecutor()};
+        } else if (isCompiledCompare(executor)) {
+            operands = new ExpressionExecutor[]{
+                    ((CompareConditionExpressionExecutor) executor).getLeftExpressionExecutor(),
+                    ((CompareConditionExpressionExecutor) executor).getRightExpressionExecutor()};
+        } else {
+            return !(executor instanceof ConstantExpressionExecutor) && !executor.isDeterministic();
+        }
+        for (ExpressionExecutor operand : operands) {
+            if (hasStatefulLeaves(operand)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write the code of the right operands evaluated when their left operands are null. The code of a right operand
+     * is generated again, referring to the same leaves as the main path, and its result is discarded. Handlers of left
+     * operands that are never null are left out, as the verifier would check their unreachable code against the
+     * locals of the method entry.
+     */
+    private void writeNullOperandHandlers() {
+        // Handlers written here may add handlers of their own operands
+        for (int i = 0; i < nullOperandHandlers.size(); i++) {
+            NullOperandHandler handler = nullOperandHandlers.get(i);
+            if (!handler.label.isReferenced()) {
+                continue;
+            }
+            methodWriter.mark(handler.label);
+            if (handler.right.getReturnType() == Attribute.Type.BOOL) {
+                writeBool(handler.right, handler.nullLabel);
+            } else {
+                writeNumber(handler.right, handler.right.getReturnType(), handler.nullLabel);
+            }
+            methodWriter.jump(GOTO, handler.nullLabel);
+        }
+        nullOperandHandlers.clear();
+    }
+
+    private void writeLoadLeaf(ExpressionExecutor executor) {
+        String fieldType;
+        if (executor.getClass() == VariableExpressionExecutor.class) {
+            fieldType = VARIABLE_EXPRESSION_EXECUTOR;
+        } else if (executor instanceof ConditionExpressionExecutor) {
+            fieldType = CONDITION_EXPRESSION_EXECUTOR;
+        } else {
+            fieldType = EXPRESSION_EXECUTOR;
+        }
+        // A leaf referred more than once is kept in a single field, such that it is cloned only once
+        int index = -1;
+        for (int i = 0; i < leafExecutors.size(); i++) {
+            if (leafExecutors.get(i) == executor) {
+                index = i;
+                break;
+            }
+        }
+        if (index == -1) {
+            index = leafExecutors.size();
+            leafExecutors.add(executor);
+            leafTypes.add(fieldType);
+            classFileWriter.addField(ACC_PRIVATE | ClassFileWriter.ACC_FINAL, "leaf" + index, "L" + fieldType + ";");
+        }
+        methodWriter.varInsn(ALOAD, 0);
+        methodWriter.fieldInsn(GETFIELD, classFileWriter.getClassName(), "leaf" + index, "L" + fieldType + ";");
+    }
+
+    private void writeConversion(Attribute.Type from, Attribute.Type to) {
+        if (from == to) {
+            return;
+        }
+        switch (from) {
+            case INT:
+                methodWriter.op(to == Attribute.Type.LONG ? I2L : to == Attribute.Type.FLOAT ? I2F : I2D);
+                break;
+            case LONG:
+                methodWriter.op(to == Attribute.Type.FLOAT ? L2F : L2D);
+                break;
+            case FLOAT:
+                methodWriter.op(F2D);
+                break;
+            default:
+                throw new IllegalStateException("Cannot convert " + from + " to " + to);
+        }
+    }
+
+    private ExpressionExecutor load() {
+        String className = classFileWriter.getClassName();
+        ClassFileWriter.MethodWriter constructor = classFileWriter.addMethod(ACC_PUBLIC, "<init>",
+                "([L" + EXPRESSION_EXECUTOR + ";)V", "[L" + EXPRESSION_EXECUTOR + ";");
+        constructor.varInsn(ALOAD, 0);
+        constructor.varInsn(ALOAD, 1);
+        constructor.methodInsn(INVOKESPECIAL, classFileWriter.getSuperClassName(), "<init>",
+                "([L" + EXPRESSION_EXECUTOR + ";)V");
+        for (int i = 0; i < leafExecutors.size(); i++) {
+            constructor.varInsn(ALOAD, 0);
+            constructor.varInsn(ALOAD, 1);
+            constructor.pushInt(i);
+            constructor.op(AALOAD);
+            constructor.typeInsn(CHECKCAST, leafTypes.get(i));
+            constructor.fieldInsn(PUTFIELD, className, "leaf" + i, "L" + leafTypes.get(i) + ";");
+        }
+        constructor.op(RETURN);
+        constructor.end();
+
+        byte[] classBytes = classFileWriter.toByteArray();
+        Class<?> compiledClass = new CompiledExpressionClassLoader(ExpressionCompiler.class.getClassLoader())
+                .define(className.replace('/', '.'), classBytes);
+        return newInstance(compiledClass, leafExecutors.toArray(new ExpressionExecutor[leafExecutors.size()]));
+    }
+
+    private static Attribute.Type widerType(Attribute.Type left, Attribute.Type right) {
+        if (left == Attribute.Type.DOUBLE || right == Attribute.Type.DOUBLE) {
+            return Attribute.Type.DOUBLE;
+        } else if (left == Attribute.Type.FLOAT || right == Attribute.Type.FLOAT) {
+            return Attribute.Type.FLOAT;
+        } else if (left == Attribute.Type.LONG || right == Attribute.Type.LONG) {
+            return Attribute.Type.LONG;
+        }
+        return Attribute.Type.INT;
+    }
+
+    private static int typeOffset(Attribute.Type type) {
+        switch (type) {
+            case INT:
+            case BOOL:
+                return 0;
+            case LONG:
+                return 1;
+            case FLOAT:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    private static int loadOpcode(Attribute.Type type) {
+        return new int[]{ILOAD, LLOAD, FLOAD, DLOAD}[typeOffset(type)];
+    }
+
+    private static int storeOpcode(Attribute.Type type) {
+        return new int[]{ISTORE, LSTORE, FSTORE, DSTORE}[typeOffset(type)];
+    }
+
+    private static int slots(Attribute.Type type) {
+        return type == Attribute.Type.LONG || type == Attribute.Type.DOUBLE ? 2 : 1;
+    }
+
+    private static String descriptor(Attribute.Type type) {
+        return new String[]{type == Attribute.Type.BOOL ? "Z" : "I", "J", "F", "D"}[typeOffset(type)];
+    }
+
+    /**
+     * Code evaluating the right operand of a binary operation whose left operand is null.
+     */
+    private static class NullOperandHandler {
+
+        private final ClassFileWriter.Label label;
+        private final ExpressionExecutor right;
+        private final ClassFileWriter.Label nullLabel;
+
+        NullOperandHandler(ClassFileWriter.Label label, ExpressionExecutor right, ClassFileWriter.Label nullLabel) {
+            this.label = label;
+            this.right = right;
+            this.nullLabel = nullLabel;
+        }
+    }
+
+    /**
+     * Class loader defining a single compiled expression class, such that the class can be unloaded with the Siddhi
+     * app it belongs to.
+     */
+    private static class CompiledExpressionClassLoader extends ClassLoader {
+
+        CompiledExpressionClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] classBytes) {
+            return defineClass(name, classBytes, 0, classBytes.length);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor.condition;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Parent executor of And and Or conditions over a chain of deterministic operands, which adapts the order the operands
+ * are evaluated in to short-circuit as early as possible.
+ * <p>
+ * For one in every {@link #SAMPLING_INTERVAL} events all the operands are evaluated, recording the time each operand
+ * takes and whether it alone decides the result. After every {@link #SAMPLES_PER_REORDER} samples, the operands are
+ * ordered by their average time per deciding result, such that cheap and selective operands are evaluated first. As
+ * the operands are deterministic, the result does not depend on the evaluation order; when an operand fails in an
+ * order other than the original, the condition is evaluated again in the original order to report the same failure.
+ * The statistics are not synchronized, hence concurrent evaluations may only make them approximate.
+ */
+public abstract class AdaptiveConditionExpressionExecutor extends ConditionExpressionExecutor {
+
+    static final int SAMPLING_INTERVAL = 64;
+    static final int SAMPLES_PER_REORDER = 16;
+
+    protected final ExpressionExecutor[] operandExecutors;
+    private final boolean decidingResult;
+    private final long[] sampledNanos;
+    private final int[] sampledDecisions;
+    private volatile ExpressionExecutor[] evaluationOrder;
+    private int evaluations = 0;
+    private int samples = 0;
+
+    /**
+     * @param operandExecutors executors of the operands, in their original order
+     * @param decidingResult   the operand result which decides the result of the condition, false for And and true
+     *                         for Or
+     */
+    protected AdaptiveConditionExpressionExecutor(ExpressionExecutor[] operandExecutors, boolean decidingResult) {
+        for (ExpressionExecutor operandExecutor : operandExecutors) {
+            if (!operandExecutor.getReturnType().equals(Attribute.Type.BOOL)) {
+                throw new OperationNotSupportedException("Return type of condition executor " +
+                        operandExecutor.toString() + " should be of type BOOL. Actual Type: " +
+                        operandExecutor.getReturnType().toString());
+            }
+        }
+        this.operandExecutors = operandExecutors;
+        this.decidingResult = decidingResult;
+        this.sampledNanos = new long[operandExecutors.length];
+        this.sampledDecisions = new int[operandExecutors.length];
+        this.evaluationOrder = operandExecutors;
+    }
+
+    public Boolean execute(ComplexEvent event) {
+        return executeBoolean(event);
+    }
+
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        if (++evaluations % SAMPLING_INTERVAL == 0) {
+            evaluations = 0;
+            sample(event);
+        }
+        ExpressionExecutor[] order = evaluationOrder;
+        try {
+            return evaluate(order, event);
+        } catch (RuntimeException e) {
+            if (order == operandExecutors) {
+                throw e;
+            }
+            return evaluate(operandExecutors, event);
+        }
+    }
+
+    private boolean evaluate(ExpressionExecutor[] order, ComplexEvent event) {
+        for (ExpressionExecutor operandExecutor : order) {
+            if (evaluateOperand(operandExecutor, event) == decidingResult) {
+                return decidingResult;
+            }
+        }
+        return !decidingResult;
+    }
+
+    private static boolean evaluateOperand(ExpressionExecutor operandExecutor, ComplexEvent event) {
+        boolean result = operandExecutor.executeBoolean(event);
+        return !event.wasNullResult() && result;
+    }
+
+    private void sample(ComplexEvent event) {
+        for (int i = 0; i < operandExecutors.length; i++) {
+            long start = System.nanoTime();
+            boolean result;
+            try {
+                result = evaluateOperand(operandExecutors[i], event);
+            } catch (RuntimeException e) {
+                // Failures are reported by the actual evaluation, if they affect the result
+                event.wasNullResult();
+                return;
+            }
+            sampledNanos[i] += System.nanoTime() - start;
+            if (result == decidingResult) {
+                sampledDecisions[i]++;
+            }
+        }
+        if (++samples == SAMPLES_PER_REORDER) {
+            samples = 0;
+            reorder();
+        }
+    }
+
+    private void reorder() {
+        final double[] rank = new double[operandExecutors.length];
+        Integer[] indexes = new Integer[operandExecutors.length];
+        for (int i = 0; i < operandExecutors.length; i++) {
+            // Expected time spent per deciding result; operands that never decide go last in their original order
+            rank[i] = (double) (sampledNanos[i] + 1) / sampledDecisions[i];
+            indexes[i] = i;
+            sampledNanos[i] = 0;
+            sampledDecisions[i] = 0;
+        }
+        Arrays.sort(indexes, Comparator.comparingDouble(i -> rank[i]));
+        ExpressionExecutor[] order = new ExpressionExecutor[operandExecutors.length];
+        boolean original = true;
+        for (int i = 0; i < indexes.length; i++) {
+            order[i] = operandExecutors[indexes[i]];
+            original = original && indexes[i] == i;
+        }
+        evaluationOrder = original ? operandExecutors : order;
+    }
+
+    public ExpressionExecutor[] getOperandExecutors() {
+        return operandExecutors;
+    }
+
+    /**
+     * @return the operand executors in the order they are currently evaluated
+     */
+    public ExpressionExecutor[] getEvaluationOrder() {
+        return evaluationOrder.clone();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        for (ExpressionExecutor operandExecutor : operandExecutors) {
+            if (!operandExecutor.isDeterministic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected ExpressionExecutor[] cloneOperandExecutors(String key) {
+        ExpressionExecutor[] clonedOperandExecutors = new ExpressionExecutor[operandExecutors.length];
+        for (int i = 0; i < operandExecutors.length; i++) {
+            clonedOperandExecutors[i] = operandExecutors[i].cloneExecutor(key);
+        }
+        return clonedOperandExecutors;
+    }
+
+    @Override
+    public void clean() {
+        for (ExpressionExecutor operandExecutor : operandExecutors) {
+            operandExecutor.clean();
+        }
+    }
+}
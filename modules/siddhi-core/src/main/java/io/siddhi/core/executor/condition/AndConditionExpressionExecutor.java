@@ -64,14 +64,36 @@ public class AndConditionExpressionExecutor extends ConditionExpressionExecutor
     }
 
     public Boolean execute(ComplexEvent event) {
-        Object leftResult = leftConditionExecutor.execute(event);
-        if (leftResult != null && (Boolean) leftResult) {
-            Object rightResult = rightConditionExecutor.execute(event);
-            if (rightResult != null && (Boolean) rightResult) {
-                return Boolean.TRUE;
-            }
+        return executeBoolean(event);
+    }
+
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        boolean leftResult = leftConditionExecutor.executeBoolean(event);
+        if (event.wasNullResult() || !leftResult) {
+            return false;
         }
-        return Boolean.FALSE;
+        boolean rightResult = rightConditionExecutor.executeBoolean(event);
+        return !event.wasNullResult() && rightResult;
+    }
+
+    @Override
+    public void executeBoolean(ComplexEvent[] events, int size, boolean[] selection) {
+        leftConditionExecutor.executeBoolean(events, size, selection);
+        rightConditionExecutor.executeBoolean(events, size, selection);
+    }
+
+    public ExpressionExecutor getLeftConditionExecutor() {
+        return leftConditionExecutor;
+    }
+
+    public ExpressionExecutor getRightConditionExecutor() {
+        return rightConditionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftConditionExecutor.isDeterministic() && rightConditionExecutor.isDeterministic();
     }
 
     @Override
@@ -41,12 +41,27 @@ public class BoolConditionExpressionExecutor extends ConditionExpressionExecutor
     }
 
     public Boolean execute(ComplexEvent event) {
-        Object result = conditionExecutor.execute(event);
-        if (result == null) {
-            return Boolean.FALSE;
-        } else {
-            return (Boolean) result;
-        }
+        return executeBoolean(event);
+    }
+
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        boolean result = conditionExecutor.executeBoolean(event);
+        return !event.wasNullResult() && result;
+    }
+
+    public ExpressionExecutor getConditionExecutor() {
+        return conditionExecutor;
+    }
+
+    @Override
+    public void executeBoolean(ComplexEvent[] events, int size, boolean[] selection) {
+        conditionExecutor.executeBoolean(events, size, selection);
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return conditionExecutor.isDeterministic();
     }
 
     @Override
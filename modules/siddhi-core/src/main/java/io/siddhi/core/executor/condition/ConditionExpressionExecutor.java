@@ -24,7 +24,8 @@ import io.siddhi.query.api.definition.Attribute;
 
 /**
  * Super class for Condition Executors. Condition Executors are
- * special type of Executors which will always return Boolean type.
+ * special type of Executors which will always return Boolean type, and never null; hence
+ * {@link #executeBoolean(ComplexEvent)} never marks a null result on the event.
  */
 public abstract class ConditionExpressionExecutor implements ExpressionExecutor {
 
@@ -34,4 +35,10 @@ public abstract class ConditionExpressionExecutor implements ExpressionExecutor
 
     public abstract Boolean execute(ComplexEvent event);
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        Boolean result = execute(event);
+        return result != null && result;
+    }
+
 }
@@ -41,6 +41,11 @@ public class IsNullConditionExpressionExecutor extends ConditionExpressionExecut
         }
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return expressionExecutor.isDeterministic();
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new IsNullConditionExpressionExecutor(expressionExecutor.cloneExecutor(key));
@@ -29,6 +29,7 @@ import io.siddhi.query.api.definition.Attribute;
 public class NotConditionExpressionExecutor extends ConditionExpressionExecutor {
 
     private ExpressionExecutor conditionExecutor;
+    private final ThreadLocal<boolean[]> batchSelection = ThreadLocal.withInitial(() -> new boolean[0]);
 
     public NotConditionExpressionExecutor(ExpressionExecutor conditionExecutor) {
         if (conditionExecutor.getReturnType().equals(Attribute.Type.BOOL)) {
@@ -41,12 +42,36 @@ public class NotConditionExpressionExecutor extends ConditionExpressionExecutor
     }
 
     public Boolean execute(ComplexEvent event) {
-        Boolean result = (Boolean) conditionExecutor.execute(event);
-        if (result == Boolean.TRUE) {
-            return Boolean.FALSE;
-        } else {
-            return Boolean.TRUE;
+        return executeBoolean(event);
+    }
+
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        boolean result = conditionExecutor.executeBoolean(event);
+        return event.wasNullResult() || !result;
+    }
+
+    @Override
+    public void executeBoolean(ComplexEvent[] events, int size, boolean[] selection) {
+        boolean[] conditionSelection = batchSelection.get();
+        if (conditionSelection.length < size) {
+            conditionSelection = new boolean[Math.max(size, conditionSelection.length * 2)];
+            batchSelection.set(conditionSelection);
         }
+        System.arraycopy(selection, 0, conditionSelection, 0, size);
+        conditionExecutor.executeBoolean(events, size, conditionSelection);
+        for (int i = 0; i < size; i++) {
+            selection[i] = selection[i] && !conditionSelection[i];
+        }
+    }
+
+    public ExpressionExecutor getConditionExecutor() {
+        return conditionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return conditionExecutor.isDeterministic();
     }
 
     @Override
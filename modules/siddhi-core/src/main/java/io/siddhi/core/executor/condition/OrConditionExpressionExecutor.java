@@ -30,6 +30,7 @@ public class OrConditionExpressionExecutor extends ConditionExpressionExecutor {
 
     protected ExpressionExecutor leftConditionExecutor;
     protected ExpressionExecutor rightConditionExecutor;
+    private final ThreadLocal<boolean[]> batchSelection = ThreadLocal.withInitial(() -> new boolean[0]);
 
     public OrConditionExpressionExecutor(ExpressionExecutor leftConditionExecutor,
                                          ExpressionExecutor rightConditionExecutor) {
@@ -63,16 +64,48 @@ public class OrConditionExpressionExecutor extends ConditionExpressionExecutor {
     }
 
     public Boolean execute(ComplexEvent event) {
-        Object leftResult = leftConditionExecutor.execute(event);
-        if (leftResult != null && (Boolean) leftResult) {
-            return Boolean.TRUE;
-        } else {
-            Object rightResult = rightConditionExecutor.execute(event);
-            if (rightResult != null && (Boolean) rightResult) {
-                return Boolean.TRUE;
-            }
+        return executeBoolean(event);
+    }
+
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        boolean leftResult = leftConditionExecutor.executeBoolean(event);
+        if (!event.wasNullResult() && leftResult) {
+            return true;
+        }
+        boolean rightResult = rightConditionExecutor.executeBoolean(event);
+        return !event.wasNullResult() && rightResult;
+    }
+
+    @Override
+    public void executeBoolean(ComplexEvent[] events, int size, boolean[] selection) {
+        boolean[] rightSelection = batchSelection.get();
+        if (rightSelection.length < size) {
+            rightSelection = new boolean[Math.max(size, rightSelection.length * 2)];
+            batchSelection.set(rightSelection);
         }
-        return Boolean.FALSE;
+        System.arraycopy(selection, 0, rightSelection, 0, size);
+        leftConditionExecutor.executeBoolean(events, size, selection);
+        for (int i = 0; i < size; i++) {
+            rightSelection[i] = rightSelection[i] && !selection[i];
+        }
+        rightConditionExecutor.executeBoolean(events, size, rightSelection);
+        for (int i = 0; i < size; i++) {
+            selection[i] = selection[i] || rightSelection[i];
+        }
+    }
+
+    public ExpressionExecutor getLeftConditionExecutor() {
+        return leftConditionExecutor;
+    }
+
+    public ExpressionExecutor getRightConditionExecutor() {
+        return rightConditionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftConditionExecutor.isDeterministic() && rightConditionExecutor.isDeterministic();
     }
 
     @Override
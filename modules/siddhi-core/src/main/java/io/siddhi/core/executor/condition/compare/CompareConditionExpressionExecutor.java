@@ -37,6 +37,15 @@ public abstract class CompareConditionExpressionExecutor extends ConditionExpres
 
 
     public Boolean execute(ComplexEvent event) {
+        return executeBoolean(event);
+    }
+
+    /**
+     * Evaluates the condition on the boxed values of the operands. Sub classes comparing numeric operands override
+     * this to compare the operands as primitives, via the typed execute methods of the operand executors.
+     */
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
         Object left = leftExpressionExecutor.execute(event);
         Object right = rightExpressionExecutor.execute(event);
         return !(left == null || right == null) && execute(left, right);
@@ -44,6 +53,19 @@ public abstract class CompareConditionExpressionExecutor extends ConditionExpres
 
     protected abstract Boolean execute(Object left, Object right);
 
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftExpressionExecutor.isDeterministic() && rightExpressionExecutor.isDeterministic();
+    }
+
     @Override
     public void clean() {
         leftExpressionExecutor.clean();
@@ -18,6 +18,7 @@
 
 package io.siddhi.core.executor.condition.compare.equal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -39,6 +40,17 @@ public class EqualCompareConditionExpressionExecutorDoubleDouble extends
 
     }
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        double left = leftExpressionExecutor.executeDouble(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            return false;
+        }
+        double right = rightExpressionExecutor.executeDouble(event);
+        return !event.wasNullResult() && left == right;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new EqualCompareConditionExpressionExecutorDoubleDouble(leftExpressionExecutor.cloneExecutor(key),
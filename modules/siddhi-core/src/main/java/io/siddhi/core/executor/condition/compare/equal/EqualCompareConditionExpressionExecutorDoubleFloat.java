@@ -18,6 +18,7 @@
 
 package io.siddhi.core.executor.condition.compare.equal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -39,6 +40,17 @@ public class EqualCompareConditionExpressionExecutorDoubleFloat extends
 
     }
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        double left = leftExpressionExecutor.executeDouble(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            return false;
+        }
+        float right = rightExpressionExecutor.executeFloat(event);
+        return !event.wasNullResult() && left == (double) right;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new EqualCompareConditionExpressionExecutorDoubleFloat(leftExpressionExecutor.cloneExecutor(key),
@@ -18,6 +18,7 @@
 
 package io.siddhi.core.executor.condition.compare.equal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -38,6 +39,17 @@ public class EqualCompareConditionExpressionExecutorFloatDouble extends
 
     }
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        float left = leftExpressionExecutor.executeFloat(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            return false;
+        }
+        double right = rightExpressionExecutor.executeDouble(event);
+        return !event.wasNullResult() && (double) left == right;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new EqualCompareConditionExpressionExecutorFloatDouble(leftExpressionExecutor.cloneExecutor(key),
@@ -17,6 +17,7 @@
  */
 package io.siddhi.core.executor.condition.compare.equal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -38,6 +39,17 @@ public class EqualCompareConditionExpressionExecutorFloatInt extends
 
     }
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        float left = leftExpressionExecutor.executeFloat(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            return false;
+        }
+        int right = rightExpressionExecutor.executeInt(event);
+        return !event.wasNullResult() && left == (float) right;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new EqualCompareConditionExpressionExecutorFloatInt(leftExpressionExecutor.cloneExecutor(key),
@@ -17,6 +17,7 @@
  */
 package io.siddhi.core.executor.condition.compare.equal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -39,6 +40,17 @@ public class EqualCompareConditionExpressionExecutorFloatLong extends
 
     }
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        float left = leftExpressionExecutor.executeFloat(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            return false;
+        }
+        long right = rightExpressionExecutor.executeLong(event);
+        return !event.wasNullResult() && (double) left == (double) right;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new EqualCompareConditionExpressionExecutorFloatLong(leftExpressionExecutor.cloneExecutor(key),
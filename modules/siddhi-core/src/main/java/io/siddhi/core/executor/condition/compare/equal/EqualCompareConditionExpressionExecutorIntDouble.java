@@ -17,6 +17,7 @@
  */
 package io.siddhi.core.executor.condition.compare.equal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -38,6 +39,17 @@ public class EqualCompareConditionExpressionExecutorIntDouble extends
 
     }
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        int left = leftExpressionExecutor.executeInt(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            return false;
+        }
+        double right = rightExpressionExecutor.executeDouble(event);
+        return !event.wasNullResult() && (double) left == right;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new EqualCompareConditionExpressionExecutorIntDouble(leftExpressionExecutor.cloneExecutor(key),
@@ -17,6 +17,7 @@
  */
 package io.siddhi.core.executor.condition.compare.equal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -37,6 +38,17 @@ public class EqualCompareConditionExpressionExecutorIntInt
 
     }
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        int left = leftExpressionExecutor.executeInt(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            return false;
+        }
+        int right = rightExpressionExecutor.executeInt(event);
+        return !event.wasNullResult() && left == right;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new EqualCompareConditionExpressionExecutorIntInt(leftExpressionExecutor.cloneExecutor(key),
@@ -17,6 +17,7 @@
  */
 package io.siddhi.core.executor.condition.compare.equal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -38,6 +39,17 @@ public class EqualCompareConditionExpressionExecutorLongFloat
 
     }
 
+    @Override
+    public boolean executeBoolean(ComplexEvent event) {
+        long left = leftExpressionExecutor.executeLong(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            return false;
+        }
+        float right = rightExpressionExecutor.executeFloat(event);
+        return !event.wasNullResult() && (double) left == (double) right;
+    }
+
     @Override
     public ExpressionExecutor cloneExecutor(String key) {
         return new EqualCompareConditionExpressionExecutorLongFloat(leftExpressionExecutor.cloneExecutor(key),
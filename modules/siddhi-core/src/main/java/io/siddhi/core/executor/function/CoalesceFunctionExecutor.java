@@ -92,6 +92,11 @@ public class CoalesceFunctionExecutor extends FunctionExecutor {
         return returnType;
     }
 
+    @Override
+    protected boolean isPure() {
+        return true;
+    }
+
 
     protected Object execute(Object[] obj) {
         for (Object aObj : obj) {
@@ -122,6 +122,11 @@ public class ConvertFunctionExecutor extends FunctionExecutor {
         return returnType;
     }
 
+    @Override
+    protected boolean isPure() {
+        return true;
+    }
+
 
     protected Object execute(Object[] obj) {
         Object data = obj[0];
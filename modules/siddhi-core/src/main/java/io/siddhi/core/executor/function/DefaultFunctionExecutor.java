@@ -109,6 +109,11 @@ public class DefaultFunctionExecutor extends FunctionExecutor {
         return returnType;
     }
 
+    @Override
+    protected boolean isPure() {
+        return true;
+    }
+
     @Override
     public Map<String, Object> currentState() {
         return null; // No need to maintain a state.
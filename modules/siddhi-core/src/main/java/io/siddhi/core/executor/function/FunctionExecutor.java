@@ -137,6 +137,30 @@ public abstract class FunctionExecutor implements ExpressionExecutor, Snapshotab
      */
     protected abstract Object execute(Object data);
 
+    /**
+     * Whether the function is pure; it always returns the same value for the same parameter values, and does not
+     * have any side effects or state. Calls of pure functions with constant parameters are evaluated only once when
+     * the query is created. Functions are not pure unless they override this method.
+     *
+     * @return true if the function is pure
+     */
+    protected boolean isPure() {
+        return false;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        if (!isPure()) {
+            return false;
+        }
+        for (ExpressionExecutor expressionExecutor : attributeExpressionExecutors) {
+            if (!expressionExecutor.isDeterministic()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public String getElementId() {
         return elementId;
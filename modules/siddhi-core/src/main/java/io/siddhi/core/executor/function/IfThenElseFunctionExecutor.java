@@ -133,6 +133,11 @@ public class IfThenElseFunctionExecutor extends FunctionExecutor {
         return returnType;
     }
 
+    @Override
+    protected boolean isPure() {
+        return true;
+    }
+
     @Override
     public Map<String, Object> currentState() {
         return null; // No need to maintain a state.
@@ -94,6 +94,11 @@ public class InstanceOfBooleanFunctionExecutor extends FunctionExecutor {
         return returnType;
     }
 
+    @Override
+    protected boolean isPure() {
+        return true;
+    }
+
     @Override
     public Map<String, Object> currentState() {
         return null;
@@ -36,12 +36,32 @@ public class AddExpressionExecutorFloat implements ExpressionExecutor {
 
     @Override
     public Object execute(ComplexEvent event) {
-        Object leftObject = leftExpressionExecutor.execute(event);
-        Object rightObject = rightExpressionExecutor.execute(event);
-        if (leftObject == null || rightObject == null) {
-            return null;
+        float result = executeFloat(event);
+        return event.wasNullResult() ? null : result;
+    }
+
+    @Override
+    public float executeFloat(ComplexEvent event) {
+        float left = leftExpressionExecutor.executeFloat(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            event.markNullResult();
+            return 0;
         }
-        return ((Number) leftObject).floatValue() + ((Number) rightObject).floatValue();
+        return left + rightExpressionExecutor.executeFloat(event);
+    }
+
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftExpressionExecutor.isDeterministic() && rightExpressionExecutor.isDeterministic();
     }
 
     public Attribute.Type getReturnType() {
@@ -36,13 +36,32 @@ public class AddExpressionExecutorInt implements ExpressionExecutor {
 
     @Override
     public Object execute(ComplexEvent event) {
-        Object leftObject = leftExpressionExecutor.execute(event);
-        Object rightObject = rightExpressionExecutor.execute(event);
-        if (leftObject == null || rightObject == null) {
-            return null;
+        int result = executeInt(event);
+        return event.wasNullResult() ? null : result;
+    }
+
+    @Override
+    public int executeInt(ComplexEvent event) {
+        int left = leftExpressionExecutor.executeInt(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            event.markNullResult();
+            return 0;
         }
-        return ((Number) leftObject).intValue() + ((Number) rightObject).intValue();
+        return left + rightExpressionExecutor.executeInt(event);
+    }
 
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftExpressionExecutor.isDeterministic() && rightExpressionExecutor.isDeterministic();
     }
 
     public Attribute.Type getReturnType() {
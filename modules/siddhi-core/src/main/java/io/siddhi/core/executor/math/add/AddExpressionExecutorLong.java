@@ -37,13 +37,32 @@ public class AddExpressionExecutorLong implements ExpressionExecutor {
 
     @Override
     public Object execute(ComplexEvent event) {
-        Object leftObject = leftExpressionExecutor.execute(event);
-        Object rightObject = rightExpressionExecutor.execute(event);
-        if (leftObject == null || rightObject == null) {
-            return null;
+        long result = executeLong(event);
+        return event.wasNullResult() ? null : result;
+    }
+
+    @Override
+    public long executeLong(ComplexEvent event) {
+        long left = leftExpressionExecutor.executeLong(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            event.markNullResult();
+            return 0;
         }
-        return ((Number) leftObject).longValue() + ((Number) rightObject).longValue();
+        return left + rightExpressionExecutor.executeLong(event);
+    }
 
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftExpressionExecutor.isDeterministic() && rightExpressionExecutor.isDeterministic();
     }
 
     public Attribute.Type getReturnType() {
@@ -37,17 +37,37 @@ public class DivideExpressionExecutorDouble implements ExpressionExecutor {
 
     @Override
     public Object execute(ComplexEvent event) {
-        Object leftObject = leftExpressionExecutor.execute(event);
-        Object rightObject = rightExpressionExecutor.execute(event);
-        if (leftObject == null || rightObject == null) {
-            return null;
+        double result = executeDouble(event);
+        return event.wasNullResult() ? null : result;
+    }
+
+    @Override
+    public double executeDouble(ComplexEvent event) {
+        double left = leftExpressionExecutor.executeDouble(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            event.markNullResult();
+            return 0;
         }
-        double right = ((Number) rightObject).doubleValue();
+        double right = rightExpressionExecutor.executeDouble(event);
         if (right == 0.0) {
-            return null;
+            event.markNullResult();
+            return 0;
         }
-        return ((Number) leftObject).doubleValue() / right;
+        return left / right;
+    }
 
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftExpressionExecutor.isDeterministic() && rightExpressionExecutor.isDeterministic();
     }
 
     public Attribute.Type getReturnType() {
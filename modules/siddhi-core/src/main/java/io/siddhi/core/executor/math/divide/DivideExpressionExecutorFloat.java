@@ -37,16 +37,37 @@ public class DivideExpressionExecutorFloat implements ExpressionExecutor {
 
     @Override
     public Object execute(ComplexEvent event) {
-        Object leftObject = leftExpressionExecutor.execute(event);
-        Object rightObject = rightExpressionExecutor.execute(event);
-        if (leftObject == null || rightObject == null) {
-            return null;
+        float result = executeFloat(event);
+        return event.wasNullResult() ? null : result;
+    }
+
+    @Override
+    public float executeFloat(ComplexEvent event) {
+        float left = leftExpressionExecutor.executeFloat(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            event.markNullResult();
+            return 0;
         }
-        float right = ((Number) rightObject).floatValue();
+        float right = rightExpressionExecutor.executeFloat(event);
         if (right == 0.0f) {
-            return null;
+            event.markNullResult();
+            return 0;
         }
-        return ((Number) leftObject).floatValue() / right;
+        return left / right;
+    }
+
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftExpressionExecutor.isDeterministic() && rightExpressionExecutor.isDeterministic();
     }
 
     public Attribute.Type getReturnType() {
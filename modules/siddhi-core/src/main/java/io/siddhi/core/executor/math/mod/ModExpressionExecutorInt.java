@@ -37,16 +37,37 @@ public class ModExpressionExecutorInt implements ExpressionExecutor {
 
     @Override
     public Object execute(ComplexEvent event) {
-        Object leftObject = leftExpressionExecutor.execute(event);
-        Object rightObject = rightExpressionExecutor.execute(event);
-        if (leftObject == null || rightObject == null) {
-            return null;
+        int result = executeInt(event);
+        return event.wasNullResult() ? null : result;
+    }
+
+    @Override
+    public int executeInt(ComplexEvent event) {
+        int left = leftExpressionExecutor.executeInt(event);
+        if (event.wasNullResult()) {
+            rightExpressionExecutor.execute(event);
+            event.markNullResult();
+            return 0;
         }
-        int right = ((Number) rightObject).intValue();
+        int right = rightExpressionExecutor.executeInt(event);
         if (right == 0) {
-            return null;
+            event.markNullResult();
+            return 0;
         }
-        return ((Number) leftObject).intValue() % right;
+        return left % right;
+    }
+
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return leftExpressionExecutor.isDeterministic() && rightExpressionExecutor.isDeterministic();
     }
 
     public Attribute.Type getReturnType() {
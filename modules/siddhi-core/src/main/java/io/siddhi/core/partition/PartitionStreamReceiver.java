@@ -30,6 +30,8 @@ import io.siddhi.core.partition.executor.PartitionExecutor;
 import io.siddhi.core.query.QueryRuntime;
 import io.siddhi.core.query.input.stream.StreamRuntime;
 import io.siddhi.core.stream.StreamJunction;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.query.api.definition.StreamDefinition;
 
 import java.util.List;
@@ -63,7 +65,8 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         this.partitionExecutors = partitionExecutors;
         this.siddhiAppContext = siddhiAppContext;
         this.streamId = streamDefinition.getId();
-        this.eventPool = new StreamEventPool(metaStreamEvent, 5);
+        this.eventPool = QueryParserHelper.createStreamEventPool(metaStreamEvent, 5,
+                partitionRuntime.getPartitionId() + SiddhiConstants.METRIC_DELIMITER + streamId, siddhiAppContext);
 
     }
 
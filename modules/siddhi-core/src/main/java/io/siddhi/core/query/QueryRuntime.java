@@ -129,13 +129,15 @@ public class QueryRuntime implements MemoryCalculable {
         }
         StreamRuntime clonedStreamRuntime = this.streamRuntime.clone(key);
         QuerySelector clonedSelector = this.selector.clone(key);
+        clonedSelector.initGroupPurging(lockWrapper, queryId);
         OutputRateLimiter clonedOutputRateLimiter = outputRateLimiter.clone(key);
         clonedOutputRateLimiter.init(siddhiAppContext, lockWrapper, queryId);
 
         QueryRuntime queryRuntime = new QueryRuntime(query, siddhiAppContext, clonedStreamRuntime, clonedSelector,
                 clonedOutputRateLimiter, outputCallback, this.metaComplexEvent,
                 synchronised, this.queryId + key);
-        QueryParserHelper.initStreamRuntime(clonedStreamRuntime, metaComplexEvent, lockWrapper, queryId);
+        QueryParserHelper.initStreamRuntime(clonedStreamRuntime, metaComplexEvent, lockWrapper, queryId,
+                query.getAnnotations(), siddhiAppContext);
 
         queryRuntime.setToLocalStream(toLocalStream);
 
@@ -159,6 +161,7 @@ public class QueryRuntime implements MemoryCalculable {
 
     private void setOutputRateLimiter(OutputRateLimiter outputRateLimiter) {
         this.outputRateLimiter = outputRateLimiter;
+        outputRateLimiter.setGroupByKeyTypes(selector.getGroupByKeyTypes());
         selector.setNextProcessor(outputRateLimiter);
     }
 
@@ -18,6 +18,7 @@
 package io.siddhi.core.query.input;
 
 import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.ColumnarEventBatch;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
@@ -268,6 +269,16 @@ public class MultiProcessStreamReceiver extends ProcessStreamReceiver {
         }
     }
 
+    @Override
+    public void receive(ColumnarEventBatch columnarEventBatch) {
+        // The converters copy the values out of the row, hence a row is reused across the batch
+        Object[] row = new Object[columnarEventBatch.getStreamDefinition().getAttributeList().size()];
+        for (int i = 0, size = columnarEventBatch.size(); i < size; i++) {
+            columnarEventBatch.copyRowTo(i, row);
+            receive(columnarEventBatch.getTimestamp(i), row);
+        }
+    }
+
     @Override
     public void receive(long timestamp, Object[] data) {
         if (outputRateLimiter == null) {
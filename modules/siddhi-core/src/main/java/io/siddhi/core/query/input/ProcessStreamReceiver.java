@@ -19,6 +19,7 @@ package io.siddhi.core.query.input;
 
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.debugger.SiddhiDebugger;
+import io.siddhi.core.event.ColumnarEventBatch;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
@@ -182,6 +183,33 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         process(new ComplexEventChunk<StreamEvent>(borrowedEvent, borrowedEvent, this.batchProcessingAllowed));
     }
 
+    @Override
+    public void receive(ColumnarEventBatch columnarEventBatch) {
+        int size = columnarEventBatch.size();
+        if (size == 0) {
+            return;
+        }
+        // The converters copy the values out of the row, hence a row is reused across the batch
+        Object[] row = new Object[columnarEventBatch.getStreamDefinition().getAttributeList().size()];
+        StreamEvent firstEvent = null;
+        StreamEvent currentEvent = null;
+        for (int i = 0; i < size; i++) {
+            columnarEventBatch.copyRowTo(i, row);
+            StreamEvent nextEvent = streamEventPool.borrowEvent();
+            streamEventConverter.convertData(columnarEventBatch.getTimestamp(i), row, nextEvent);
+            if (firstEvent == null) {
+                firstEvent = nextEvent;
+            } else {
+                currentEvent.setNext(nextEvent);
+            }
+            currentEvent = nextEvent;
+        }
+        if (siddhiDebugger != null) {
+            siddhiDebugger.checkBreakPoint(queryName, SiddhiDebugger.QueryTerminal.IN, firstEvent);
+        }
+        process(new ComplexEventChunk<StreamEvent>(firstEvent, currentEvent, this.batchProcessingAllowed));
+    }
+
     protected void processAndClear(ComplexEventChunk<StreamEvent> streamEventChunk) {
         next.process(streamEventChunk);
         streamEventChunk.clear();
@@ -27,6 +27,7 @@ import io.siddhi.core.util.extension.holder.EternalReferencedHolder;
 import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.snapshot.Snapshotable;
 import io.siddhi.core.util.statistics.LatencyTracker;
+import io.siddhi.query.api.definition.Attribute;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -43,6 +44,7 @@ public abstract class OutputRateLimiter implements EternalReferencedHolder, Snap
     protected LatencyTracker latencyTracker;
     protected LockWrapper lockWrapper;
     protected String queryName;
+    protected Attribute.Type[] groupByKeyTypes;
     private boolean hasCallBack = false;
     private String elementId;
 
@@ -131,6 +133,20 @@ public abstract class OutputRateLimiter implements EternalReferencedHolder, Snap
         this.latencyTracker = latencyTracker;
     }
 
+    /**
+     * Set the types of the group by attributes of the query, used to convert the group by keys of snapshots
+     * persisted by earlier versions.
+     *
+     * @param groupByKeyTypes types of the group by attributes, or null if the query does not group the events
+     */
+    public void setGroupByKeyTypes(Attribute.Type[] groupByKeyTypes) {
+        this.groupByKeyTypes = groupByKeyTypes;
+    }
+
+    public Attribute.Type[] getGroupByKeyTypes() {
+        return groupByKeyTypes;
+    }
+
     @Override
     public void clean() {
         siddhiAppContext.getSnapshotService().removeSnapshotable(queryName, this);
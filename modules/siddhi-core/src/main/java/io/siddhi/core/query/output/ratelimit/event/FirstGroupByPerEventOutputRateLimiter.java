@@ -22,6 +22,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import io.siddhi.core.util.collection.CompositeKey;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -34,7 +35,7 @@ import java.util.Map;
  */
 public class FirstGroupByPerEventOutputRateLimiter extends OutputRateLimiter {
     private final Integer value;
-    private List<String> groupByKeys = new ArrayList<String>();
+    private List<CompositeKey> groupByKeys = new ArrayList<CompositeKey>();
     private String id;
     private ComplexEventChunk<ComplexEvent> allComplexEventChunk;
     private volatile int counter = 0;
@@ -114,7 +115,8 @@ public class FirstGroupByPerEventOutputRateLimiter extends OutputRateLimiter {
     public void restoreState(Map<String, Object> state) {
         synchronized (this) {
             counter = (int) state.get("Counter");
-            groupByKeys = (List<String>) state.get("GroupByKeys");
+            groupByKeys = CompositeKey.restoreKeys((List<?>) state.get("GroupByKeys"), groupByKeyTypes,
+                    getElementId());
             allComplexEventChunk.clear();
             allComplexEventChunk.add((ComplexEvent) state.get("AllComplexEventChunk"));
         }
@@ -23,6 +23,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import io.siddhi.core.util.collection.CompositeKey;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -37,7 +38,7 @@ public class LastGroupByPerEventOutputRateLimiter extends OutputRateLimiter {
     private final Integer value;
     private String id;
     private volatile int counter = 0;
-    private Map<String, ComplexEvent> allGroupByKeyEvents = new LinkedHashMap<String, ComplexEvent>();
+    private Map<CompositeKey, ComplexEvent> allGroupByKeyEvents = new LinkedHashMap<CompositeKey, ComplexEvent>();
 
     public LastGroupByPerEventOutputRateLimiter(String id, Integer value) {
         this.id = id;
@@ -106,6 +107,7 @@ public class LastGroupByPerEventOutputRateLimiter extends OutputRateLimiter {
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
         counter = (int) state.get("Counter");
-        allGroupByKeyEvents = (Map<String, ComplexEvent>) state.get("AllGroupByKeyEvents");
+        allGroupByKeyEvents = CompositeKey.restoreKeys((Map<?, ComplexEvent>) state.get("AllGroupByKeyEvents"),
+                groupByKeyTypes, getElementId());
     }
 }
@@ -22,6 +22,7 @@ import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
+import io.siddhi.core.util.collection.CompositeKey;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -39,7 +40,7 @@ import java.util.concurrent.ScheduledExecutorService;
 public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
         AggregationWindowedPerSnapshotOutputRateLimiter {
     private List<GroupedComplexEvent> eventList;
-    private Map<String, Map<Integer, Object>> groupByAggregateAttributeValueMap;
+    private Map<CompositeKey, Map<Integer, Object>> groupByAggregateAttributeValueMap;
 
     protected AggregationGroupByWindowedPerSnapshotOutputRateLimiter(String id, Long value, ScheduledExecutorService
             scheduledExecutorService, List<Integer> aggregateAttributePositionList, WrappedSnapshotOutputRateLimiter
@@ -49,7 +50,7 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
         super(id, value, scheduledExecutorService, aggregateAttributePositionList, wrappedSnapshotOutputRateLimiter,
                 siddhiAppContext, queryName);
         this.queryName = queryName;
-        groupByAggregateAttributeValueMap = new HashMap<String, Map<Integer, Object>>();
+        groupByAggregateAttributeValueMap = new HashMap<CompositeKey, Map<Integer, Object>>();
         eventList = new LinkedList<GroupedComplexEvent>();
     }
 
@@ -59,7 +60,7 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
         List<ComplexEventChunk<ComplexEvent>> outputEventChunks = new ArrayList<ComplexEventChunk<ComplexEvent>>();
         synchronized (this) {
             complexEventChunk.reset();
-            String currentGroupByKey = null;
+            CompositeKey currentGroupByKey = null;
             Map<Integer, Object> currentAggregateAttributeValueMap = null;
             while (complexEventChunk.hasNext()) {
                 ComplexEvent event = complexEventChunk.next();
@@ -118,9 +119,9 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
 
     private void constructOutputChunk(List<ComplexEventChunk<ComplexEvent>> outputEventChunks) {
         ComplexEventChunk<ComplexEvent> outputEventChunk = new ComplexEventChunk<ComplexEvent>(false);
-        Set<String> outputGroupingKeys = new HashSet<>();
+        Set<CompositeKey> outputGroupingKeys = new HashSet<>();
         for (GroupedComplexEvent originalComplexEvent : eventList) {
-            String currentGroupByKey = originalComplexEvent.getGroupKey();
+            CompositeKey currentGroupByKey = originalComplexEvent.getGroupKey();
             if (!outputGroupingKeys.contains(currentGroupByKey)) {
                 outputGroupingKeys.add(currentGroupByKey);
                 Map<Integer, Object> currentAggregateAttributeValueMap = groupByAggregateAttributeValueMap.get
@@ -148,8 +149,11 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
         eventList = (List<GroupedComplexEvent>) state.get("EventList");
-        groupByAggregateAttributeValueMap = (Map<String, Map<Integer, Object>>) state.get
-                ("GroupByAggregateAttributeValueMap");
+        for (GroupedComplexEvent groupedComplexEvent : eventList) {
+            groupedComplexEvent.restoreGroupKey(getGroupByKeyTypes(), id);
+        }
+        groupByAggregateAttributeValueMap = CompositeKey.restoreKeys((Map<?, Map<Integer, Object>>) state.get
+                ("GroupByAggregateAttributeValueMap"), getGroupByKeyTypes(), id);
     }
 
     @Override
@@ -25,6 +25,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.util.Scheduler;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.parser.SchedulerParser;
 
 import java.util.ArrayList;
@@ -44,7 +45,7 @@ public class AllAggregationGroupByWindowedPerSnapshotOutputRateLimiter extends S
     private final ScheduledExecutorService scheduledExecutorService;
     String queryName;
     private String id;
-    private Map<String, LastEventHolder> groupByKeyEvents = new LinkedHashMap<String, LastEventHolder>();
+    private Map<CompositeKey, LastEventHolder> groupByKeyEvents = new LinkedHashMap<CompositeKey, LastEventHolder>();
     private Scheduler scheduler;
     private long scheduledTime;
 
@@ -103,9 +104,9 @@ public class AllAggregationGroupByWindowedPerSnapshotOutputRateLimiter extends S
     private void tryFlushEvents(List<ComplexEventChunk<ComplexEvent>> outputEventChunks, ComplexEvent event) {
         if (event.getTimestamp() >= scheduledTime) {
             ComplexEventChunk<ComplexEvent> outputEventChunk = new ComplexEventChunk<ComplexEvent>(false);
-            for (Iterator<Map.Entry<String, LastEventHolder>> iterator = groupByKeyEvents.entrySet().iterator();
+            for (Iterator<Map.Entry<CompositeKey, LastEventHolder>> iterator = groupByKeyEvents.entrySet().iterator();
                  iterator.hasNext(); ) {
-                Map.Entry<String, LastEventHolder> lastEventHolderEntry = iterator.next();
+                Map.Entry<CompositeKey, LastEventHolder> lastEventHolderEntry = iterator.next();
 
                 //clearing expired events after update
                 lastEventHolderEntry.getValue().checkAndClearLastInEvent();
@@ -147,7 +148,8 @@ public class AllAggregationGroupByWindowedPerSnapshotOutputRateLimiter extends S
 
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
-        groupByKeyEvents = (Map<String, LastEventHolder>) state.get("GroupByKeyEvents");
+        groupByKeyEvents = CompositeKey.restoreKeys((Map<?, LastEventHolder>) state.get("GroupByKeyEvents"),
+                getGroupByKeyTypes(), id);
     }
 
     private class LastEventHolder {
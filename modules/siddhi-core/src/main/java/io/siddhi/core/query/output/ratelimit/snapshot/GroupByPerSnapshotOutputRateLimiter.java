@@ -24,35 +24,50 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.util.Scheduler;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.parser.SchedulerParser;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
- * Implementation of {@link PerSnapshotOutputRateLimiter} for queries with GroupBy.
+ * Implementation of {@link PerSnapshotOutputRateLimiter} for queries with GroupBy. When purging is enabled, the groups
+ * are kept in the order they were last updated, and the least recently updated groups are evicted once they are idle
+ * for longer than the idle period or the number of groups exceeds its maximum, hence they are no longer emitted.
  */
 public class GroupByPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimiter {
     private final Long value;
     private String id;
     private ScheduledExecutorService scheduledExecutorService;
-    private Map<String, ComplexEvent> groupByKeyEvents = new LinkedHashMap<String, ComplexEvent>();
+    private final long groupIdlePeriod;
+    private final int maxGroups;
+    private Map<CompositeKey, ComplexEvent> groupByKeyEvents;
     private Scheduler scheduler;
     private long scheduledTime;
     private String queryName;
 
     public GroupByPerSnapshotOutputRateLimiter(String id, Long value, ScheduledExecutorService
             scheduledExecutorService, WrappedSnapshotOutputRateLimiter wrappedSnapshotOutputRateLimiter,
-                                               SiddhiAppContext siddhiAppContext, String queryName) {
+                                               SiddhiAppContext siddhiAppContext, String queryName,
+                                               long groupIdlePeriod, int maxGroups) {
         super(wrappedSnapshotOutputRateLimiter, siddhiAppContext);
         this.queryName = queryName;
         this.id = id;
         this.value = value;
         this.scheduledExecutorService = scheduledExecutorService;
+        this.groupIdlePeriod = groupIdlePeriod;
+        this.maxGroups = maxGroups;
+        if (groupIdlePeriod != SiddhiConstants.UNKNOWN_STATE || maxGroups != SiddhiConstants.UNKNOWN_STATE) {
+            groupByKeyEvents = new LinkedHashMap<CompositeKey, ComplexEvent>(16, 0.75f, true);
+        } else {
+            groupByKeyEvents = new LinkedHashMap<CompositeKey, ComplexEvent>();
+        }
     }
 
     /**
@@ -75,6 +90,9 @@ public class GroupByPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimit
                     tryFlushEvents(outputEventChunks, event);
                     GroupedComplexEvent groupedComplexEvent = ((GroupedComplexEvent) event);
                     groupByKeyEvents.put(groupedComplexEvent.getGroupKey(), groupedComplexEvent.getComplexEvent());
+                    if (maxGroups != SiddhiConstants.UNKNOWN_STATE && groupByKeyEvents.size() > maxGroups) {
+                        evictGroups(event.getTimestamp());
+                    }
                 }
             }
         }
@@ -85,6 +103,9 @@ public class GroupByPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimit
 
     private void tryFlushEvents(List<ComplexEventChunk<ComplexEvent>> outputEventChunks, ComplexEvent event) {
         if (event.getTimestamp() >= scheduledTime) {
+            if (groupIdlePeriod != SiddhiConstants.UNKNOWN_STATE) {
+                evictGroups(event.getTimestamp());
+            }
             ComplexEventChunk<ComplexEvent> outputEventChunk = new ComplexEventChunk<ComplexEvent>(false);
             for (ComplexEvent complexEvent : groupByKeyEvents.values()) {
                 outputEventChunk.add(cloneComplexEvent(complexEvent));
@@ -95,6 +116,21 @@ public class GroupByPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimit
         }
     }
 
+    private void evictGroups(long currentTime) {
+        // Groups are in the order they were last updated, hence only the least recently updated groups are checked
+        Iterator<ComplexEvent> iterator = groupByKeyEvents.values().iterator();
+        while (iterator.hasNext()) {
+            ComplexEvent lastEvent = iterator.next();
+            if ((maxGroups != SiddhiConstants.UNKNOWN_STATE && groupByKeyEvents.size() > maxGroups) ||
+                    (groupIdlePeriod != SiddhiConstants.UNKNOWN_STATE &&
+                            lastEvent.getTimestamp() + groupIdlePeriod < currentTime)) {
+                iterator.remove();
+            } else {
+                break;
+            }
+        }
+    }
+
     @Override
     public void start() {
         scheduler = SchedulerParser.parse(this, siddhiAppContext);
@@ -121,14 +157,17 @@ public class GroupByPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimit
 
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
-        groupByKeyEvents = (Map<String, ComplexEvent>) state.get("groupByKeyEvents");
+        Map<CompositeKey, ComplexEvent> restoredGroupByKeyEvents = CompositeKey.restoreKeys(
+                (Map<?, ComplexEvent>) state.get("GroupByKeyEvents"), getGroupByKeyTypes(), id);
+        groupByKeyEvents.clear();
+        groupByKeyEvents.putAll(restoredGroupByKeyEvents);
     }
 
     @Override
     public SnapshotOutputRateLimiter clone(String key, WrappedSnapshotOutputRateLimiter
             wrappedSnapshotOutputRateLimiter) {
         return new GroupByPerSnapshotOutputRateLimiter(id + key, value, scheduledExecutorService,
-                wrappedSnapshotOutputRateLimiter, siddhiAppContext, queryName);
+                wrappedSnapshotOutputRateLimiter, siddhiAppContext, queryName, groupIdlePeriod, maxGroups);
     }
 
 }
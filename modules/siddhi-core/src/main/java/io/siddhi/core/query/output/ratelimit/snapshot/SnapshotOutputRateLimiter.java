@@ -28,6 +28,7 @@ import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.util.Schedulable;
 import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.lock.LockWrapper;
+import io.siddhi.query.api.definition.Attribute;
 import org.apache.log4j.Logger;
 
 import java.util.Map;
@@ -70,6 +71,10 @@ public abstract class SnapshotOutputRateLimiter implements Schedulable {
         wrappedSnapshotOutputRateLimiter.passToCallBacks(complexEventChunk);
     }
 
+    protected Attribute.Type[] getGroupByKeyTypes() {
+        return wrappedSnapshotOutputRateLimiter.getGroupByKeyTypes();
+    }
+
     /**
      * Clones a given complex event.
      *
@@ -23,7 +23,10 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.stream.StreamEventPool;
+import io.siddhi.core.query.selector.OrderByEventComparator;
+import io.siddhi.core.query.selector.TopKWindowEvents;
 import io.siddhi.core.util.Scheduler;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.parser.SchedulerParser;
 
 import java.util.ArrayList;
@@ -37,7 +40,9 @@ import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
- * Implementation of {@link PerSnapshotOutputRateLimiter} for queries with Windows.
+ * Implementation of {@link PerSnapshotOutputRateLimiter} for queries with Windows. When the query orders and limits
+ * its events and is annotated with {@code @snapshot(ordered='true')}, only the first events of the window in their
+ * order are emitted, maintaining the order of the window as events arrive and expire.
  */
 public class WindowedPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimiter {
     private final Long value;
@@ -48,11 +53,28 @@ public class WindowedPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimi
     private Scheduler scheduler;
     private long scheduledTime;
     private String queryName;
+    private OrderByEventComparator orderByEventComparator;
+    private long limit;
+    private TopKWindowEvents topKWindowEvents;
 
     public WindowedPerSnapshotOutputRateLimiter(String id, Long value, ScheduledExecutorService
             scheduledExecutorService, WrappedSnapshotOutputRateLimiter wrappedSnapshotOutputRateLimiter,
                                                 SiddhiAppContext siddhiAppContext, String queryName) {
+        this(id, value, scheduledExecutorService, wrappedSnapshotOutputRateLimiter, siddhiAppContext, queryName,
+                null, SiddhiConstants.UNKNOWN_STATE);
+    }
+
+    public WindowedPerSnapshotOutputRateLimiter(String id, Long value, ScheduledExecutorService
+            scheduledExecutorService, WrappedSnapshotOutputRateLimiter wrappedSnapshotOutputRateLimiter,
+                                                SiddhiAppContext siddhiAppContext, String queryName,
+                                                OrderByEventComparator orderByEventComparator, long limit) {
         super(wrappedSnapshotOutputRateLimiter, siddhiAppContext);
+        this.orderByEventComparator = orderByEventComparator;
+        this.limit = limit;
+        if (orderByEventComparator != null && limit != SiddhiConstants.UNKNOWN_STATE) {
+            this.topKWindowEvents = new TopKWindowEvents(orderByEventComparator,
+                    (int) Math.min(limit, Integer.MAX_VALUE));
+        }
         this.queryName = queryName;
         this.id = id;
         this.value = value;
@@ -88,19 +110,31 @@ public class WindowedPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimi
                 } else if (event.getType() == ComplexEvent.Type.CURRENT) {
                     complexEventChunk.remove();
                     tryFlushEvents(outputEventChunks, event);
-                    eventList.add(event);
+                    if (topKWindowEvents != null) {
+                        topKWindowEvents.add(event);
+                    } else {
+                        eventList.add(event);
+                    }
                 } else if (event.getType() == ComplexEvent.Type.EXPIRED) {
                     tryFlushEvents(outputEventChunks, event);
-                    for (Iterator<ComplexEvent> iterator = eventList.iterator(); iterator.hasNext(); ) {
-                        ComplexEvent currentEvent = iterator.next();
-                        if (comparator.compare(currentEvent, event) == 0) {
-                            iterator.remove();
-                            break;
+                    if (topKWindowEvents != null) {
+                        topKWindowEvents.remove(event);
+                    } else {
+                        for (Iterator<ComplexEvent> iterator = eventList.iterator(); iterator.hasNext(); ) {
+                            ComplexEvent currentEvent = iterator.next();
+                            if (comparator.compare(currentEvent, event) == 0) {
+                                iterator.remove();
+                                break;
+                            }
                         }
                     }
                 } else if (event.getType() == ComplexEvent.Type.RESET) {
                     tryFlushEvents(outputEventChunks, event);
-                    eventList.clear();
+                    if (topKWindowEvents != null) {
+                        topKWindowEvents.clear();
+                    } else {
+                        eventList.clear();
+                    }
                 }
             }
         }
@@ -112,7 +146,7 @@ public class WindowedPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimi
     private void tryFlushEvents(List<ComplexEventChunk<ComplexEvent>> outputEventChunks, ComplexEvent event) {
         if (event.getTimestamp() >= scheduledTime) {
             ComplexEventChunk<ComplexEvent> outputEventChunk = new ComplexEventChunk<ComplexEvent>(false);
-            for (ComplexEvent complexEvent : eventList) {
+            for (ComplexEvent complexEvent : topKWindowEvents != null ? topKWindowEvents.getTopK() : eventList) {
                 outputEventChunk.add(cloneComplexEvent(complexEvent));
             }
             outputEventChunks.add(outputEventChunk);
@@ -125,7 +159,7 @@ public class WindowedPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimi
     public SnapshotOutputRateLimiter clone(String key, WrappedSnapshotOutputRateLimiter
             wrappedSnapshotOutputRateLimiter) {
         return new WindowedPerSnapshotOutputRateLimiter(id + key, value, scheduledExecutorService,
-                wrappedSnapshotOutputRateLimiter, siddhiAppContext, queryName);
+                wrappedSnapshotOutputRateLimiter, siddhiAppContext, queryName, orderByEventComparator, limit);
     }
 
     @Override
@@ -148,7 +182,7 @@ public class WindowedPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimi
     public Map<String, Object> currentState() {
         Map<String, Object> state = new HashMap<>();
         synchronized (this) {
-            state.put("EventList", eventList);
+            state.put("EventList", topKWindowEvents != null ? topKWindowEvents.getEvents() : eventList);
         }
         return state;
     }
@@ -156,6 +190,13 @@ public class WindowedPerSnapshotOutputRateLimiter extends SnapshotOutputRateLimi
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
         eventList = (List<ComplexEvent>) state.get("EventList");
+        if (topKWindowEvents != null) {
+            topKWindowEvents.clear();
+            for (ComplexEvent event : eventList) {
+                topKWindowEvents.add(event);
+            }
+            eventList = new LinkedList<ComplexEvent>();
+        }
     }
 
 }
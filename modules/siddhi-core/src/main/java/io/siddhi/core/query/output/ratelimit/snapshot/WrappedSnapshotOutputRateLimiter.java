@@ -28,8 +28,10 @@ import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import io.siddhi.core.query.selector.OrderByEventComparator;
 import io.siddhi.core.query.selector.attribute.processor.AttributeProcessor;
 import io.siddhi.core.query.selector.attribute.processor.executor.AbstractAggregationAttributeExecutor;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.lock.LockWrapper;
 
 import java.util.ArrayList;
@@ -49,6 +51,10 @@ public class WrappedSnapshotOutputRateLimiter extends OutputRateLimiter {
     private String id;
     private SiddhiAppContext siddhiAppContext;
     private List<Integer> aggregateAttributePositionList = new ArrayList<Integer>();
+    private long groupIdlePeriod = SiddhiConstants.UNKNOWN_STATE;
+    private int maxGroups = SiddhiConstants.UNKNOWN_STATE;
+    private OrderByEventComparator orderByEventComparator;
+    private long limit = SiddhiConstants.UNKNOWN_STATE;
 
     public WrappedSnapshotOutputRateLimiter(String id, Long value, ScheduledExecutorService scheduledExecutorService,
                                             boolean isGroupBy, boolean isWindowed, SiddhiAppContext
@@ -69,10 +75,39 @@ public class WrappedSnapshotOutputRateLimiter extends OutputRateLimiter {
                 groupBy, windowed,
                 siddhiAppContext,
                 queryName);
+        instance.setGroupPurging(groupIdlePeriod, maxGroups);
+        instance.setTopK(orderByEventComparator, limit);
         instance.outputRateLimiter = this.outputRateLimiter.clone(key, instance);
         return instance;
     }
 
+    /**
+     * Evict the groups retained for the snapshots of a group by query, when they are idle or exceed the maximum
+     * number of groups. Must be set before the rate limiter is initialized.
+     *
+     * @param groupIdlePeriod time in milliseconds a group is retained without any events, or
+     *                        {@link SiddhiConstants#UNKNOWN_STATE} to retain idle groups
+     * @param maxGroups       maximum number of groups retained, or {@link SiddhiConstants#UNKNOWN_STATE} for no
+     *                        maximum
+     */
+    public void setGroupPurging(long groupIdlePeriod, int maxGroups) {
+        this.groupIdlePeriod = groupIdlePeriod;
+        this.maxGroups = maxGroups;
+    }
+
+    /**
+     * Emit only the first events of the window in the order of the query, when the query has a window and no
+     * aggregations, as configured by {@code @snapshot(ordered='true')}. Must be set before the rate limiter is
+     * initialized.
+     *
+     * @param orderByEventComparator comparator of the order of the query
+     * @param limit                  number of events emitted
+     */
+    public void setTopK(OrderByEventComparator orderByEventComparator, long limit) {
+        this.orderByEventComparator = orderByEventComparator;
+        this.limit = limit;
+    }
+
     public void init(SiddhiAppContext siddhiAppContext, LockWrapper lockWrapper) {
         super.init(siddhiAppContext, lockWrapper, queryName);
         outputRateLimiter.setQueryLock(lockWrapper);
@@ -99,7 +134,8 @@ public class WrappedSnapshotOutputRateLimiter extends OutputRateLimiter {
                 } else { // No aggregation
                     //GroupBy is same as Non GroupBy
                     outputRateLimiter = new WindowedPerSnapshotOutputRateLimiter(
-                            id, value, scheduledExecutorService, this, siddhiAppContext, queryName);
+                            id, value, scheduledExecutorService, this, siddhiAppContext, queryName,
+                            orderByEventComparator, limit);
                 }
             } else {
                 if (outPutAttributeSize == aggregateAttributePositionList.size()) {   //All Aggregation
@@ -112,14 +148,15 @@ public class WrappedSnapshotOutputRateLimiter extends OutputRateLimiter {
                             siddhiAppContext, queryName);
                 } else { // No aggregation
                     outputRateLimiter = new WindowedPerSnapshotOutputRateLimiter(
-                            id, value, scheduledExecutorService, this, siddhiAppContext, queryName);
+                            id, value, scheduledExecutorService, this, siddhiAppContext, queryName,
+                            orderByEventComparator, limit);
                 }
             }
 
         } else {
             if (groupBy) {
                 outputRateLimiter = new GroupByPerSnapshotOutputRateLimiter(id, value, scheduledExecutorService,
-                        this, siddhiAppContext, queryName);
+                        this, siddhiAppContext, queryName, groupIdlePeriod, maxGroups);
             } else {
                 outputRateLimiter = new PerSnapshotOutputRateLimiter(id, value, scheduledExecutorService, this,
                         siddhiAppContext, queryName);
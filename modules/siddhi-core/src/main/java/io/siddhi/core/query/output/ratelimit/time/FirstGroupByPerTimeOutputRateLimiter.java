@@ -25,6 +25,7 @@ import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
 import io.siddhi.core.util.Schedulable;
 import io.siddhi.core.util.Scheduler;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.parser.SchedulerParser;
 import org.apache.log4j.Logger;
 
@@ -42,7 +43,7 @@ public class FirstGroupByPerTimeOutputRateLimiter extends OutputRateLimiter impl
     private static final Logger log = Logger.getLogger(FirstGroupByPerTimeOutputRateLimiter.class);
     private final Long value;
     private String id;
-    private List<String> groupByKeys = new ArrayList<String>();
+    private List<CompositeKey> groupByKeys = new ArrayList<CompositeKey>();
     private ComplexEventChunk<ComplexEvent> allComplexEventChunk;
     private ScheduledExecutorService scheduledExecutorService;
     private Scheduler scheduler;
@@ -133,7 +134,8 @@ public class FirstGroupByPerTimeOutputRateLimiter extends OutputRateLimiter impl
     public synchronized void restoreState(Map<String, Object> state) {
         allComplexEventChunk.clear();
         allComplexEventChunk.add((ComplexEvent) state.get("AllComplexEventChunk"));
-        groupByKeys = (List<String>) state.get("GroupByKeys");
+        groupByKeys = CompositeKey.restoreKeys((List<?>) state.get("GroupByKeys"), groupByKeyTypes,
+                getElementId());
     }
 
 }
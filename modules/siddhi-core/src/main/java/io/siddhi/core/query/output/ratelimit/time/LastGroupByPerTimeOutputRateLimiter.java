@@ -26,6 +26,7 @@ import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
 import io.siddhi.core.util.Schedulable;
 import io.siddhi.core.util.Scheduler;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.parser.SchedulerParser;
 import org.apache.log4j.Logger;
 
@@ -43,7 +44,7 @@ public class LastGroupByPerTimeOutputRateLimiter extends OutputRateLimiter imple
     private static final Logger log = Logger.getLogger(LastGroupByPerTimeOutputRateLimiter.class);
     private final Long value;
     private String id;
-    private Map<String, ComplexEvent> allGroupByKeyEvents = new LinkedHashMap<String, ComplexEvent>();
+    private Map<CompositeKey, ComplexEvent> allGroupByKeyEvents = new LinkedHashMap<CompositeKey, ComplexEvent>();
     private ScheduledExecutorService scheduledExecutorService;
     private Scheduler scheduler;
     private long scheduledTime;
@@ -126,7 +127,8 @@ public class LastGroupByPerTimeOutputRateLimiter extends OutputRateLimiter imple
 
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
-        allGroupByKeyEvents = (Map<String, ComplexEvent>) state.get("AllGroupByKeyEvents");
+        allGroupByKeyEvents = CompositeKey.restoreKeys((Map<?, ComplexEvent>) state.get("AllGroupByKeyEvents"),
+                groupByKeyTypes, getElementId());
     }
 
 }
@@ -21,20 +21,31 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.compiled.ExpressionCompiler;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.query.api.definition.Attribute;
 
 /**
  * Implementation of {@link Processor} which handles Filter expressions in Siddhi.
+ * <p>
+ * Chunks of more than one event are filtered as a batch when the condition is deterministic; the condition is
+ * evaluated over all the events via {@link ExpressionExecutor#executeBoolean(ComplexEvent[], int, boolean[])}, and
+ * the chunk is then relinked with the selected events in one pass. The arrays holding the events and their selection
+ * are kept per thread and grown on demand, as a filter can be called by several threads at once. Conditions that are
+ * not deterministic are evaluated event by event, as the order in which they are called for the events may affect
+ * their results.
  */
 public class FilterProcessor implements Processor {
 
     protected Processor next;
     private ExpressionExecutor conditionExecutor;
+    private boolean batchEvaluation;
+    private final ThreadLocal<BatchBuffer> batchBuffer = ThreadLocal.withInitial(BatchBuffer::new);
 
     public FilterProcessor(ExpressionExecutor conditionExecutor) {
         if (Attribute.Type.BOOL.equals(conditionExecutor.getReturnType())) {
             this.conditionExecutor = conditionExecutor;
+            this.batchEvaluation = conditionExecutor.isDeterministic();
         } else {
             throw new OperationNotSupportedException("Return type of " + conditionExecutor.toString() + " should be " +
                     "of type BOOL. " +
@@ -46,6 +57,16 @@ public class FilterProcessor implements Processor {
         return new FilterProcessor(conditionExecutor.cloneExecutor(key));
     }
 
+    /**
+     * Compile the condition via {@link ExpressionCompiler}, once the positions of the attributes it reads are final.
+     *
+     * @param queryName name of the query, used for logging
+     */
+    public void compileCondition(String queryName) {
+        conditionExecutor = ExpressionCompiler.compile(conditionExecutor, queryName);
+        batchEvaluation = conditionExecutor.isDeterministic();
+    }
+
     @Override
     public void clean() {
         conditionExecutor.clean();
@@ -53,11 +74,16 @@ public class FilterProcessor implements Processor {
 
     @Override
     public void process(ComplexEventChunk complexEventChunk) {
+        ComplexEvent first = complexEventChunk.getFirst();
+        if (batchEvaluation && first != null && first.getNext() != null) {
+            processBatch(complexEventChunk);
+            return;
+        }
         complexEventChunk.reset();
         while (complexEventChunk.hasNext()) {
             ComplexEvent complexEvent = complexEventChunk.next();
-            Object result = conditionExecutor.execute(complexEvent);
-            if (result == null || !(Boolean) result) {
+            boolean result = conditionExecutor.executeBoolean(complexEvent);
+            if (complexEvent.wasNullResult() || !result) {
                 complexEventChunk.remove();
             }
         }
@@ -66,6 +92,35 @@ public class FilterProcessor implements Processor {
         }
     }
 
+    private void processBatch(ComplexEventChunk complexEventChunk) {
+        int size = 0;
+        for (ComplexEvent event = complexEventChunk.getFirst(); event != null; event = event.getNext()) {
+            size++;
+        }
+        BatchBuffer buffer = batchBuffer.get();
+        buffer.ensureCapacity(size);
+        ComplexEvent[] events = buffer.events;
+        boolean[] selection = buffer.selection;
+        ComplexEvent event = complexEventChunk.getFirst();
+        for (int i = 0; i < size; i++) {
+            events[i] = event;
+            selection[i] = true;
+            event = event.getNext();
+        }
+        conditionExecutor.executeBoolean(events, size, selection);
+        complexEventChunk.clear();
+        for (int i = 0; i < size; i++) {
+            events[i].setNext(null);
+            if (selection[i]) {
+                complexEventChunk.add(events[i]);
+            }
+            events[i] = null;
+        }
+        if (complexEventChunk.getFirst() != null) {
+            this.next.process(complexEventChunk);
+        }
+    }
+
     @Override
     public Processor getNextProcessor() {
         return next;
@@ -85,4 +140,20 @@ public class FilterProcessor implements Processor {
         }
     }
 
+    /**
+     * Arrays reused by a thread for filtering chunks as a batch.
+     */
+    private static class BatchBuffer {
+
+        private ComplexEvent[] events = new ComplexEvent[0];
+        private boolean[] selection = new boolean[0];
+
+        private void ensureCapacity(int size) {
+            if (events.length < size) {
+                int capacity = Math.max(size, events.length * 2);
+                events = new ComplexEvent[capacity];
+                selection = new boolean[capacity];
+            }
+        }
+    }
 }
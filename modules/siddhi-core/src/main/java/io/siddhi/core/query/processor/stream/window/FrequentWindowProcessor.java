@@ -32,6 +32,7 @@ import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.table.Table;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.core.util.collection.operator.Operator;
@@ -39,15 +40,15 @@ import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.core.util.parser.OperatorParser;
 import io.siddhi.query.api.expression.Expression;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of {@link WindowProcessor} which represent a Window operating based on frequency of incoming events.
- * Implementation uses a counting algorithm based on Misra-Gries counting algorithm
+ * Implementation uses a counting algorithm based on Misra-Gries counting algorithm, on a {@link StreamSummary} holding
+ * the latest event of each counted key. Decrementing all the counters is O(1), as the counts are held offset by the
+ * number of decrements, and only the counters which reach zero are removed.
  */
 @Extension(
         name = "frequent",
@@ -86,8 +87,8 @@ import java.util.concurrent.ConcurrentHashMap;
 )
 @Deprecated
 public class FrequentWindowProcessor extends SlidingWindowProcessor implements FindableProcessor {
-    private ConcurrentHashMap<String, Integer> countMap = new ConcurrentHashMap<String, Integer>();
-    private ConcurrentHashMap<String, StreamEvent> map = new ConcurrentHashMap<String, StreamEvent>();
+    private StreamSummary<CompositeKey, StreamEvent> streamSummary = new StreamSummary<>();
+    private long decrementCount = 0;
     private VariableExpressionExecutor[] variableExpressionExecutors;
 
     private int mostFrequentCount;
@@ -117,40 +118,29 @@ public class FrequentWindowProcessor extends SlidingWindowProcessor implements F
                 StreamEvent clonedEvent = streamEventCloner.copyStreamEvent(streamEvent);
                 clonedEvent.setType(StreamEvent.Type.EXPIRED);
 
-                String key = generateKey(streamEvent);
-                StreamEvent oldEvent = map.put(key, clonedEvent);
-                if (oldEvent != null) {
-                    countMap.put(key, countMap.get(key) + 1);
+                CompositeKey key = generateKey(streamEvent);
+                StreamSummary.Counter<CompositeKey, StreamEvent> counter = streamSummary.get(key);
+                if (counter != null) {
+                    counter.setValue(clonedEvent);
+                    streamSummary.increment(counter);
                     streamEventChunk.add(streamEvent);
                 } else {
                     //  This is a new event
-                    if (map.size() > mostFrequentCount) {
-                        List<String> keys = new ArrayList<String>(countMap.keySet());
-                        for (int i = 0; i < mostFrequentCount; i++) {
-                            int count = countMap.get(keys.get(i)) - 1;
-                            if (count == 0) {
-                                countMap.remove(keys.get(i));
-                                StreamEvent expiredEvent = map.remove(keys.get(i));
-                                expiredEvent.setTimestamp(currentTime);
-                                streamEventChunk.add(expiredEvent);
-                            } else {
-                                countMap.put(keys.get(i), count);
-                            }
+                    if (streamSummary.size() == mostFrequentCount) {
+                        // Decrement all the counters, and remove the ones reaching zero
+                        decrementCount++;
+                        StreamSummary.Counter<CompositeKey, StreamEvent> minCounter = streamSummary.getMin();
+                        while (minCounter != null && minCounter.getCount() <= decrementCount) {
+                            streamSummary.remove(minCounter);
+                            StreamEvent expiredEvent = minCounter.getValue();
+                            expiredEvent.setTimestamp(currentTime);
+                            streamEventChunk.add(expiredEvent);
+                            minCounter = streamSummary.getMin();
                         }
-                        // now we have tried to remove one for newly added item
-                        if (map.size() > mostFrequentCount) {
-                            //nothing happend by the attempt to remove one from the
-                            // map so we are ignoring this event
-                            map.remove(key);
-                            // Here we do nothing just drop the message
-                        } else {
-                            // we got some space, event is already there in map object
-                            // we just have to add it to the countMap
-                            countMap.put(key, 1);
-                            streamEventChunk.add(streamEvent);
-                        }
-                    } else {
-                        countMap.put(generateKey(streamEvent), 1);
+                    }
+                    // The event is dropped if no counter could be removed
+                    if (streamSummary.size() < mostFrequentCount) {
+                        streamSummary.add(key, clonedEvent, decrementCount + 1, 0);
                         streamEventChunk.add(streamEvent);
                     }
                 }
@@ -174,34 +164,32 @@ public class FrequentWindowProcessor extends SlidingWindowProcessor implements F
     public Map<String, Object> currentState() {
         Map<String, Object> state = new HashMap<>();
         synchronized (this) {
-            state.put("CountMap", countMap);
+            state.put("StreamSummary", streamSummary);
+            state.put("DecrementCount", decrementCount);
         }
         return state;
     }
 
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
-        countMap = (ConcurrentHashMap<String, Integer>) state.get("CountMap");
+        // Snapshots taken before the stream summary was introduced hold no events, hence the window starts empty
+        StreamSummary<CompositeKey, StreamEvent> restoredSummary =
+                (StreamSummary<CompositeKey, StreamEvent>) state.get("StreamSummary");
+        streamSummary = restoredSummary != null ? restoredSummary : new StreamSummary<>();
+        Long restoredDecrementCount = (Long) state.get("DecrementCount");
+        decrementCount = restoredDecrementCount != null ? restoredDecrementCount : 0;
     }
 
-    private String generateKey(StreamEvent event) {      // for performance reason if its all attribute we don't do
-        // the attribute list check
-        StringBuilder stringBuilder = new StringBuilder();
+    private CompositeKey generateKey(StreamEvent event) {
         if (variableExpressionExecutors.length == 0) {
-            for (Object data : event.getOutputData()) {
-                stringBuilder.append(data);
-            }
-        } else {
-            for (VariableExpressionExecutor executor : variableExpressionExecutors) {
-                stringBuilder.append(event.getAttribute(executor.getPosition()));
-            }
+            return CompositeKey.of(event.getOutputData());
         }
-        return stringBuilder.toString();
+        return CompositeKey.of(variableExpressionExecutors, event);
     }
 
     @Override
     public synchronized StreamEvent find(StateEvent matchingEvent, CompiledCondition compiledCondition) {
-        return ((Operator) compiledCondition).find(matchingEvent, map.values(), streamEventCloner);
+        return ((Operator) compiledCondition).find(matchingEvent, streamSummary.values(), streamEventCloner);
     }
 
     @Override
@@ -209,7 +197,7 @@ public class FrequentWindowProcessor extends SlidingWindowProcessor implements F
                                               SiddhiAppContext siddhiAppContext,
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
                                               Map<String, Table> tableMap, String queryName) {
-        return OperatorParser.constructOperator(map.values(), condition, matchingMetaInfoHolder, siddhiAppContext,
-                variableExpressionExecutors, tableMap, this.queryName);
+        return OperatorParser.constructOperator(streamSummary.values(), condition, matchingMetaInfoHolder,
+                siddhiAppContext, variableExpressionExecutors, tableMap, this.queryName);
     }
 }
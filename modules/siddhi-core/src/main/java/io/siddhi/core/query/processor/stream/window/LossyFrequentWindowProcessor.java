@@ -32,6 +32,7 @@ import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.table.Table;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.core.util.collection.operator.Operator;
@@ -40,14 +41,15 @@ import io.siddhi.core.util.parser.OperatorParser;
 import io.siddhi.query.api.expression.Expression;
 import org.apache.log4j.Logger;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of {@link WindowProcessor} which represent a Window operating based on event frequency.
+ * Implementation uses the Lossy Counting algorithm, on a {@link StreamSummary} holding the latest event of each counted
+ * key. The summary orders the counters by the upper bound of their frequency, the frequency plus the bucket id they
+ * were added at, hence pruning only visits the counters being removed.
  */
 @Extension(
         name = "lossyFrequent",
@@ -102,8 +104,7 @@ import java.util.concurrent.ConcurrentHashMap;
 @Deprecated
 public class LossyFrequentWindowProcessor extends SlidingWindowProcessor implements FindableProcessor {
     private static final Logger log = Logger.getLogger(LossyFrequentWindowProcessor.class);
-    private ConcurrentHashMap<String, LossyCount> countMap = new ConcurrentHashMap<String, LossyCount>();
-    private ConcurrentHashMap<String, StreamEvent> map = new ConcurrentHashMap<String, StreamEvent>();
+    private StreamSummary<CompositeKey, StreamEvent> streamSummary = new StreamSummary<>();
     private VariableExpressionExecutor[] variableExpressionExecutors;
 
     private int totalCount = 0;
@@ -156,42 +157,30 @@ public class LossyFrequentWindowProcessor extends SlidingWindowProcessor impleme
                 if (totalCount != 1) {
                     currentBucketId = Math.ceil(totalCount / windowWidth);
                 }
-                String currentKey = generateKey(streamEvent);
-                StreamEvent oldEvent = map.put(currentKey, clonedEvent);
-                if (oldEvent != null) {    // this event is already in the store
-                    countMap.put(currentKey, countMap.get(currentKey).incrementCount());
+                CompositeKey currentKey = generateKey(streamEvent);
+                StreamSummary.Counter<CompositeKey, StreamEvent> counter = streamSummary.get(currentKey);
+                if (counter != null) {    // this event is already in the store
+                    counter.setValue(clonedEvent);
+                    streamSummary.increment(counter);
                 } else {
                     //  This is a new event
-                    LossyCount lCount;
-                    lCount = new LossyCount(1, (int) currentBucketId - 1);
-                    countMap.put(currentKey, lCount);
+                    counter = streamSummary.add(currentKey, clonedEvent, (long) currentBucketId,
+                            (long) currentBucketId - 1);
                 }
-                // calculating all the events in the system which match the
-                // requirement provided by the user
-                List<String> keys = new ArrayList<String>();
-                keys.addAll(countMap.keySet());
-                for (String key : keys) {
-                    LossyCount lossyCount = countMap.get(key);
-                    if (lossyCount.getCount() >= ((support - error) * totalCount)) {
-                        // among the selected events, if the newly arrive event is there we mark it as an inEvent
-                        if (key.equals(currentKey)) {
-                            streamEventChunk.add(streamEvent);
-                        }
-                    }
+                // the newly arrived event is an inEvent if its key matches the requirement provided by the user
+                if (counter.getCount() - counter.getError() >= ((support - error) * totalCount)) {
+                    streamEventChunk.add(streamEvent);
                 }
                 if (totalCount % windowWidth == 0) {
                     // its time to run the data-structure prune code
-                    keys = new ArrayList<String>();
-                    keys.addAll(countMap.keySet());
-                    for (String key : keys) {
-                        LossyCount lossyCount = countMap.get(key);
-                        if (lossyCount.getCount() + lossyCount.getBucketId() <= currentBucketId) {
-                            log.info("Removing the Event: " + key + " from the window");
-                            countMap.remove(key);
-                            StreamEvent expirtedEvent = map.remove(key);
-                            expirtedEvent.setTimestamp(currentTime);
-                            streamEventChunk.add(expirtedEvent);
-                        }
+                    StreamSummary.Counter<CompositeKey, StreamEvent> minCounter = streamSummary.getMin();
+                    while (minCounter != null && minCounter.getCount() <= currentBucketId) {
+                        log.info("Removing the Event: " + minCounter.getKey() + " from the window");
+                        streamSummary.remove(minCounter);
+                        StreamEvent expiredEvent = minCounter.getValue();
+                        expiredEvent.setTimestamp(currentTime);
+                        streamEventChunk.add(expiredEvent);
+                        minCounter = streamSummary.getMin();
                     }
                 }
                 streamEvent = next;
@@ -215,7 +204,9 @@ public class LossyFrequentWindowProcessor extends SlidingWindowProcessor impleme
     public Map<String, Object> currentState() {
         Map<String, Object> state = new HashMap<>();
         synchronized (this) {
-            state.put("CountMap", countMap);
+            state.put("StreamSummary", streamSummary);
+            state.put("TotalCount", totalCount);
+            state.put("CurrentBucketId", currentBucketId);
         }
         return state;
     }
@@ -223,27 +214,27 @@ public class LossyFrequentWindowProcessor extends SlidingWindowProcessor impleme
 
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
-        countMap = (ConcurrentHashMap<String, LossyCount>) state.get("CountMap");
+        // Snapshots taken before the stream summary was introduced hold neither the events nor the totals, hence
+        // the window starts empty
+        StreamSummary<CompositeKey, StreamEvent> restoredSummary =
+                (StreamSummary<CompositeKey, StreamEvent>) state.get("StreamSummary");
+        streamSummary = restoredSummary != null ? restoredSummary : new StreamSummary<>();
+        Integer restoredTotalCount = (Integer) state.get("TotalCount");
+        totalCount = restoredTotalCount != null ? restoredTotalCount : 0;
+        Double restoredBucketId = (Double) state.get("CurrentBucketId");
+        currentBucketId = restoredBucketId != null ? restoredBucketId : 1;
     }
 
-    private String generateKey(StreamEvent event) {      // for performance reason if its all attribute we don't do
-        // the attribute list check
-        StringBuilder stringBuilder = new StringBuilder();
+    private CompositeKey generateKey(StreamEvent event) {
         if (variableExpressionExecutors.length == 0) {
-            for (Object data : event.getOutputData()) {
-                stringBuilder.append(data);
-            }
-        } else {
-            for (VariableExpressionExecutor executor : variableExpressionExecutors) {
-                stringBuilder.append(event.getAttribute(executor.getPosition()));
-            }
+            return CompositeKey.of(event.getOutputData());
         }
-        return stringBuilder.toString();
+        return CompositeKey.of(variableExpressionExecutors, event);
     }
 
     @Override
     public synchronized StreamEvent find(StateEvent matchingEvent, CompiledCondition compiledCondition) {
-        return ((Operator) compiledCondition).find(matchingEvent, map.values(), streamEventCloner);
+        return ((Operator) compiledCondition).find(matchingEvent, streamSummary.values(), streamEventCloner);
     }
 
     @Override
@@ -251,41 +242,7 @@ public class LossyFrequentWindowProcessor extends SlidingWindowProcessor impleme
                                               SiddhiAppContext siddhiAppContext,
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
                                               Map<String, Table> tableMap, String queryName) {
-        return OperatorParser.constructOperator(map.values(), condition, matchingMetaInfoHolder,
+        return OperatorParser.constructOperator(streamSummary.values(), condition, matchingMetaInfoHolder,
                 siddhiAppContext, variableExpressionExecutors, tableMap, this.queryName);
     }
-
-    /**
-     * Inner class to keep the lossy count
-     */
-    public class LossyCount {
-        int count;
-        int bucketId;
-
-        public LossyCount(int count, int bucketId) {
-            this.count = count;
-            this.bucketId = bucketId;
-        }
-
-        public int getCount() {
-            return count;
-        }
-
-        public void setCount(int count) {
-            this.count = count;
-        }
-
-        public int getBucketId() {
-            return bucketId;
-        }
-
-        public void setBucketId(int bucketId) {
-            this.bucketId = bucketId;
-        }
-
-        public LossyCount incrementCount() {
-            this.count++;
-            return this;
-        }
-    }
 }
@@ -45,15 +45,12 @@ import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.expression.Expression;
 import org.apache.log4j.Logger;
 
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static java.util.stream.Collectors.toMap;
-
 /**
  * Implementation of {@link WindowProcessor} which represent a Window operating based on a session.
  */
@@ -111,7 +108,9 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
     private VariableExpressionExecutor sessionKeyExecutor;
     private Scheduler scheduler;
     private Map<String, SessionContainer> sessionMap;
-    private Map<String, Long> sessionKeyEndTimeMap;
+    private SessionExpiryQueue currentSessionExpiries;
+    private SessionExpiryQueue previousSessionExpiries;
+    private long lastTimerTimestamp = Long.MIN_VALUE;
     private SessionContainer sessionContainer;
     private SessionComplexEventChunk<StreamEvent> expiredEventChunk;
 
@@ -130,7 +129,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
                         ConfigReader configReader, boolean outputExpectsExpiredEvents,
                         SiddhiAppContext siddhiAppContext) {
         this.sessionMap = new ConcurrentHashMap<>();
-        this.sessionKeyEndTimeMap = new HashMap<>();
+        this.currentSessionExpiries = new SessionExpiryQueue();
+        this.previousSessionExpiries = new SessionExpiryQueue();
         this.sessionContainer = new SessionContainer();
         this.expiredEventChunk = new SessionComplexEventChunk<>();
 
@@ -260,7 +260,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
                     if (sessionContainer.getCurrentSession().getFirst() == null) {
                         currentSession.add(clonedStreamEvent);
                         currentSession.setTimestamps(eventTimestamp, maxTimestamp, aliveTimestamp);
-                        scheduler.notifyAt(maxTimestamp);
+                        currentSessionExpiries.schedule(key, maxTimestamp);
+                        scheduleTimer(maxTimestamp);
                     } else {
                         if (eventTimestamp >= currentSession.getStartTimestamp()) {
                             //check whether the event belongs to the same session
@@ -268,7 +269,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
                                 currentSession.setTimestamps(currentSession.getStartTimestamp(),
                                         maxTimestamp, aliveTimestamp);
                                 currentSession.add(clonedStreamEvent);
-                                scheduler.notifyAt(maxTimestamp);
+                                currentSessionExpiries.schedule(key, maxTimestamp);
+                                scheduleTimer(maxTimestamp);
                             } else {
                                 //when a new session starts
                                 if (allowedLatency > 0) {
@@ -276,7 +278,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
                                     currentSession.clear();
                                     currentSession.setTimestamps(eventTimestamp, maxTimestamp, aliveTimestamp);
                                     currentSession.add(clonedStreamEvent);
-                                    scheduler.notifyAt(maxTimestamp);
+                                    currentSessionExpiries.schedule(key, maxTimestamp);
+                                    scheduleTimer(maxTimestamp);
                                 }
                             }
 
@@ -346,7 +349,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
         previousSession.setTimestamps(currentSession.getStartTimestamp(),
                 currentSession.getEndTimestamp(),
                 currentSession.getAliveTimestamp());
-        scheduler.notifyAt(currentSession.getAliveTimestamp());
+        previousSessionExpiries.schedule(sessionContainer.getKey(), currentSession.getAliveTimestamp());
+        scheduleTimer(currentSession.getAliveTimestamp());
 
     }
 
@@ -387,6 +391,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
                         } else {
                             previousSession.setEndTimestamp(eventTimestamp + sessionGap);
                             previousSession.setAliveTimestamp(eventTimestamp + sessionGap + allowedLatency);
+                            previousSessionExpiries.schedule(sessionContainer.getKey(),
+                                    previousSession.getAliveTimestamp());
                             mergeWindows(previousSession, currentSession);
                         }
 
@@ -415,129 +421,82 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
     }
 
     /**
-     * Checks all the sessions and get the expired session.
+     * Schedules a timer at the given time, unless a timer is already scheduled at or after it. As the expiry times of
+     * the sessions mostly increase with the event time, the sessions expiring at the same time share a timer, and a
+     * timer event expires all the sessions which are due.
      */
-    private void currentSessionTimeout(long eventTimestamp) {
-        Map<String, Long> currentEndTimestamps = findAllCurrentEndTimestamps(sessionMap);
-
-        //sort on endTimestamps
-        if (currentEndTimestamps.size() > 1) {
-            currentEndTimestamps = currentEndTimestamps.entrySet().stream().sorted(Map.Entry.comparingByValue())
-                    .collect(toMap(e -> e.getKey(), e -> e.getValue(), (e1, e2) -> e1,
-                            LinkedHashMap::new));
-        }
-
-        for (Map.Entry<String, Long> entry : currentEndTimestamps.entrySet()) {
-            long sessionEndTime = entry.getValue();
-            SessionComplexEventChunk<StreamEvent> currentSession = sessionMap.get(entry.getKey())
-                    .getCurrentSession();
-            SessionComplexEventChunk<StreamEvent> previousSession = sessionMap.get(entry.getKey())
-                    .getPreviousSession();
-            if (currentSession.getFirst() != null && eventTimestamp >= sessionEndTime) {
-
-                if (allowedLatency > 0) {
-                    //move current session to previous session
-                    previousSession.add(currentSession.getFirst());
-                    previousSession.setTimestamps(currentSession.getStartTimestamp(),
-                            currentSession.getEndTimestamp(),
-                            currentSession.getAliveTimestamp());
-                    scheduler.notifyAt(currentSession.getAliveTimestamp());
-                    currentSession.clear();
-                } else {
-                    expiredEventChunk.setKey(currentSession.getKey());
-                    expiredEventChunk.setTimestamps(currentSession.getStartTimestamp(),
-                            currentSession.getEndTimestamp(),
-                            currentSession.getAliveTimestamp());
-                    expiredEventChunk.add(currentSession.getFirst());
-                    currentSession.clear();
-                }
-
-            } else {
-                break;
-            }
+    private void scheduleTimer(long timestamp) {
+        if (timestamp > lastTimerTimestamp ||
+                lastTimerTimestamp <= siddhiAppContext.getTimestampGenerator().currentTime()) {
+            scheduler.notifyAt(timestamp);
+            lastTimerTimestamp = Math.max(lastTimerTimestamp, timestamp);
         }
     }
 
     /**
-     * Checks all the previous sessions and get the expired sessions.
+     * Expires the current sessions which are due.
      */
-    private void previousSessionTimeout(long eventTimestamp) {
-
-        Map<String, Long> previousEndTimestamps = findAllPreviousEndTimestamps(sessionMap);
-        SessionComplexEventChunk<StreamEvent> previousSession;
-
-        //sort on endTimestamps
-        if (previousEndTimestamps.size() > 1) {
-            previousEndTimestamps = previousEndTimestamps.entrySet().stream().sorted(Map.Entry.comparingByValue())
-                    .collect(toMap(e -> e.getKey(), e -> e.getValue(), (e1, e2) -> e1,
-                            LinkedHashMap::new));
-        }
-
-        for (Map.Entry<String, Long> entry : previousEndTimestamps.entrySet()) {
-            previousSession = sessionMap.get(entry.getKey()).getPreviousSession();
-
-            if (previousSession != null && previousSession.getFirst() != null &&
-                    eventTimestamp >= previousSession.getAliveTimestamp()) {
-
-                expiredEventChunk.setKey(previousSession.getKey());
-                expiredEventChunk.setTimestamps(previousSession.getStartTimestamp(),
-                        previousSession.getEndTimestamp(), previousSession.getAliveTimestamp());
+    private void currentSessionTimeout(long eventTimestamp) {
+        SessionExpiry sessionExpiry;
+        while ((sessionExpiry = currentSessionExpiries.pollDue(eventTimestamp)) != null) {
+            SessionContainer expiringSessionContainer = sessionMap.get(sessionExpiry.key);
+            SessionComplexEventChunk<StreamEvent> currentSession = expiringSessionContainer.getCurrentSession();
+            SessionComplexEventChunk<StreamEvent> previousSession = expiringSessionContainer.getPreviousSession();
+            if (currentSession.getFirst() == null) {
+                continue;
+            }
+            long sessionEndTime = currentSession.getEndTimestamp();
+            if (sessionEndTime > sessionExpiry.timestamp) {
+                //the session has been extended since the expiry was scheduled
+                currentSessionExpiries.schedule(sessionExpiry.key, sessionEndTime);
+                continue;
+            }
 
-                expiredEventChunk.add(previousSession.getFirst());
-                previousSession.clear();
+            if (allowedLatency > 0) {
+                //move current session to previous session
+                previousSession.add(currentSession.getFirst());
+                previousSession.setTimestamps(currentSession.getStartTimestamp(),
+                        currentSession.getEndTimestamp(),
+                        currentSession.getAliveTimestamp());
+                previousSessionExpiries.schedule(sessionExpiry.key, currentSession.getAliveTimestamp());
+                scheduleTimer(currentSession.getAliveTimestamp());
+                currentSession.clear();
             } else {
-                break;
+                expiredEventChunk.setKey(currentSession.getKey());
+                expiredEventChunk.setTimestamps(currentSession.getStartTimestamp(),
+                        currentSession.getEndTimestamp(),
+                        currentSession.getAliveTimestamp());
+                expiredEventChunk.add(currentSession.getFirst());
+                currentSession.clear();
             }
-
         }
-
     }
 
     /**
-     * Gets all end timestamps of current sessions.
-     *
-     * @param sessionMap holds all the sessions with the session key
-     * @return map with the values of each current session's end timestamp and with the key as the session key
+     * Expires the previous sessions which are due.
      */
-    private Map<String, Long> findAllCurrentEndTimestamps(Map<String, SessionContainer> sessionMap) {
-
-        Collection<SessionContainer> sessionContainerList = sessionMap.values();
-
-        if (!sessionKeyEndTimeMap.isEmpty()) {
-            sessionKeyEndTimeMap.clear();
-        }
-
-        for (SessionContainer sessionContainer : sessionContainerList) {
-            //not getting empty session details
-            if (sessionContainer.getCurrentSessionEndTimestamp() != -1) {
-                sessionKeyEndTimeMap.put(sessionContainer.getKey(), sessionContainer.getCurrentSessionEndTimestamp());
+    private void previousSessionTimeout(long eventTimestamp) {
+        SessionExpiry sessionExpiry;
+        while ((sessionExpiry = previousSessionExpiries.pollDue(eventTimestamp)) != null) {
+            SessionComplexEventChunk<StreamEvent> previousSession = sessionMap.get(sessionExpiry.key)
+                    .getPreviousSession();
+            if (previousSession.getFirst() == null) {
+                continue;
+            }
+            long sessionAliveTime = previousSession.getAliveTimestamp();
+            if (sessionAliveTime > sessionExpiry.timestamp) {
+                //the session has been extended by a late event since the expiry was scheduled
+                previousSessionExpiries.schedule(sessionExpiry.key, sessionAliveTime);
+                continue;
             }
-        }
-
-        return sessionKeyEndTimeMap;
-    }
-
-    /**
-     * Gets all the end timestamps of previous sessions.
-     *
-     * @return map with the values of each previous session's end timestamp and with the key as the sesssio key
-     */
-    private Map<String, Long> findAllPreviousEndTimestamps(Map<String, SessionContainer> sessionMap) {
-
-        Collection<SessionContainer> sessionContainerList = sessionMap.values();
 
-        if (!sessionKeyEndTimeMap.isEmpty()) {
-            sessionKeyEndTimeMap.clear();
-        }
+            expiredEventChunk.setKey(previousSession.getKey());
+            expiredEventChunk.setTimestamps(previousSession.getStartTimestamp(),
+                    previousSession.getEndTimestamp(), previousSession.getAliveTimestamp());
 
-        for (SessionContainer sessionContainer : sessionContainerList) {
-            //not getting empty session details
-            if (sessionContainer.getPreviousSessionEndTimestamp() != -1) {
-                sessionKeyEndTimeMap.put(sessionContainer.getKey(), sessionContainer.getPreviousSessionEndTimestamp());
-            }
+            expiredEventChunk.add(previousSession.getFirst());
+            previousSession.clear();
         }
-
-        return sessionKeyEndTimeMap;
     }
 
     @Override
@@ -564,6 +523,19 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
         sessionMap = (ConcurrentHashMap<String, SessionContainer>) state.get("sessionMap");
         sessionContainer = (SessionContainer) state.get("sessionContainer");
         expiredEventChunk = (SessionComplexEventChunk<StreamEvent>) state.get("expiredEventChunk");
+        // The timers are restored by the scheduler
+        currentSessionExpiries = new SessionExpiryQueue();
+        previousSessionExpiries = new SessionExpiryQueue();
+        for (SessionContainer restoredSessionContainer : sessionMap.values()) {
+            if (restoredSessionContainer.getCurrentSession().getFirst() != null) {
+                currentSessionExpiries.schedule(restoredSessionContainer.getKey(),
+                        restoredSessionContainer.getCurrentSession().getEndTimestamp());
+            }
+            if (restoredSessionContainer.getPreviousSession().getFirst() != null) {
+                previousSessionExpiries.schedule(restoredSessionContainer.getKey(),
+                        restoredSessionContainer.getPreviousSession().getAliveTimestamp());
+            }
+        }
     }
 
     @Override
@@ -581,6 +553,74 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
 
     }
 
+    /**
+     * Expiry times of the current or the previous sessions of the keys, in a priority queue, such that expiring the
+     * sessions only visits the sessions which are due. Each key has at most one live expiry, which is not later than
+     * the actual expiry time of its session. When a session is extended, its expiry is moved to the new expiry time
+     * once it is due; when the expiry time of a session becomes earlier, a new live expiry replaces the earlier one,
+     * which is then skipped.
+     */
+    private final class SessionExpiryQueue {
+
+        private final PriorityQueue<SessionExpiry> expiries = new PriorityQueue<>();
+        private final Map<String, SessionExpiry> liveExpiries = new HashMap<>();
+        private long sequence = 0;
+
+        /**
+         * Schedule the expiry of the session of the key, unless an earlier expiry is already scheduled.
+         *
+         * @param key       session key
+         * @param timestamp expiry time of the session
+         */
+        private void schedule(String key, long timestamp) {
+            SessionExpiry liveExpiry = liveExpiries.get(key);
+            if (liveExpiry == null || timestamp < liveExpiry.timestamp) {
+                SessionExpiry sessionExpiry = new SessionExpiry(key, timestamp, sequence++);
+                expiries.add(sessionExpiry);
+                liveExpiries.put(key, sessionExpiry);
+            }
+        }
+
+        /**
+         * @param timestamp current time
+         * @return the earliest live expiry due at the given time, or null if there are none
+         */
+        private SessionExpiry pollDue(long timestamp) {
+            SessionExpiry sessionExpiry = expiries.peek();
+            while (sessionExpiry != null && sessionExpiry.timestamp <= timestamp) {
+                expiries.poll();
+                if (liveExpiries.get(sessionExpiry.key) == sessionExpiry) {
+                    liveExpiries.remove(sessionExpiry.key);
+                    return sessionExpiry;
+                }
+                sessionExpiry = expiries.peek();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Scheduled expiry of a session, ordered by its time, and then by the order of scheduling.
+     */
+    private static final class SessionExpiry implements Comparable<SessionExpiry> {
+
+        private final String key;
+        private final long timestamp;
+        private final long sequence;
+
+        private SessionExpiry(String key, long timestamp, long sequence) {
+            this.key = key;
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(SessionExpiry sessionExpiry) {
+            int comparison = Long.compare(timestamp, sessionExpiry.timestamp);
+            return comparison != 0 ? comparison : Long.compare(sequence, sessionExpiry.sequence);
+        }
+    }
+
     /**
      * Collection used to manage session windows.
      *
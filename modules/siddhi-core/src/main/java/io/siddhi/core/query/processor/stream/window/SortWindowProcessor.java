@@ -32,6 +32,7 @@ import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.table.Table;
+import io.siddhi.core.util.collection.SortKey;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.core.util.collection.operator.Operator;
@@ -41,11 +42,11 @@ import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.expression.Expression;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Sample Query:
@@ -96,9 +97,9 @@ public class SortWindowProcessor extends SlidingWindowProcessor implements Finda
     private static final String ASC = "asc";
     private static final String DESC = "desc";
     private int lengthToKeep;
-    private List<StreamEvent> sortedWindow = new ArrayList<StreamEvent>();
+    private TreeMap<SortKey, StreamEvent> sortedWindow;
+    private long sequence = 0;
     private List<Object[]> parameterInfo;
-    private EventComparator eventComparator;
 
     @Override
     protected void init(ExpressionExecutor[] attributeExpressionExecutors, ConfigReader configReader,
@@ -110,7 +111,7 @@ public class SortWindowProcessor extends SlidingWindowProcessor implements Finda
             throw new UnsupportedOperationException("The first parameter should be an integer");
         }
         parameterInfo = new ArrayList<Object[]>();
-        eventComparator = new EventComparator();
+        sortedWindow = new TreeMap<SortKey, StreamEvent>(new SortKeyComparator());
         for (int i = 1, parametersLength = attributeExpressionExecutors.length; i < parametersLength; i++) {
             if (!(attributeExpressionExecutors[i] instanceof VariableExpressionExecutor)) {
                 throw new UnsupportedOperationException("Required a variable, but found a string parameter");
@@ -158,10 +159,10 @@ public class SortWindowProcessor extends SlidingWindowProcessor implements Finda
                 streamEvent.setNext(null);
                 streamEventChunk.add(streamEvent);
 
-                sortedWindow.add(clonedEvent);
+                sortedWindow.put(createSortKey(clonedEvent), clonedEvent);
                 if (sortedWindow.size() > lengthToKeep) {
-                    Collections.sort(sortedWindow, eventComparator);
-                    StreamEvent expiredEvent = sortedWindow.remove(sortedWindow.size() - 1);
+                    // Of the events last in the order, the latest is expired
+                    StreamEvent expiredEvent = sortedWindow.pollLastEntry().getValue();
                     expiredEvent.setTimestamp(currentTime);
                     streamEventChunk.add(expiredEvent);
                 }
@@ -186,7 +187,7 @@ public class SortWindowProcessor extends SlidingWindowProcessor implements Finda
     public Map<String, Object> currentState() {
         Map<String, Object> state = new HashMap<>();
         synchronized (this) {
-            state.put("SortedWindow", sortedWindow);
+            state.put("SortedWindow", new ArrayList<StreamEvent>(sortedWindow.values()));
         }
         return state;
     }
@@ -194,7 +195,18 @@ public class SortWindowProcessor extends SlidingWindowProcessor implements Finda
 
     @Override
     public synchronized void restoreState(Map<String, Object> state) {
-        sortedWindow = (List<StreamEvent>) state.get("SortedWindow");
+        sortedWindow.clear();
+        for (StreamEvent streamEvent : (List<StreamEvent>) state.get("SortedWindow")) {
+            sortedWindow.put(createSortKey(streamEvent), streamEvent);
+        }
+    }
+
+    private SortKey createSortKey(StreamEvent streamEvent) {
+        Object[] values = new Object[parameterInfo.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = streamEvent.getAttribute(((VariableExpressionExecutor) parameterInfo.get(i)[0]).getPosition());
+        }
+        return new SortKey(values, sequence++);
     }
 
     @Override
@@ -207,24 +219,33 @@ public class SortWindowProcessor extends SlidingWindowProcessor implements Finda
                                               SiddhiAppContext siddhiAppContext,
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
                                               Map<String, Table> tableMap, String queryName) {
-        return OperatorParser.constructOperator(sortedWindow, condition, matchingMetaInfoHolder,
-                siddhiAppContext, variableExpressionExecutors, tableMap, this.queryName);
+        if (parameterInfo.isEmpty()) {
+            return OperatorParser.constructOperator(sortedWindow, condition, matchingMetaInfoHolder,
+                    siddhiAppContext, variableExpressionExecutors, tableMap, this.queryName);
+        }
+        Object[] firstParameterInfo = parameterInfo.get(0);
+        return OperatorParser.constructSortedOperator(condition, matchingMetaInfoHolder, siddhiAppContext,
+                variableExpressionExecutors, tableMap, this.queryName,
+                ((VariableExpressionExecutor) firstParameterInfo[0]).getAttribute(),
+                (Integer) firstParameterInfo[1] < 0);
     }
 
-    private class EventComparator implements Comparator<StreamEvent> {
+    /**
+     * Orders the keys by their values in the given orders, and the keys having equal values by their arrival. Bounds
+     * holding fewer values are ordered by their sequence after the values they hold.
+     */
+    private class SortKeyComparator implements Comparator<SortKey> {
         @Override
-        public int compare(StreamEvent e1, StreamEvent e2) {
-            int comparisonResult;
-            for (Object[] listItem : parameterInfo) {
-                int[] variablePosition = ((VariableExpressionExecutor) listItem[0]).getPosition();
-                Comparable comparableVariable1 = (Comparable) e1.getAttribute(variablePosition);
-                Comparable comparableVariable2 = (Comparable) e2.getAttribute(variablePosition);
-                comparisonResult = comparableVariable1.compareTo(comparableVariable2);
+        public int compare(SortKey k1, SortKey k2) {
+            Object[] values1 = k1.getValues();
+            Object[] values2 = k2.getValues();
+            for (int i = 0, length = Math.min(values1.length, values2.length); i < length; i++) {
+                int comparisonResult = ((Comparable) values1[i]).compareTo(values2[i]);
                 if (comparisonResult != 0) {
-                    return ((Integer) listItem[1]) * comparisonResult;
+                    return ((Integer) parameterInfo.get(i)[1]) * comparisonResult;
                 }
             }
-            return 0;
+            return Long.compare(k1.getSequence(), k2.getSequence());
         }
     }
 
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.processor.stream.window;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Stream-Summary of the counters of the frequent and lossy frequent windows. The counters are held in a linked list of
+ * buckets in the ascending order of their counts, where each bucket links the counters of its count, such that adding
+ * a counter of the minimum count, incrementing a counter, and finding and removing a counter of the minimum count are
+ * all O(1). Along with its count, each counter holds its error, the amount by which the count may overestimate the
+ * actual frequency of its key.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values held by the counters
+ */
+final class StreamSummary<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 5096624583425409147L;
+    private transient Map<K, Counter<K, V>> counters = new HashMap<>();
+    private transient Bucket<K, V> minBucket;
+
+    Counter<K, V> get(K key) {
+        return counters.get(key);
+    }
+
+    /**
+     * Add a counter. Adding is O(1) when the count is not greater than the count of any other counter, and otherwise
+     * linear on the number of distinct smaller counts.
+     *
+     * @param key   key of the counter
+     * @param value value of the counter
+     * @param count count of the counter
+     * @param error error of the count
+     * @return the counter
+     */
+    Counter<K, V> add(K key, V value, long count, long error) {
+        Bucket<K, V> previousBucket = null;
+        Bucket<K, V> bucket = minBucket;
+        while (bucket != null && bucket.count < count) {
+            previousBucket = bucket;
+            bucket = bucket.next;
+        }
+        if (bucket == null || bucket.count != count) {
+            bucket = insertBucket(count, previousBucket, bucket);
+        }
+        Counter<K, V> counter = new Counter<>(key, value, error);
+        bucket.attach(counter);
+        counters.put(key, counter);
+        return counter;
+    }
+
+    void increment(Counter<K, V> counter) {
+        Bucket<K, V> bucket = counter.bucket;
+        Bucket<K, V> nextBucket = bucket.next;
+        if (nextBucket == null || nextBucket.count != bucket.count + 1) {
+            nextBucket = insertBucket(bucket.count + 1, bucket, nextBucket);
+        }
+        bucket.detach(counter);
+        nextBucket.attach(counter);
+        if (bucket.head == null) {
+            removeBucket(bucket);
+        }
+    }
+
+    /**
+     * @return a counter of the minimum count, or null if there are no counters
+     */
+    Counter<K, V> getMin() {
+        return minBucket == null ? null : minBucket.head;
+    }
+
+    void remove(Counter<K, V> counter) {
+        counters.remove(counter.key);
+        Bucket<K, V> bucket = counter.bucket;
+        bucket.detach(counter);
+        if (bucket.head == null) {
+            removeBucket(bucket);
+        }
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    /**
+     * @return view of the values of the counters
+     */
+    Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                final Iterator<Counter<K, V>> iterator = counters.values().iterator();
+                return new Iterator<V>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public V next() {
+                        return iterator.next().value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return counters.size();
+            }
+        };
+    }
+
+    private Bucket<K, V> insertBucket(long count, Bucket<K, V> previousBucket, Bucket<K, V> nextBucket) {
+        Bucket<K, V> bucket = new Bucket<>(count);
+        bucket.previous = previousBucket;
+        bucket.next = nextBucket;
+        if (previousBucket == null) {
+            minBucket = bucket;
+        } else {
+            previousBucket.next = bucket;
+        }
+        if (nextBucket != null) {
+            nextBucket.previous = bucket;
+        }
+        return bucket;
+    }
+
+    private void removeBucket(Bucket<K, V> bucket) {
+        if (bucket.previous == null) {
+            minBucket = bucket.next;
+        } else {
+            bucket.previous.next = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.previous = bucket.previous;
+        }
+    }
+
+    // The counters are written in the ascending order of their counts instead of as linked lists, which are
+    // serialized recursively
+    private void writeObject(ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(counters.size());
+        for (Bucket<K, V> bucket = minBucket; bucket != null; bucket = bucket.next) {
+            for (Counter<K, V> counter = bucket.head; counter != null; counter = counter.next) {
+                outputStream.writeObject(counter.key);
+                outputStream.writeObject(counter.value);
+                outputStream.writeLong(bucket.count);
+                outputStream.writeLong(counter.error);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        counters = new HashMap<>();
+        int size = inputStream.readInt();
+        Bucket<K, V> lastBucket = null;
+        for (int i = 0; i < size; i++) {
+            K key = (K) inputStream.readObject();
+            V value = (V) inputStream.readObject();
+            long count = inputStream.readLong();
+            Counter<K, V> counter = new Counter<>(key, value, inputStream.readLong());
+            if (lastBucket == null || lastBucket.count != count) {
+                lastBucket = insertBucket(count, lastBucket, null);
+            }
+            lastBucket.attach(counter);
+            counters.put(key, counter);
+        }
+    }
+
+    /**
+     * Counter of a key.
+     *
+     * @param <K> type of the key
+     * @param <V> type of the value
+     */
+    static final class Counter<K, V> {
+
+        private final K key;
+        private V value;
+        private final long error;
+        private Bucket<K, V> bucket;
+        private Counter<K, V> previous;
+        private Counter<K, V> next;
+
+        private Counter(K key, V value, long error) {
+            this.key = key;
+            this.value = value;
+            this.error = error;
+        }
+
+        K getKey() {
+            return key;
+        }
+
+        V getValue() {
+            return value;
+        }
+
+        void setValue(V value) {
+            this.value = value;
+        }
+
+        long getCount() {
+            return bucket.count;
+        }
+
+        long getError() {
+            return error;
+        }
+    }
+
+    private static final class Bucket<K, V> {
+
+        private final long count;
+        private Counter<K, V> head;
+        private Bucket<K, V> previous;
+        private Bucket<K, V> next;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+
+        private void attach(Counter<K, V> counter) {
+            counter.bucket = this;
+            counter.previous = null;
+            counter.next = head;
+            if (head != null) {
+                head.previous = counter;
+            }
+            head = counter;
+        }
+
+        private void detach(Counter<K, V> counter) {
+            if (counter.previous == null) {
+                head = counter.next;
+            } else {
+                counter.previous.next = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.previous = counter.previous;
+            }
+            counter.bucket = null;
+            counter.previous = null;
+            counter.next = null;
+        }
+    }
+}
@@ -24,8 +24,9 @@ import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.Table;
-import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.parser.ExpressionParser;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.expression.Expression;
 
 import java.util.List;
@@ -59,18 +60,30 @@ public class GroupByKeyGenerator {
      * @param event complexEvent
      * @return GroupByKey
      */
-    public String constructEventKey(ComplexEvent event) {
+    public CompositeKey constructEventKey(ComplexEvent event) {
         if (groupByExecutors != null) {
-            StringBuilder sb = new StringBuilder();
-            for (ExpressionExecutor executor : groupByExecutors) {
-                sb.append(executor.execute(event)).append(SiddhiConstants.KEY_DELIMITER);
-            }
-            return sb.toString();
+            return CompositeKey.of(groupByExecutors, event);
         } else {
             return null;
         }
     }
 
+    /**
+     * Get the types of the group by attributes, in the order they form the key.
+     *
+     * @return types of the group by attributes, or null if the events are not grouped
+     */
+    public Attribute.Type[] getKeyTypes() {
+        if (groupByExecutors == null) {
+            return null;
+        }
+        Attribute.Type[] keyTypes = new Attribute.Type[groupByExecutors.length];
+        for (int i = 0; i < groupByExecutors.length; i++) {
+            keyTypes[i] = groupByExecutors[i].getReturnType();
+        }
+        return keyTypes;
+    }
+
     public void clean() {
         for (ExpressionExecutor expressionExecutor : groupByExecutors) {
             expressionExecutor.clean();
@@ -23,13 +23,22 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.state.populater.StateEventPopulator;
 import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.executor.SharedExpressionScope;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.query.selector.attribute.processor.AttributeProcessor;
-import io.siddhi.core.query.selector.attribute.processor.executor.GroupByAggregationAttributeExecutor;
+import io.siddhi.core.query.selector.attribute.processor.executor.GroupByAggregators;
+import io.siddhi.core.util.Schedulable;
+import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.CompositeKey;
+import io.siddhi.core.util.lock.LockWrapper;
+import io.siddhi.core.util.parser.SchedulerParser;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.execution.query.selection.Selector;
 import org.apache.log4j.Logger;
 
@@ -37,11 +46,13 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Processor implementation representing selector portion of the Siddhi query.
  */
-public class QuerySelector implements Processor {
+public class QuerySelector implements Processor, Schedulable {
 
 
     private static final Logger log = Logger.getLogger(QuerySelector.class);
@@ -52,9 +63,19 @@ public class QuerySelector implements Processor {
     private boolean containsAggregator = false;
     private OutputRateLimiter outputRateLimiter;
     private List<AttributeProcessor> attributeProcessorList;
+    private SharedExpressionScope sharedExpressionScope;
     private ConditionExpressionExecutor havingConditionExecutor = null;
     private boolean isGroupBy = false;
     private GroupByKeyGenerator groupByKeyGenerator;
+    private GroupByAggregators groupByAggregators;
+    private long groupIdlePeriod = SiddhiConstants.UNKNOWN_STATE;
+    private int maxGroups = SiddhiConstants.UNKNOWN_STATE;
+    private boolean expiredEventsExpected = false;
+    private StreamEventFactory expiredEventFactory;
+    private Scheduler groupPurgeScheduler;
+    private final AtomicBoolean groupPurgeScheduled = new AtomicBoolean(false);
+    private GroupByShard[] groupByShards;
+    private boolean havingContainsAggregator = false;
     private boolean isOrderBy = false;
     private OrderByEventComparator orderByEventComparator;
     private String id;
@@ -79,8 +100,13 @@ public class QuerySelector implements Processor {
             log.trace("event is processed by selector " + id + this);
         }
         ComplexEventChunk outputComplexEventChunk = null;
+        // Timer events schedule the next timer event themselves, only when there are groups left to evict
+        boolean groupPurgingDue = groupPurgeScheduler != null && complexEventChunk.getFirst() != null &&
+                complexEventChunk.getFirst().getType() != ComplexEvent.Type.TIMER;
         if (complexEventChunk.isBatch() && batchingEnabled) {
-            if (isGroupBy) {
+            if (groupByShards != null) {
+                outputComplexEventChunk = processInBatchGroupByInShards(complexEventChunk);
+            } else if (isGroupBy) {
                 outputComplexEventChunk = processInBatchGroupBy(complexEventChunk);
             } else if (containsAggregator) {
                 outputComplexEventChunk = processInBatchNoGroupBy(complexEventChunk);
@@ -88,12 +114,17 @@ public class QuerySelector implements Processor {
                 outputComplexEventChunk = processNoGroupBy(complexEventChunk);
             }
         } else {
-            if (isGroupBy) {
+            if (groupByShards != null) {
+                outputComplexEventChunk = processGroupByInShards(complexEventChunk);
+            } else if (isGroupBy) {
                 outputComplexEventChunk = processGroupBy(complexEventChunk);
             } else {
                 outputComplexEventChunk = processNoGroupBy(complexEventChunk);
             }
         }
+        if (groupPurgingDue) {
+            scheduleGroupPurging();
+        }
         if (outputComplexEventChunk != null) {
             outputRateLimiter.process(outputComplexEventChunk);
         }
@@ -106,7 +137,9 @@ public class QuerySelector implements Processor {
             log.trace("event is executed by selector " + id + this);
         }
         if (complexEventChunk.isBatch() && batchingEnabled) {
-            if (isGroupBy) {
+            if (groupByShards != null) {
+                return processInBatchGroupByInShards(complexEventChunk);
+            } else if (isGroupBy) {
                 return processInBatchGroupBy(complexEventChunk);
             } else if (containsAggregator) {
                 return processInBatchNoGroupBy(complexEventChunk);
@@ -114,7 +147,9 @@ public class QuerySelector implements Processor {
                 return processNoGroupBy(complexEventChunk);
             }
         } else {
-            if (isGroupBy) {
+            if (groupByShards != null) {
+                return processGroupByInShards(complexEventChunk);
+            } else if (isGroupBy) {
                 return processGroupBy(complexEventChunk);
             } else {
                 return processNoGroupBy(complexEventChunk);
@@ -182,8 +217,19 @@ public class QuerySelector implements Processor {
                     case CURRENT:
                     case EXPIRED:
                         eventPopulator.populateStateEvent(event);
-                        String groupedByKey = groupByKeyGenerator.constructEventKey(event);
-                        GroupByAggregationAttributeExecutor.getKeyThreadLocal().set(groupedByKey);
+                        CompositeKey groupedByKey = groupByKeyGenerator.constructEventKey(event);
+                        boolean inGroup = groupByAggregators.setCurrentGroup(groupedByKey, event.getType());
+                        if (groupByAggregators.hasEvictedGroupOutputs()) {
+                            for (Map.Entry<CompositeKey, Object[]> evictedGroupOutput :
+                                    groupByAggregators.drainEvictedGroupOutputs().entrySet()) {
+                                currentComplexEventChunk.add(new GroupedComplexEvent(evictedGroupOutput.getKey(),
+                                        createExpiredEvent(evictedGroupOutput.getValue())));
+                            }
+                        }
+                        if (!inGroup) {
+                            // Expired event of an evicted group
+                            break;
+                        }
 
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
@@ -192,6 +238,7 @@ public class QuerySelector implements Processor {
                                 StreamEvent.Type.EXPIRED && expiredOn)) {
                             if (!(havingConditionExecutor != null && !havingConditionExecutor.execute(event))) {
                                 complexEventChunk.remove();
+                                groupByAggregators.setCurrentOutput(event.getOutputData());
                                 if (limit == SiddhiConstants.UNKNOWN_STATE) {
                                     currentComplexEventChunk.add(new GroupedComplexEvent(groupedByKey, event));
                                 } else {
@@ -202,14 +249,22 @@ public class QuerySelector implements Processor {
                                 }
                             }
                         }
-                        GroupByAggregationAttributeExecutor.getKeyThreadLocal().remove();
+                        groupByAggregators.clearCurrentGroup();
                         break;
                     case TIMER:
+                        if (groupPurgeScheduler != null) {
+                            List<GroupedComplexEvent> evictedGroupEvents = new ArrayList<GroupedComplexEvent>();
+                            evictIdleGroups(evictedGroupEvents);
+                            for (GroupedComplexEvent evictedGroupEvent : evictedGroupEvents) {
+                                currentComplexEventChunk.add(evictedGroupEvent);
+                            }
+                        }
                         break;
                     case RESET:
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
+                        groupByAggregators.reset();
                         break;
                 }
             }
@@ -230,6 +285,65 @@ public class QuerySelector implements Processor {
         return null;
     }
 
+    private ComplexEventChunk<ComplexEvent> processGroupByInShards(ComplexEventChunk complexEventChunk) {
+        complexEventChunk.reset();
+        ComplexEventChunk<ComplexEvent> currentComplexEventChunk = new ComplexEventChunk<ComplexEvent>
+                (complexEventChunk.isBatch());
+
+        List<GroupedComplexEvent> evictedGroupEvents = new ArrayList<GroupedComplexEvent>();
+        int limitCount = 0;
+        while (complexEventChunk.hasNext()) {
+            ComplexEvent event = complexEventChunk.next();
+            switch (event.getType()) {
+
+                case CURRENT:
+                case EXPIRED:
+                    eventPopulator.populateStateEvent(event);
+                    CompositeKey groupedByKey = groupByKeyGenerator.constructEventKey(event);
+                    boolean selected = processInShard(event, groupedByKey, evictedGroupEvents);
+                    if (!evictedGroupEvents.isEmpty()) {
+                        for (GroupedComplexEvent evictedGroupEvent : evictedGroupEvents) {
+                            currentComplexEventChunk.add(evictedGroupEvent);
+                        }
+                        evictedGroupEvents.clear();
+                    }
+                    if (selected) {
+                        complexEventChunk.remove();
+                        if (limit == SiddhiConstants.UNKNOWN_STATE || limitCount++ < limit) {
+                            currentComplexEventChunk.add(new GroupedComplexEvent(groupedByKey, event));
+                        }
+                    }
+                    break;
+                case TIMER:
+                    if (groupPurgeScheduler != null) {
+                        evictIdleGroups(evictedGroupEvents);
+                        for (GroupedComplexEvent evictedGroupEvent : evictedGroupEvents) {
+                            currentComplexEventChunk.add(evictedGroupEvent);
+                        }
+                        evictedGroupEvents.clear();
+                    }
+                    break;
+                case RESET:
+                    resetShards(event);
+                    break;
+            }
+        }
+        if (isOrderBy) {
+            orderEventChunk(complexEventChunk);
+        }
+        if (offset != SiddhiConstants.UNKNOWN_STATE) {
+            offsetEventChunk(complexEventChunk);
+        }
+        if (limit != SiddhiConstants.UNKNOWN_STATE) {
+            limitEventChunk(complexEventChunk);
+        }
+        currentComplexEventChunk.reset();
+        if (currentComplexEventChunk.hasNext()) {
+            return currentComplexEventChunk;
+        }
+        return null;
+    }
+
     private ComplexEventChunk processInBatchNoGroupBy(ComplexEventChunk complexEventChunk) {
         complexEventChunk.reset();
         ComplexEvent lastEvent = null;
@@ -275,7 +389,7 @@ public class QuerySelector implements Processor {
     }
 
     private ComplexEventChunk processInBatchGroupBy(ComplexEventChunk complexEventChunk) {
-        Map<String, ComplexEvent> groupedEvents = new LinkedHashMap<String, ComplexEvent>();
+        Map<CompositeKey, ComplexEvent> groupedEvents = new LinkedHashMap<CompositeKey, ComplexEvent>();
         complexEventChunk.reset();
 
         synchronized (this) {
@@ -286,8 +400,19 @@ public class QuerySelector implements Processor {
                     case CURRENT:
                     case EXPIRED:
                         eventPopulator.populateStateEvent(event);
-                        String groupByKey = groupByKeyGenerator.constructEventKey(event);
-                        GroupByAggregationAttributeExecutor.getKeyThreadLocal().set(groupByKey);
+                        CompositeKey groupByKey = groupByKeyGenerator.constructEventKey(event);
+                        boolean inGroup = groupByAggregators.setCurrentGroup(groupByKey, event.getType());
+                        if (groupByAggregators.hasEvictedGroupOutputs()) {
+                            for (Map.Entry<CompositeKey, Object[]> evictedGroupOutput :
+                                    groupByAggregators.drainEvictedGroupOutputs().entrySet()) {
+                                groupedEvents.put(evictedGroupOutput.getKey(),
+                                        createExpiredEvent(evictedGroupOutput.getValue()));
+                            }
+                        }
+                        if (!inGroup) {
+                            // Expired event of an evicted group
+                            break;
+                        }
 
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
@@ -297,17 +422,27 @@ public class QuerySelector implements Processor {
                             if ((event.getType() == StreamEvent.Type.CURRENT && currentOn) || (event.getType() ==
                                     StreamEvent.Type.EXPIRED && expiredOn)) {
                                 complexEventChunk.remove();
+                                groupByAggregators.setCurrentOutput(event.getOutputData());
                                 groupedEvents.put(groupByKey, event);
                             }
                         }
-                        GroupByAggregationAttributeExecutor.getKeyThreadLocal().remove();
+                        groupByAggregators.clearCurrentGroup();
                         break;
                     case TIMER:
+                        if (groupPurgeScheduler != null) {
+                            List<GroupedComplexEvent> evictedGroupEvents = new ArrayList<GroupedComplexEvent>();
+                            evictIdleGroups(evictedGroupEvents);
+                            for (GroupedComplexEvent evictedGroupEvent : evictedGroupEvents) {
+                                groupedEvents.put(evictedGroupEvent.getGroupKey(),
+                                        evictedGroupEvent.getComplexEvent());
+                            }
+                        }
                         break;
                     case RESET:
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
+                        groupByAggregators.reset();
                         break;
                 }
             }
@@ -315,7 +450,68 @@ public class QuerySelector implements Processor {
 
         if (groupedEvents.size() != 0) {
             complexEventChunk.clear();
-            for (Map.Entry<String, ComplexEvent> groupedEventEntry : groupedEvents.entrySet()) {
+            for (Map.Entry<CompositeKey, ComplexEvent> groupedEventEntry : groupedEvents.entrySet()) {
+                complexEventChunk.add(new GroupedComplexEvent(groupedEventEntry.getKey(),
+                        groupedEventEntry.getValue()));
+            }
+            if (isOrderBy) {
+                orderEventChunk(complexEventChunk);
+            }
+            if (offset != SiddhiConstants.UNKNOWN_STATE) {
+                offsetEventChunk(complexEventChunk);
+            }
+            if (limit != SiddhiConstants.UNKNOWN_STATE) {
+                limitEventChunk(complexEventChunk);
+            }
+            complexEventChunk.reset();
+            return complexEventChunk;
+        }
+        return null;
+    }
+
+    private ComplexEventChunk processInBatchGroupByInShards(ComplexEventChunk complexEventChunk) {
+        Map<CompositeKey, ComplexEvent> groupedEvents = new LinkedHashMap<CompositeKey, ComplexEvent>();
+        List<GroupedComplexEvent> evictedGroupEvents = new ArrayList<GroupedComplexEvent>();
+        complexEventChunk.reset();
+
+        while (complexEventChunk.hasNext()) {
+            ComplexEvent event = complexEventChunk.next();
+            switch (event.getType()) {
+
+                case CURRENT:
+                case EXPIRED:
+                    eventPopulator.populateStateEvent(event);
+                    CompositeKey groupByKey = groupByKeyGenerator.constructEventKey(event);
+                    boolean selected = processInShard(event, groupByKey, evictedGroupEvents);
+                    if (!evictedGroupEvents.isEmpty()) {
+                        for (GroupedComplexEvent evictedGroupEvent : evictedGroupEvents) {
+                            groupedEvents.put(evictedGroupEvent.getGroupKey(), evictedGroupEvent.getComplexEvent());
+                        }
+                        evictedGroupEvents.clear();
+                    }
+                    if (selected) {
+                        complexEventChunk.remove();
+                        groupedEvents.put(groupByKey, event);
+                    }
+                    break;
+                case TIMER:
+                    if (groupPurgeScheduler != null) {
+                        evictIdleGroups(evictedGroupEvents);
+                        for (GroupedComplexEvent evictedGroupEvent : evictedGroupEvents) {
+                            groupedEvents.put(evictedGroupEvent.getGroupKey(), evictedGroupEvent.getComplexEvent());
+                        }
+                        evictedGroupEvents.clear();
+                    }
+                    break;
+                case RESET:
+                    resetShards(event);
+                    break;
+            }
+        }
+
+        if (groupedEvents.size() != 0) {
+            complexEventChunk.clear();
+            for (Map.Entry<CompositeKey, ComplexEvent> groupedEventEntry : groupedEvents.entrySet()) {
                 complexEventChunk.add(new GroupedComplexEvent(groupedEventEntry.getKey(),
                         groupedEventEntry.getValue()));
             }
@@ -334,6 +530,122 @@ public class QuerySelector implements Processor {
         return null;
     }
 
+    /**
+     * Aggregate the event within its group, holding only the lock of the shard of the group.
+     *
+     * @param event              event to process
+     * @param groupByKey         group by key of the event
+     * @param evictedGroupEvents list to add the expired events of the groups evicted by the event to
+     * @return true if the event is selected for the output
+     */
+    private boolean processInShard(ComplexEvent event, CompositeKey groupByKey,
+                                   List<GroupedComplexEvent> evictedGroupEvents) {
+        int hash = groupByKey.hashCode();
+        GroupByShard shard = groupByShards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % groupByShards.length];
+        shard.lock.lock();
+        try {
+            boolean inGroup = shard.groupByAggregators.setCurrentGroup(groupByKey, event.getType());
+            if (shard.groupByAggregators.hasEvictedGroupOutputs()) {
+                for (Map.Entry<CompositeKey, Object[]> evictedGroupOutput :
+                        shard.groupByAggregators.drainEvictedGroupOutputs().entrySet()) {
+                    evictedGroupEvents.add(new GroupedComplexEvent(evictedGroupOutput.getKey(),
+                            createExpiredEvent(evictedGroupOutput.getValue())));
+                }
+            }
+            if (!inGroup) {
+                // Expired event of an evicted group
+                return false;
+            }
+            for (AttributeProcessor attributeProcessor : shard.attributeProcessorList) {
+                attributeProcessor.process(event);
+            }
+            boolean selected = ((event.getType() == StreamEvent.Type.CURRENT && currentOn) || (event.getType() ==
+                    StreamEvent.Type.EXPIRED && expiredOn)) && !(havingConditionExecutor != null &&
+                    !havingConditionExecutor.execute(event));
+            if (selected) {
+                shard.groupByAggregators.setCurrentOutput(event.getOutputData());
+            }
+            shard.groupByAggregators.clearCurrentGroup();
+            return selected;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Evict the idle groups on a timer event, and schedule the next timer event for when the least recently used of the
+     * remaining groups becomes idle.
+     *
+     * @param evictedGroupEvents list to add the expired events of the evicted groups to
+     */
+    private void evictIdleGroups(List<GroupedComplexEvent> evictedGroupEvents) {
+        // Cleared before the groups are checked, such that a group created meanwhile schedules the next timer event
+        groupPurgeScheduled.set(false);
+        long nextEvictionTime = SiddhiConstants.UNKNOWN_STATE;
+        if (groupByShards != null) {
+            for (GroupByShard shard : groupByShards) {
+                shard.lock.lock();
+                try {
+                    nextEvictionTime = evictIdleGroups(shard.groupByAggregators, evictedGroupEvents,
+                            nextEvictionTime);
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        } else {
+            nextEvictionTime = evictIdleGroups(groupByAggregators, evictedGroupEvents, nextEvictionTime);
+        }
+        if (nextEvictionTime != SiddhiConstants.UNKNOWN_STATE && groupPurgeScheduled.compareAndSet(false, true)) {
+            groupPurgeScheduler.notifyAt(nextEvictionTime);
+        }
+    }
+
+    private long evictIdleGroups(GroupByAggregators groupByAggregators, List<GroupedComplexEvent> evictedGroupEvents,
+                                 long nextEvictionTime) {
+        groupByAggregators.evictIdleGroups();
+        if (groupByAggregators.hasEvictedGroupOutputs()) {
+            for (Map.Entry<CompositeKey, Object[]> evictedGroupOutput :
+                    groupByAggregators.drainEvictedGroupOutputs().entrySet()) {
+                evictedGroupEvents.add(new GroupedComplexEvent(evictedGroupOutput.getKey(),
+                        createExpiredEvent(evictedGroupOutput.getValue())));
+            }
+        }
+        long groupsEvictionTime = groupByAggregators.getNextEvictionTime();
+        if (groupsEvictionTime != SiddhiConstants.UNKNOWN_STATE &&
+                (nextEvictionTime == SiddhiConstants.UNKNOWN_STATE || groupsEvictionTime < nextEvictionTime)) {
+            return groupsEvictionTime;
+        }
+        return nextEvictionTime;
+    }
+
+    private void scheduleGroupPurging() {
+        if (!groupPurgeScheduled.get() && groupPurgeScheduled.compareAndSet(false, true)) {
+            groupPurgeScheduler.notifyAt(siddhiAppContext.getTimestampGenerator().currentTime() + groupIdlePeriod + 1);
+        }
+    }
+
+    private ComplexEvent createExpiredEvent(Object[] outputData) {
+        StreamEvent expiredEvent = expiredEventFactory.newInstance();
+        System.arraycopy(outputData, 0, expiredEvent.getOutputData(), 0, outputData.length);
+        expiredEvent.setType(ComplexEvent.Type.EXPIRED);
+        expiredEvent.setTimestamp(siddhiAppContext.getTimestampGenerator().currentTime());
+        return expiredEvent;
+    }
+
+    private void resetShards(ComplexEvent event) {
+        for (GroupByShard shard : groupByShards) {
+            shard.lock.lock();
+            try {
+                for (AttributeProcessor attributeProcessor : shard.attributeProcessorList) {
+                    attributeProcessor.process(event);
+                }
+                shard.groupByAggregators.reset();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
     @Override
     public Processor getNextProcessor() {
         return null;    //since there is no processors after a query selector
@@ -371,6 +683,13 @@ public class QuerySelector implements Processor {
         for (AttributeProcessor processor : attributeProcessorList) {
             processor.clean();
         }
+        if (groupByShards != null) {
+            for (int i = 1; i < groupByShards.length; i++) {
+                for (AttributeProcessor processor : groupByShards[i].attributeProcessorList) {
+                    processor.clean();
+                }
+            }
+        }
         if (havingConditionExecutor != null) {
             havingConditionExecutor.clean();
         }
@@ -389,9 +708,126 @@ public class QuerySelector implements Processor {
         this.containsAggregator = this.containsAggregator || containsAggregator;
     }
 
-    public void setGroupByKeyGenerator(GroupByKeyGenerator groupByKeyGenerator) {
+    /**
+     * Set the scope of the sub-expressions shared among the attribute processors. The scope moves to the next
+     * evaluation at the first attribute processor, as the attribute processors are evaluated in order for each event.
+     *
+     * @param sharedExpressionScope scope of the shared expressions
+     */
+    public void setSharedExpressionScope(SharedExpressionScope sharedExpressionScope) {
+        this.sharedExpressionScope = sharedExpressionScope;
+        if (!attributeProcessorList.isEmpty()) {
+            attributeProcessorList.get(0).setSharedExpressionScope(sharedExpressionScope);
+        }
+    }
+
+    /**
+     * Group the events of the selector.
+     *
+     * @param groupByKeyGenerator generator of the group by key of each event
+     * @param groupByAggregators  aggregators of the groups, shared by the group by aggregations of the selector
+     */
+    public void setGroupByKeyGenerator(GroupByKeyGenerator groupByKeyGenerator,
+                                       GroupByAggregators groupByAggregators) {
         isGroupBy = true;
         this.groupByKeyGenerator = groupByKeyGenerator;
+        this.groupByAggregators = groupByAggregators;
+        groupByAggregators.setKeyTypes(groupByKeyGenerator.getKeyTypes());
+    }
+
+    /**
+     * Get the types of the group by attributes of the selector.
+     *
+     * @return types of the group by attributes, or null if the selector does not group the events
+     */
+    public Attribute.Type[] getGroupByKeyTypes() {
+        return groupByKeyGenerator == null ? null : groupByKeyGenerator.getKeyTypes();
+    }
+
+    /**
+     * Evict the groups of the selector that are idle or exceed the maximum number of groups. When the selector outputs
+     * expired events, the last output of each evicted group is emitted as an expired event.
+     *
+     * @param idlePeriod            time in milliseconds a group is retained without any events, or
+     *                              {@link SiddhiConstants#UNKNOWN_STATE} to retain idle groups
+     * @param maxGroups             maximum number of groups retained, or {@link SiddhiConstants#UNKNOWN_STATE} for
+     *                              no maximum
+     * @param expiredEventsExpected whether the selector receives expired events, e.g. from a window
+     * @param outputDataSize        number of output attributes of the selector
+     */
+    public void setGroupPurging(long idlePeriod, int maxGroups, boolean expiredEventsExpected, int outputDataSize) {
+        this.groupIdlePeriod = idlePeriod;
+        this.maxGroups = maxGroups;
+        this.expiredEventsExpected = expiredEventsExpected;
+        this.expiredEventFactory = new StreamEventFactory(0, 0, outputDataSize);
+        groupByAggregators.setPurging(idlePeriod, maxGroups, expiredEventsExpected, expiredOn);
+    }
+
+    /**
+     * Evict the idle groups on timer events, such that the groups are evicted after the idle period even when the
+     * selector receives no more events. Must be called after the groups are sharded.
+     *
+     * @param lockWrapper lock of the query, or null if the query holds no lock
+     * @param queryName   name of the query
+     */
+    public void initGroupPurging(LockWrapper lockWrapper, String queryName) {
+        if (groupIdlePeriod == SiddhiConstants.UNKNOWN_STATE) {
+            return;
+        }
+        groupPurgeScheduler = SchedulerParser.parse(this, siddhiAppContext);
+        groupPurgeScheduler.setStreamEventPool(new StreamEventPool(0, 0, 0, 5));
+        groupPurgeScheduler.init(lockWrapper, queryName);
+    }
+
+    /**
+     * Shard the groups of the selector by the hash of their keys, such that the events of groups in different shards
+     * are aggregated concurrently, each holding only the lock of its shard, instead of the lock of the selector. The
+     * events of a group are still aggregated one at a time, in the order they arrive at the selector. Each shard holds
+     * its own clone of the attribute processors and retains its share of the maximum number of groups.
+     * <p>
+     * The groups are not sharded when the having condition contains aggregations, as it is then evaluated in the order
+     * of all the events. The selectors cloned for partitions are not sharded either, as the partitions are already
+     * processed concurrently. Must be set after the group purging and before any event is processed.
+     *
+     * @param shards number of shards
+     */
+    public void setGroupByShards(int shards) {
+        if (!isGroupBy || shards < 2 || havingContainsAggregator) {
+            return;
+        }
+        int shardMaxGroups = maxGroups == SiddhiConstants.UNKNOWN_STATE ?
+                SiddhiConstants.UNKNOWN_STATE : (maxGroups + shards - 1) / shards;
+        groupByAggregators.setPurging(groupIdlePeriod, shardMaxGroups, expiredEventsExpected, expiredOn);
+        groupByShards = new GroupByShard[shards];
+        groupByShards[0] = new GroupByShard(attributeProcessorList, groupByAggregators);
+        for (int i = 1; i < shards; i++) {
+            SharedExpressionScope clonedSharedExpressionScope = null;
+            if (sharedExpressionScope != null) {
+                clonedSharedExpressionScope = sharedExpressionScope.cloneScope();
+            }
+            GroupByAggregators clonedGroupByAggregators = groupByAggregators.cloneGroups();
+            List<AttributeProcessor> clonedAttributeProcessorList = new ArrayList<AttributeProcessor>();
+            for (AttributeProcessor attributeProcessor : attributeProcessorList) {
+                clonedAttributeProcessorList.add(attributeProcessor.cloneProcessor("shard" + i));
+            }
+            if (clonedSharedExpressionScope != null && !clonedAttributeProcessorList.isEmpty()) {
+                clonedAttributeProcessorList.get(0).setSharedExpressionScope(clonedSharedExpressionScope);
+            }
+            groupByShards[i] = new GroupByShard(clonedAttributeProcessorList, clonedGroupByAggregators);
+        }
+    }
+
+    /**
+     * Get the number of shards the groups of the selector are split into.
+     *
+     * @return number of shards, 1 when the groups are not sharded
+     */
+    public int getGroupByShards() {
+        return groupByShards == null ? 1 : groupByShards.length;
+    }
+
+    public OrderByEventComparator getOrderByEventComparator() {
+        return orderByEventComparator;
     }
 
     public void setOrderByEventComparator(OrderByEventComparator orderByEventComparator) {
@@ -402,17 +838,28 @@ public class QuerySelector implements Processor {
     public void setHavingConditionExecutor(ConditionExpressionExecutor havingConditionExecutor, boolean
             containsAggregator) {
         this.havingConditionExecutor = havingConditionExecutor;
+        this.havingContainsAggregator = containsAggregator;
         this.containsAggregator = this.containsAggregator || containsAggregator;
     }
 
     public QuerySelector clone(String key) {
         QuerySelector clonedQuerySelector = new QuerySelector(id + key, selector, currentOn, expiredOn,
                 siddhiAppContext);
+        SharedExpressionScope clonedSharedExpressionScope = null;
+        if (sharedExpressionScope != null) {
+            clonedSharedExpressionScope = sharedExpressionScope.cloneScope();
+        }
+        if (groupByAggregators != null) {
+            clonedQuerySelector.groupByAggregators = groupByAggregators.cloneGroups();
+        }
         List<AttributeProcessor> clonedAttributeProcessorList = new ArrayList<AttributeProcessor>();
         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
             clonedAttributeProcessorList.add(attributeProcessor.cloneProcessor(key));
         }
         clonedQuerySelector.attributeProcessorList = clonedAttributeProcessorList;
+        if (clonedSharedExpressionScope != null) {
+            clonedQuerySelector.setSharedExpressionScope(clonedSharedExpressionScope);
+        }
         clonedQuerySelector.isGroupBy = isGroupBy;
         clonedQuerySelector.containsAggregator = containsAggregator;
         clonedQuerySelector.groupByKeyGenerator = groupByKeyGenerator;
@@ -423,6 +870,10 @@ public class QuerySelector implements Processor {
         clonedQuerySelector.orderByEventComparator = orderByEventComparator;
         clonedQuerySelector.limit = limit;
         clonedQuerySelector.offset = offset;
+        clonedQuerySelector.groupIdlePeriod = groupIdlePeriod;
+        clonedQuerySelector.maxGroups = maxGroups;
+        clonedQuerySelector.expiredEventsExpected = expiredEventsExpected;
+        clonedQuerySelector.expiredEventFactory = expiredEventFactory;
         return clonedQuerySelector;
     }
 
@@ -434,6 +885,14 @@ public class QuerySelector implements Processor {
         this.eventPopulator = eventPopulator;
     }
 
+    public long getLimit() {
+        return limit;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
     public void setLimit(long limit) {
         if (limit < 0) {
             throw new SiddhiAppCreationException("'limit' cannot have negative value, but found '" + limit + "'",
@@ -453,6 +912,12 @@ public class QuerySelector implements Processor {
     private void orderEventChunk(ComplexEventChunk complexEventChunk) {
         ComplexEventChunk orderingComplexEventChunk = new ComplexEventChunk(complexEventChunk.isBatch());
         List<ComplexEvent> eventList = new ArrayList<>();
+        TopKEvents topKEvents = null;
+        if (limit != SiddhiConstants.UNKNOWN_STATE) {
+            // Only the first offset + limit current events of a run can be selected, hence only they are retained
+            topKEvents = new TopKEvents(orderByEventComparator,
+                    (int) Math.min(limit + Math.max(offset, 0), Integer.MAX_VALUE));
+        }
 
         ComplexEvent.Type currentEventType = null;
         complexEventChunk.reset();
@@ -461,28 +926,38 @@ public class QuerySelector implements Processor {
             while (complexEventChunk.hasNext()) {
                 ComplexEvent event = complexEventChunk.next();
                 complexEventChunk.remove();
-                if (currentEventType == event.getType()) {
-                    eventList.add(event);
-                } else {
+                if (currentEventType != event.getType()) {
+                    addOrderedEvents(orderingComplexEventChunk, currentEventType, eventList, topKEvents);
                     currentEventType = event.getType();
-                    eventList.sort(orderByEventComparator);
-                    for (ComplexEvent complexEvent : eventList) {
-                        orderingComplexEventChunk.add(complexEvent);
-                    }
-                    eventList.clear();
+                }
+                if (topKEvents != null && currentEventType == StreamEvent.Type.CURRENT) {
+                    topKEvents.add(event);
+                } else {
                     eventList.add(event);
                 }
             }
-            eventList.sort(orderByEventComparator);
-            for (ComplexEvent complexEvent : eventList) {
-                orderingComplexEventChunk.add(complexEvent);
-            }
+            addOrderedEvents(orderingComplexEventChunk, currentEventType, eventList, topKEvents);
             complexEventChunk.clear();
             complexEventChunk.add(orderingComplexEventChunk.getFirst());
         }
 
     }
 
+    private void addOrderedEvents(ComplexEventChunk orderingComplexEventChunk, ComplexEvent.Type eventType,
+                                  List<ComplexEvent> eventList, TopKEvents topKEvents) {
+        List<ComplexEvent> orderedEvents;
+        if (topKEvents != null && eventType == StreamEvent.Type.CURRENT) {
+            orderedEvents = topKEvents.drain();
+        } else {
+            eventList.sort(orderByEventComparator);
+            orderedEvents = eventList;
+        }
+        for (ComplexEvent complexEvent : orderedEvents) {
+            orderingComplexEventChunk.add(complexEvent);
+        }
+        eventList.clear();
+    }
+
     private void limitEventChunk(ComplexEventChunk complexEventChunk) {
         complexEventChunk.reset();
         int limitCount = 0;
@@ -519,4 +994,19 @@ public class QuerySelector implements Processor {
         }
     }
 
+    /**
+     * Groups of a shard, with the attribute processors aggregating them.
+     */
+    private static final class GroupByShard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<AttributeProcessor> attributeProcessorList;
+        private final GroupByAggregators groupByAggregators;
+
+        private GroupByShard(List<AttributeProcessor> attributeProcessorList,
+                             GroupByAggregators groupByAggregators) {
+            this.attributeProcessorList = attributeProcessorList;
+            this.groupByAggregators = groupByAggregators;
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.selector;
+
+import io.siddhi.core.event.ComplexEvent;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded heap retaining the first {@code k} of the events added to it, in the order of the given comparator. Events
+ * comparing equal retain the order they were added in, as with a stable sort of all the events, while at most
+ * {@code k} events are held at a time; hence selecting the first {@code k} of {@code n} events takes O(n log k)
+ * instead of the O(n log n) of sorting all the events.
+ */
+public class TopKEvents {
+
+    private final Comparator<ComplexEvent> comparator;
+    private final int k;
+    private final PriorityQueue<RankedEvent> heap;
+    private long sequence = 0;
+
+    public TopKEvents(Comparator<ComplexEvent> comparator, int k) {
+        this.comparator = comparator;
+        this.k = k;
+        // The head of the heap is the last of the retained events, to be replaced by any event preceding it
+        this.heap = new PriorityQueue<>(Math.min(k, 64) + 1,
+                Comparator.<RankedEvent>naturalOrder().reversed());
+    }
+
+    public void add(ComplexEvent event) {
+        if (heap.size() < k) {
+            heap.add(new RankedEvent(event, sequence++, comparator));
+        } else if (k > 0 && comparator.compare(event, heap.peek().event) < 0) {
+            // Events equal to the last retained event follow it, as they are added after it
+            heap.poll();
+            heap.add(new RankedEvent(event, sequence++, comparator));
+        }
+    }
+
+    /**
+     * Remove the retained events.
+     *
+     * @return the retained events in their order
+     */
+    public List<ComplexEvent> drain() {
+        ComplexEvent[] events = new ComplexEvent[heap.size()];
+        for (int i = events.length - 1; i >= 0; i--) {
+            events[i] = heap.poll().event;
+        }
+        sequence = 0;
+        return Arrays.asList(events);
+    }
+
+    /**
+     * Event ranked by the comparator, and then by the order it was added in.
+     */
+    static final class RankedEvent implements Comparable<RankedEvent> {
+
+        final ComplexEvent event;
+        final long sequence;
+        private final Comparator<ComplexEvent> comparator;
+
+        RankedEvent(ComplexEvent event, long sequence, Comparator<ComplexEvent> comparator) {
+            this.event = event;
+            this.sequence = sequence;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int compareTo(RankedEvent rankedEvent) {
+            int result = comparator.compare(event, rankedEvent.event);
+            if (result != 0) {
+                return result;
+            }
+            return Long.compare(sequence, rankedEvent.sequence);
+        }
+    }
+}
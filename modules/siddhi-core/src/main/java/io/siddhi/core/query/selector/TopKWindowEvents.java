@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.selector;
+
+import io.siddhi.core.event.ComplexEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Events of a sliding window kept in the order of the given comparator, such that the first {@code k} events of the
+ * window are available at any time without sorting the window. Events are added as they arrive at the window and
+ * removed as they expire, each in O(log n), instead of sorting all the events of the window for each output.
+ * <p>
+ * Events comparing equal are kept in the order they were added in. An expired event removes the oldest event with the
+ * same output data, as the expired events of a window do not refer to the events they expire.
+ */
+public class TopKWindowEvents {
+
+    private final Comparator<ComplexEvent> comparator;
+    private final int k;
+    private final TreeSet<TopKEvents.RankedEvent> events = new TreeSet<>();
+    private long sequence = 0;
+
+    public TopKWindowEvents(Comparator<ComplexEvent> comparator, int k) {
+        this.comparator = comparator;
+        this.k = k;
+    }
+
+    public void add(ComplexEvent event) {
+        events.add(new TopKEvents.RankedEvent(event, sequence++, comparator));
+    }
+
+    /**
+     * Remove the event expired by the given expired event.
+     *
+     * @param expiredEvent expired event
+     * @return true if an event is removed
+     */
+    public boolean remove(ComplexEvent expiredEvent) {
+        Iterator<TopKEvents.RankedEvent> iterator = events.subSet(
+                new TopKEvents.RankedEvent(expiredEvent, Long.MIN_VALUE, comparator), true,
+                new TopKEvents.RankedEvent(expiredEvent, Long.MAX_VALUE, comparator), true).iterator();
+        while (iterator.hasNext()) {
+            if (Arrays.equals(iterator.next().event.getOutputData(), expiredEvent.getOutputData())) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        events.clear();
+    }
+
+    /**
+     * @return the first k events of the window in their order
+     */
+    public List<ComplexEvent> getTopK() {
+        List<ComplexEvent> topK = new ArrayList<>(Math.min(k, events.size()));
+        for (TopKEvents.RankedEvent rankedEvent : events) {
+            if (topK.size() == k) {
+                break;
+            }
+            topK.add(rankedEvent.event);
+        }
+        return topK;
+    }
+
+    /**
+     * @return all the events of the window in their order
+     */
+    public List<ComplexEvent> getEvents() {
+        List<ComplexEvent> allEvents = new ArrayList<>(events.size());
+        for (TopKEvents.RankedEvent rankedEvent : events) {
+            allEvents.add(rankedEvent.event);
+        }
+        return allEvents;
+    }
+}
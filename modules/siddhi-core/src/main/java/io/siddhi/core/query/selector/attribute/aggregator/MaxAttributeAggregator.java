@@ -30,10 +30,8 @@ import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.query.api.definition.Attribute;
 
 import java.util.Arrays;
-import java.util.Deque;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Map;
 
 /**
@@ -162,12 +160,12 @@ public class MaxAttributeAggregator extends AttributeAggregator {
     class MaxAttributeAggregatorDouble extends MaxAttributeAggregator {
 
         private final Attribute.Type type = Attribute.Type.DOUBLE;
-        private Deque<Double> maxDeque = null;
+        private SlidingExtremum maxWindow = null;
         private volatile Double maxValue = null;
 
         public MaxAttributeAggregatorDouble(boolean trackFutureStates) {
             if (trackFutureStates) {
-                maxDeque = new LinkedList<>();
+                maxWindow = new SlidingExtremum(true);
             }
         }
 
@@ -178,15 +176,8 @@ public class MaxAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized Object processAdd(Object data) {
             Double value = (Double) data;
-            if (maxDeque != null) {
-                for (Iterator<Double> iterator = maxDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() < value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                maxDeque.addLast(value);
+            if (maxWindow != null) {
+                maxWindow.add(SlidingExtremum.fromDouble(value));
             }
             if (maxValue == null || maxValue < value) {
                 maxValue = value;
@@ -196,9 +187,9 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object processRemove(Object data) {
-            if (maxDeque != null) {
-                maxDeque.removeFirstOccurrence(data);
-                maxValue = maxDeque.peekFirst();
+            if (maxWindow != null) {
+                maxWindow.remove(SlidingExtremum.fromDouble((Double) data));
+                maxValue = maxWindow.isEmpty() ? null : SlidingExtremum.toDouble(maxWindow.getExtremum());
             } else {
                 if (maxValue != null && maxValue.equals(data)) {
                     maxValue = null;
@@ -209,8 +200,8 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object reset() {
-            if (maxDeque != null) {
-                maxDeque.clear();
+            if (maxWindow != null) {
+                maxWindow.clear();
             }
             maxValue = null;
             return null;
@@ -218,7 +209,7 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public boolean canDestroy() {
-            return (maxDeque == null || maxDeque.size() == 0) && maxValue == null;
+            return (maxWindow == null || maxWindow.isEmpty()) && maxValue == null;
         }
 
         @Override
@@ -226,7 +217,7 @@ public class MaxAttributeAggregator extends AttributeAggregator {
             Map<String, Object> state = new HashMap<>();
             synchronized (this) {
                 state.put("MaxValue", maxValue);
-                state.put("MaxDeque", maxDeque);
+                state.put("MaxWindow", maxWindow);
             }
             return state;
         }
@@ -234,7 +225,9 @@ public class MaxAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized void restoreState(Map<String, Object> state) {
             maxValue = (Double) state.get("MaxValue");
-            maxDeque = (Deque<Double>) state.get("MaxDeque");
+            maxWindow = state.containsKey("MaxDeque") ?
+                    SlidingExtremum.fromLegacyValues(true, (Collection<?>) state.get("MaxDeque")) :
+                    (SlidingExtremum) state.get("MaxWindow");
         }
 
         protected Object currentValue() {
@@ -245,12 +238,12 @@ public class MaxAttributeAggregator extends AttributeAggregator {
     class MaxAttributeAggregatorFloat extends MaxAttributeAggregator {
 
         private final Attribute.Type type = Attribute.Type.FLOAT;
-        private Deque<Float> maxDeque = null;
+        private SlidingExtremum maxWindow = null;
         private volatile Float maxValue = null;
 
         public MaxAttributeAggregatorFloat(boolean trackFutureStates) {
             if (trackFutureStates) {
-                maxDeque = new LinkedList<>();
+                maxWindow = new SlidingExtremum(true);
             }
         }
 
@@ -261,15 +254,8 @@ public class MaxAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized Object processAdd(Object data) {
             Float value = (Float) data;
-            if (maxDeque != null) {
-                for (Iterator<Float> iterator = maxDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() < value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                maxDeque.addLast(value);
+            if (maxWindow != null) {
+                maxWindow.add(SlidingExtremum.fromFloat(value));
             }
             if (maxValue == null || maxValue < value) {
                 maxValue = value;
@@ -279,9 +265,9 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object processRemove(Object data) {
-            if (maxDeque != null) {
-                maxDeque.removeFirstOccurrence(data);
-                maxValue = maxDeque.peekFirst();
+            if (maxWindow != null) {
+                maxWindow.remove(SlidingExtremum.fromFloat((Float) data));
+                maxValue = maxWindow.isEmpty() ? null : SlidingExtremum.toFloat(maxWindow.getExtremum());
             } else {
                 if (maxValue != null && maxValue.equals(data)) {
                     maxValue = null;
@@ -292,8 +278,8 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object reset() {
-            if (maxDeque != null) {
-                maxDeque.clear();
+            if (maxWindow != null) {
+                maxWindow.clear();
             }
             maxValue = null;
             return null;
@@ -301,7 +287,7 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public boolean canDestroy() {
-            return (maxDeque == null || maxDeque.size() == 0) && maxValue == null;
+            return (maxWindow == null || maxWindow.isEmpty()) && maxValue == null;
         }
 
         @Override
@@ -309,7 +295,7 @@ public class MaxAttributeAggregator extends AttributeAggregator {
             Map<String, Object> state = new HashMap<>();
             synchronized (this) {
                 state.put("MaxValue", maxValue);
-                state.put("MaxDeque", maxDeque);
+                state.put("MaxWindow", maxWindow);
             }
             return state;
         }
@@ -317,7 +303,9 @@ public class MaxAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized void restoreState(Map<String, Object> state) {
             maxValue = (Float) state.get("MaxValue");
-            maxDeque = (Deque<Float>) state.get("MaxDeque");
+            maxWindow = state.containsKey("MaxDeque") ?
+                    SlidingExtremum.fromLegacyValues(true, (Collection<?>) state.get("MaxDeque")) :
+                    (SlidingExtremum) state.get("MaxWindow");
         }
 
         protected Object currentValue() {
@@ -329,12 +317,12 @@ public class MaxAttributeAggregator extends AttributeAggregator {
     class MaxAttributeAggregatorInt extends MaxAttributeAggregator {
 
         private final Attribute.Type type = Attribute.Type.INT;
-        private Deque<Integer> maxDeque = null;
+        private SlidingExtremum maxWindow = null;
         private volatile Integer maxValue = null;
 
         public MaxAttributeAggregatorInt(boolean trackFutureStates) {
             if (trackFutureStates) {
-                maxDeque = new LinkedList<>();
+                maxWindow = new SlidingExtremum(true);
             }
         }
 
@@ -345,15 +333,8 @@ public class MaxAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized Object processAdd(Object data) {
             Integer value = (Integer) data;
-            if (maxDeque != null) {
-                for (Iterator<Integer> iterator = maxDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() < value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                maxDeque.addLast(value);
+            if (maxWindow != null) {
+                maxWindow.add(value);
             }
             if (maxValue == null || maxValue < value) {
                 maxValue = value;
@@ -363,9 +344,9 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object processRemove(Object data) {
-            if (maxDeque != null) {
-                maxDeque.removeFirstOccurrence(data);
-                maxValue = maxDeque.peekFirst();
+            if (maxWindow != null) {
+                maxWindow.remove((Integer) data);
+                maxValue = maxWindow.isEmpty() ? null : (int) maxWindow.getExtremum();
             } else {
                 if (maxValue != null && maxValue.equals(data)) {
                     maxValue = null;
@@ -376,8 +357,8 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object reset() {
-            if (maxDeque != null) {
-                maxDeque.clear();
+            if (maxWindow != null) {
+                maxWindow.clear();
             }
             maxValue = null;
             return null;
@@ -385,7 +366,7 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public boolean canDestroy() {
-            return (maxDeque == null || maxDeque.size() == 0) && maxValue == null;
+            return (maxWindow == null || maxWindow.isEmpty()) && maxValue == null;
         }
 
         @Override
@@ -393,7 +374,7 @@ public class MaxAttributeAggregator extends AttributeAggregator {
             Map<String, Object> state = new HashMap<>();
             synchronized (this) {
                 state.put("MaxValue", maxValue);
-                state.put("MaxDeque", maxDeque);
+                state.put("MaxWindow", maxWindow);
             }
             return state;
         }
@@ -401,7 +382,9 @@ public class MaxAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized void restoreState(Map<String, Object> state) {
             maxValue = (Integer) state.get("MaxValue");
-            maxDeque = (Deque<Integer>) state.get("MaxDeque");
+            maxWindow = state.containsKey("MaxDeque") ?
+                    SlidingExtremum.fromLegacyValues(true, (Collection<?>) state.get("MaxDeque")) :
+                    (SlidingExtremum) state.get("MaxWindow");
         }
 
         protected Object currentValue() {
@@ -413,12 +396,12 @@ public class MaxAttributeAggregator extends AttributeAggregator {
     class MaxAttributeAggregatorLong extends MaxAttributeAggregator {
 
         private final Attribute.Type type = Attribute.Type.LONG;
-        private Deque<Long> maxDeque = null;
+        private SlidingExtremum maxWindow = null;
         private volatile Long maxValue = null;
 
         public MaxAttributeAggregatorLong(boolean trackFutureStates) {
             if (trackFutureStates) {
-                maxDeque = new LinkedList<>();
+                maxWindow = new SlidingExtremum(true);
             }
         }
 
@@ -429,15 +412,8 @@ public class MaxAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized Object processAdd(Object data) {
             Long value = (Long) data;
-            if (maxDeque != null) {
-                for (Iterator<Long> iterator = maxDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() < value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                maxDeque.addLast(value);
+            if (maxWindow != null) {
+                maxWindow.add(value);
             }
             if (maxValue == null || maxValue < value) {
                 maxValue = value;
@@ -447,9 +423,9 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object processRemove(Object data) {
-            if (maxDeque != null) {
-                maxDeque.removeFirstOccurrence(data);
-                maxValue = maxDeque.peekFirst();
+            if (maxWindow != null) {
+                maxWindow.remove((Long) data);
+                maxValue = maxWindow.isEmpty() ? null : maxWindow.getExtremum();
             } else {
                 if (maxValue != null && maxValue.equals(data)) {
                     maxValue = null;
@@ -460,8 +436,8 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object reset() {
-            if (maxDeque != null) {
-                maxDeque.clear();
+            if (maxWindow != null) {
+                maxWindow.clear();
             }
             maxValue = null;
             return null;
@@ -469,7 +445,7 @@ public class MaxAttributeAggregator extends AttributeAggregator {
 
         @Override
         public boolean canDestroy() {
-            return (maxDeque == null || maxDeque.size() == 0) && maxValue == null;
+            return (maxWindow == null || maxWindow.isEmpty()) && maxValue == null;
         }
 
         @Override
@@ -477,7 +453,7 @@ public class MaxAttributeAggregator extends AttributeAggregator {
             Map<String, Object> state = new HashMap<>();
             synchronized (this) {
                 state.put("MaxValue", maxValue);
-                state.put("MaxDeque", maxDeque);
+                state.put("MaxWindow", maxWindow);
             }
             return state;
         }
@@ -485,7 +461,9 @@ public class MaxAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized void restoreState(Map<String, Object> state) {
             maxValue = (Long) state.get("MaxValue");
-            maxDeque = (Deque<Long>) state.get("MaxDeque");
+            maxWindow = state.containsKey("MaxDeque") ?
+                    SlidingExtremum.fromLegacyValues(true, (Collection<?>) state.get("MaxDeque")) :
+                    (SlidingExtremum) state.get("MaxWindow");
         }
 
         protected Object currentValue() {
@@ -30,10 +30,8 @@ import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.query.api.definition.Attribute;
 
 import java.util.Arrays;
-import java.util.Deque;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Map;
 
 /**
@@ -165,12 +163,12 @@ public class MinAttributeAggregator extends AttributeAggregator {
     class MinAttributeAggregatorDouble extends MinAttributeAggregator {
 
         private final Attribute.Type type = Attribute.Type.DOUBLE;
-        private Deque<Double> minDeque = null;
+        private SlidingExtremum minWindow = null;
         private volatile Double minValue = null;
 
         public MinAttributeAggregatorDouble(boolean trackFutureStates) {
             if (trackFutureStates) {
-                minDeque = new LinkedList<>();
+                minWindow = new SlidingExtremum(false);
             }
         }
 
@@ -181,15 +179,8 @@ public class MinAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized Object processAdd(Object data) {
             Double value = (Double) data;
-            if (minDeque != null) {
-                for (Iterator<Double> iterator = minDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() > value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                minDeque.addLast(value);
+            if (minWindow != null) {
+                minWindow.add(SlidingExtremum.fromDouble(value));
             }
             if (minValue == null || minValue > value) {
                 minValue = value;
@@ -199,9 +190,9 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object processRemove(Object data) {
-            if (minDeque != null) {
-                minDeque.removeFirstOccurrence(data);
-                minValue = minDeque.peekFirst();
+            if (minWindow != null) {
+                minWindow.remove(SlidingExtremum.fromDouble((Double) data));
+                minValue = minWindow.isEmpty() ? null : SlidingExtremum.toDouble(minWindow.getExtremum());
             } else {
                 if (minValue != null && minValue.equals(data)) {
                     minValue = null;
@@ -212,8 +203,8 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object reset() {
-            if (minDeque != null) {
-                minDeque.clear();
+            if (minWindow != null) {
+                minWindow.clear();
             }
             minValue = null;
             return null;
@@ -221,7 +212,7 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public boolean canDestroy() {
-            return (minDeque == null || minDeque.size() == 0) && minValue == null;
+            return (minWindow == null || minWindow.isEmpty()) && minValue == null;
         }
 
         @Override
@@ -229,7 +220,7 @@ public class MinAttributeAggregator extends AttributeAggregator {
             Map<String, Object> state = new HashMap<>();
             synchronized (this) {
                 state.put("MinValue", minValue);
-                state.put("MinDeque", minDeque);
+                state.put("MinWindow", minWindow);
             }
             return state;
         }
@@ -237,7 +228,9 @@ public class MinAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized void restoreState(Map<String, Object> state) {
             minValue = (Double) state.get("MinValue");
-            minDeque = (Deque<Double>) state.get("MinDeque");
+            minWindow = state.containsKey("MinDeque") ?
+                    SlidingExtremum.fromLegacyValues(false, (Collection<?>) state.get("MinDeque")) :
+                    (SlidingExtremum) state.get("MinWindow");
         }
 
         protected Object currentValue() {
@@ -249,12 +242,12 @@ public class MinAttributeAggregator extends AttributeAggregator {
     class MinAttributeAggregatorFloat extends MinAttributeAggregator {
 
         private final Attribute.Type type = Attribute.Type.FLOAT;
-        private Deque<Float> minDeque = null;
+        private SlidingExtremum minWindow = null;
         private volatile Float minValue = null;
 
         public MinAttributeAggregatorFloat(boolean trackFutureStates) {
             if (trackFutureStates) {
-                minDeque = new LinkedList<>();
+                minWindow = new SlidingExtremum(false);
             }
         }
 
@@ -265,15 +258,8 @@ public class MinAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized Object processAdd(Object data) {
             Float value = (Float) data;
-            if (minDeque != null) {
-                for (Iterator<Float> iterator = minDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() > value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                minDeque.addLast(value);
+            if (minWindow != null) {
+                minWindow.add(SlidingExtremum.fromFloat(value));
             }
             if (minValue == null || minValue > value) {
                 minValue = value;
@@ -283,9 +269,9 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object processRemove(Object data) {
-            if (minDeque != null) {
-                minDeque.removeFirstOccurrence(data);
-                minValue = minDeque.peekFirst();
+            if (minWindow != null) {
+                minWindow.remove(SlidingExtremum.fromFloat((Float) data));
+                minValue = minWindow.isEmpty() ? null : SlidingExtremum.toFloat(minWindow.getExtremum());
             } else {
                 if (minValue != null && minValue.equals(data)) {
                     minValue = null;
@@ -296,8 +282,8 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object reset() {
-            if (minDeque != null) {
-                minDeque.clear();
+            if (minWindow != null) {
+                minWindow.clear();
             }
             minValue = null;
             return null;
@@ -305,7 +291,7 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public boolean canDestroy() {
-            return (minDeque == null || minDeque.size() == 0) && minValue == null;
+            return (minWindow == null || minWindow.isEmpty()) && minValue == null;
         }
 
         @Override
@@ -313,7 +299,7 @@ public class MinAttributeAggregator extends AttributeAggregator {
             Map<String, Object> state = new HashMap<>();
             synchronized (this) {
                 state.put("MinValue", minValue);
-                state.put("MinDeque", minDeque);
+                state.put("MinWindow", minWindow);
             }
             return state;
         }
@@ -321,7 +307,9 @@ public class MinAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized void restoreState(Map<String, Object> state) {
             minValue = (Float) state.get("MinValue");
-            minDeque = (Deque<Float>) state.get("MinDeque");
+            minWindow = state.containsKey("MinDeque") ?
+                    SlidingExtremum.fromLegacyValues(false, (Collection<?>) state.get("MinDeque")) :
+                    (SlidingExtremum) state.get("MinWindow");
         }
 
         protected Object currentValue() {
@@ -332,12 +320,12 @@ public class MinAttributeAggregator extends AttributeAggregator {
     class MinAttributeAggregatorInt extends MinAttributeAggregator {
 
         private final Attribute.Type type = Attribute.Type.INT;
-        private Deque<Integer> minDeque = null;
+        private SlidingExtremum minWindow = null;
         private volatile Integer minValue = null;
 
         public MinAttributeAggregatorInt(boolean trackFutureStates) {
             if (trackFutureStates) {
-                minDeque = new LinkedList<>();
+                minWindow = new SlidingExtremum(false);
             }
         }
 
@@ -348,16 +336,8 @@ public class MinAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized Object processAdd(Object data) {
             Integer value = (Integer) data;
-            if (minDeque != null) {
-                for (Iterator<Integer> iterator = minDeque.descendingIterator(); iterator.hasNext(); ) {
-
-                    if (iterator.next() > value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                minDeque.addLast(value);
+            if (minWindow != null) {
+                minWindow.add(value);
             }
             if (minValue == null || minValue > value) {
                 minValue = value;
@@ -367,8 +347,8 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object reset() {
-            if (minDeque != null) {
-                minDeque.clear();
+            if (minWindow != null) {
+                minWindow.clear();
             }
             minValue = null;
             return null;
@@ -376,14 +356,14 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public boolean canDestroy() {
-            return (minDeque == null || minDeque.size() == 0) && minValue == null;
+            return (minWindow == null || minWindow.isEmpty()) && minValue == null;
         }
 
         @Override
         public synchronized Object processRemove(Object data) {
-            if (minDeque != null) {
-                minDeque.removeFirstOccurrence(data);
-                minValue = minDeque.peekFirst();
+            if (minWindow != null) {
+                minWindow.remove((Integer) data);
+                minValue = minWindow.isEmpty() ? null : (int) minWindow.getExtremum();
             } else {
                 if (minValue != null && minValue.equals(data)) {
                     minValue = null;
@@ -397,7 +377,7 @@ public class MinAttributeAggregator extends AttributeAggregator {
             Map<String, Object> state = new HashMap<>();
             synchronized (this) {
                 state.put("MinValue", minValue);
-                state.put("MinDeque", minDeque);
+                state.put("MinWindow", minWindow);
             }
             return state;
         }
@@ -405,7 +385,9 @@ public class MinAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized void restoreState(Map<String, Object> state) {
             minValue = (Integer) state.get("MinValue");
-            minDeque = (Deque<Integer>) state.get("MinDeque");
+            minWindow = state.containsKey("MinDeque") ?
+                    SlidingExtremum.fromLegacyValues(false, (Collection<?>) state.get("MinDeque")) :
+                    (SlidingExtremum) state.get("MinWindow");
         }
 
         protected Object currentValue() {
@@ -416,12 +398,12 @@ public class MinAttributeAggregator extends AttributeAggregator {
     class MinAttributeAggregatorLong extends MinAttributeAggregator {
 
         private final Attribute.Type type = Attribute.Type.LONG;
-        private Deque<Long> minDeque = null;
+        private SlidingExtremum minWindow = null;
         private volatile Long minValue = null;
 
         public MinAttributeAggregatorLong(boolean trackFutureStates) {
             if (trackFutureStates) {
-                minDeque = new LinkedList<>();
+                minWindow = new SlidingExtremum(false);
             }
         }
 
@@ -432,15 +414,8 @@ public class MinAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized Object processAdd(Object data) {
             Long value = (Long) data;
-            if (minDeque != null) {
-                for (Iterator<Long> iterator = minDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() > value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                minDeque.addLast(value);
+            if (minWindow != null) {
+                minWindow.add(value);
             }
             if (minValue == null || minValue > value) {
                 minValue = value;
@@ -450,8 +425,8 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public synchronized Object reset() {
-            if (minDeque != null) {
-                minDeque.clear();
+            if (minWindow != null) {
+                minWindow.clear();
             }
             minValue = null;
             return null;
@@ -459,14 +434,14 @@ public class MinAttributeAggregator extends AttributeAggregator {
 
         @Override
         public boolean canDestroy() {
-            return (minDeque == null || minDeque.size() == 0) && minValue == null;
+            return (minWindow == null || minWindow.isEmpty()) && minValue == null;
         }
 
         @Override
         public synchronized Object processRemove(Object data) {
-            if (minDeque != null) {
-                minDeque.removeFirstOccurrence(data);
-                minValue = minDeque.peekFirst();
+            if (minWindow != null) {
+                minWindow.remove((Long) data);
+                minValue = minWindow.isEmpty() ? null : minWindow.getExtremum();
             } else {
                 if (minValue != null && minValue.equals(data)) {
                     minValue = null;
@@ -480,7 +455,7 @@ public class MinAttributeAggregator extends AttributeAggregator {
             Map<String, Object> state = new HashMap<>();
             synchronized (this) {
                 state.put("MinValue", minValue);
-                state.put("MinDeque", minDeque);
+                state.put("MinWindow", minWindow);
             }
             return state;
         }
@@ -488,7 +463,9 @@ public class MinAttributeAggregator extends AttributeAggregator {
         @Override
         public synchronized void restoreState(Map<String, Object> state) {
             minValue = (Long) state.get("MinValue");
-            minDeque = (Deque<Long>) state.get("MinDeque");
+            minWindow = state.containsKey("MinDeque") ?
+                    SlidingExtremum.fromLegacyValues(false, (Collection<?>) state.get("MinDeque")) :
+                    (SlidingExtremum) state.get("MinWindow");
         }
 
         protected Object currentValue() {
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.selector.attribute.aggregator;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.TreeMap;
+
+/**
+ * Maximum, or minimum, of the values of a sliding window. The values are held as primitive keys ordered as the values,
+ * see {@link #fromDouble(double)} and {@link #fromFloat(float)}, while int and long values are their own keys.
+ * <p>
+ * The values of the window are kept in their arrival order, along with a monotonic deque of the arrival positions of
+ * the values that can still become the extremum, as no later value exceeds them. When values expire in their arrival
+ * order, as in length and time windows, each value is added and removed in amortized O(1). When an expired value is
+ * not the oldest value of the window, as in sort and frequent windows, the values are moved to a sorted multiset,
+ * where each value is added and removed in O(log n), until the window is empty or reset.
+ */
+final class SlidingExtremum implements Serializable {
+
+    private static final long serialVersionUID = 2745186318374163294L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean max;
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int valuesHead = 0;
+    private int valuesSize = 0;
+    private long headPosition = 0;
+    private long[] candidates = new long[INITIAL_CAPACITY];
+    private int candidatesHead = 0;
+    private int candidatesSize = 0;
+    private TreeMap<Long, Integer> valueCounts;
+
+    SlidingExtremum(boolean max) {
+        this.max = max;
+    }
+
+    void add(long key) {
+        if (valueCounts != null) {
+            valueCounts.merge(key, 1, Integer::sum);
+            return;
+        }
+        if (valuesSize == values.length) {
+            values = grow(values, valuesHead);
+            valuesHead = 0;
+        }
+        values[(valuesHead + valuesSize) & (values.length - 1)] = key;
+        long position = headPosition + valuesSize++;
+        // Earlier values not exceeding the new value can no longer become the extremum
+        while (candidatesSize > 0 && !exceeds(valueAt(lastCandidate()), key)) {
+            candidatesSize--;
+        }
+        if (candidatesSize == candidates.length) {
+            candidates = grow(candidates, candidatesHead);
+            candidatesHead = 0;
+        }
+        candidates[(candidatesHead + candidatesSize++) & (candidates.length - 1)] = position;
+    }
+
+    void remove(long key) {
+        if (valueCounts == null) {
+            if (valuesSize == 0) {
+                return;
+            }
+            if (values[valuesHead] == key) {
+                if (candidates[candidatesHead] == headPosition) {
+                    candidatesHead = (candidatesHead + 1) & (candidates.length - 1);
+                    candidatesSize--;
+                }
+                valuesHead = (valuesHead + 1) & (values.length - 1);
+                valuesSize--;
+                headPosition++;
+                return;
+            }
+            // Removing any other value with the same key leaves the same values, hence only other keys are out of order
+            sortValues();
+        }
+        Integer count = valueCounts.get(key);
+        if (count != null) {
+            if (count == 1) {
+                valueCounts.remove(key);
+            } else {
+                valueCounts.put(key, count - 1);
+            }
+        }
+        if (valueCounts.isEmpty()) {
+            valueCounts = null;
+        }
+    }
+
+    /**
+     * Create the window of a snapshot persisted by an earlier version, which holds the values that can still become the
+     * extremum in their arrival order. The other values of the window were not retained, hence once such a value
+     * expires, the values are moved to the sorted multiset, where removing a value it does not hold has no effect.
+     *
+     * @param max    true for the maximum, false for the minimum
+     * @param values values that can still become the extremum, or null if the window was not tracked
+     * @return the window, or null if the window was not tracked
+     */
+    static SlidingExtremum fromLegacyValues(boolean max, Collection<?> values) {
+        if (values == null) {
+            return null;
+        }
+        SlidingExtremum slidingExtremum = new SlidingExtremum(max);
+        for (Object value : values) {
+            if (value instanceof Double) {
+                slidingExtremum.add(fromDouble((Double) value));
+            } else if (value instanceof Float) {
+                slidingExtremum.add(fromFloat((Float) value));
+            } else {
+                slidingExtremum.add(((Number) value).longValue());
+            }
+        }
+        return slidingExtremum;
+    }
+
+    boolean isEmpty() {
+        return valueCounts == null && valuesSize == 0;
+    }
+
+    /**
+     * @return key of the extremum, where the window is not empty
+     */
+    long getExtremum() {
+        if (valueCounts != null) {
+            return max ? valueCounts.lastKey() : valueCounts.firstKey();
+        }
+        return valueAt(candidates[candidatesHead]);
+    }
+
+    void clear() {
+        valuesHead = 0;
+        valuesSize = 0;
+        headPosition = 0;
+        candidatesHead = 0;
+        candidatesSize = 0;
+        valueCounts = null;
+    }
+
+    private boolean exceeds(long key, long otherKey) {
+        return max ? key > otherKey : key < otherKey;
+    }
+
+    private long lastCandidate() {
+        return candidates[(candidatesHead + candidatesSize - 1) & (candidates.length - 1)];
+    }
+
+    private long valueAt(long position) {
+        return values[(valuesHead + (int) (position - headPosition)) & (values.length - 1)];
+    }
+
+    private void sortValues() {
+        valueCounts = new TreeMap<>();
+        for (int i = 0; i < valuesSize; i++) {
+            valueCounts.merge(values[(valuesHead + i) & (values.length - 1)], 1, Integer::sum);
+        }
+        valuesHead = 0;
+        valuesSize = 0;
+        candidatesHead = 0;
+        candidatesSize = 0;
+        values = new long[INITIAL_CAPACITY];
+        candidates = new long[INITIAL_CAPACITY];
+    }
+
+    private static long[] grow(long[] ring, int head) {
+        long[] grown = Arrays.copyOfRange(ring, head, head + ring.length * 2);
+        System.arraycopy(ring, 0, grown, ring.length - head, head);
+        return grown;
+    }
+
+    static long fromDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static double toDouble(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    static long fromFloat(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    static float toFloat(long key) {
+        int bits = (int) key;
+        return Float.intBitsToFloat(bits ^ ((bits >> 31) & Integer.MAX_VALUE));
+    }
+}
@@ -19,6 +19,8 @@ package io.siddhi.core.query.selector.attribute.processor;
 
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.SharedExpressionScope;
+import io.siddhi.core.executor.compiled.ExpressionCompiler;
 import io.siddhi.query.api.definition.Attribute;
 
 /**
@@ -28,6 +30,7 @@ public class AttributeProcessor {
 
     private ExpressionExecutor expressionExecutor;
     private int outputPosition;
+    private SharedExpressionScope sharedExpressionScope;
 
     public AttributeProcessor(ExpressionExecutor expressionExecutor) {
         this.expressionExecutor = expressionExecutor;
@@ -38,6 +41,9 @@ public class AttributeProcessor {
     }
 
     public void process(ComplexEvent event) {
+        if (sharedExpressionScope != null) {
+            sharedExpressionScope.nextEvaluation();
+        }
         event.setOutputData(expressionExecutor.execute(event), outputPosition);
     }
 
@@ -56,6 +62,25 @@ public class AttributeProcessor {
         this.outputPosition = position;
     }
 
+    /**
+     * Set the scope of the expressions shared by the attribute processors of the selector, which is moved to the next
+     * evaluation whenever an event is processed. Only set to the first attribute processor of the selector.
+     *
+     * @param sharedExpressionScope scope of the shared expressions
+     */
+    public void setSharedExpressionScope(SharedExpressionScope sharedExpressionScope) {
+        this.sharedExpressionScope = sharedExpressionScope;
+    }
+
+    /**
+     * Compile the expression via {@link ExpressionCompiler}, once the positions of the attributes it reads are final.
+     *
+     * @param queryName name of the query, used for logging
+     */
+    public void compileExpression(String queryName) {
+        expressionExecutor = ExpressionCompiler.compile(expressionExecutor, queryName);
+    }
+
     public ExpressionExecutor getExpressionExecutor() {
         return expressionExecutor;
     }
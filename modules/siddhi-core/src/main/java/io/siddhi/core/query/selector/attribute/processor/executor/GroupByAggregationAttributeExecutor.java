@@ -21,116 +21,92 @@ import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.query.selector.attribute.aggregator.AttributeAggregator;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.config.ConfigReader;
-import io.siddhi.core.util.timestamp.TimestampGenerator;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
- * Executor class for aggregations with group by configuration.
+ * Executor class for aggregations with group by configuration. The aggregator of each group is held in the
+ * {@link GroupByAggregators} shared by the executors of the query, at the index of this executor.
  */
 public class GroupByAggregationAttributeExecutor extends AbstractAggregationAttributeExecutor {
 
-    private static final ThreadLocal<String> keyThreadLocal = new ThreadLocal<String>();
     private final ConfigReader configReader;
-    private final TimestampGenerator timestampGenerator;
-    protected Map<String, AttributeAggregator> aggregatorMap = new HashMap<String, AttributeAggregator>();
-    protected Set<String> obsoleteAggregatorKeys = new HashSet<>();
-    protected long lastCleanupTimestamp = 0;
+    private final GroupByAggregators groupByAggregators;
+    private final int index;
 
     public GroupByAggregationAttributeExecutor(AttributeAggregator attributeAggregator,
                                                ExpressionExecutor[] attributeExpressionExecutors,
-                                               ConfigReader configReader, SiddhiAppContext siddhiAppContext,
-                                               String queryName) {
+                                               ConfigReader configReader, GroupByAggregators groupByAggregators,
+                                               SiddhiAppContext siddhiAppContext, String queryName) {
         super(attributeAggregator, attributeExpressionExecutors, siddhiAppContext, queryName);
         this.configReader = configReader;
-        timestampGenerator = siddhiAppContext.getTimestampGenerator();
-        lastCleanupTimestamp = timestampGenerator.currentTime();
-    }
-
-    public static ThreadLocal<String> getKeyThreadLocal() {
-        return keyThreadLocal;
+        this.groupByAggregators = groupByAggregators;
+        this.index = groupByAggregators.addExecutor();
     }
 
     @Override
     public Object execute(ComplexEvent event) {
-
-        long currentTime = timestampGenerator.currentTime();
-        boolean canClean = false;
-        if (lastCleanupTimestamp + 5000 < currentTime || obsoleteAggregatorKeys.size() > 25) {
-            lastCleanupTimestamp = currentTime;
-            canClean = true;
-        }
-
         if (event.getType() == ComplexEvent.Type.RESET) {
             Object aOutput = null;
-            if (canClean) {
-                for (Map.Entry<String, AttributeAggregator> attributeAggregatorEntry : aggregatorMap.entrySet()) {
-                    aOutput = attributeAggregatorEntry.getValue().process(event);
-                    attributeAggregatorEntry.getValue().clean();
-                }
-                aggregatorMap.clear();
-                obsoleteAggregatorKeys.clear();
-            } else {
-                for (Map.Entry<String, AttributeAggregator> attributeAggregatorEntry : aggregatorMap.entrySet()) {
-                    aOutput = attributeAggregatorEntry.getValue().process(event);
+            for (GroupByAggregators.Group group : groupByAggregators.getGroups().values()) {
+                if (group.aggregators[index] != null) {
+                    aOutput = group.aggregators[index].process(event);
                 }
             }
             return aOutput;
         }
 
-        String key = keyThreadLocal.get();
-        AttributeAggregator currentAttributeAggregator = aggregatorMap.get(key);
+        AttributeAggregator[] currentGroup = groupByAggregators.getCurrentGroup();
+        AttributeAggregator currentAttributeAggregator = currentGroup[index];
         if (currentAttributeAggregator == null) {
-            currentAttributeAggregator = attributeAggregator.cloneAggregator(key);
-            aggregatorMap.put(key, currentAttributeAggregator);
+            currentAttributeAggregator = attributeAggregator.cloneAggregator(
+                    groupByAggregators.getCurrentKey().toString());
+            currentGroup[index] = currentAttributeAggregator;
         }
         Object results = currentAttributeAggregator.process(event);
         if (event.getType() == ComplexEvent.Type.EXPIRED && currentAttributeAggregator.canDestroy()) {
-            obsoleteAggregatorKeys.add(key);
-        }
-        if (canClean) {
-            destroyObsoleteAggregators();
+            groupByAggregators.markCurrentGroupObsolete();
         }
         return results;
     }
 
     public ExpressionExecutor cloneExecutor(String key) {
         return new GroupByAggregationAttributeExecutor(attributeAggregator.cloneAggregator(key),
-                attributeExpressionExecutors, configReader, siddhiAppContext,
+                attributeExpressionExecutors, configReader, groupByAggregators.getLastClone(), siddhiAppContext,
                 queryName);
     }
 
     @Override
     public Map<String, Object> currentState() {
-        Map<String, Object> state = new HashMap<>();
-        for (Map.Entry<String, AttributeAggregator> entry : aggregatorMap.entrySet()) {
-            state.put(entry.getKey(), entry.getValue().currentState());
+        Map<CompositeKey, Object> aggregatorStates = new HashMap<>();
+        for (Map.Entry<CompositeKey, GroupByAggregators.Group> entry : groupByAggregators.getGroups().entrySet()) {
+            AttributeAggregator aAttributeAggregator = entry.getValue().aggregators[index];
+            if (aAttributeAggregator != null) {
+                aggregatorStates.put(entry.getKey(), aAttributeAggregator.currentState());
+            }
         }
+        Map<String, Object> state = new HashMap<>();
+        state.put("AggregatorStates", aggregatorStates);
         return state;
     }
 
     @Override
     public void restoreState(Map<String, Object> state) {
-        for (HashMap.Entry<String, Object> item : state.entrySet()) {
-            String key = item.getKey();
-            AttributeAggregator aAttributeAggregator = attributeAggregator.cloneAggregator(key);
-            aAttributeAggregator.restoreState((Map<String, Object>) item.getValue());
-            aggregatorMap.put(key, aAttributeAggregator);
+        Map<?, Object> restoredStates = (Map<?, Object>) state.get("AggregatorStates");
+        if (restoredStates == null) {
+            // Snapshots persisted by earlier versions keep the state of each group under its joined string key
+            restoredStates = state;
         }
-    }
-
-    private void destroyObsoleteAggregators() {
-        for (String obsoleteKey : obsoleteAggregatorKeys) {
-            AttributeAggregator attributeAggregator = aggregatorMap.get(obsoleteKey);
-            if (attributeAggregator != null && attributeAggregator.canDestroy()) {
-                attributeAggregator.clean();
-                aggregatorMap.remove(obsoleteKey);
-            }
+        Map<CompositeKey, Object> aggregatorStates = CompositeKey.restoreKeys(restoredStates,
+                groupByAggregators.getKeyTypes(), getElementId());
+        for (Map.Entry<CompositeKey, Object> item : aggregatorStates.entrySet()) {
+            CompositeKey key = item.getKey();
+            AttributeAggregator aAttributeAggregator = attributeAggregator.cloneAggregator(key.toString());
+            aAttributeAggregator.restoreState((Map<String, Object>) item.getValue());
+            groupByAggregators.getGroup(key)[index] = aAttributeAggregator;
         }
-        obsoleteAggregatorKeys.clear();
     }
 }
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.selector.attribute.processor.executor;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.query.selector.attribute.aggregator.AttributeAggregator;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.CompositeKey;
+import io.siddhi.core.util.timestamp.TimestampGenerator;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aggregators of the groups of a group by query. The query resolves the group of each event once via
+ * {@link #setCurrentGroup(CompositeKey, ComplexEvent.Type)}, and each {@link GroupByAggregationAttributeExecutor} of
+ * the query then uses its own aggregator of the current group, held at the index of the executor within the group.
+ * <p>
+ * Groups whose aggregators can all be destroyed after an expired event are removed periodically, and all the groups
+ * are removed periodically after a reset. When purging is enabled, the groups are also kept in their access order, and
+ * the least recently used groups are evicted as soon as they are idle for longer than the idle period or the number
+ * of groups exceeds its maximum, when an event is processed or when {@link #evictIdleGroups()} is called. An evicted
+ * group starts afresh, as after a reset. When the query receives expired events, the number of events of the group
+ * not yet expired is retained on eviction, and that many expired events of the group are dropped, such that the events
+ * of the evicted group are not subtracted from a group created again for the same key. Hence purging requires the
+ * events of a group to expire in the order they arrived. When the query outputs expired events, the last output of
+ * each evicted group is retained to be emitted as an expired event. Groups must not be processed concurrently.
+ */
+public class GroupByAggregators {
+
+    private static final long CLEANUP_INTERVAL = 5000;
+    private static final int MAX_OBSOLETE_GROUPS = 25;
+
+    private final SiddhiAppContext siddhiAppContext;
+    private final TimestampGenerator timestampGenerator;
+    private final Set<CompositeKey> obsoleteGroupKeys = new HashSet<>();
+    private final Map<CompositeKey, Integer> staleExpiredEventCounts = new HashMap<>();
+    private final Map<CompositeKey, Object[]> evictedGroupOutputs = new LinkedHashMap<>();
+    private Map<CompositeKey, Group> groups = new HashMap<>();
+    private int executorCount = 0;
+    private long idlePeriod = SiddhiConstants.UNKNOWN_STATE;
+    private int maxGroups = SiddhiConstants.UNKNOWN_STATE;
+    private boolean purgingEnabled = false;
+    private boolean expiredEventsExpected = false;
+    private boolean evictedGroupsOutput = false;
+    private Attribute.Type[] keyTypes;
+    private CompositeKey currentKey;
+    private Group currentGroup;
+    private long currentTime;
+    private long lastCleanupTimestamp;
+    private GroupByAggregators lastClone;
+
+    public GroupByAggregators(SiddhiAppContext siddhiAppContext) {
+        this.siddhiAppContext = siddhiAppContext;
+        this.timestampGenerator = siddhiAppContext.getTimestampGenerator();
+        this.lastCleanupTimestamp = timestampGenerator.currentTime();
+    }
+
+    /**
+     * Evict the idle groups and the least recently used groups exceeding the maximum. Must be set before any group is
+     * created.
+     *
+     * @param idlePeriod            time in milliseconds a group is retained without any events, or
+     *                              {@link SiddhiConstants#UNKNOWN_STATE} to retain idle groups
+     * @param maxGroups             maximum number of groups retained, or {@link SiddhiConstants#UNKNOWN_STATE} for
+     *                              no maximum
+     * @param expiredEventsExpected whether the query receives expired events, e.g. from a window
+     * @param evictedGroupsOutput   whether the last output of the evicted groups should be retained, to be emitted
+     *                              as expired events
+     */
+    public void setPurging(long idlePeriod, int maxGroups, boolean expiredEventsExpected,
+                           boolean evictedGroupsOutput) {
+        this.idlePeriod = idlePeriod;
+        this.maxGroups = maxGroups;
+        this.expiredEventsExpected = expiredEventsExpected;
+        this.evictedGroupsOutput = evictedGroupsOutput;
+        this.purgingEnabled = idlePeriod != SiddhiConstants.UNKNOWN_STATE
+                || maxGroups != SiddhiConstants.UNKNOWN_STATE;
+        if (purgingEnabled) {
+            groups = new LinkedHashMap<>(16, 0.75f, true);
+        }
+    }
+
+    /**
+     * Set the types of the group by attributes, used to convert the group keys of snapshots persisted by earlier
+     * versions.
+     *
+     * @param keyTypes types of the group by attributes
+     */
+    public void setKeyTypes(Attribute.Type[] keyTypes) {
+        this.keyTypes = keyTypes;
+    }
+
+    Attribute.Type[] getKeyTypes() {
+        return keyTypes;
+    }
+
+    /**
+     * Resolve the group of the event being processed.
+     *
+     * @param key       group by key of the event
+     * @param eventType type of the event
+     * @return false if the event is an expired event of an evicted group, which should not be processed
+     */
+    public boolean setCurrentGroup(CompositeKey key, ComplexEvent.Type eventType) {
+        currentTime = timestampGenerator.currentTime();
+        if (purgingEnabled) {
+            evictGroups();
+            if (eventType == ComplexEvent.Type.EXPIRED && !staleExpiredEventCounts.isEmpty()) {
+                Integer staleCount = staleExpiredEventCounts.remove(key);
+                if (staleCount != null) {
+                    if (staleCount > 1) {
+                        staleExpiredEventCounts.put(key, staleCount - 1);
+                    }
+                    return false;
+                }
+            }
+        }
+        Group group = groups.get(key);
+        if (group == null) {
+            if (purgingEnabled && eventType == ComplexEvent.Type.EXPIRED) {
+                return false;
+            }
+            group = new Group(executorCount, currentTime);
+            groups.put(key, group);
+            if (purgingEnabled) {
+                evictGroups();
+            }
+        }
+        group.lastAccessTimestamp = currentTime;
+        if (eventType == ComplexEvent.Type.CURRENT) {
+            group.unexpiredEventCount++;
+        } else if (group.unexpiredEventCount > 0) {
+            group.unexpiredEventCount--;
+        }
+        currentKey = key;
+        currentGroup = group;
+        return true;
+    }
+
+    /**
+     * Evict the groups idle for longer than the idle period, such that idle groups are evicted even when no events
+     * arrive.
+     */
+    public void evictIdleGroups() {
+        if (purgingEnabled) {
+            currentTime = timestampGenerator.currentTime();
+            evictGroups();
+        }
+    }
+
+    /**
+     * Get the time at which the least recently used group becomes idle for longer than the idle period.
+     *
+     * @return time in milliseconds, or {@link SiddhiConstants#UNKNOWN_STATE} if idle groups are retained or there are
+     * no groups
+     */
+    public long getNextEvictionTime() {
+        if (idlePeriod == SiddhiConstants.UNKNOWN_STATE || groups.isEmpty()) {
+            return SiddhiConstants.UNKNOWN_STATE;
+        }
+        return groups.values().iterator().next().lastAccessTimestamp + idlePeriod + 1;
+    }
+
+    /**
+     * Retain the output of the current group, to be emitted as an expired event if the group is evicted.
+     *
+     * @param outputData output data of the event of the current group selected for the output
+     */
+    public void setCurrentOutput(Object[] outputData) {
+        if (evictedGroupsOutput) {
+            if (currentGroup.lastOutputData == null) {
+                currentGroup.lastOutputData = outputData.clone();
+            } else {
+                System.arraycopy(outputData, 0, currentGroup.lastOutputData, 0, outputData.length);
+            }
+        }
+    }
+
+    /**
+     * Whether groups having an output were evicted since the last call of {@link #drainEvictedGroupOutputs()}.
+     *
+     * @return true if there are outputs of evicted groups to be emitted
+     */
+    public boolean hasEvictedGroupOutputs() {
+        return !evictedGroupOutputs.isEmpty();
+    }
+
+    /**
+     * Take the last outputs of the groups evicted since the last call, in the order they were evicted.
+     *
+     * @return last output data of each evicted group by its key
+     */
+    public Map<CompositeKey, Object[]> drainEvictedGroupOutputs() {
+        Map<CompositeKey, Object[]> outputs = new LinkedHashMap<>(evictedGroupOutputs);
+        evictedGroupOutputs.clear();
+        return outputs;
+    }
+
+    /**
+     * Release the group of the processed event, and remove the obsolete groups when due.
+     */
+    public void clearCurrentGroup() {
+        currentKey = null;
+        currentGroup = null;
+        if (isCleanupDue(currentTime)) {
+            destroyObsoleteGroups();
+        }
+    }
+
+    /**
+     * Remove all the groups when due, after their aggregators have processed a reset event.
+     */
+    public void reset() {
+        // The expired events of the groups precede the reset, hence no expired event is stale anymore
+        staleExpiredEventCounts.clear();
+        for (Group group : groups.values()) {
+            group.unexpiredEventCount = 0;
+        }
+        if (isCleanupDue(timestampGenerator.currentTime())) {
+            for (Group group : groups.values()) {
+                group.destroy();
+            }
+            groups.clear();
+            obsoleteGroupKeys.clear();
+        }
+    }
+
+    /**
+     * Clone the groups without their aggregators. The executors cloned afterwards use the new groups, hence the groups
+     * should be cloned before the executors using them.
+     *
+     * @return cloned groups
+     */
+    public GroupByAggregators cloneGroups() {
+        lastClone = new GroupByAggregators(siddhiAppContext);
+        lastClone.setPurging(idlePeriod, maxGroups, expiredEventsExpected, evictedGroupsOutput);
+        lastClone.keyTypes = keyTypes;
+        return lastClone;
+    }
+
+    GroupByAggregators getLastClone() {
+        return lastClone;
+    }
+
+    int addExecutor() {
+        return executorCount++;
+    }
+
+    CompositeKey getCurrentKey() {
+        return currentKey;
+    }
+
+    AttributeAggregator[] getCurrentGroup() {
+        return currentGroup.aggregators;
+    }
+
+    void markCurrentGroupObsolete() {
+        obsoleteGroupKeys.add(currentKey);
+    }
+
+    AttributeAggregator[] getGroup(CompositeKey key) {
+        Group group = groups.get(key);
+        if (group == null) {
+            group = new Group(executorCount, timestampGenerator.currentTime());
+            groups.put(key, group);
+        }
+        return group.aggregators;
+    }
+
+    Map<CompositeKey, Group> getGroups() {
+        return groups;
+    }
+
+    private void evictGroups() {
+        // Groups are in their access order, hence only the least recently used groups need to be checked
+        Iterator<Map.Entry<CompositeKey, Group>> iterator = groups.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<CompositeKey, Group> eldest = iterator.next();
+            if ((maxGroups != SiddhiConstants.UNKNOWN_STATE && groups.size() > maxGroups) ||
+                    (idlePeriod != SiddhiConstants.UNKNOWN_STATE &&
+                            eldest.getValue().lastAccessTimestamp + idlePeriod < currentTime)) {
+                evict(eldest.getKey(), eldest.getValue());
+                iterator.remove();
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void evict(CompositeKey key, Group group) {
+        if (expiredEventsExpected && group.unexpiredEventCount > 0) {
+            staleExpiredEventCounts.merge(key, group.unexpiredEventCount, Integer::sum);
+        }
+        if (group.lastOutputData != null) {
+            evictedGroupOutputs.put(key, group.lastOutputData);
+        }
+        group.destroy();
+    }
+
+    private boolean isCleanupDue(long currentTime) {
+        if (lastCleanupTimestamp + CLEANUP_INTERVAL < currentTime || obsoleteGroupKeys.size() > MAX_OBSOLETE_GROUPS) {
+            lastCleanupTimestamp = currentTime;
+            return true;
+        }
+        return false;
+    }
+
+    private void destroyObsoleteGroups() {
+        for (CompositeKey obsoleteKey : obsoleteGroupKeys) {
+            Group group = groups.get(obsoleteKey);
+            if (group != null && group.canDestroy()) {
+                group.destroy();
+                groups.remove(obsoleteKey);
+            }
+        }
+        obsoleteGroupKeys.clear();
+    }
+
+    /**
+     * Aggregators of a group, indexed by their executors.
+     */
+    static final class Group {
+
+        final AttributeAggregator[] aggregators;
+        long lastAccessTimestamp;
+        int unexpiredEventCount;
+        Object[] lastOutputData;
+
+        private Group(int size, long lastAccessTimestamp) {
+            this.aggregators = new AttributeAggregator[size];
+            this.lastAccessTimestamp = lastAccessTimestamp;
+        }
+
+        private boolean canDestroy() {
+            for (AttributeAggregator attributeAggregator : aggregators) {
+                if (attributeAggregator != null && !attributeAggregator.canDestroy()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void destroy() {
+            for (AttributeAggregator attributeAggregator : aggregators) {
+                if (attributeAggregator != null) {
+                    attributeAggregator.clean();
+                }
+            }
+        }
+    }
+}
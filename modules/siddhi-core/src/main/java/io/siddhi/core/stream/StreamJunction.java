@@ -19,19 +19,32 @@
 package io.siddhi.core.stream;
 
 import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.PhasedBackoffWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.config.ThreadType;
+import io.siddhi.core.event.ColumnarEventBatch;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.event.stream.converter.FaultStreamEventConverter;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.stream.input.InputProcessor;
+import io.siddhi.core.stream.input.source.Source;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.event.handler.AdaptiveBatchSize;
+import io.siddhi.core.util.event.handler.BufferOverflowState;
 import io.siddhi.core.util.event.handler.EventExchangeHolder;
 import io.siddhi.core.util.event.handler.EventExchangeHolderFactory;
 import io.siddhi.core.util.event.handler.StreamHandler;
@@ -39,19 +52,26 @@ import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.statistics.EventBufferHolder;
 import io.siddhi.core.util.statistics.ThroughputTracker;
 import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.StreamDefinition;
 import io.siddhi.query.api.exception.DuplicateAnnotationException;
 import io.siddhi.query.api.util.AnnotationHelper;
+import io.siddhi.query.compiler.SiddhiCompiler;
+import io.siddhi.query.compiler.exception.SiddhiParserException;
 import org.apache.log4j.Logger;
 
 import java.beans.ExceptionListener;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Stream Junction is the place where streams are collected and distributed. There will be an Stream Junction per
@@ -61,11 +81,28 @@ import java.util.concurrent.ExecutorService;
  */
 public class StreamJunction implements EventBufferHolder {
     private static final Logger log = Logger.getLogger(StreamJunction.class);
+    private static final long HYBRID_SPIN_TIMEOUT_NANOS = 100_000L;
+    private static final long HYBRID_YIELD_TIMEOUT_NANOS = 1_000_000L;
+    private static final long OVERFLOW_RETRY_INTERVAL_NANOS = 50_000L;
+    private static final long WATERMARK_CHECK_INTERVAL_MILLIS = 100L;
     private final SiddhiAppContext siddhiAppContext;
     private final StreamDefinition streamDefinition;
     private int batchSize;
     private int workers = -1;
+    private int keyIndex = -1;
     private int bufferSize;
+    private WaitStrategyType waitStrategyType = WaitStrategyType.BLOCKING;
+    private ProducerMode producerMode = ProducerMode.MULTI;
+    private OverflowAction overflowAction = OverflowAction.BLOCK;
+    private long overflowTimeoutNanos = -1;
+    private double overflowWatermark = -1;
+    private BufferOverflowState bufferOverflowState;
+    private SiddhiAppRuntimeException overflowException;
+    private List<Source> sources = new CopyOnWriteArrayList<>();
+    private volatile boolean sourcesPaused = false;
+    private ScheduledFuture watermarkMonitor;
+    private long latencyTargetNanos = -1;
+    private List<AdaptiveBatchSize> adaptiveBatchSizes = new CopyOnWriteArrayList<>();
     private List<Receiver> receivers = new CopyOnWriteArrayList<Receiver>();
     private List<Publisher> publishers = Collections.synchronizedList(new LinkedList<>());
     private ExecutorService executorService;
@@ -95,8 +132,12 @@ public class StreamJunction implements EventBufferHolder {
         this.faultStreamJunction = faultStreamJunction;
         if (faultStreamJunction != null) {
             StreamDefinition faultStreamDefinition = faultStreamJunction.getStreamDefinition();
-            StreamEventPool faultStreamEventPool = new StreamEventPool(0, 0,
-                    faultStreamDefinition.getAttributeList().size(), 5);
+            MetaStreamEvent faultMetaStreamEvent = new MetaStreamEvent();
+            for (Attribute attribute : faultStreamDefinition.getAttributeList()) {
+                faultMetaStreamEvent.addOutputDataAllowingDuplicate(attribute);
+            }
+            StreamEventPool faultStreamEventPool = QueryParserHelper.createStreamEventPool(faultMetaStreamEvent, 5,
+                    faultStreamDefinition.getId(), siddhiAppContext);
             faultStreamEventPool.borrowEvent();
             faultStreamEventChunk = new FaultStreamEventConverter(faultStreamEventPool);
 
@@ -132,6 +173,136 @@ public class StreamJunction implements EventBufferHolder {
                                 siddhiAppContext.getSiddhiAppString());
                     }
                 }
+                String keyString = asyncAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_KEY);
+                if (keyString != null) {
+                    if (!Arrays.asList(streamDefinition.getAttributeNameArray()).contains(keyString.trim())) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_KEY + "' should refer an attribute of stream '" +
+                                streamDefinition.getId() + "', but found, '" + keyString + "'.",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    this.keyIndex = streamDefinition.getAttributePosition(keyString.trim());
+                }
+                String overflowActionString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_ACTION);
+                if (overflowActionString != null) {
+                    try {
+                        this.overflowAction = OverflowAction.valueOf(
+                                overflowActionString.trim().replace('.', '_').toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_ACTION + "' only supports 'block', " +
+                                "'drop.newest', 'drop.oldest' and 'stream', but found, '" + overflowActionString +
+                                "'.", asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    if (overflowAction == OverflowAction.STREAM && faultStreamJunction == null) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_ACTION + "' can be 'stream' only when " +
+                                "the fault stream is enabled via @OnError(action='stream') for stream '" +
+                                streamDefinition.getId() + "'.", asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String overflowTimeoutString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_TIMEOUT);
+                if (overflowTimeoutString != null) {
+                    if (overflowAction != OverflowAction.BLOCK) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_TIMEOUT + "' is only supported when '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_ACTION + "' is 'block', but found, '" +
+                                overflowActionString + "'.", asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    try {
+                        this.overflowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(
+                                SiddhiCompiler.parseTimeConstantDefinition(overflowTimeoutString).value());
+                    } catch (SiddhiParserException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_TIMEOUT + "' should be a time constant, " +
+                                "but found, '" + overflowTimeoutString + "'.", e,
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String overflowWatermarkString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_WATERMARK);
+                if (overflowWatermarkString != null) {
+                    this.overflowWatermark = Double.parseDouble(overflowWatermarkString);
+                    if (overflowWatermark <= 0 || overflowWatermark > 1) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_OVERFLOW_WATERMARK + "' should be a fraction " +
+                                "greater than zero and not greater than one, but found, '" + overflowWatermark +
+                                "'.", asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String latencyTargetString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_LATENCY_TARGET);
+                if (latencyTargetString != null) {
+                    try {
+                        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(
+                                SiddhiCompiler.parseTimeConstantDefinition(latencyTargetString).value());
+                    } catch (SiddhiParserException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_LATENCY_TARGET + "' should be a time constant, " +
+                                "but found, '" + latencyTargetString + "'.", e,
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    if (latencyTargetNanos <= 0) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_LATENCY_TARGET + "' should be greater than zero, " +
+                                "but found, '" + latencyTargetString + "'.",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String waitStrategyString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_WAIT_STRATEGY);
+                if (waitStrategyString != null) {
+                    try {
+                        this.waitStrategyType = WaitStrategyType.valueOf(
+                                waitStrategyString.trim().replace('.', '_').toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_WAIT_STRATEGY + "' only supports 'blocking', " +
+                                "'sleeping', 'yielding', 'busy.spin' and 'hybrid', but found, '" +
+                                waitStrategyString + "'.", asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                if (siddhiAppContext.getThreadType() == ThreadType.VIRTUAL &&
+                        (waitStrategyType == WaitStrategyType.BUSY_SPIN ||
+                                waitStrategyType == WaitStrategyType.YIELDING)) {
+                    log.warn("Wait strategy '" + waitStrategyString + "' of stream '" + streamDefinition.getId() +
+                            "' keeps its virtual worker threads mounted while idle, occupying carrier threads " +
+                            "of the Siddhi app '" + siddhiAppContext.getName() + "'.");
+                }
+                String producerTypeString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_PRODUCER_TYPE);
+                if (producerTypeString != null) {
+                    try {
+                        this.producerMode = ProducerMode.valueOf(producerTypeString.trim().toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_PRODUCER_TYPE + "' only supports 'multi' and " +
+                                "'single', but found, '" + producerTypeString + "'.",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
             }
             Annotation onErrorAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_ON_ERROR,
                     streamDefinition.getAnnotations());
@@ -145,6 +316,16 @@ public class StreamJunction implements EventBufferHolder {
                     siddhiAppContext.getName(), siddhiAppContext.getSiddhiAppString());
         }
         isTraceEnabled = log.isTraceEnabled();
+        if (async) {
+            ThroughputTracker rejectedEventsTracker = null;
+            if (siddhiAppContext.getStatisticsManager() != null) {
+                rejectedEventsTracker = QueryParserHelper.createThroughputTracker(siddhiAppContext,
+                        streamDefinition.getId(), SiddhiConstants.METRIC_INFIX_STREAMS, "rejected");
+            }
+            this.bufferOverflowState = new BufferOverflowState(rejectedEventsTracker, siddhiAppContext);
+            this.overflowException = new SiddhiAppRuntimeException("Event buffer of stream '" +
+                    streamDefinition.getId() + "' in Siddhi app '" + siddhiAppContext.getName() + "' is full");
+        }
     }
 
     public void sendEvent(ComplexEvent complexEvent) {
@@ -153,20 +334,37 @@ public class StreamJunction implements EventBufferHolder {
         }
         ComplexEvent complexEventList = complexEvent;
         if (disruptor != null) {
+            int eventCount = 0;
             while (complexEventList != null) {
-                if (throughputTracker != null && siddhiAppContext.isStatsEnabled()) {
-                    throughputTracker.eventIn();
-                }
-                long sequenceNo = ringBuffer.next();
-                try {
-                    EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                    eventExchangeHolder.getEvent().copyFrom(complexEventList);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
-                } finally {
-                    ringBuffer.publish(sequenceNo);
-                }
+                eventCount++;
                 complexEventList = complexEventList.getNext();
             }
+            if (throughputTracker != null && siddhiAppContext.isStatsEnabled()) {
+                throughputTracker.eventsIn(eventCount);
+            }
+            complexEventList = complexEvent;
+            while (eventCount > 0) {
+                int claimSize = getClaimSize(eventCount);
+                long hi = claim(claimSize);
+                if (hi < 0) {
+                    bufferOverflowState.rejected(claimSize);
+                    for (int i = 0; i < claimSize; i++) {
+                        onOverflow(complexEventList.getTimestamp(), complexEventList.getOutputData());
+                        complexEventList = complexEventList.getNext();
+                    }
+                } else {
+                    long lo = hi - claimSize + 1;
+                    try {
+                        for (long sequenceNo = lo; sequenceNo <= hi; sequenceNo++) {
+                            ringBuffer.get(sequenceNo).getEvent().copyFrom(complexEventList);
+                            complexEventList = complexEventList.getNext();
+                        }
+                    } finally {
+                        ringBuffer.publish(lo, hi);
+                    }
+                }
+                eventCount -= claimSize;
+            }
         } else {
             if (throughputTracker != null && siddhiAppContext.isStatsEnabled()) {
                 int messageCount = 0;
@@ -190,11 +388,15 @@ public class StreamJunction implements EventBufferHolder {
             log.trace(event + " event is received by streamJunction " + this);
         }
         if (disruptor != null) {
-            long sequenceNo = ringBuffer.next();
+            long sequenceNo = claim(1);
+            if (sequenceNo < 0) {
+                bufferOverflowState.rejected(1);
+                onOverflow(event.getTimestamp(), event.getData());
+                return;
+            }
             try {
                 EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                 eventExchangeHolder.getEvent().copyFrom(event);
-                eventExchangeHolder.getAndSetIsProcessed(false);
             } finally {
                 ringBuffer.publish(sequenceNo);
             }
@@ -213,14 +415,25 @@ public class StreamJunction implements EventBufferHolder {
             log.trace("Event is received by streamJunction " + this);
         }
         if (disruptor != null) {
-            for (Event event : events) {   // Todo : optimize for arrays
-                long sequenceNo = ringBuffer.next();
+            int offset = 0;
+            while (offset < events.length) {
+                int claimSize = getClaimSize(events.length - offset);
+                long hi = claim(claimSize);
+                if (hi < 0) {
+                    bufferOverflowState.rejected(claimSize);
+                    for (int i = 0; i < claimSize; i++) {
+                        Event event = events[offset++];
+                        onOverflow(event.getTimestamp(), event.getData());
+                    }
+                    continue;
+                }
+                long lo = hi - claimSize + 1;
                 try {
-                    EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                    eventExchangeHolder.getEvent().copyFrom(event);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
+                    for (long sequenceNo = lo; sequenceNo <= hi; sequenceNo++) {
+                        ringBuffer.get(sequenceNo).getEvent().copyFrom(events[offset++]);
+                    }
                 } finally {
-                    ringBuffer.publish(sequenceNo);
+                    ringBuffer.publish(lo, hi);
                 }
             }
         } else {
@@ -231,19 +444,35 @@ public class StreamJunction implements EventBufferHolder {
     }
 
     private void sendEvent(List<Event> events) {
+        if (throughputTracker != null && siddhiAppContext.isStatsEnabled()) {
+            throughputTracker.eventsIn(events.size());
+        }
         if (isTraceEnabled) {
             log.trace("Event is received by streamJunction " + this);
         }
         if (disruptor != null) {
-            for (Event event : events) {   // Todo : optimize for arrays
-                long sequenceNo = ringBuffer.next();
-                try {
-                    EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                    eventExchangeHolder.getEvent().copyFrom(event);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
-                } finally {
-                    ringBuffer.publish(sequenceNo);
+            Iterator<Event> iterator = events.iterator();
+            int remaining = events.size();
+            while (remaining > 0) {
+                int claimSize = getClaimSize(remaining);
+                long hi = claim(claimSize);
+                if (hi < 0) {
+                    bufferOverflowState.rejected(claimSize);
+                    for (int i = 0; i < claimSize; i++) {
+                        Event event = iterator.next();
+                        onOverflow(event.getTimestamp(), event.getData());
+                    }
+                } else {
+                    long lo = hi - claimSize + 1;
+                    try {
+                        for (long sequenceNo = lo; sequenceNo <= hi; sequenceNo++) {
+                            ringBuffer.get(sequenceNo).getEvent().copyFrom(iterator.next());
+                        }
+                    } finally {
+                        ringBuffer.publish(lo, hi);
+                    }
                 }
+                remaining -= claimSize;
             }
         } else {
             for (Receiver receiver : receivers) {
@@ -257,10 +486,14 @@ public class StreamJunction implements EventBufferHolder {
             throughputTracker.eventIn();
         }
         if (disruptor != null) {
-            long sequenceNo = ringBuffer.next();
+            long sequenceNo = claim(1);
+            if (sequenceNo < 0) {
+                bufferOverflowState.rejected(1);
+                onOverflow(timeStamp, data);
+                return;
+            }
             try {
                 EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                eventExchangeHolder.getAndSetIsProcessed(false);
                 eventExchangeHolder.getEvent().setTimestamp(timeStamp);
                 eventExchangeHolder.getEvent().setIsExpired(false);
                 System.arraycopy(data, 0, eventExchangeHolder.getEvent().getData(), 0, data.length);
@@ -274,6 +507,114 @@ public class StreamJunction implements EventBufferHolder {
         }
     }
 
+    private void sendColumns(ColumnarEventBatch columnarEventBatch) {
+        int size = columnarEventBatch.size();
+        if (throughputTracker != null && siddhiAppContext.isStatsEnabled()) {
+            throughputTracker.eventsIn(size);
+        }
+        if (isTraceEnabled) {
+            log.trace(columnarEventBatch + " is received by streamJunction " + this);
+        }
+        if (disruptor != null) {
+            int row = 0;
+            while (row < size) {
+                int claimSize = getClaimSize(size - row);
+                long hi = claim(claimSize);
+                if (hi < 0) {
+                    bufferOverflowState.rejected(claimSize);
+                    for (int i = 0; i < claimSize; i++) {
+                        Object[] data = new Object[streamDefinition.getAttributeList().size()];
+                        columnarEventBatch.copyRowTo(row, data);
+                        onOverflow(columnarEventBatch.getTimestamp(row++), data);
+                    }
+                    continue;
+                }
+                long lo = hi - claimSize + 1;
+                try {
+                    for (long sequenceNo = lo; sequenceNo <= hi; sequenceNo++) {
+                        Event event = ringBuffer.get(sequenceNo).getEvent();
+                        event.setTimestamp(columnarEventBatch.getTimestamp(row));
+                        event.setIsExpired(false);
+                        columnarEventBatch.copyRowTo(row++, event.getData());
+                    }
+                } finally {
+                    ringBuffer.publish(lo, hi);
+                }
+            }
+        } else {
+            for (Receiver receiver : receivers) {
+                receiver.receive(columnarEventBatch);
+            }
+        }
+    }
+
+    /**
+     * Number of buffer slots to claim at once for the given number of pending events. When overflowing events are
+     * rejected, the claim is limited to the remaining capacity such that only the events that do not fit are rejected.
+     */
+    private int getClaimSize(int pendingEvents) {
+        int claimSize = Math.min(pendingEvents, bufferSize);
+        if (overflowAction == OverflowAction.DROP_NEWEST || overflowAction == OverflowAction.STREAM) {
+            claimSize = (int) Math.max(1, Math.min(claimSize, ringBuffer.remainingCapacity()));
+        }
+        return claimSize;
+    }
+
+    /**
+     * Claim the given number of buffer slots based on the overflow action.
+     *
+     * @param claimSize number of slots to be claimed
+     * @return the highest claimed sequence, or -1 if the events have to be rejected
+     */
+    private long claim(int claimSize) {
+        switch (overflowAction) {
+            case BLOCK:
+                if (overflowTimeoutNanos < 0) {
+                    return ringBuffer.next(claimSize);
+                }
+                long deadline = System.nanoTime() + overflowTimeoutNanos;
+                while (true) {
+                    try {
+                        return ringBuffer.tryNext(claimSize);
+                    } catch (InsufficientCapacityException e) {
+                        if (System.nanoTime() - deadline >= 0) {
+                            return -1;
+                        }
+                        LockSupport.parkNanos(OVERFLOW_RETRY_INTERVAL_NANOS);
+                    }
+                }
+            case DROP_OLDEST:
+                try {
+                    return ringBuffer.tryNext(claimSize);
+                } catch (InsufficientCapacityException e) {
+                    int shortfall = (int) Math.max(1, claimSize - ringBuffer.remainingCapacity());
+                    BufferOverflowState.OldestDrops oldestDrops = bufferOverflowState.requestOldestDrops(shortfall);
+                    long sequence = ringBuffer.next(claimSize);
+                    bufferOverflowState.cancelOldestDrops(oldestDrops);
+                    return sequence;
+                }
+            default:
+                try {
+                    return ringBuffer.tryNext(claimSize);
+                } catch (InsufficientCapacityException e) {
+                    return -1;
+                }
+        }
+    }
+
+    private void onOverflow(long timestamp, Object[] data) {
+        if (overflowAction == OverflowAction.STREAM) {
+            StreamEvent streamEvent;
+            synchronized (faultStreamEventChunk) {
+                streamEvent = faultStreamEventChunk.convert(timestamp, data, overflowException);
+            }
+            faultStreamJunction.sendEvent(streamEvent);
+        } else if (isTraceEnabled) {
+            log.trace("Dropping event '" + Arrays.toString(data) + "' as the buffer of streamJunction " + this +
+                    " is full");
+        }
+    }
+
     /**
      * Create and start disruptor based on annotations given in the streamDefinition.
      */
@@ -281,11 +622,16 @@ public class StreamJunction implements EventBufferHolder {
         if (!receivers.isEmpty() && async) {
             for (Constructor constructor : Disruptor.class.getConstructors()) {
                 if (constructor.getParameterTypes().length == 5) {      // If new disruptor classes available
-                    ProducerType producerType = ProducerType.MULTI;
+                    ProducerType producerType = resolveProducerType();
+                    if (log.isDebugEnabled()) {
+                        log.debug("Starting async processing of stream '" + streamDefinition.getId() + "' in '" +
+                                siddhiAppContext.getName() + "' with wait strategy '" + waitStrategyType +
+                                "' and producer type '" + producerType + "'");
+                    }
                     disruptor = new Disruptor<EventExchangeHolder>(
                             new EventExchangeHolderFactory(streamDefinition.getAttributeList().size()),
                             bufferSize, executorService, producerType,
-                            new BlockingWaitStrategy());
+                            createWaitStrategy());
                     disruptor.handleExceptionsWith(siddhiAppContext.getDisruptorExceptionHandler());
                     break;
                 }
@@ -296,16 +642,26 @@ public class StreamJunction implements EventBufferHolder {
                         bufferSize, executorService);
                 disruptor.handleExceptionsWith(siddhiAppContext.getDisruptorExceptionHandler());
             }
+            adaptiveBatchSizes.clear();
             if (workers > 0) {
                 for (int i = 0; i < workers; i++) {
                     disruptor.handleEventsWith(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
-                            siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+                            siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener,
+                            i, workers, keyIndex, overflowAction == OverflowAction.DROP_OLDEST ?
+                            bufferOverflowState : null, createAdaptiveBatchSize()));
                 }
             } else {
                 disruptor.handleEventsWith(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
-                        siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+                        siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener,
+                        0, 1, keyIndex, overflowAction == OverflowAction.DROP_OLDEST ? bufferOverflowState : null,
+                        createAdaptiveBatchSize()));
             }
             ringBuffer = disruptor.start();
+            if (overflowWatermark > 0 && !sources.isEmpty()) {
+                watermarkMonitor = siddhiAppContext.getScheduledExecutorService().scheduleWithFixedDelay(
+                        this::checkWatermark, WATERMARK_CHECK_INTERVAL_MILLIS, WATERMARK_CHECK_INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS);
+            }
         } else {
             for (Receiver receiver : receivers) {
                 if (receiver instanceof StreamCallback) {
@@ -315,7 +671,82 @@ public class StreamJunction implements EventBufferHolder {
         }
     }
 
+    private AdaptiveBatchSize createAdaptiveBatchSize() {
+        if (latencyTargetNanos < 0) {
+            return null;
+        }
+        AdaptiveBatchSize adaptiveBatchSize = new AdaptiveBatchSize(latencyTargetNanos, batchSize,
+                disruptor.getRingBuffer());
+        adaptiveBatchSizes.add(adaptiveBatchSize);
+        return adaptiveBatchSize;
+    }
+
+    /**
+     * Resolve the Disruptor producer type. The single-producer sequencer is only used when explicitly configured, as
+     * a {@link Publisher} may be invoked concurrently, and publishers may be created after the junction is started.
+     *
+     * @return producer type to be used by the Disruptor
+     */
+    private ProducerType resolveProducerType() {
+        if (producerMode == ProducerMode.SINGLE) {
+            return ProducerType.SINGLE;
+        }
+        return ProducerType.MULTI;
+    }
+
+    private WaitStrategy createWaitStrategy() {
+        switch (waitStrategyType) {
+            case SLEEPING:
+                return new SleepingWaitStrategy();
+            case YIELDING:
+                return new YieldingWaitStrategy();
+            case BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            case HYBRID:
+                return PhasedBackoffWaitStrategy.withLock(HYBRID_SPIN_TIMEOUT_NANOS, HYBRID_YIELD_TIMEOUT_NANOS,
+                        TimeUnit.NANOSECONDS);
+            default:
+                return new BlockingWaitStrategy();
+        }
+    }
+
+    /**
+     * Pause the sources of the stream while the buffer usage is above the watermark, and resume them once the
+     * workers have drained the buffer below the watermark.
+     */
+    private void checkWatermark() {
+        double usage = (double) getBufferedEvents() / bufferSize;
+        if (!sourcesPaused && usage > overflowWatermark) {
+            log.info("Pausing sources of stream '" + streamDefinition.getId() + "' in Siddhi app '" +
+                    siddhiAppContext.getName() + "' as its buffer usage " + usage + " is above the watermark " +
+                    overflowWatermark);
+            sourcesPaused = true;
+            for (Source source : sources) {
+                source.pause();
+            }
+        } else if (sourcesPaused && usage <= overflowWatermark) {
+            log.info("Resuming sources of stream '" + streamDefinition.getId() + "' in Siddhi app '" +
+                    siddhiAppContext.getName() + "' as its buffer usage " + usage + " is below the watermark " +
+                    overflowWatermark);
+            resumeSources();
+        }
+    }
+
+    private void resumeSources() {
+        sourcesPaused = false;
+        for (Source source : sources) {
+            source.resume();
+        }
+    }
+
     public synchronized void stopProcessing() {
+        if (watermarkMonitor != null) {
+            watermarkMonitor.cancel(false);
+            watermarkMonitor = null;
+            if (sourcesPaused) {
+                resumeSources();
+            }
+        }
         if (disruptor != null) {
             disruptor.shutdown();
         } else {
@@ -334,6 +765,20 @@ public class StreamJunction implements EventBufferHolder {
         return publisher;
     }
 
+    public void addSource(Source source) {
+        sources.add(source);
+    }
+
+    /**
+     * @return number of events rejected as the async buffer of the stream was full
+     */
+    public long getRejectedEvents() {
+        if (bufferOverflowState != null) {
+            return bufferOverflowState.getRejectedEvents();
+        }
+        return 0L;
+    }
+
     public synchronized void subscribe(Receiver receiver) {
         // To have reverse order at the sequence/pattern processors.
         if (!receivers.contains(receiver)) {
@@ -357,6 +802,23 @@ public class StreamJunction implements EventBufferHolder {
         return 0L;
     }
 
+    public boolean isBatchSizeAdaptive() {
+        return async && latencyTargetNanos > 0;
+    }
+
+    /**
+     * @return the batch size currently chosen by the workers of the stream, averaged across the workers
+     */
+    public long getAdaptiveBatchSize() {
+        long total = 0;
+        int count = 0;
+        for (AdaptiveBatchSize adaptiveBatchSize : adaptiveBatchSizes) {
+            total += adaptiveBatchSize.getBatchSize();
+            count++;
+        }
+        return count == 0 ? 0 : total / count;
+    }
+
     @Override
     public boolean containsBufferedEvents() {
         return (!receivers.isEmpty() && async);
@@ -370,6 +832,35 @@ public class StreamJunction implements EventBufferHolder {
         STREAM
     }
 
+    /**
+     * Wait strategies used by the async worker threads while waiting for events in the buffer
+     */
+    public enum WaitStrategyType {
+        BLOCKING,
+        SLEEPING,
+        YIELDING,
+        BUSY_SPIN,
+        HYBRID
+    }
+
+    /**
+     * Actions taken when the async event buffer is full
+     */
+    public enum OverflowAction {
+        BLOCK,
+        DROP_NEWEST,
+        DROP_OLDEST,
+        STREAM
+    }
+
+    /**
+     * Producer modes of the async event buffer
+     */
+    public enum ProducerMode {
+        MULTI,
+        SINGLE
+    }
+
     /**
      * Interface to be implemented by all receivers who need to subscribe to Stream Junction and receive events.
      */
@@ -381,11 +872,28 @@ public class StreamJunction implements EventBufferHolder {
 
         void receive(Event event);
 
+        /**
+         * Receive a batch of events. The list and the events in it can be reused by the caller once this method
+         * returns, hence they should be copied if they need to be retained beyond this call.
+         *
+         * @param events batch of events
+         */
         void receive(List<Event> events);
 
         void receive(long timeStamp, Object[] data);
 
         void receive(Event[] events);
+
+        /**
+         * Receive a batch of events held in columns. The batch is only valid within this call. Receivers converting
+         * the events into pooled {@link StreamEvent}s override this to copy the values of each row straight into
+         * them, while the default implementation converts the batch into {@link Event}s.
+         *
+         * @param columnarEventBatch batch of events
+         */
+        default void receive(ColumnarEventBatch columnarEventBatch) {
+            receive(columnarEventBatch.toEvents());
+        }
     }
 
     /**
@@ -443,6 +951,16 @@ public class StreamJunction implements EventBufferHolder {
             }
         }
 
+        @Override
+        public void send(ColumnarEventBatch columnarEventBatch, int streamIndex) {
+            try {
+                columnarEventBatch.validate(streamDefinition);
+                streamJunction.sendColumns(columnarEventBatch);
+            } catch (Exception e) {
+                handleError(columnarEventBatch, e);
+            }
+        }
+
         public String getStreamId() {
             return streamJunction.getStreamId();
         }
@@ -461,25 +979,31 @@ public class StreamJunction implements EventBufferHolder {
                     if (faultStreamJunction != null) {
                         StreamEvent streamEvent = null;
                         if (event instanceof ComplexEvent) {
-                            synchronized (this) {
+                            synchronized (faultStreamEventChunk) {
                                 streamEvent = faultStreamEventChunk.convert((ComplexEvent) event, e);
                             }
                             faultStreamJunction.sendEvent(streamEvent);
                         } else if (event instanceof Event) {
-                            synchronized (this) {
+                            synchronized (faultStreamEventChunk) {
                                 streamEvent = faultStreamEventChunk.convert((Event) event, e);
                             }
                             faultStreamJunction.sendEvent(streamEvent);
                         } else if (event instanceof Event[]) {
-                            synchronized (this) {
+                            synchronized (faultStreamEventChunk) {
                                 streamEvent = faultStreamEventChunk.convert((Event[]) event, e);
                             }
                             faultStreamJunction.sendEvent(streamEvent);
                         } else if (event instanceof List) {
-                            synchronized (this) {
+                            synchronized (faultStreamEventChunk) {
                                 streamEvent = faultStreamEventChunk.convert((List<Event>) event, e);
                             }
                             faultStreamJunction.sendEvent(streamEvent);
+                        } else if (event instanceof ColumnarEventBatch) {
+                            synchronized (faultStreamEventChunk) {
+                                streamEvent = faultStreamEventChunk.convert(
+                                        ((ColumnarEventBatch) event).toEvents(), e);
+                            }
+                            faultStreamJunction.sendEvent(streamEvent);
                         }
                     } else {
                         log.error("Error in SiddhiApp '" + siddhiAppContext.getName() +
@@ -506,7 +1030,7 @@ public class StreamJunction implements EventBufferHolder {
                 case STREAM:
                     if (faultStreamJunction != null) {
                         StreamEvent streamEvent = null;
-                        synchronized (this) {
+                        synchronized (faultStreamEventChunk) {
                             streamEvent = faultStreamEventChunk.convert(timeStamp, data, e);
                         }
                         faultStreamJunction.sendEvent(streamEvent);
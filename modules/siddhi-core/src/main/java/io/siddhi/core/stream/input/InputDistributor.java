@@ -17,6 +17,7 @@
  */
 package io.siddhi.core.stream.input;
 
+import io.siddhi.core.event.ColumnarEventBatch;
 import io.siddhi.core.event.Event;
 
 import java.util.ArrayList;
@@ -49,6 +50,11 @@ public class InputDistributor implements InputProcessor {
         inputProcessors.get(streamIndex).send(timestamp, data, streamIndex);
     }
 
+    @Override
+    public void send(ColumnarEventBatch columnarEventBatch, int streamIndex) {
+        inputProcessors.get(streamIndex).send(columnarEventBatch, streamIndex);
+    }
+
     public void addInputProcessor(InputProcessor inputProcessor) {
         inputProcessors.add(inputProcessor);
 
@@ -19,6 +19,7 @@
 package io.siddhi.core.stream.input;
 
 import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.ColumnarEventBatch;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.util.ThreadBarrier;
 
@@ -61,4 +62,10 @@ public class InputEntryValve implements InputProcessor {
         barrier.pass();
         inputProcessor.send(timestamp, data, streamIndex);
     }
+
+    @Override
+    public void send(ColumnarEventBatch columnarEventBatch, int streamIndex) {
+        barrier.pass();
+        inputProcessor.send(columnarEventBatch, streamIndex);
+    }
 }
@@ -18,6 +18,7 @@
 package io.siddhi.core.stream.input;
 
 import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.ColumnarEventBatch;
 import io.siddhi.core.event.Event;
 import org.apache.log4j.Logger;
 
@@ -84,6 +85,24 @@ public class InputHandler {
         }
     }
 
+    /**
+     * Send a batch of events given as columns. Numeric and boolean attributes can be given as primitive arrays, and
+     * are boxed only when the events are placed into the stream.
+     *
+     * @param columnarEventBatch events of the stream in columnar form
+     * @throws InterruptedException when the publishing thread is interrupted
+     */
+    public void send(ColumnarEventBatch columnarEventBatch) throws InterruptedException {
+        // Set timestamp to system if Siddhi is in playback mode
+        if (siddhiAppContext.isPlayback() && columnarEventBatch.size() != 0) {
+            this.siddhiAppContext.getTimestampGenerator().setCurrentTimestamp(
+                    columnarEventBatch.getTimestamp(columnarEventBatch.size() - 1));
+        }
+        if (inputProcessor != null) {
+            inputProcessor.send(columnarEventBatch, streamIndex);
+        }
+    }
+
     void disconnect() {
         this.inputProcessor = null;
     }
@@ -18,6 +18,7 @@
 
 package io.siddhi.core.stream.input;
 
+import io.siddhi.core.event.ColumnarEventBatch;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.stream.StreamJunction;
 
@@ -37,5 +38,7 @@ public interface InputProcessor {
 
     void send(long timestamp, Object[] data, int streamIndex);
 
+    void send(ColumnarEventBatch columnarEventBatch, int streamIndex);
+
 }
 
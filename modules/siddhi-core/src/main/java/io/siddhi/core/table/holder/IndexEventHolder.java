@@ -27,6 +27,7 @@ import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.event.stream.converter.StreamEventConverter;
 import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.CompositeKey;
 import io.siddhi.core.util.snapshot.SnapshotRequest;
 import io.siddhi.core.util.snapshot.state.SnapshotState;
 import io.siddhi.core.util.snapshot.state.SnapshotStateList;
@@ -207,12 +208,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyReferenceHolders.length == 1) {
             return streamEvent.getOutputData()[primaryKeyReferenceHolders[0].getPrimaryKeyPosition()];
         } else {
-            StringBuilder stringBuilder = new StringBuilder();
-            for (PrimaryKeyReferenceHolder primaryKeyReferenceHolder : primaryKeyReferenceHolders) {
-                stringBuilder.append(streamEvent.getOutputData()[primaryKeyReferenceHolder.getPrimaryKeyPosition()])
-                        .append(SiddhiConstants.KEY_DELIMITER);
+            Object[] values = new Object[primaryKeyReferenceHolders.length];
+            for (int i = 0; i < primaryKeyReferenceHolders.length; i++) {
+                values[i] = streamEvent.getOutputData()[primaryKeyReferenceHolders[i].getPrimaryKeyPosition()];
             }
-            return stringBuilder.toString();
+            return CompositeKey.of(values);
         }
     }
 
@@ -628,6 +628,18 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
     }
 
+    private Object restorePrimaryKey(Object value) {
+        if (value instanceof String && primaryKeyReferenceHolders != null && primaryKeyReferenceHolders.length > 1) {
+            // Operations logged by earlier versions hold composite primary keys as their joined string
+            for (Object primaryKey : primaryKeyData.keySet()) {
+                if (primaryKey.toString().equals(value)) {
+                    return primaryKey;
+                }
+            }
+        }
+        return value;
+    }
+
     public void restore(SnapshotStateList snapshotStatelist) {
         TreeMap<Long, SnapshotState> revisions = snapshotStatelist.getSnapshotStates();
         Iterator<Map.Entry<Long, SnapshotState>> itr = revisions.entrySet().iterator();
@@ -639,7 +651,16 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 IndexEventHolder snapshotEventHolder = (IndexEventHolder) snapshotEntry.getValue().getState();
                 if (primaryKeyData != null) {
                     primaryKeyData.clear();
-                    primaryKeyData.putAll(snapshotEventHolder.primaryKeyData);
+                    if (primaryKeyReferenceHolders.length == 1) {
+                        primaryKeyData.putAll(snapshotEventHolder.primaryKeyData);
+                    } else {
+                        // Snapshots persisted by earlier versions key composite primary keys by their joined
+                        // string, hence the keys are constructed again from the events
+                        for (StreamEvent streamEvent : snapshotEventHolder.primaryKeyData.values()) {
+                            primaryKeyData.put(constructPrimaryKey(streamEvent, primaryKeyReferenceHolders),
+                                    streamEvent);
+                        }
+                    }
                 }
                 if (indexData != null) {
                     indexData.clear();
@@ -664,7 +685,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                             break;
                         case DELETE_BY_OPERATOR:
                             Object[] args = (Object[]) op.parameters;
-                            delete((String) args[0], (Compare.Operator) args[1], args[2]);
+                            delete((String) args[0], (Compare.Operator) args[1], restorePrimaryKey(args[2]));
                             break;
                         default:
                             continue;
@@ -276,6 +276,10 @@ public class SiddhiAppRuntimeBuilder {
         return aggregationDefinitionMap;
     }
 
+    public Map<String, QueryRuntime> getQueryProcessorMap() {
+        return queryProcessorMap;
+    }
+
     public LockSynchronizer getLockSynchronizer() {
         return lockSynchronizer;
     }
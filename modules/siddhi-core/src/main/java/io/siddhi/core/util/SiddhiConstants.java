@@ -55,6 +55,8 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_ON_ERROR = "on.error";
 
     public static final String ANNOTATION_STATISTICS = "Statistics";
+    public static final String ANNOTATION_EXECUTION = "Execution";
+    public static final String ANNOTATION_EVENT_POOL = "EventPool";
     public static final String ANNOTATION_INDEX_BY = "IndexBy";
     public static final String ANNOTATION_INDEX = "Index";
     public static final String ANNOTATION_PRIMARY_KEY = "PrimaryKey";
@@ -70,6 +72,13 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_BUFFER_SIZE = "buffer.size";
     public static final String ANNOTATION_ELEMENT_WORKERS = "workers";
     public static final String ANNOTATION_ELEMENT_MAX_BATCH_SIZE = "batch.size.max";
+    public static final String ANNOTATION_ELEMENT_KEY = "key";
+    public static final String ANNOTATION_ELEMENT_OVERFLOW_ACTION = "overflow.action";
+    public static final String ANNOTATION_ELEMENT_OVERFLOW_TIMEOUT = "overflow.timeout";
+    public static final String ANNOTATION_ELEMENT_OVERFLOW_WATERMARK = "overflow.watermark";
+    public static final String ANNOTATION_ELEMENT_LATENCY_TARGET = "latency.target";
+    public static final String ANNOTATION_ELEMENT_WAIT_STRATEGY = "wait.strategy";
+    public static final String ANNOTATION_ELEMENT_PRODUCER_TYPE = "producer.type";
     public static final String ANNOTATION_ELEMENT_IDLE_TIME = "idle.time";
     public static final String ANNOTATION_ELEMENT_INCREMENT = "increment";
     public static final String ANNOTATION_ELEMENT_TYPE = "type";
@@ -78,6 +87,16 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_REF = "ref";
     public static final String ANNOTATION_ELEMENT_ENABLE = "enable";
     public static final String ANNOTATION_ELEMENT_INCLUDE = "include";
+    public static final String ANNOTATION_ELEMENT_THREADS = "threads";
+    public static final String ANNOTATION_ELEMENT_EXPRESSIONS = "expressions";
+    public static final String ANNOTATION_ELEMENT_CONDITION_ORDER = "condition.order";
+    public static final String ANNOTATION_ELEMENT_GROUP_BY_SHARDS = "group.by.shards";
+    public static final String ANNOTATION_ELEMENT_WINDOW_LOOKUP = "window.lookup";
+    public static final String ANNOTATION_ELEMENT_IDLE_PERIOD = "idle.period";
+    public static final String ANNOTATION_ELEMENT_MAX_GROUPS = "max.groups";
+    public static final String ANNOTATION_ELEMENT_SIZE = "size";
+    public static final String ANNOTATION_ELEMENT_THREAD_LOCAL_CACHE = "thread.local.cache";
+    public static final String ANNOTATION_ELEMENT_ORDERED = "ordered";
     public static final String ANNOTATION_PARTITION_BY_ID = "PartitionById";
 
     public static final String TRUE = "true";
@@ -101,6 +120,7 @@ public final class SiddhiConstants {
     public static final String METRIC_INFIX_QUERIES = "Queries";
     public static final String METRIC_INFIX_AGGREGATIONS = "Aggregations";
     public static final String METRIC_INFIX_WINDOWS = "Windows";
+    public static final String METRIC_INFIX_EVENT_POOLS = "EventPools";
     public static final String METRIC_INFIX_SOURCES = "Sources";
     public static final String METRIC_INFIX_SOURCE_MAPPERS = "SourceMappers";
     public static final String METRIC_INFIX_SINKS = "Sinks";
@@ -119,6 +139,7 @@ public final class SiddhiConstants {
     public static final String TRANSPORT_CHANNEL_CREATION_IDENTIFIER = "transportChannelCreationEnabled";
 
     public static final String NAMESPACE_PURGE = "purge";
+    public static final String NAMESPACE_SNAPSHOT = "snapshot";
     public static final String NAMESPACE_RETENTION = "retentionPeriod";
     public static final String NAMESPACE_INTERVAL = "interval";
 }
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.collection;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Key of a group by group or a composite primary key, holding the values of its attributes. Keys of a single numeric
+ * attribute keep the value as a primitive, and keys of multiple attributes cache their hash code. Two keys are equal
+ * when they are of the same form and their values are equal, hence a null value only equals a null value, and
+ * values containing {@link SiddhiConstants#KEY_DELIMITER} never collide.
+ * <p>
+ * {@link #toString()} returns the values joined by {@link SiddhiConstants#KEY_DELIMITER}, which is used as the key
+ * when cloning the executors and aggregators of a group.
+ */
+public abstract class CompositeKey implements Serializable {
+
+    private static final long serialVersionUID = -2434946403547410262L;
+
+    /**
+     * Evaluate the given executors on the event and create the key of their results.
+     *
+     * @param executors executors of the key attributes
+     * @param event     event to evaluate the executors on
+     * @return the key
+     */
+    public static CompositeKey of(ExpressionExecutor[] executors, ComplexEvent event) {
+        if (executors.length == 1) {
+            return of(executors[0], event);
+        }
+        Object[] values = new Object[executors.length];
+        for (int i = 0; i < executors.length; i++) {
+            values[i] = executors[i].execute(event);
+        }
+        return new MultiValueKey(values);
+    }
+
+    private static CompositeKey of(ExpressionExecutor executor, ComplexEvent event) {
+        switch (executor.getReturnType()) {
+            case INT:
+                int intValue = executor.executeInt(event);
+                return event.wasNullResult() ? ObjectKey.NULL : new IntKey(intValue);
+            case LONG:
+                long longValue = executor.executeLong(event);
+                return event.wasNullResult() ? ObjectKey.NULL : new LongKey(longValue);
+            case FLOAT:
+                float floatValue = executor.executeFloat(event);
+                return event.wasNullResult() ? ObjectKey.NULL : new FloatKey(floatValue);
+            case DOUBLE:
+                double doubleValue = executor.executeDouble(event);
+                return event.wasNullResult() ? ObjectKey.NULL : new DoubleKey(doubleValue);
+            default:
+                return new ObjectKey(executor.execute(event));
+        }
+    }
+
+    /**
+     * Create the key of the given attribute values.
+     *
+     * @param values values of the key attributes
+     * @return the key
+     */
+    public static CompositeKey of(Object... values) {
+        if (values.length == 1) {
+            Object value = values[0];
+            if (value instanceof Integer) {
+                return new IntKey((Integer) value);
+            } else if (value instanceof Long) {
+                return new LongKey((Long) value);
+            } else if (value instanceof Float) {
+                return new FloatKey((Float) value);
+            } else if (value instanceof Double) {
+                return new DoubleKey((Double) value);
+            }
+            return new ObjectKey(value);
+        }
+        return new MultiValueKey(values.clone());
+    }
+
+    /**
+     * Convert the given key restored from a snapshot to a composite key. Snapshots persisted by earlier versions hold
+     * the keys as strings of the values joined by {@link SiddhiConstants#KEY_DELIMITER}, whose values are parsed as
+     * the given types. As such keys do not distinguish a null value from the string "null", the value "null" is
+     * restored as null.
+     *
+     * @param key       key restored from the snapshot
+     * @param keyTypes  types of the key attributes, or null if not known
+     * @param elementId id of the element restoring the key
+     * @return the composite key
+     * @throws SiddhiAppRuntimeException if the key cannot be converted
+     */
+    public static CompositeKey restoreKey(Object key, Attribute.Type[] keyTypes, String elementId) {
+        if (key instanceof CompositeKey) {
+            return (CompositeKey) key;
+        }
+        if (!(key instanceof String) || keyTypes == null) {
+            throw new SiddhiAppRuntimeException("Cannot restore the state of '" + elementId + "' as the group by " +
+                    "key '" + key + "' of its snapshot cannot be converted. Clear the persisted state of the Siddhi " +
+                    "app before restarting it.");
+        }
+        String[] parts = ((String) key).split(Pattern.quote(SiddhiConstants.KEY_DELIMITER), -1);
+        if (parts.length != keyTypes.length + 1 || !parts[keyTypes.length].isEmpty()) {
+            throw new SiddhiAppRuntimeException("Cannot restore the state of '" + elementId + "' as the group by " +
+                    "key '" + key + "' of its snapshot does not hold " + keyTypes.length + " values. Clear the " +
+                    "persisted state of the Siddhi app before restarting it.");
+        }
+        Object[] values = new Object[keyTypes.length];
+        for (int i = 0; i < keyTypes.length; i++) {
+            values[i] = parseKeyValue(parts[i], keyTypes[i], key, elementId);
+        }
+        return of(values);
+    }
+
+    /**
+     * Convert the keys of the given map restored from a snapshot to composite keys, as by
+     * {@link #restoreKey(Object, Attribute.Type[], String)}.
+     *
+     * @param map       map restored from the snapshot
+     * @param keyTypes  types of the key attributes, or null if not known
+     * @param elementId id of the element restoring the map
+     * @param <V>       type of the values of the map
+     * @return the given map if all its keys are composite keys, else a map of the converted keys in the same order
+     * @throws SiddhiAppRuntimeException if a key cannot be converted
+     */
+    public static <V> Map<CompositeKey, V> restoreKeys(Map<?, V> map, Attribute.Type[] keyTypes, String elementId) {
+        boolean converted = true;
+        for (Object key : map.keySet()) {
+            if (!(key instanceof CompositeKey)) {
+                converted = false;
+                break;
+            }
+        }
+        if (converted) {
+            return (Map<CompositeKey, V>) map;
+        }
+        Map<CompositeKey, V> restoredMap = new LinkedHashMap<>();
+        for (Map.Entry<?, V> entry : map.entrySet()) {
+            restoredMap.put(restoreKey(entry.getKey(), keyTypes, elementId), entry.getValue());
+        }
+        return restoredMap;
+    }
+
+    /**
+     * Convert the given keys restored from a snapshot to composite keys, as by
+     * {@link #restoreKey(Object, Attribute.Type[], String)}.
+     *
+     * @param keys      keys restored from the snapshot
+     * @param keyTypes  types of the key attributes, or null if not known
+     * @param elementId id of the element restoring the keys
+     * @return the converted keys in the same order
+     * @throws SiddhiAppRuntimeException if a key cannot be converted
+     */
+    public static List<CompositeKey> restoreKeys(List<?> keys, Attribute.Type[] keyTypes, String elementId) {
+        List<CompositeKey> restoredKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            restoredKeys.add(restoreKey(key, keyTypes, elementId));
+        }
+        return restoredKeys;
+    }
+
+    private static Object parseKeyValue(String value, Attribute.Type type, Object key, String elementId) {
+        if ("null".equals(value)) {
+            return null;
+        }
+        try {
+            switch (type) {
+                case STRING:
+                    return value;
+                case INT:
+                    return Integer.parseInt(value);
+                case LONG:
+                    return Long.parseLong(value);
+                case FLOAT:
+                    return Float.parseFloat(value);
+                case DOUBLE:
+                    return Double.parseDouble(value);
+                case BOOL:
+                    if ("true".equals(value) || "false".equals(value)) {
+                        return Boolean.valueOf(value);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below along with the other values that cannot be parsed
+        }
+        throw new SiddhiAppRuntimeException("Cannot restore the state of '" + elementId + "' as the value '" +
+                value + "' of the group by key '" + key + "' of its snapshot cannot be converted to " + type +
+                ". Clear the persisted state of the Siddhi app before restarting it.");
+    }
+
+    private static final class IntKey extends CompositeKey {
+
+        private static final long serialVersionUID = -4196375372101566658L;
+        private final int value;
+
+        private IntKey(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IntKey && ((IntKey) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value + SiddhiConstants.KEY_DELIMITER;
+        }
+    }
+
+    private static final class LongKey extends CompositeKey {
+
+        private static final long serialVersionUID = 5771434574530232286L;
+        private final long value;
+
+        private LongKey(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LongKey && ((LongKey) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return value + SiddhiConstants.KEY_DELIMITER;
+        }
+    }
+
+    private static final class FloatKey extends CompositeKey {
+
+        private static final long serialVersionUID = 8836016722466547418L;
+        private final float value;
+
+        private FloatKey(float value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof FloatKey &&
+                    Float.floatToIntBits(((FloatKey) o).value) == Float.floatToIntBits(value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Float.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return value + SiddhiConstants.KEY_DELIMITER;
+        }
+    }
+
+    private static final class DoubleKey extends CompositeKey {
+
+        private static final long serialVersionUID = -1659254396409466838L;
+        private final double value;
+
+        private DoubleKey(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DoubleKey &&
+                    Double.doubleToLongBits(((DoubleKey) o).value) == Double.doubleToLongBits(value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return value + SiddhiConstants.KEY_DELIMITER;
+        }
+    }
+
+    private static final class ObjectKey extends CompositeKey {
+
+        private static final long serialVersionUID = 2587315937446532012L;
+        private static final ObjectKey NULL = new ObjectKey(null);
+        private final Object value;
+
+        private ObjectKey(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ObjectKey)) {
+                return false;
+            }
+            Object otherValue = ((ObjectKey) o).value;
+            return value == null ? otherValue == null : value.equals(otherValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return value == null ? 0 : value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return value + SiddhiConstants.KEY_DELIMITER;
+        }
+    }
+
+    private static final class MultiValueKey extends CompositeKey {
+
+        private static final long serialVersionUID = 7167069385530848817L;
+        private final Object[] values;
+        private final int hashCode;
+
+        private MultiValueKey(Object[] values) {
+            this.values = values;
+            this.hashCode = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MultiValueKey && ((MultiValueKey) o).hashCode == hashCode &&
+                    Arrays.equals(((MultiValueKey) o).values, values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder stringBuilder = new StringBuilder();
+            for (Object value : values) {
+                stringBuilder.append(value).append(SiddhiConstants.KEY_DELIMITER);
+            }
+            return stringBuilder.toString();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.collection;
+
+/**
+ * Key of an event in a sorted collection, holding the values of the attributes the events are sorted by and the
+ * arrival sequence of the event, which orders the events having equal values. Bounds hold only the value of the first
+ * attribute, and are ordered before or after all the keys having that value.
+ */
+public final class SortKey {
+
+    private final Object[] values;
+    private final long sequence;
+
+    public SortKey(Object[] values, long sequence) {
+        this.values = values;
+        this.sequence = sequence;
+    }
+
+    /**
+     * @param value value of the first attribute
+     * @return key ordered before all the keys having the given value as their first attribute
+     */
+    public static SortKey lowerBound(Object value) {
+        return new SortKey(new Object[]{value}, Long.MIN_VALUE);
+    }
+
+    /**
+     * @param value value of the first attribute
+     * @return key ordered after all the keys having the given value as their first attribute
+     */
+    public static SortKey upperBound(Object value) {
+        return new SortKey(new Object[]{value}, Long.MAX_VALUE);
+    }
+
+    public Object[] getValues() {
+        return values;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -24,7 +24,9 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.table.holder.IndexedEventHolder;
-import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.AttributeConverter;
+import io.siddhi.core.util.collection.CompositeKey;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.expression.condition.Compare;
 
 import java.util.Collection;
@@ -38,11 +40,27 @@ public class AndMultiPrimaryKeyCollectionExecutor implements CollectionExecutor
 
     private final String compositePrimaryKey;
     private final List<ExpressionExecutor> multiPrimaryKeyExpressionExecutors;
+    private final Attribute.Type[] primaryKeyTypes;
+    private final AttributeConverter attributeConverter = new AttributeConverter();
 
+    /**
+     * @param compositePrimaryKey                names of the primary key attributes
+     * @param multiPrimaryKeyExpressionExecutors executors of the values matched against the primary key attributes
+     * @param primaryKeyTypes                    types of the primary key attributes
+     */
     public AndMultiPrimaryKeyCollectionExecutor(String compositePrimaryKey,
-                                                List<ExpressionExecutor> multiPrimaryKeyExpressionExecutors) {
+                                                List<ExpressionExecutor> multiPrimaryKeyExpressionExecutors,
+                                                List<Attribute.Type> primaryKeyTypes) {
         this.compositePrimaryKey = compositePrimaryKey;
         this.multiPrimaryKeyExpressionExecutors = multiPrimaryKeyExpressionExecutors;
+        this.primaryKeyTypes = new Attribute.Type[primaryKeyTypes.size()];
+        for (int i = 0; i < primaryKeyTypes.size(); i++) {
+            Attribute.Type primaryKeyType = primaryKeyTypes.get(i);
+            if (multiPrimaryKeyExpressionExecutors.get(i).getReturnType() != primaryKeyType
+                    && primaryKeyType != Attribute.Type.OBJECT) {
+                this.primaryKeyTypes[i] = primaryKeyType;
+            }
+        }
     }
 
     public StreamEvent find(StateEvent matchingEvent, IndexedEventHolder indexedEventHolder, StreamEventCloner
@@ -92,12 +110,32 @@ public class AndMultiPrimaryKeyCollectionExecutor implements CollectionExecutor
         if (multiPrimaryKeyExpressionExecutors.size() == 1) {
             return multiPrimaryKeyExpressionExecutors.get(0).execute(matchingEvent);
         } else {
-            StringBuilder stringBuilder = new StringBuilder();
-            for (ExpressionExecutor expressionExecutor : multiPrimaryKeyExpressionExecutors) {
-                stringBuilder.append(expressionExecutor.execute(matchingEvent))
-                        .append(SiddhiConstants.KEY_DELIMITER);
+            Object[] values = new Object[multiPrimaryKeyExpressionExecutors.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = multiPrimaryKeyExpressionExecutors.get(i).execute(matchingEvent);
+                if (primaryKeyTypes[i] != null && values[i] != null) {
+                    values[i] = convertToPrimaryKeyType(values[i], primaryKeyTypes[i]);
+                }
+            }
+            return CompositeKey.of(values);
+        }
+    }
+
+    /**
+     * Convert a value of a different type to the type of its primary key attribute, as the key only matches a stored
+     * key holding values of the same types. The value is converted only when the converted value has the same string
+     * representation, and is kept as it is otherwise.
+     */
+    private Object convertToPrimaryKeyType(Object value, Attribute.Type primaryKeyType) {
+        String stringValue = value.toString();
+        try {
+            Object convertedValue = attributeConverter.getPropertyValue(stringValue, primaryKeyType);
+            if (stringValue.equals(convertedValue.toString())) {
+                return convertedValue;
             }
-            return stringBuilder.toString();
+        } catch (NumberFormatException e) {
+            // Not a value of the primary key type, hence it does not match any stored key
         }
+        return value;
     }
 }
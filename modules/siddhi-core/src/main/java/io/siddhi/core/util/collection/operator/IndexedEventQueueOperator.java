@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.collection.operator;
+
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.event.stream.holder.HashEventQueueIndex;
+import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.VariableExpressionExecutor;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_INDEX_IN_TYPE;
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_TYPE_INDEX;
+
+/**
+ * Operator on events held in a {@link SnapshotableStreamEventQueue}, for conditions requiring an attribute of the
+ * events to be equal to a value evaluated on the matching event. Only the events having that value are looked up
+ * from the hash index of the queue, on which the whole condition is then evaluated. Deletes and updates scan the whole
+ * queue.
+ */
+public class IndexedEventQueueOperator extends SnapshotableEventQueueOperator {
+
+    protected final VariableExpressionExecutor indexedAttributeExecutor;
+    protected final ExpressionExecutor valueExecutor;
+
+    /**
+     * @param expressionExecutor       executor of the whole condition
+     * @param storeEventPosition       position of the store event in the matching event
+     * @param indexedAttributeExecutor executor of the indexed attribute of the store events
+     * @param valueExecutor            executor of the value, evaluated on the matching event
+     */
+    public IndexedEventQueueOperator(ExpressionExecutor expressionExecutor, int storeEventPosition,
+                                     VariableExpressionExecutor indexedAttributeExecutor,
+                                     ExpressionExecutor valueExecutor) {
+        super(expressionExecutor, storeEventPosition);
+        this.indexedAttributeExecutor = indexedAttributeExecutor;
+        this.valueExecutor = valueExecutor;
+    }
+
+    @Override
+    public CompiledCondition cloneCompilation(String key) {
+        return new IndexedEventQueueOperator(expressionExecutor.cloneExecutor(key), storeEventPosition,
+                indexedAttributeExecutor, valueExecutor.cloneExecutor(key));
+    }
+
+    @Override
+    public StreamEvent find(StateEvent matchingEvent, Object storeEvents, StreamEventCloner storeEventCloner) {
+        Collection<StreamEvent> candidateEvents = findCandidates(matchingEvent, storeEvents);
+        if (candidateEvents.isEmpty()) {
+            return null;
+        }
+        ComplexEventChunk<StreamEvent> returnEventChunk = new ComplexEventChunk<StreamEvent>(false);
+        try {
+            for (StreamEvent storeEvent : candidateEvents) {
+                matchingEvent.setEvent(storeEventPosition, storeEvent);
+                if ((Boolean) expressionExecutor.execute(matchingEvent)) {
+                    returnEventChunk.add(storeEventCloner.copyStreamEvent(storeEvent));
+                }
+            }
+        } finally {
+            matchingEvent.setEvent(storeEventPosition, null);
+        }
+        return returnEventChunk.getFirst();
+    }
+
+    @Override
+    public boolean contains(StateEvent matchingEvent, Object storeEvents) {
+        Collection<StreamEvent> candidateEvents = findCandidates(matchingEvent, storeEvents);
+        try {
+            for (StreamEvent storeEvent : candidateEvents) {
+                matchingEvent.setEvent(storeEventPosition, storeEvent);
+                if ((Boolean) expressionExecutor.execute(matchingEvent)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            matchingEvent.setEvent(storeEventPosition, null);
+        }
+    }
+
+    /**
+     * @return events having the value of the matching event, or none if the value is null, as null is never equal
+     */
+    protected Collection<StreamEvent> findCandidates(StateEvent matchingEvent, Object storeEvents) {
+        Object value = valueExecutor.execute(matchingEvent);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        int[] position = indexedAttributeExecutor.getPosition();
+        HashEventQueueIndex index = ((SnapshotableStreamEventQueue) storeEvents).getIndex(
+                position[STREAM_ATTRIBUTE_TYPE_INDEX], position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]);
+        return index.find(value);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.collection.operator;
+
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.holder.IntervalEventQueueIndex;
+import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.VariableExpressionExecutor;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_INDEX_IN_TYPE;
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_TYPE_INDEX;
+
+/**
+ * Operator on events held in a {@link SnapshotableStreamEventQueue}, for interval conditions requiring a key attribute
+ * of the events to be equal to a value, and a range attribute, such as a timestamp, to be within bounds, all evaluated
+ * on the matching event. Only the events of the key within the range are looked up from the interval index of the
+ * queue, on which the whole condition is then evaluated.
+ */
+public class IntervalEventQueueOperator extends IndexedEventQueueOperator {
+
+    private final VariableExpressionExecutor rangeAttributeExecutor;
+    private final ExpressionExecutor lowerBoundExecutor;
+    private final boolean lowerInclusive;
+    private final ExpressionExecutor upperBoundExecutor;
+    private final boolean upperInclusive;
+
+    /**
+     * @param expressionExecutor       executor of the whole condition
+     * @param storeEventPosition       position of the store event in the matching event
+     * @param indexedAttributeExecutor executor of the key attribute of the store events
+     * @param valueExecutor            executor of the key value, evaluated on the matching event
+     * @param rangeAttributeExecutor   executor of the range attribute of the store events
+     * @param lowerBoundExecutor       executor of the lower bound, evaluated on the matching event, or null if the
+     *                                 range has no lower bound
+     * @param lowerInclusive           whether the lower bound is in the range
+     * @param upperBoundExecutor       executor of the upper bound, evaluated on the matching event, or null if the
+     *                                 range has no upper bound
+     * @param upperInclusive           whether the upper bound is in the range
+     */
+    public IntervalEventQueueOperator(ExpressionExecutor expressionExecutor, int storeEventPosition,
+                                      VariableExpressionExecutor indexedAttributeExecutor,
+                                      ExpressionExecutor valueExecutor,
+                                      VariableExpressionExecutor rangeAttributeExecutor,
+                                      ExpressionExecutor lowerBoundExecutor, boolean lowerInclusive,
+                                      ExpressionExecutor upperBoundExecutor, boolean upperInclusive) {
+        super(expressionExecutor, storeEventPosition, indexedAttributeExecutor, valueExecutor);
+        this.rangeAttributeExecutor = rangeAttributeExecutor;
+        this.lowerBoundExecutor = lowerBoundExecutor;
+        this.lowerInclusive = lowerInclusive;
+        this.upperBoundExecutor = upperBoundExecutor;
+        this.upperInclusive = upperInclusive;
+    }
+
+    @Override
+    public CompiledCondition cloneCompilation(String key) {
+        return new IntervalEventQueueOperator(expressionExecutor.cloneExecutor(key), storeEventPosition,
+                indexedAttributeExecutor, valueExecutor.cloneExecutor(key), rangeAttributeExecutor,
+                lowerBoundExecutor != null ? lowerBoundExecutor.cloneExecutor(key) : null, lowerInclusive,
+                upperBoundExecutor != null ? upperBoundExecutor.cloneExecutor(key) : null, upperInclusive);
+    }
+
+    /**
+     * @return events of the key value within the range, or none if the key value or a bound is null, as null is never
+     * equal to or compared with a value
+     */
+    @Override
+    protected Collection<StreamEvent> findCandidates(StateEvent matchingEvent, Object storeEvents) {
+        Object value = valueExecutor.execute(matchingEvent);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        Object lowerBound = null;
+        if (lowerBoundExecutor != null) {
+            lowerBound = lowerBoundExecutor.execute(matchingEvent);
+            if (lowerBound == null) {
+                return Collections.emptyList();
+            }
+        }
+        Object upperBound = null;
+        if (upperBoundExecutor != null) {
+            upperBound = upperBoundExecutor.execute(matchingEvent);
+            if (upperBound == null) {
+                return Collections.emptyList();
+            }
+        }
+        int[] keyPosition = indexedAttributeExecutor.getPosition();
+        int[] rangePosition = rangeAttributeExecutor.getPosition();
+        IntervalEventQueueIndex index = ((SnapshotableStreamEventQueue) storeEvents).getIntervalIndex(
+                keyPosition[STREAM_ATTRIBUTE_TYPE_INDEX], keyPosition[STREAM_ATTRIBUTE_INDEX_IN_TYPE],
+                rangePosition[STREAM_ATTRIBUTE_TYPE_INDEX], rangePosition[STREAM_ATTRIBUTE_INDEX_IN_TYPE]);
+        return index.find(value, lowerBound, lowerInclusive, upperBound, upperInclusive);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.collection.operator;
+
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.util.collection.SortKey;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.NavigableMap;
+
+/**
+ * Operator on events held in a {@link NavigableMap} sorted by {@link SortKey}s, for conditions comparing the first
+ * sort attribute of the events with a bound evaluated on the matching event. Only the range of events satisfying the
+ * comparison is scanned, on which the whole condition is then evaluated.
+ */
+public class SortedMapOperator extends MapOperator {
+
+    private final ExpressionExecutor boundExecutor;
+    private final Compare.Operator operator;
+    private final boolean descending;
+
+    /**
+     * @param expressionExecutor executor of the whole condition
+     * @param storeEventPosition position of the store event in the matching event
+     * @param boundExecutor      executor of the bound, evaluated on the matching event
+     * @param operator           operator comparing the first sort attribute with the bound
+     * @param descending         whether the events are sorted in the descending order of the first sort attribute
+     */
+    public SortedMapOperator(ExpressionExecutor expressionExecutor, int storeEventPosition,
+                             ExpressionExecutor boundExecutor, Compare.Operator operator, boolean descending) {
+        super(expressionExecutor, storeEventPosition);
+        this.boundExecutor = boundExecutor;
+        this.operator = operator;
+        this.descending = descending;
+    }
+
+    @Override
+    public CompiledCondition cloneCompilation(String key) {
+        return new SortedMapOperator(expressionExecutor.cloneExecutor(key), storeEventPosition,
+                boundExecutor.cloneExecutor(key), operator, descending);
+    }
+
+    @Override
+    public StreamEvent find(StateEvent matchingEvent, Object storeEvents, StreamEventCloner storeEventCloner) {
+        NavigableMap<SortKey, StreamEvent> range = range(matchingEvent, storeEvents);
+        if (range == null) {
+            return null;
+        }
+        return super.find(matchingEvent, range, storeEventCloner);
+    }
+
+    @Override
+    public boolean contains(StateEvent matchingEvent, Object storeEvents) {
+        NavigableMap<SortKey, StreamEvent> range = range(matchingEvent, storeEvents);
+        return range != null && super.contains(matchingEvent, range);
+    }
+
+    /**
+     * @return view of the events which can satisfy the comparison, or null if none can as the bound is null
+     */
+    private NavigableMap<SortKey, StreamEvent> range(StateEvent matchingEvent, Object storeEvents) {
+        NavigableMap<SortKey, StreamEvent> sortedEvents = (NavigableMap<SortKey, StreamEvent>) storeEvents;
+        Object bound = boundExecutor.execute(matchingEvent);
+        if (bound == null) {
+            return null;
+        }
+        SortKey lowerBound = SortKey.lowerBound(bound);
+        SortKey upperBound = SortKey.upperBound(bound);
+        switch (operator) {
+            case EQUAL:
+                return sortedEvents.subMap(lowerBound, true, upperBound, true);
+            case GREATER_THAN:
+                return descending ? sortedEvents.headMap(lowerBound, false) : sortedEvents.tailMap(upperBound, false);
+            case GREATER_THAN_EQUAL:
+                return descending ? sortedEvents.headMap(upperBound, false) : sortedEvents.tailMap(lowerBound, false);
+            case LESS_THAN:
+                return descending ? sortedEvents.tailMap(upperBound, false) : sortedEvents.headMap(lowerBound, false);
+            case LESS_THAN_EQUAL:
+                return descending ? sortedEvents.tailMap(lowerBound, false) : sortedEvents.headMap(upperBound, false);
+            default:
+                return sortedEvents;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.event.handler;
+
+import com.lmax.disruptor.RingBuffer;
+
+/**
+ * Batch size of a {@link StreamHandler} adapted to meet a latency target. The events of a batch are only emitted after
+ * the whole batch is processed, hence the batch is limited to the number of events that can be processed within the
+ * latency target, based on the observed processing time per event. When the backlog in the buffer is beyond that
+ * limit the target cannot be met regardless, and the batch size is grown instead to drain the buffer faster.
+ */
+public class AdaptiveBatchSize {
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final long latencyTargetNanos;
+    private final int maxBatchSize;
+    private final RingBuffer<EventExchangeHolder> ringBuffer;
+    private double eventProcessingNanos = -1;
+    private volatile int batchSize = 1;
+
+    public AdaptiveBatchSize(long latencyTargetNanos, int maxBatchSize, RingBuffer<EventExchangeHolder> ringBuffer) {
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.maxBatchSize = maxBatchSize;
+        this.ringBuffer = ringBuffer;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Adapt the batch size after a batch is processed.
+     *
+     * @param events          number of events in the processed batch
+     * @param processingNanos time taken to process the batch
+     * @param sequence        sequence of the last event of the batch
+     */
+    public void update(int events, long processingNanos, long sequence) {
+        double batchEventProcessingNanos = (double) processingNanos / events;
+        if (eventProcessingNanos < 0) {
+            eventProcessingNanos = batchEventProcessingNanos;
+        } else {
+            eventProcessingNanos += (batchEventProcessingNanos - eventProcessingNanos) * EWMA_WEIGHT;
+        }
+        long targetBatchSize = Math.max(1, (long) (latencyTargetNanos / Math.max(eventProcessingNanos, 1)));
+        long backlog = ringBuffer.getCursor() - sequence;
+        long nextBatchSize;
+        if (backlog > targetBatchSize) {
+            nextBatchSize = (long) batchSize << 1;
+        } else if (batchSize > targetBatchSize) {
+            nextBatchSize = Math.max(targetBatchSize, batchSize >> 1);
+        } else {
+            nextBatchSize = Math.min(targetBatchSize, batchSize + Math.max(1, batchSize >> 3));
+        }
+        batchSize = (int) Math.max(1, Math.min(maxBatchSize, nextBatchSize));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.event.handler;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.util.statistics.ThroughputTracker;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Overflow state of an async StreamJunction buffer. Keeps the number of events rejected due to the buffer being full,
+ * and the requests of the producers for the {@link StreamHandler}s to drop the oldest buffered events to make room for
+ * their events. Each producer withdraws only its own requests.
+ */
+public class BufferOverflowState {
+
+    private final AtomicLong rejectedEvents = new AtomicLong(0);
+    private final Queue<OldestDrops> pendingOldestDrops = new ConcurrentLinkedQueue<>();
+    private final ThroughputTracker rejectedEventsTracker;
+    private final SiddhiAppContext siddhiAppContext;
+
+    public BufferOverflowState(ThroughputTracker rejectedEventsTracker, SiddhiAppContext siddhiAppContext) {
+        this.rejectedEventsTracker = rejectedEventsTracker;
+        this.siddhiAppContext = siddhiAppContext;
+    }
+
+    public void rejected(int count) {
+        rejectedEvents.addAndGet(count);
+        if (rejectedEventsTracker != null && siddhiAppContext.isStatsEnabled()) {
+            rejectedEventsTracker.eventsIn(count);
+        }
+    }
+
+    public long getRejectedEvents() {
+        return rejectedEvents.get();
+    }
+
+    /**
+     * Request the {@link StreamHandler}s to drop the given number of oldest buffered events.
+     *
+     * @param count number of events to be dropped
+     * @return the request, to be withdrawn by the requester once it has claimed its buffer slots
+     */
+    public OldestDrops requestOldestDrops(int count) {
+        OldestDrops oldestDrops = new OldestDrops(count);
+        pendingOldestDrops.add(oldestDrops);
+        return oldestDrops;
+    }
+
+    /**
+     * Withdraw the drops of the given request that are not yet consumed by the {@link StreamHandler}s, as the
+     * requester has already claimed its buffer slots. Requests of other producers are left as they are.
+     *
+     * @param oldestDrops request of the caller
+     */
+    public void cancelOldestDrops(OldestDrops oldestDrops) {
+        oldestDrops.remaining.set(0);
+        pendingOldestDrops.remove(oldestDrops);
+    }
+
+    /**
+     * Consume a pending drop request, if any.
+     *
+     * @return true if the event at hand should be dropped
+     */
+    public boolean tryDropOldest() {
+        OldestDrops oldestDrops;
+        while ((oldestDrops = pendingOldestDrops.peek()) != null) {
+            if (oldestDrops.consume()) {
+                rejected(1);
+                return true;
+            }
+            // The request is either consumed or withdrawn
+            pendingOldestDrops.remove(oldestDrops);
+        }
+        return false;
+    }
+
+    /**
+     * Drops of the oldest buffered events requested by a producer.
+     */
+    public static class OldestDrops {
+
+        private final AtomicInteger remaining;
+
+        private OldestDrops(int count) {
+            this.remaining = new AtomicInteger(count);
+        }
+
+        private boolean consume() {
+            int count = remaining.get();
+            while (count > 0) {
+                if (remaining.compareAndSet(count, count - 1)) {
+                    return true;
+                }
+                count = remaining.get();
+            }
+            return false;
+        }
+    }
+}
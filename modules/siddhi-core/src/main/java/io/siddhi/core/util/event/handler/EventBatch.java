@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.event.handler;
+
+import io.siddhi.core.event.Event;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Fixed capacity, array backed batch of events used by {@link StreamHandler} to hand over the events held in the
+ * buffer slots to the receivers. The same batch instance and the events in it are reused for the following batches,
+ * hence they are only valid until the receiver returns.
+ */
+public class EventBatch extends AbstractList<Event> implements RandomAccess {
+
+    private final Event[] events;
+    private int size = 0;
+
+    public EventBatch(int capacity) {
+        this.events = new Event[capacity];
+    }
+
+    @Override
+    public boolean add(Event event) {
+        events[size++] = event;
+        return true;
+    }
+
+    @Override
+    public Event get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return events[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+}
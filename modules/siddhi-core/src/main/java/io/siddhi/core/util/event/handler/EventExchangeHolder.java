@@ -20,14 +20,11 @@ package io.siddhi.core.util.event.handler;
 
 import io.siddhi.core.event.Event;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-
 /**
  * EventExchangeHolder that holds data for StreamJunction event exchange
  */
 public class EventExchangeHolder {
 
-    private AtomicBoolean processed = new AtomicBoolean(false);
     private Event event;
 
     public EventExchangeHolder(int dataSize) {
@@ -37,8 +34,4 @@ public class EventExchangeHolder {
     public Event getEvent() {
         return event;
     }
-
-    public boolean getAndSetIsProcessed(boolean isProcessed) {
-        return processed.getAndSet(isProcessed);
-    }
 }
@@ -24,11 +24,15 @@ import io.siddhi.core.stream.StreamJunction;
 import org.apache.log4j.Logger;
 
 import java.beans.ExceptionListener;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
- * Interface to be implemented to receive events via handlers.
+ * Interface to be implemented to receive events via handlers. When a stream is processed by more than one worker, each
+ * handler only consumes the buffer slots it owns; slots are assigned to workers in round robin order, or by the hash
+ * of the key attribute when one is given, such that the events of the same key are always processed in order by the
+ * same worker. When the buffer is configured to drop its oldest events on overflow, handlers also discard the events
+ * they read while there are pending drop requests in the {@link BufferOverflowState}. When a latency target is given,
+ * the number of events handed to the receivers at once is adapted by the {@link AdaptiveBatchSize}.
  */
 public class StreamHandler implements EventHandler<EventExchangeHolder> {
 
@@ -40,13 +44,33 @@ public class StreamHandler implements EventHandler<EventExchangeHolder> {
     private final ExceptionListener exceptionListener;
     private List<StreamJunction.Receiver> receivers;
     private int batchSize;
-    private List<Event> eventBuffer = new LinkedList<>();
+    private final int workerIndex;
+    private final int workers;
+    private final int keyIndex;
+    private final BufferOverflowState bufferOverflowState;
+    private final AdaptiveBatchSize adaptiveBatchSize;
+    private EventBatch eventBuffer;
 
     public StreamHandler(List<StreamJunction.Receiver> receivers, int batchSize,
                          String streamName, String siddhiAppName, StreamJunction faultStreamJunction,
                          StreamJunction.OnErrorAction onErrorAction, ExceptionListener exceptionListener) {
+        this(receivers, batchSize, streamName, siddhiAppName, faultStreamJunction, onErrorAction, exceptionListener,
+                0, 1, -1, null, null);
+    }
+
+    public StreamHandler(List<StreamJunction.Receiver> receivers, int batchSize,
+                         String streamName, String siddhiAppName, StreamJunction faultStreamJunction,
+                         StreamJunction.OnErrorAction onErrorAction, ExceptionListener exceptionListener,
+                         int workerIndex, int workers, int keyIndex, BufferOverflowState bufferOverflowState,
+                         AdaptiveBatchSize adaptiveBatchSize) {
         this.receivers = receivers;
         this.batchSize = batchSize;
+        this.eventBuffer = new EventBatch(batchSize);
+        this.workerIndex = workerIndex;
+        this.workers = workers;
+        this.keyIndex = keyIndex;
+        this.bufferOverflowState = bufferOverflowState;
+        this.adaptiveBatchSize = adaptiveBatchSize;
         this.streamName = streamName;
         this.siddhiAppName = siddhiAppName;
         this.faultStreamJunction = faultStreamJunction;
@@ -55,34 +79,48 @@ public class StreamHandler implements EventHandler<EventExchangeHolder> {
     }
 
     public void onEvent(EventExchangeHolder eventExchangeHolder, long sequence, boolean endOfBatch) {
-        boolean isProcessed = eventExchangeHolder.getAndSetIsProcessed(true);
-        if (!isProcessed) {
+        if ((workers == 1 || isOwned(eventExchangeHolder.getEvent(), sequence)) &&
+                (bufferOverflowState == null || !bufferOverflowState.tryDropOldest())) {
             eventBuffer.add(eventExchangeHolder.getEvent());
-            if (eventBuffer.size() == batchSize || endOfBatch) {
-                for (StreamJunction.Receiver receiver : receivers) {
-                    try {
-                        receiver.receive(eventBuffer);
-                    } catch (Exception e) {
-                        onError(eventBuffer, e);
-                    }
-                }
-                eventBuffer.clear();
+            int flushSize = adaptiveBatchSize == null ? batchSize : adaptiveBatchSize.getBatchSize();
+            if (eventBuffer.size() >= flushSize || endOfBatch) {
+                flush(sequence);
             }
         } else if (endOfBatch) {
             if (eventBuffer.size() != 0) {
-                for (StreamJunction.Receiver receiver : receivers) {
-                    try {
-                        receiver.receive(eventBuffer);
-                    } catch (Exception e) {
-                        onError(eventBuffer, e);
-                    }
-                }
-                eventBuffer.clear();
+                flush(sequence);
             }
         }
 
     }
 
+    private void flush(long sequence) {
+        long startTime = adaptiveBatchSize == null ? 0 : System.nanoTime();
+        for (StreamJunction.Receiver receiver : receivers) {
+            try {
+                receiver.receive(eventBuffer);
+            } catch (Exception e) {
+                onError(eventBuffer, e);
+            }
+        }
+        if (adaptiveBatchSize != null) {
+            adaptiveBatchSize.update(eventBuffer.size(), System.nanoTime() - startTime, sequence);
+        }
+        eventBuffer.clear();
+    }
+
+    private boolean isOwned(Event event, long sequence) {
+        if (keyIndex < 0) {
+            return sequence % workers == workerIndex;
+        }
+        Object key = event.getData(keyIndex);
+        if (key == null) {
+            return workerIndex == 0;
+        }
+        int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % workers == workerIndex;
+    }
+
     private void onError(List<Event> eventBuffer, Exception e) {
         if (exceptionListener != null) {
             exceptionListener.exceptionThrown(e);
@@ -212,7 +212,7 @@ public class AggregationParser {
                     .map(incrementalDuration -> constructProcessExpressionExecutors(
                             siddhiAppContext, tableMap, aggregatorName, baseAggregatorBeginIndex,
                             finalBaseAggregators, incomingOutputStreamDefinition, processedMetaStreamEvent,
-                            processVariableExpressionExecutors, groupBy, isProcessingOnExternalTime,
+                            processVariableExpressionExecutors, isProcessingOnExternalTime,
                             incrementalDuration))
                     .collect(Collectors.toList());
 
@@ -231,7 +231,7 @@ public class AggregationParser {
             outputExpressionExecutors.addAll(outputExpressions.stream().map(expression -> ExpressionParser.
                     parseExpression(expression, processedMetaStreamEvent, 0, tableMap,
                             processVariableExpressionExecutors, siddhiAppContext,
-                            groupBy, 0, aggregatorName, ProcessingMode.BATCH, false))
+                            false, 0, aggregatorName, ProcessingMode.BATCH, false))
                     .collect(Collectors.toList()));
 
             // Create group by key generator
@@ -321,7 +321,8 @@ public class AggregationParser {
             // Connect entry valve to root incremental executor
             entryValveExecutor.setNextExecutor(rootIncrementalExecutor);
 
-            QueryParserHelper.initStreamRuntime(streamRuntime, incomingMetaStreamEvent, lockWrapper, aggregatorName);
+            QueryParserHelper.initStreamRuntime(streamRuntime, incomingMetaStreamEvent, lockWrapper, aggregatorName,
+                    aggregationDefinition.getAnnotations(), siddhiAppContext);
 
             LatencyTracker latencyTrackerFind = null;
             LatencyTracker latencyTrackerInsert = null;
@@ -409,8 +410,10 @@ public class AggregationParser {
             List<Expression> finalBaseAggregators,
             StreamDefinition incomingOutputStreamDefinition,
             MetaStreamEvent processedMetaStreamEvent,
-            List<VariableExpressionExecutor> processVariableExpressionExecutors, boolean groupBy,
+            List<VariableExpressionExecutor> processVariableExpressionExecutors,
             boolean isProcessingOnExternalTime, TimePeriod.Duration duration) {
+        // Each group gets its own clone of the executors along with its value store, hence the aggregations are not
+        // parsed as group by aggregations
         List<ExpressionExecutor> processExpressionExecutors = new ArrayList<>();
         List<Attribute> attributeList = incomingOutputStreamDefinition.getAttributeList();
         for (int i = 0; i < baseAggregatorBeginIndex; i++) {
@@ -423,7 +426,7 @@ public class AggregationParser {
                         );
                 ExpressionExecutor externalTimestampExecutor = ExpressionParser.parseExpression(
                         externalTimestampExpression, processedMetaStreamEvent, 0,
-                        tableMap, processVariableExpressionExecutors, siddhiAppContext, groupBy,
+                        tableMap, processVariableExpressionExecutors, siddhiAppContext, false,
                         0, aggregatorName, ProcessingMode.BATCH, false);
                 processExpressionExecutors.add(externalTimestampExecutor);
             } else if (attributeList.get(i).getName().equals(AGG_LAST_TIMESTAMP_COL)) {
@@ -434,14 +437,14 @@ public class AggregationParser {
                         );
                 ExpressionExecutor latestTimestampExecutor = ExpressionParser.parseExpression(
                         lastTimestampExpression, processedMetaStreamEvent, 0,
-                        tableMap, processVariableExpressionExecutors, siddhiAppContext, groupBy,
+                        tableMap, processVariableExpressionExecutors, siddhiAppContext, false,
                         0, aggregatorName, ProcessingMode.BATCH, false);
                 processExpressionExecutors.add(latestTimestampExecutor);
             } else {
                 Attribute attribute = attributeList.get(i);
                 VariableExpressionExecutor variableExpressionExecutor = (VariableExpressionExecutor) ExpressionParser
                         .parseExpression(new Variable(attribute.getName()), processedMetaStreamEvent, 0,
-                                tableMap, processVariableExpressionExecutors, siddhiAppContext, groupBy,
+                                tableMap, processVariableExpressionExecutors, siddhiAppContext, false,
                                 0, aggregatorName, ProcessingMode.BATCH, false);
                 processExpressionExecutors.add(variableExpressionExecutor);
             }
@@ -450,7 +453,7 @@ public class AggregationParser {
         for (Expression expression : finalBaseAggregators) {
             ExpressionExecutor expressionExecutor = ExpressionParser.parseExpression(expression,
                     processedMetaStreamEvent, 0, tableMap, processVariableExpressionExecutors,
-                    siddhiAppContext, groupBy, 0, aggregatorName, ProcessingMode.BATCH, false);
+                    siddhiAppContext, false, 0, aggregatorName, ProcessingMode.BATCH, false);
             processExpressionExecutors.add(expressionExecutor);
         }
         return processExpressionExecutors;
@@ -26,7 +26,12 @@ import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.SharedExpressionExecutor;
+import io.siddhi.core.executor.SharedExpressionScope;
 import io.siddhi.core.executor.VariableExpressionExecutor;
+import io.siddhi.core.executor.condition.AdaptiveAndConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.AdaptiveConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.AdaptiveOrConditionExpressionExecutor;
 import io.siddhi.core.executor.condition.AndConditionExpressionExecutor;
 import io.siddhi.core.executor.condition.BoolConditionExpressionExecutor;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
@@ -136,6 +141,7 @@ import io.siddhi.core.executor.condition.compare.notequal.NotEqualCompareConditi
 import io.siddhi.core.executor.condition.compare.notequal.NotEqualCompareConditionExpressionExecutorLongLong;
 import io.siddhi.core.executor.condition.compare.notequal.NotEqualCompareConditionExpressionExecutorStringString;
 import io.siddhi.core.executor.function.FunctionExecutor;
+import io.siddhi.core.executor.function.IfThenElseFunctionExecutor;
 import io.siddhi.core.executor.function.ScriptFunctionExecutor;
 import io.siddhi.core.executor.math.add.AddExpressionExecutorDouble;
 import io.siddhi.core.executor.math.add.AddExpressionExecutorFloat;
@@ -162,6 +168,7 @@ import io.siddhi.core.query.selector.attribute.aggregator.AttributeAggregator;
 import io.siddhi.core.query.selector.attribute.processor.executor.AbstractAggregationAttributeExecutor;
 import io.siddhi.core.query.selector.attribute.processor.executor.AggregationAttributeExecutor;
 import io.siddhi.core.query.selector.attribute.processor.executor.GroupByAggregationAttributeExecutor;
+import io.siddhi.core.query.selector.attribute.processor.executor.GroupByAggregators;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.ExceptionUtil;
 import io.siddhi.core.util.SiddhiClassLoader;
@@ -199,6 +206,8 @@ import io.siddhi.query.api.expression.math.Multiply;
 import io.siddhi.query.api.expression.math.Subtract;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -207,6 +216,8 @@ import java.util.Map;
  */
 public class ExpressionParser {
 
+    private static final ThreadLocal<SharedExpressions> sharedExpressionsThreadLocal = new ThreadLocal<>();
+
     /**
      * Parse the given expression and create the appropriate Executor by recursively traversing the expression
      *
@@ -230,23 +241,58 @@ public class ExpressionParser {
                                                      int defaultStreamEventIndex, String queryName,
                                                      ProcessingMode processingMode,
                                                      boolean outputExpectsExpiredEvents) {
+        SharedExpressions sharedExpressions = sharedExpressionsThreadLocal.get();
+        boolean shared = sharedExpressions != null && sharedExpressions.isRepeated(expression, metaEvent,
+                currentState);
+        if (shared) {
+            ExpressionExecutor sharedExpressionExecutor = sharedExpressions.getExecutor(expression);
+            if (sharedExpressionExecutor != null) {
+                return sharedExpressionExecutor;
+            }
+        }
+        ExpressionExecutor expressionExecutor = foldConstantExpression(expression, parseExpressionTree(expression,
+                metaEvent, currentState, tableMap, executorList, siddhiAppContext, groupBy, defaultStreamEventIndex,
+                queryName, processingMode, outputExpectsExpiredEvents));
+        if (shared) {
+            expressionExecutor = sharedExpressions.share(expression, expressionExecutor);
+        }
+        return expressionExecutor;
+    }
+
+    private static ExpressionExecutor parseExpressionTree(Expression expression, MetaComplexEvent metaEvent,
+                                                          int currentState, Map<String, Table> tableMap,
+                                                          List<VariableExpressionExecutor> executorList,
+                                                          SiddhiAppContext siddhiAppContext, boolean groupBy,
+                                                          int defaultStreamEventIndex, String queryName,
+                                                          ProcessingMode processingMode,
+                                                          boolean outputExpectsExpiredEvents) {
         try {
             if (expression instanceof And) {
-                return new AndConditionExpressionExecutor(
-                        parseExpression(((And) expression).getLeftExpression(), metaEvent, currentState, tableMap,
-                                executorList, siddhiAppContext, groupBy, defaultStreamEventIndex, queryName,
-                                processingMode, outputExpectsExpiredEvents),
-                        parseExpression(((And) expression).getRightExpression(), metaEvent, currentState, tableMap,
-                                executorList, siddhiAppContext, groupBy, defaultStreamEventIndex, queryName,
-                                processingMode, outputExpectsExpiredEvents));
+                ExpressionExecutor leftConditionExecutor = parseExpression(((And) expression).getLeftExpression(),
+                        metaEvent, currentState, tableMap, executorList, siddhiAppContext, groupBy,
+                        defaultStreamEventIndex, queryName, processingMode, outputExpectsExpiredEvents);
+                ExpressionExecutor rightConditionExecutor = parseExpression(((And) expression).getRightExpression(),
+                        metaEvent, currentState, tableMap, executorList, siddhiAppContext, groupBy,
+                        defaultStreamEventIndex, queryName, processingMode, outputExpectsExpiredEvents);
+                if (isAdaptiveConditionOrder(siddhiAppContext, leftConditionExecutor, rightConditionExecutor)) {
+                    return new AdaptiveAndConditionExpressionExecutor(getConditionOperands(
+                            AdaptiveAndConditionExpressionExecutor.class, leftConditionExecutor,
+                            rightConditionExecutor));
+                }
+                return new AndConditionExpressionExecutor(leftConditionExecutor, rightConditionExecutor);
             } else if (expression instanceof Or) {
-                return new OrConditionExpressionExecutor(
-                        parseExpression(((Or) expression).getLeftExpression(), metaEvent, currentState, tableMap,
-                                executorList, siddhiAppContext, groupBy, defaultStreamEventIndex, queryName,
-                                processingMode, outputExpectsExpiredEvents),
-                        parseExpression(((Or) expression).getRightExpression(), metaEvent, currentState, tableMap,
-                                executorList, siddhiAppContext, groupBy, defaultStreamEventIndex, queryName,
-                                processingMode, outputExpectsExpiredEvents));
+                ExpressionExecutor leftConditionExecutor = parseExpression(((Or) expression).getLeftExpression(),
+                        metaEvent, currentState, tableMap, executorList, siddhiAppContext, groupBy,
+                        defaultStreamEventIndex, queryName, processingMode, outputExpectsExpiredEvents);
+                ExpressionExecutor rightConditionExecutor = parseExpression(((Or) expression).getRightExpression(),
+                        metaEvent, currentState, tableMap, executorList, siddhiAppContext, groupBy,
+                        defaultStreamEventIndex, queryName, processingMode, outputExpectsExpiredEvents);
+                if (isAdaptiveConditionOrder(siddhiAppContext, leftConditionExecutor, rightConditionExecutor)) {
+                    return new AdaptiveOrConditionExpressionExecutor(getConditionOperands(
+                            AdaptiveOrConditionExpressionExecutor.class, leftConditionExecutor,
+                            rightConditionExecutor));
+                }
+                return new OrConditionExpressionExecutor(leftConditionExecutor, rightConditionExecutor);
             } else if (expression instanceof Not) {
                 return new NotConditionExpressionExecutor(
                         parseExpression(((Not) expression).getExpression(), metaEvent, currentState, tableMap,
@@ -450,6 +496,17 @@ public class ExpressionParser {
 
                     expressionExecutor.initExecutor(innerExpressionExecutors, siddhiAppContext, queryName,
                             processingMode, configReader);
+                    if (expressionExecutor instanceof IfThenElseFunctionExecutor) {
+                        ExpressionExecutor branchExecutor = resolveIfThenElseBranch(innerExpressionExecutors);
+                        if (branchExecutor != null) {
+                            siddhiAppContext.getSnapshotService().removeSnapshotable(queryName, expressionExecutor);
+                            if (branchExecutor.getReturnType() == Attribute.Type.BOOL
+                                    && !(branchExecutor instanceof ConditionExpressionExecutor)) {
+                                return new BoolConditionExpressionExecutor(branchExecutor);
+                            }
+                            return branchExecutor;
+                        }
+                    }
                     if (expressionExecutor.getReturnType() == Attribute.Type.BOOL) {
                         return new BoolConditionExpressionExecutor(expressionExecutor);
                     }
@@ -463,9 +520,11 @@ public class ExpressionParser {
                     attributeAggregator.initAggregator(innerExpressionExecutors, processingMode,
                             outputExpectsExpiredEvents, siddhiAppContext, queryName, configReader);
                     AbstractAggregationAttributeExecutor aggregationAttributeProcessor;
-                    if (groupBy) {
+                    GroupByAggregators groupByAggregators = SelectorParser.getGroupByAggregatorsThreadLocal().get();
+                    if (groupBy && groupByAggregators != null) {
                         aggregationAttributeProcessor = new GroupByAggregationAttributeExecutor(attributeAggregator,
-                                innerExpressionExecutors, configReader, siddhiAppContext, queryName);
+                                innerExpressionExecutors, configReader, groupByAggregators, siddhiAppContext,
+                                queryName);
                     } else {
                         aggregationAttributeProcessor = new AggregationAttributeExecutor(attributeAggregator,
                                 innerExpressionExecutors, siddhiAppContext, queryName);
@@ -1504,4 +1563,264 @@ public class ExpressionParser {
         return innerExpressionExecutors;
     }
 
+    /**
+     * Share the executors of the deterministic sub-expressions occurring more than once within the given expressions,
+     * while the expressions are parsed by the current thread, until {@link #stopSharingExpressions()} is called. Only
+     * the sub-expressions parsed against the given meta event and state are shared. The shared executors evaluate
+     * their sub-expression once per evaluation of the {@link SharedExpressionScope} returned when sharing is stopped.
+     * Sharing must be stopped in a finally block, such that a failed parse does not leave it active on the thread;
+     * sharing already active on the thread is resumed once stopped.
+     *
+     * @param expressions  expressions to be parsed
+     * @param metaEvent    Meta Event the expressions are parsed against
+     * @param currentState Current state number the expressions are parsed against
+     */
+    public static void startSharingExpressions(List<Expression> expressions, MetaComplexEvent metaEvent,
+                                               int currentState) {
+        Map<Expression, Integer> occurrences = new HashMap<>();
+        for (Expression expression : expressions) {
+            countOccurrences(expression, occurrences);
+        }
+        Map<Expression, ExpressionExecutor> repeatedExpressions = new HashMap<>();
+        for (Map.Entry<Expression, Integer> occurrence : occurrences.entrySet()) {
+            if (occurrence.getValue() > 1 && !(occurrence.getKey() instanceof Constant)
+                    && !(occurrence.getKey() instanceof Variable)) {
+                repeatedExpressions.put(occurrence.getKey(), null);
+            }
+        }
+        sharedExpressionsThreadLocal.set(new SharedExpressions(repeatedExpressions, metaEvent, currentState,
+                sharedExpressionsThreadLocal.get()));
+    }
+
+    /**
+     * Stop sharing the executors of repeated sub-expressions started via
+     * {@link #startSharingExpressions(List, MetaComplexEvent, int)}.
+     *
+     * @return the scope of the shared executors, or null if no executors were shared
+     */
+    public static SharedExpressionScope stopSharingExpressions() {
+        SharedExpressions sharedExpressions = sharedExpressionsThreadLocal.get();
+        if (sharedExpressions == null) {
+            return null;
+        }
+        if (sharedExpressions.previous != null) {
+            sharedExpressionsThreadLocal.set(sharedExpressions.previous);
+        } else {
+            sharedExpressionsThreadLocal.remove();
+        }
+        if (sharedExpressions.hasSharedExecutors()) {
+            return sharedExpressions.sharedExpressionScope;
+        }
+        return null;
+    }
+
+    private static void countOccurrences(Expression expression, Map<Expression, Integer> occurrences) {
+        // Sub-expressions of a repeated expression are only counted once, as they are not parsed again
+        if (occurrences.merge(expression, 1, Integer::sum) == 1) {
+            Expression[] subExpressions = getSubExpressions(expression);
+            if (subExpressions != null) {
+                for (Expression subExpression : subExpressions) {
+                    countOccurrences(subExpression, occurrences);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param expression the expression
+     * @return the operands of the expression, or null if the expression reads the event or tables
+     */
+    private static Expression[] getSubExpressions(Expression expression) {
+        if (expression instanceof And) {
+            return new Expression[]{((And) expression).getLeftExpression(), ((And) expression).getRightExpression()};
+        } else if (expression instanceof Or) {
+            return new Expression[]{((Or) expression).getLeftExpression(), ((Or) expression).getRightExpression()};
+        } else if (expression instanceof Not) {
+            return new Expression[]{((Not) expression).getExpression()};
+        } else if (expression instanceof Compare) {
+            return new Expression[]{((Compare) expression).getLeftExpression(),
+                    ((Compare) expression).getRightExpression()};
+        } else if (expression instanceof Add) {
+            return new Expression[]{((Add) expression).getLeftValue(), ((Add) expression).getRightValue()};
+        } else if (expression instanceof Subtract) {
+            return new Expression[]{((Subtract) expression).getLeftValue(),
+                    ((Subtract) expression).getRightValue()};
+        } else if (expression instanceof Multiply) {
+            return new Expression[]{((Multiply) expression).getLeftValue(),
+                    ((Multiply) expression).getRightValue()};
+        } else if (expression instanceof Divide) {
+            return new Expression[]{((Divide) expression).getLeftValue(), ((Divide) expression).getRightValue()};
+        } else if (expression instanceof Mod) {
+            return new Expression[]{((Mod) expression).getLeftValue(), ((Mod) expression).getRightValue()};
+        } else if (expression instanceof AttributeFunction) {
+            Expression[] parameters = ((AttributeFunction) expression).getParameters();
+            return parameters != null ? parameters : new Expression[0];
+        } else if (expression instanceof IsNull && ((IsNull) expression).getExpression() != null) {
+            return new Expression[]{((IsNull) expression).getExpression()};
+        } else if (expression instanceof Constant) {
+            return new Expression[0];
+        }
+        return null;
+    }
+
+    /**
+     * @param expression the expression
+     * @return true if the expression only applies conditions, compares and arithmetic operations to constants
+     */
+    private static boolean isConstantExpression(Expression expression) {
+        // Functions are not evaluated at parse time, even with constant parameters, as they may rely on the event
+        Expression[] subExpressions = expression instanceof AttributeFunction ? null : getSubExpressions(expression);
+        if (subExpressions == null) {
+            return false;
+        }
+        for (Expression subExpression : subExpressions) {
+            if (!isConstantExpression(subExpression)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace the executor of an expression which only applies conditions, compares and arithmetic operations to
+     * constants with a constant, holding the result of the expression. As the operands are parsed first, constant
+     * sub-expressions of other expressions are folded as well.
+     *
+     * @param expression         the expression
+     * @param expressionExecutor executor of the expression
+     * @return executor of the constant result, or the given executor if the expression cannot be folded
+     */
+    private static ExpressionExecutor foldConstantExpression(Expression expression,
+                                                             ExpressionExecutor expressionExecutor) {
+        if (expressionExecutor instanceof ConstantExpressionExecutor || !expressionExecutor.isDeterministic()
+                || !isConstantExpression(expression)) {
+            return expressionExecutor;
+        }
+        Object value;
+        try {
+            value = expressionExecutor.execute(null);
+        } catch (RuntimeException e) {
+            // Not folded, such that the error is reported when the expression is evaluated
+            return expressionExecutor;
+        }
+        if (value == null) {
+            return expressionExecutor;
+        }
+        expressionExecutor.clean();
+        ConstantExpressionExecutor constantExpressionExecutor = new ConstantExpressionExecutor(value,
+                expressionExecutor.getReturnType());
+        if (expressionExecutor instanceof ConditionExpressionExecutor) {
+            return new BoolConditionExpressionExecutor(constantExpressionExecutor);
+        }
+        return constantExpressionExecutor;
+    }
+
+    /**
+     * Resolve the branch of an ifThenElse() function to be evaluated, when its condition is constant. The condition
+     * and the other branch are cleaned.
+     *
+     * @param attributeExpressionExecutors parameters of the ifThenElse() function
+     * @return executor of the branch to be evaluated, or null if the condition is not constant
+     */
+    private static ExpressionExecutor resolveIfThenElseBranch(ExpressionExecutor[] attributeExpressionExecutors) {
+        ExpressionExecutor conditionExecutor = attributeExpressionExecutors[0];
+        if (conditionExecutor instanceof BoolConditionExpressionExecutor) {
+            conditionExecutor = ((BoolConditionExpressionExecutor) conditionExecutor).getConditionExecutor();
+        }
+        if (!(conditionExecutor instanceof ConstantExpressionExecutor)) {
+            return null;
+        }
+        attributeExpressionExecutors[0].clean();
+        if (Boolean.TRUE.equals(((ConstantExpressionExecutor) conditionExecutor).getValue())) {
+            attributeExpressionExecutors[2].clean();
+            return attributeExpressionExecutors[1];
+        } else {
+            attributeExpressionExecutors[1].clean();
+            return attributeExpressionExecutors[2];
+        }
+    }
+
+    private static boolean isAdaptiveConditionOrder(SiddhiAppContext siddhiAppContext,
+                                                    ExpressionExecutor leftConditionExecutor,
+                                                    ExpressionExecutor rightConditionExecutor) {
+        return siddhiAppContext.isAdaptiveConditionOrderEnabled()
+                && leftConditionExecutor.getReturnType() == Attribute.Type.BOOL
+                && rightConditionExecutor.getReturnType() == Attribute.Type.BOOL
+                && leftConditionExecutor.isDeterministic() && rightConditionExecutor.isDeterministic();
+    }
+
+    /**
+     * Collect the operands of a chain of And or Or conditions, flattening the operands already parsed into an adaptive
+     * condition of the same kind, such that the whole chain is reordered together.
+     *
+     * @param conditionClass         class of the adaptive condition being parsed
+     * @param leftConditionExecutor  executor of the left operand
+     * @param rightConditionExecutor executor of the right operand
+     * @return operand executors in their original order
+     */
+    private static ExpressionExecutor[] getConditionOperands(
+            Class<? extends AdaptiveConditionExpressionExecutor> conditionClass,
+            ExpressionExecutor leftConditionExecutor, ExpressionExecutor rightConditionExecutor) {
+        List<ExpressionExecutor> operandExecutors = new ArrayList<>();
+        for (ExpressionExecutor conditionExecutor : new ExpressionExecutor[]{leftConditionExecutor,
+                rightConditionExecutor}) {
+            if (conditionClass.isInstance(conditionExecutor)) {
+                Collections.addAll(operandExecutors,
+                        ((AdaptiveConditionExpressionExecutor) conditionExecutor).getOperandExecutors());
+            } else {
+                operandExecutors.add(conditionExecutor);
+            }
+        }
+        return operandExecutors.toArray(new ExpressionExecutor[operandExecutors.size()]);
+    }
+
+    /**
+     * Repeated sub-expressions of the expressions being parsed, and their shared executors once parsed.
+     */
+    private static class SharedExpressions {
+
+        private final Map<Expression, ExpressionExecutor> repeatedExpressions;
+        private final MetaComplexEvent metaEvent;
+        private final int currentState;
+        private final SharedExpressions previous;
+        private final SharedExpressionScope sharedExpressionScope = new SharedExpressionScope();
+        private boolean sharedExecutors = false;
+
+        SharedExpressions(Map<Expression, ExpressionExecutor> repeatedExpressions, MetaComplexEvent metaEvent,
+                          int currentState, SharedExpressions previous) {
+            this.repeatedExpressions = repeatedExpressions;
+            this.metaEvent = metaEvent;
+            this.currentState = currentState;
+            this.previous = previous;
+        }
+
+        boolean isRepeated(Expression expression, MetaComplexEvent metaEvent, int currentState) {
+            return this.metaEvent == metaEvent && this.currentState == currentState
+                    && repeatedExpressions.containsKey(expression);
+        }
+
+        ExpressionExecutor getExecutor(Expression expression) {
+            return repeatedExpressions.get(expression);
+        }
+
+        ExpressionExecutor share(Expression expression, ExpressionExecutor expressionExecutor) {
+            if (!expressionExecutor.isDeterministic() || expressionExecutor instanceof VariableExpressionExecutor
+                    || isConstantExpression(expression)) {
+                // Stateful executors, e.g. aggregators, keep a separate instance per occurrence
+                return expressionExecutor;
+            }
+            ExpressionExecutor sharedExpressionExecutor = new SharedExpressionExecutor(expressionExecutor,
+                    sharedExpressionScope);
+            if (expressionExecutor instanceof ConditionExpressionExecutor) {
+                sharedExpressionExecutor = new BoolConditionExpressionExecutor(sharedExpressionExecutor);
+            }
+            repeatedExpressions.put(expression, sharedExpressionExecutor);
+            sharedExecutors = true;
+            return sharedExpressionExecutor;
+        }
+
+        boolean hasSharedExecutors() {
+            return sharedExecutors;
+        }
+    }
 }
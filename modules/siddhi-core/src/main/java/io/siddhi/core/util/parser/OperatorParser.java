@@ -27,7 +27,10 @@ import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.Table;
+import io.siddhi.core.table.holder.EventHolder;
 import io.siddhi.core.table.holder.IndexedEventHolder;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.SortKey;
 import io.siddhi.core.util.collection.executor.CollectionExecutor;
 import io.siddhi.core.util.collection.expression.AndMultiPrimaryKeyCollectionExpression;
 import io.siddhi.core.util.collection.expression.AttributeCollectionExpression;
@@ -36,19 +39,35 @@ import io.siddhi.core.util.collection.expression.CompareCollectionExpression;
 import io.siddhi.core.util.collection.operator.CollectionOperator;
 import io.siddhi.core.util.collection.operator.EventChunkOperator;
 import io.siddhi.core.util.collection.operator.IndexOperator;
+import io.siddhi.core.util.collection.operator.IndexedEventQueueOperator;
+import io.siddhi.core.util.collection.operator.IntervalEventQueueOperator;
 import io.siddhi.core.util.collection.operator.MapOperator;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.core.util.collection.operator.Operator;
 import io.siddhi.core.util.collection.operator.OverwriteTableIndexOperator;
 import io.siddhi.core.util.collection.operator.SnapshotableEventQueueOperator;
+import io.siddhi.core.util.collection.operator.SortedMapOperator;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.annotation.Element;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
 import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.constant.Constant;
+import io.siddhi.query.api.expression.math.Add;
+import io.siddhi.query.api.expression.math.Divide;
+import io.siddhi.query.api.expression.math.Multiply;
+import io.siddhi.query.api.expression.math.Subtract;
+import io.siddhi.query.api.util.AnnotationHelper;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 
 import static io.siddhi.core.util.collection.expression.CollectionExpression.CollectionScope.INDEXED_RESULT_SET;
 import static io.siddhi.core.util.collection.expression.CollectionExpression.CollectionScope.PRIMARY_KEY_RESULT_SET;
@@ -97,6 +116,14 @@ public class OperatorParser {
                     matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
                     variableExpressionExecutors, siddhiAppContext, false, 0, queryName,
                     ProcessingMode.BATCH, false);
+            // Tables are looked up concurrently, and declare their indexes on an IndexedEventHolder instead
+            if (!(storeEvents instanceof EventHolder) && siddhiAppContext.isWindowIndexEnabled()) {
+                Operator indexedOperator = constructIndexedEventQueueOperator(expressionExecutor, expression,
+                        matchingMetaInfoHolder, siddhiAppContext, variableExpressionExecutors, tableMap, queryName);
+                if (indexedOperator != null) {
+                    return indexedOperator;
+                }
+            }
             return new SnapshotableEventQueueOperator(expressionExecutor, matchingMetaInfoHolder.getStoreEventIndex());
         } else if (storeEvents instanceof Map) {
             ExpressionExecutor expressionExecutor = ExpressionParser.parseExpression(expression,
@@ -115,6 +142,305 @@ public class OperatorParser {
         }
     }
 
+    /**
+     * Construct the operator of a condition on events held in a {@link NavigableMap} sorted by {@link SortKey}s. When
+     * the condition, or one of the conditions it is a conjunction of, compares the first sort attribute of the store
+     * events with an expression of the matching events alone, only the range of events satisfying the comparison is
+     * scanned.
+     *
+     * @param expression                  the condition
+     * @param matchingMetaInfoHolder      meta info of the matching and store events
+     * @param siddhiAppContext            Siddhi app context
+     * @param variableExpressionExecutors variable executors of the query
+     * @param tableMap                    tables of the app
+     * @param queryName                   name of the query
+     * @param sortAttribute               the first sort attribute
+     * @param descending                  whether the events are in the descending order of the first sort attribute
+     * @return the operator
+     */
+    public static Operator constructSortedOperator(Expression expression,
+                                                   MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                                   SiddhiAppContext siddhiAppContext,
+                                                   List<VariableExpressionExecutor> variableExpressionExecutors,
+                                                   Map<String, Table> tableMap, String queryName,
+                                                   Attribute sortAttribute, boolean descending) {
+        ExpressionExecutor expressionExecutor = ExpressionParser.parseExpression(expression,
+                matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                variableExpressionExecutors, siddhiAppContext, false, 0, queryName,
+                ProcessingMode.BATCH, false);
+        Compare compare = findRangeCompare(expression, matchingMetaInfoHolder, sortAttribute.getName());
+        if (compare != null) {
+            boolean storeOnLeft = isTableIndexVariable(matchingMetaInfoHolder, compare.getLeftExpression(),
+                    sortAttribute.getName());
+            ExpressionExecutor boundExecutor = ExpressionParser.parseExpression(
+                    storeOnLeft ? compare.getRightExpression() : compare.getLeftExpression(),
+                    matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                    variableExpressionExecutors, siddhiAppContext, false, 0, queryName,
+                    ProcessingMode.BATCH, false);
+            // Bounds of other types are not comparable with the sort attribute values
+            if (boundExecutor.getReturnType() == sortAttribute.getType()) {
+                return new SortedMapOperator(expressionExecutor, matchingMetaInfoHolder.getStoreEventIndex(),
+                        boundExecutor, storeOnLeft ? compare.getOperator() : reverse(compare.getOperator()),
+                        descending);
+            }
+        }
+        return new MapOperator(expressionExecutor, matchingMetaInfoHolder.getStoreEventIndex());
+    }
+
+    /**
+     * Construct the operator looking up events of a {@link SnapshotableStreamEventQueue} by a hash index, or by an
+     * interval index when a range is also compared, when the condition, or one of the conditions it is a conjunction
+     * of, requires an attribute of the store events to be equal to an expression of the matching events alone.
+     * Attributes declared by the Index annotation of the store definition are preferred over the others. Not used
+     * when the Siddhi app sets window.lookup to scan in its execution annotation.
+     *
+     * @return the operator, or null if no attribute can be indexed
+     */
+    private static Operator constructIndexedEventQueueOperator(ExpressionExecutor expressionExecutor,
+                                                               Expression expression,
+                                                               MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                                               SiddhiAppContext siddhiAppContext,
+                                                               List<VariableExpressionExecutor>
+                                                                       variableExpressionExecutors,
+                                                               Map<String, Table> tableMap, String queryName) {
+        MetaStreamEvent storeStreamEvent = matchingMetaInfoHolder.getMetaStateEvent().getMetaStreamEvent(
+                matchingMetaInfoHolder.getStoreEventIndex());
+        if (storeStreamEvent == null) {
+            return null;
+        }
+        AbstractDefinition storeDefinition = storeStreamEvent.getLastInputDefinition();
+        List<String> indexAttributes = new ArrayList<>();
+        Annotation indexAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_INDEX,
+                storeDefinition.getAnnotations());
+        if (indexAnnotation != null) {
+            for (Element element : indexAnnotation.getElements()) {
+                indexAttributes.add(element.getValue().trim());
+            }
+        }
+        for (String attributeName : storeDefinition.getAttributeNameArray()) {
+            if (!indexAttributes.contains(attributeName)) {
+                indexAttributes.add(attributeName);
+            }
+        }
+        for (String indexAttribute : indexAttributes) {
+            Compare compare = findEqualCompare(expression, matchingMetaInfoHolder, indexAttribute);
+            if (compare == null) {
+                continue;
+            }
+            boolean storeOnLeft = isTableIndexVariable(matchingMetaInfoHolder, compare.getLeftExpression(),
+                    indexAttribute);
+            VariableExpressionExecutor indexedAttributeExecutor = (VariableExpressionExecutor)
+                    ExpressionParser.parseExpression(storeOnLeft ? compare.getLeftExpression() :
+                                    compare.getRightExpression(), matchingMetaInfoHolder.getMetaStateEvent(),
+                            matchingMetaInfoHolder.getCurrentState(), tableMap, variableExpressionExecutors,
+                            siddhiAppContext, false, 0, queryName, ProcessingMode.BATCH, false);
+            ExpressionExecutor valueExecutor = ExpressionParser.parseExpression(
+                    storeOnLeft ? compare.getRightExpression() : compare.getLeftExpression(),
+                    matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                    variableExpressionExecutors, siddhiAppContext, false, 0, queryName,
+                    ProcessingMode.BATCH, false);
+            // Values of other types, such as an int compared with a long attribute, are equal to the attribute values
+            // by the condition without being equal objects, hence the attribute is not indexed
+            Attribute.Type type = indexedAttributeExecutor.getReturnType();
+            if (valueExecutor.getReturnType() != type || type == Attribute.Type.OBJECT) {
+                continue;
+            }
+            Operator intervalOperator = constructIntervalEventQueueOperator(expressionExecutor, expression,
+                    matchingMetaInfoHolder, siddhiAppContext, variableExpressionExecutors, tableMap, queryName,
+                    storeDefinition, indexAttribute, indexedAttributeExecutor, valueExecutor);
+            if (intervalOperator != null) {
+                return intervalOperator;
+            }
+            return new IndexedEventQueueOperator(expressionExecutor, matchingMetaInfoHolder.getStoreEventIndex(),
+                    indexedAttributeExecutor, valueExecutor);
+        }
+        return null;
+    }
+
+    /**
+     * Construct the operator looking up events of a {@link SnapshotableStreamEventQueue} by an interval index, when the
+     * condition, besides requiring the indexed attribute to be equal to a value, compares a numeric attribute of the
+     * store events with bounds evaluated on the matching events alone, as interval joins on timestamps do.
+     *
+     * @return the operator, or null if no numeric attribute is compared with bounds
+     */
+    private static Operator constructIntervalEventQueueOperator(ExpressionExecutor expressionExecutor,
+                                                                Expression expression,
+                                                                MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                                                SiddhiAppContext siddhiAppContext,
+                                                                List<VariableExpressionExecutor>
+                                                                        variableExpressionExecutors,
+                                                                Map<String, Table> tableMap, String queryName,
+                                                                AbstractDefinition storeDefinition,
+                                                                String indexAttribute,
+                                                                VariableExpressionExecutor indexedAttributeExecutor,
+                                                                ExpressionExecutor valueExecutor) {
+        for (Attribute rangeAttribute : storeDefinition.getAttributeList()) {
+            Attribute.Type type = rangeAttribute.getType();
+            if (rangeAttribute.getName().equals(indexAttribute) || (type != Attribute.Type.INT &&
+                    type != Attribute.Type.LONG && type != Attribute.Type.FLOAT && type != Attribute.Type.DOUBLE)) {
+                continue;
+            }
+            List<Compare> compares = new ArrayList<>();
+            collectRangeCompares(expression, matchingMetaInfoHolder, rangeAttribute.getName(), compares);
+            VariableExpressionExecutor rangeAttributeExecutor = null;
+            ExpressionExecutor lowerBoundExecutor = null;
+            boolean lowerInclusive = false;
+            ExpressionExecutor upperBoundExecutor = null;
+            boolean upperInclusive = false;
+            for (Compare compare : compares) {
+                boolean storeOnLeft = isTableIndexVariable(matchingMetaInfoHolder, compare.getLeftExpression(),
+                        rangeAttribute.getName());
+                Compare.Operator operator = storeOnLeft ? compare.getOperator() : reverse(compare.getOperator());
+                boolean lower = operator == Compare.Operator.GREATER_THAN ||
+                        operator == Compare.Operator.GREATER_THAN_EQUAL;
+                if (lower ? lowerBoundExecutor != null : upperBoundExecutor != null) {
+                    continue;
+                }
+                ExpressionExecutor boundExecutor = ExpressionParser.parseExpression(
+                        storeOnLeft ? compare.getRightExpression() : compare.getLeftExpression(),
+                        matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(),
+                        tableMap, variableExpressionExecutors, siddhiAppContext, false, 0, queryName,
+                        ProcessingMode.BATCH, false);
+                // Bounds of other types are not comparable with the attribute values
+                if (boundExecutor.getReturnType() != type) {
+                    continue;
+                }
+                if (rangeAttributeExecutor == null) {
+                    rangeAttributeExecutor = (VariableExpressionExecutor) ExpressionParser.parseExpression(
+                            storeOnLeft ? compare.getLeftExpression() : compare.getRightExpression(),
+                            matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(),
+                            tableMap, variableExpressionExecutors, siddhiAppContext, false, 0, queryName,
+                            ProcessingMode.BATCH, false);
+                }
+                if (lower) {
+                    lowerBoundExecutor = boundExecutor;
+                    lowerInclusive = operator == Compare.Operator.GREATER_THAN_EQUAL;
+                } else {
+                    upperBoundExecutor = boundExecutor;
+                    upperInclusive = operator == Compare.Operator.LESS_THAN_EQUAL;
+                }
+            }
+            if (rangeAttributeExecutor != null) {
+                return new IntervalEventQueueOperator(expressionExecutor,
+                        matchingMetaInfoHolder.getStoreEventIndex(), indexedAttributeExecutor, valueExecutor,
+                        rangeAttributeExecutor, lowerBoundExecutor, lowerInclusive, upperBoundExecutor,
+                        upperInclusive);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collect the conditions the given condition is a conjunction of, which compare the given attribute of the store
+     * events with an expression of the matching events alone by an operator other than equal and not equal.
+     */
+    private static void collectRangeCompares(Expression expression, MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                             String rangeAttribute, List<Compare> compares) {
+        if (expression instanceof And) {
+            collectRangeCompares(((And) expression).getLeftExpression(), matchingMetaInfoHolder, rangeAttribute,
+                    compares);
+            collectRangeCompares(((And) expression).getRightExpression(), matchingMetaInfoHolder, rangeAttribute,
+                    compares);
+        } else if (expression instanceof Compare && ((Compare) expression).getOperator() != Compare.Operator.EQUAL &&
+                ((Compare) expression).getOperator() != Compare.Operator.NOT_EQUAL) {
+            Compare compare = (Compare) expression;
+            if ((isTableIndexVariable(matchingMetaInfoHolder, compare.getLeftExpression(), rangeAttribute) &&
+                    isMatchingEventExpression(matchingMetaInfoHolder, compare.getRightExpression())) ||
+                    (isTableIndexVariable(matchingMetaInfoHolder, compare.getRightExpression(), rangeAttribute) &&
+                            isMatchingEventExpression(matchingMetaInfoHolder, compare.getLeftExpression()))) {
+                compares.add(compare);
+            }
+        }
+    }
+
+    private static Compare findEqualCompare(Expression expression, MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                            String indexAttribute) {
+        if (expression instanceof And) {
+            Compare compare = findEqualCompare(((And) expression).getLeftExpression(), matchingMetaInfoHolder,
+                    indexAttribute);
+            return compare != null ? compare : findEqualCompare(((And) expression).getRightExpression(),
+                    matchingMetaInfoHolder, indexAttribute);
+        } else if (expression instanceof Compare && ((Compare) expression).getOperator() == Compare.Operator.EQUAL) {
+            Compare compare = (Compare) expression;
+            if ((isTableIndexVariable(matchingMetaInfoHolder, compare.getLeftExpression(), indexAttribute) &&
+                    isMatchingEventExpression(matchingMetaInfoHolder, compare.getRightExpression())) ||
+                    (isTableIndexVariable(matchingMetaInfoHolder, compare.getRightExpression(), indexAttribute) &&
+                            isMatchingEventExpression(matchingMetaInfoHolder, compare.getLeftExpression()))) {
+                return compare;
+            }
+        }
+        return null;
+    }
+
+    private static Compare findRangeCompare(Expression expression, MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                            String sortAttribute) {
+        if (expression instanceof And) {
+            Compare compare = findRangeCompare(((And) expression).getLeftExpression(), matchingMetaInfoHolder,
+                    sortAttribute);
+            return compare != null ? compare : findRangeCompare(((And) expression).getRightExpression(),
+                    matchingMetaInfoHolder, sortAttribute);
+        } else if (expression instanceof Compare &&
+                ((Compare) expression).getOperator() != Compare.Operator.NOT_EQUAL) {
+            Compare compare = (Compare) expression;
+            if ((isTableIndexVariable(matchingMetaInfoHolder, compare.getLeftExpression(), sortAttribute) &&
+                    isMatchingEventExpression(matchingMetaInfoHolder, compare.getRightExpression())) ||
+                    (isTableIndexVariable(matchingMetaInfoHolder, compare.getRightExpression(), sortAttribute) &&
+                            isMatchingEventExpression(matchingMetaInfoHolder, compare.getLeftExpression()))) {
+                return compare;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether the expression is an arithmetic expression of constants and attributes of the matching events,
+     * which are explicitly qualified such that they cannot refer to the store events
+     */
+    private static boolean isMatchingEventExpression(MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                                     Expression expression) {
+        if (expression instanceof Constant) {
+            return true;
+        } else if (expression instanceof Variable) {
+            Variable variable = (Variable) expression;
+            if (variable.getStreamId() == null) {
+                return false;
+            }
+            MetaStreamEvent storeStreamEvent = matchingMetaInfoHolder.getMetaStateEvent().getMetaStreamEvent(
+                    matchingMetaInfoHolder.getStoreEventIndex());
+            return !variable.getStreamId().equals(storeStreamEvent.getInputReferenceId()) &&
+                    !variable.getStreamId().equals(storeStreamEvent.getLastInputDefinition().getId());
+        } else if (expression instanceof Add) {
+            return isMatchingEventExpression(matchingMetaInfoHolder, ((Add) expression).getLeftValue()) &&
+                    isMatchingEventExpression(matchingMetaInfoHolder, ((Add) expression).getRightValue());
+        } else if (expression instanceof Subtract) {
+            return isMatchingEventExpression(matchingMetaInfoHolder, ((Subtract) expression).getLeftValue()) &&
+                    isMatchingEventExpression(matchingMetaInfoHolder, ((Subtract) expression).getRightValue());
+        } else if (expression instanceof Multiply) {
+            return isMatchingEventExpression(matchingMetaInfoHolder, ((Multiply) expression).getLeftValue()) &&
+                    isMatchingEventExpression(matchingMetaInfoHolder, ((Multiply) expression).getRightValue());
+        } else if (expression instanceof Divide) {
+            return isMatchingEventExpression(matchingMetaInfoHolder, ((Divide) expression).getLeftValue()) &&
+                    isMatchingEventExpression(matchingMetaInfoHolder, ((Divide) expression).getRightValue());
+        }
+        return false;
+    }
+
+    private static Compare.Operator reverse(Compare.Operator operator) {
+        switch (operator) {
+            case LESS_THAN:
+                return Compare.Operator.GREATER_THAN;
+            case GREATER_THAN:
+                return Compare.Operator.LESS_THAN;
+            case LESS_THAN_EQUAL:
+                return Compare.Operator.GREATER_THAN_EQUAL;
+            case GREATER_THAN_EQUAL:
+                return Compare.Operator.LESS_THAN_EQUAL;
+            default:
+                return operator;
+        }
+    }
+
     private static boolean isTableIndexVariable(MatchingMetaInfoHolder matchingMetaInfoHolder, Expression expression,
                                                 String indexAttribute) {
         if (expression instanceof Variable) {
@@ -126,8 +452,9 @@ public class OperatorParser {
                     if ((tableStreamEvent.getInputReferenceId() != null && variable.getStreamId().equals
                             (tableStreamEvent.getInputReferenceId())) ||
                             (tableStreamEvent.getLastInputDefinition().getId().equals(variable.getStreamId()))) {
-                        if (Arrays.asList(tableStreamEvent.getLastInputDefinition().getAttributeNameArray()).contains
-                                (indexAttribute)) {
+                        if (variable.getAttributeName().equals(indexAttribute) &&
+                                Arrays.asList(tableStreamEvent.getLastInputDefinition().getAttributeNameArray())
+                                        .contains(indexAttribute)) {
                             return true;
                         }
                     }
@@ -42,20 +42,28 @@ import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.window.Window;
+import io.siddhi.query.api.annotation.Annotation;
 import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.WindowDefinition;
 import io.siddhi.query.api.exception.DuplicateDefinitionException;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.execution.query.Query;
 import io.siddhi.query.api.execution.query.input.handler.StreamHandler;
+import io.siddhi.query.api.execution.query.input.stream.InputStream;
 import io.siddhi.query.api.execution.query.input.stream.JoinInputStream;
 import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
 import io.siddhi.query.api.execution.query.output.ratelimit.SnapshotOutputRate;
 import io.siddhi.query.api.execution.query.output.stream.OutputStream;
+import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.util.AnnotationHelper;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -63,6 +71,9 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class QueryParser {
 
+    private static final Set<String> ARRIVAL_ORDER_WINDOWS = new HashSet<>(Arrays.asList("length", "lengthBatch",
+            "time", "timeBatch", "timeLength", "externalTime", "externalTimeBatch", "delay", "batch", "cron"));
+
     /**
      * Parse a query and return corresponding QueryRuntime.
      *
@@ -202,6 +213,21 @@ public class QueryParser {
                     siddhiAppContext.getScheduledExecutorService(), siddhiAppContext, queryName);
             if (outputRateLimiter instanceof WrappedSnapshotOutputRateLimiter) {
                 selector.setBatchingEnabled(false);
+                if (isOrderedSnapshot(query, selector, queryName)) {
+                    ((WrappedSnapshotOutputRateLimiter) outputRateLimiter).setTopK(
+                            selector.getOrderByEventComparator(), selector.getLimit());
+                }
+            }
+            if (!query.getSelector().getGroupByList().isEmpty()) {
+                configureGroupPurging(query, selector, outputRateLimiter,
+                        streamRuntime.getMetaComplexEvent().getOutputStreamDefinition().getAttributeList().size(),
+                        receivesExpiredEvents(query.getInputStream(), windowDefinitionMap),
+                        expiresInArrivalOrder(query.getInputStream(), windowDefinitionMap), queryName);
+                if (lockWrapper == null && !(outputRateLimiter instanceof WrappedSnapshotOutputRateLimiter)) {
+                    // Queries without a query lock process the groups concurrently within their shards
+                    selector.setGroupByShards(siddhiAppContext.getGroupByShards());
+                }
+                selector.initGroupPurging(lockWrapper, queryName);
             }
             siddhiAppContext.addEternalReferencedHolder(outputRateLimiter);
 
@@ -212,8 +238,11 @@ public class QueryParser {
 
             QueryParserHelper.reduceMetaComplexEvent(streamRuntime.getMetaComplexEvent());
             QueryParserHelper.updateVariablePosition(streamRuntime.getMetaComplexEvent(), executors);
+            if (siddhiAppContext.isExpressionCompilationEnabled()) {
+                QueryParserHelper.compileExpressions(streamRuntime, selector, queryName);
+            }
             QueryParserHelper.initStreamRuntime(streamRuntime, streamRuntime.getMetaComplexEvent(), lockWrapper,
-                    queryName);
+                    queryName, query.getAnnotations(), siddhiAppContext);
             selector.setEventPopulator(StateEventPopulatorFactory.constructEventPopulator(streamRuntime
                     .getMetaComplexEvent()));
             queryRuntime = new QueryRuntime(query, siddhiAppContext, streamRuntime, selector, outputRateLimiter,
@@ -243,5 +272,139 @@ public class QueryParser {
         return queryRuntime;
     }
 
+    /**
+     * Configure the eviction of the groups of a group by query via its {@code @purge} annotation, such as
+     * {@code @purge(idle.period='1 hour', max.groups='100000')}.
+     */
+    private static boolean receivesExpiredEvents(InputStream inputStream,
+                                                 Map<String, AbstractDefinition> windowDefinitionMap) {
+        if (inputStream instanceof JoinInputStream) {
+            return receivesExpiredEvents(((JoinInputStream) inputStream).getLeftInputStream(), windowDefinitionMap) ||
+                    receivesExpiredEvents(((JoinInputStream) inputStream).getRightInputStream(), windowDefinitionMap);
+        }
+        if (inputStream instanceof SingleInputStream) {
+            SingleInputStream singleInputStream = (SingleInputStream) inputStream;
+            if (windowDefinitionMap.containsKey(singleInputStream.getStreamId())) {
+                return true;
+            }
+            for (StreamHandler streamHandler : singleInputStream.getStreamHandlers()) {
+                if (streamHandler instanceof io.siddhi.query.api.execution.query.input.handler.Window) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean expiresInArrivalOrder(InputStream inputStream,
+                                                 Map<String, AbstractDefinition> windowDefinitionMap) {
+        if (!(inputStream instanceof SingleInputStream)) {
+            return false;
+        }
+        SingleInputStream singleInputStream = (SingleInputStream) inputStream;
+        AbstractDefinition windowDefinition = windowDefinitionMap.get(singleInputStream.getStreamId());
+        if (windowDefinition != null &&
+                !isArrivalOrderWindow(((WindowDefinition) windowDefinition).getWindow())) {
+            return false;
+        }
+        for (StreamHandler streamHandler : singleInputStream.getStreamHandlers()) {
+            if (streamHandler instanceof io.siddhi.query.api.execution.query.input.handler.Window &&
+                    !isArrivalOrderWindow((io.siddhi.query.api.execution.query.input.handler.Window) streamHandler)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isArrivalOrderWindow(io.siddhi.query.api.execution.query.input.handler.Window window) {
+        // The expired events of the groups evicted by purging are identified only by their number
+        return window.getNamespace().isEmpty() && ARRIVAL_ORDER_WINDOWS.contains(window.getName());
+    }
 
+    /**
+     * @return whether the snapshots of the query only emit the first events of the window in the order of the query,
+     * as configured by {@code @snapshot(ordered='true')}, which is only supported with order by and limit, without
+     * offset
+     */
+    private static boolean isOrderedSnapshot(Query query, QuerySelector selector, String queryName) {
+        Annotation snapshot = AnnotationHelper.getAnnotation(SiddhiConstants.NAMESPACE_SNAPSHOT,
+                query.getAnnotations());
+        if (snapshot == null) {
+            return false;
+        }
+        String ordered = snapshot.getElement(SiddhiConstants.ANNOTATION_ELEMENT_ORDERED);
+        if (ordered == null || !("true".equalsIgnoreCase(ordered) || "false".equalsIgnoreCase(ordered))) {
+            throw new SiddhiAppCreationException("Invalid value for ordered: " + ordered + " in @snapshot of " +
+                    "query '" + queryName + "'. Please use true or false", snapshot.getQueryContextStartIndex(),
+                    snapshot.getQueryContextEndIndex());
+        }
+        if ("false".equalsIgnoreCase(ordered)) {
+            return false;
+        }
+        if (selector.getOrderByEventComparator() == null || selector.getLimit() == SiddhiConstants.UNKNOWN_STATE ||
+                selector.getOffset() != SiddhiConstants.UNKNOWN_STATE) {
+            throw new SiddhiAppCreationException("@snapshot(ordered='true') of query '" + queryName + "' is only " +
+                    "supported with order by and limit, without offset", snapshot.getQueryContextStartIndex(),
+                    snapshot.getQueryContextEndIndex());
+        }
+        return true;
+    }
+
+    private static void configureGroupPurging(Query query, QuerySelector selector,
+                                              OutputRateLimiter outputRateLimiter, int outputDataSize,
+                                              boolean expiredEventsExpected, boolean expiresInArrivalOrder,
+                                              String queryName) {
+        Annotation purge = AnnotationHelper.getAnnotation(SiddhiConstants.NAMESPACE_PURGE, query.getAnnotations());
+        if (purge == null) {
+            return;
+        }
+        String enable = purge.getElement(SiddhiConstants.ANNOTATION_ELEMENT_ENABLE);
+        if (enable != null && !("true".equalsIgnoreCase(enable) || "false".equalsIgnoreCase(enable))) {
+            throw new SiddhiAppCreationException("Invalid value for enable: " + enable + " in @purge of query '" +
+                    queryName + "'. Please use true or false", purge.getQueryContextStartIndex(),
+                    purge.getQueryContextEndIndex());
+        }
+        if ("false".equalsIgnoreCase(enable)) {
+            return;
+        }
+        long idlePeriod = SiddhiConstants.UNKNOWN_STATE;
+        String idlePeriodValue = purge.getElement(SiddhiConstants.ANNOTATION_ELEMENT_IDLE_PERIOD);
+        if (idlePeriodValue != null) {
+            try {
+                idlePeriod = Expression.Time.timeToLong(idlePeriodValue);
+            } catch (SiddhiAppValidationException e) {
+                throw new SiddhiAppCreationException("Invalid idle.period '" + idlePeriodValue + "' in @purge of " +
+                        "query '" + queryName + "', expected a time period such as '1 hour'", e,
+                        purge.getQueryContextStartIndex(), purge.getQueryContextEndIndex());
+            }
+        }
+        int maxGroups = SiddhiConstants.UNKNOWN_STATE;
+        String maxGroupsValue = purge.getElement(SiddhiConstants.ANNOTATION_ELEMENT_MAX_GROUPS);
+        if (maxGroupsValue != null) {
+            try {
+                maxGroups = Integer.parseInt(maxGroupsValue.trim());
+            } catch (NumberFormatException e) {
+                maxGroups = 0;
+            }
+            if (maxGroups < 1) {
+                throw new SiddhiAppCreationException("Invalid max.groups '" + maxGroupsValue + "' in @purge of " +
+                        "query '" + queryName + "', expected a positive integer", purge.getQueryContextStartIndex(),
+                        purge.getQueryContextEndIndex());
+            }
+        }
+        if (idlePeriod == SiddhiConstants.UNKNOWN_STATE && maxGroups == SiddhiConstants.UNKNOWN_STATE) {
+            throw new SiddhiAppCreationException("@purge of group by query '" + queryName + "' should define " +
+                    "idle.period, max.groups or both", purge.getQueryContextStartIndex(),
+                    purge.getQueryContextEndIndex());
+        }
+        if (expiredEventsExpected && !expiresInArrivalOrder) {
+            throw new SiddhiAppCreationException("@purge of group by query '" + queryName + "' is only supported " +
+                    "with windows expiring events in the order they arrive, such as length and time windows",
+                    purge.getQueryContextStartIndex(), purge.getQueryContextEndIndex());
+        }
+        selector.setGroupPurging(idlePeriod, maxGroups, expiredEventsExpected, outputDataSize);
+        if (outputRateLimiter instanceof WrappedSnapshotOutputRateLimiter) {
+            ((WrappedSnapshotOutputRateLimiter) outputRateLimiter).setGroupPurging(idlePeriod, maxGroups);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import io.siddhi.core.event.state.MetaStateEventAttribute;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.SharedExpressionScope;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import io.siddhi.core.query.processor.ProcessingMode;
@@ -31,6 +32,7 @@ import io.siddhi.core.query.selector.GroupByKeyGenerator;
 import io.siddhi.core.query.selector.OrderByEventComparator;
 import io.siddhi.core.query.selector.QuerySelector;
 import io.siddhi.core.query.selector.attribute.processor.AttributeProcessor;
+import io.siddhi.core.query.selector.attribute.processor.executor.GroupByAggregators;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.query.api.definition.AbstractDefinition;
@@ -53,6 +55,7 @@ import java.util.stream.Collectors;
  */
 public class SelectorParser {
     private static final ThreadLocal<String> containsAggregatorThreadLocal = new ThreadLocal<String>();
+    private static final ThreadLocal<GroupByAggregators> groupByAggregatorsThreadLocal = new ThreadLocal<>();
 
     /**
      * Parse Selector portion of a query and return corresponding QuerySelector.
@@ -90,11 +93,30 @@ public class SelectorParser {
         id = outputStream.getId();
         containsAggregatorThreadLocal.remove();
         QuerySelector querySelector = new QuerySelector(id, selector, currentOn, expiredOn, siddhiAppContext);
-        List<AttributeProcessor> attributeProcessors = getAttributeProcessors(selector, id, siddhiAppContext,
-                metaComplexEvent, tableMap, variableExpressionExecutors, outputStream, queryName, metaPosition,
-                processingMode, outputExpectsExpiredEvents);
+        List<AttributeProcessor> attributeProcessors;
+        SharedExpressionScope sharedExpressionScope;
+        GroupByAggregators groupByAggregators = null;
+        ExpressionParser.startSharingExpressions(selector.getSelectionList().stream()
+                        .map(OutputAttribute::getExpression)
+                        .collect(Collectors.toList()),
+                metaComplexEvent, SiddhiConstants.UNKNOWN_STATE);
+        try {
+            if (!selector.getGroupByList().isEmpty()) {
+                groupByAggregators = new GroupByAggregators(siddhiAppContext);
+                groupByAggregatorsThreadLocal.set(groupByAggregators);
+            }
+            attributeProcessors = getAttributeProcessors(selector, id, siddhiAppContext, metaComplexEvent, tableMap,
+                    variableExpressionExecutors, outputStream, queryName, metaPosition, processingMode,
+                    outputExpectsExpiredEvents);
+        } finally {
+            sharedExpressionScope = ExpressionParser.stopSharingExpressions();
+            groupByAggregatorsThreadLocal.remove();
+        }
         querySelector.setAttributeProcessorList(attributeProcessors,
                 "true".equals(containsAggregatorThreadLocal.get()));
+        if (sharedExpressionScope != null) {
+            querySelector.setSharedExpressionScope(sharedExpressionScope);
+        }
         containsAggregatorThreadLocal.remove();
         ConditionExpressionExecutor havingCondition = generateHavingExecutor(selector.getHavingExpression(),
                 metaComplexEvent, siddhiAppContext, tableMap, variableExpressionExecutors, queryName);
@@ -106,7 +128,7 @@ public class SelectorParser {
                     .collect(Collectors.toList());
             querySelector.setGroupByKeyGenerator(new GroupByKeyGenerator(groupByExpressionList, metaComplexEvent,
                     SiddhiConstants.UNKNOWN_STATE, null, variableExpressionExecutors, siddhiAppContext,
-                    queryName));
+                    queryName), groupByAggregators);
         }
         if (!selector.getOrderByList().isEmpty()) {
             querySelector.setOrderByEventComparator(new OrderByEventComparator(selector.getOrderByList(),
@@ -255,4 +277,11 @@ public class SelectorParser {
     public static ThreadLocal<String> getContainsAggregatorThreadLocal() {
         return containsAggregatorThreadLocal;
     }
+
+    /**
+     * @return thread local holding the aggregators of the groups of the group by selector being parsed
+     */
+    public static ThreadLocal<GroupByAggregators> getGroupByAggregatorsThreadLocal() {
+        return groupByAggregatorsThreadLocal;
+    }
 }
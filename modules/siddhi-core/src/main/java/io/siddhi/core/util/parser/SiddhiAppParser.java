@@ -20,6 +20,7 @@ package io.siddhi.core.util.parser;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.config.SiddhiContext;
+import io.siddhi.core.config.ThreadType;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.partition.PartitionRuntime;
 import io.siddhi.core.query.QueryRuntime;
@@ -29,6 +30,8 @@ import io.siddhi.core.util.ExceptionUtil;
 import io.siddhi.core.util.SiddhiAppRuntimeBuilder;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.ThreadBarrier;
+import io.siddhi.core.util.VirtualThreads;
+import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.timestamp.TimestampGenerator;
 import io.siddhi.core.util.timestamp.TimestampGeneratorImpl;
@@ -153,13 +156,126 @@ public class SiddhiAppParser {
 
             siddhiAppContext.setThreadBarrier(new ThreadBarrier());
 
-            siddhiAppContext.setExecutorService(Executors.newCachedThreadPool(
-                    new ThreadFactoryBuilder().setNameFormat("Siddhi-" + siddhiAppContext.getName() +
-                            "-executor-thread-%d").build()));
+            ThreadType threadType = siddhiContext.getThreadType();
+            Element threadsElement = AnnotationHelper.getAnnotationElement(SiddhiConstants.ANNOTATION_EXECUTION,
+                    SiddhiConstants.ANNOTATION_ELEMENT_THREADS, siddhiApp.getAnnotations());
+            if (threadsElement != null) {
+                try {
+                    threadType = ThreadType.valueOf(threadsElement.getValue().trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new SiddhiAppCreationException("Invalid threads '" + threadsElement.getValue() +
+                            "' in @app:execution of Siddhi app '" + siddhiAppContext.getName() +
+                            "', only 'platform' and 'virtual' are supported", e,
+                            threadsElement.getQueryContextStartIndex(), threadsElement.getQueryContextEndIndex());
+                }
+            }
+            if (threadType == ThreadType.VIRTUAL && !VirtualThreads.isSupported()) {
+                log.warn("Virtual threads requested for Siddhi app '" + siddhiAppContext.getName() +
+                        "' are not supported by Java " + System.getProperty("java.version") +
+                        ", hence using platform threads.");
+                threadType = ThreadType.PLATFORM;
+            }
+            siddhiAppContext.setThreadType(threadType);
+
+            Element expressionsElement = AnnotationHelper.getAnnotationElement(SiddhiConstants.ANNOTATION_EXECUTION,
+                    SiddhiConstants.ANNOTATION_ELEMENT_EXPRESSIONS, siddhiApp.getAnnotations());
+            if (expressionsElement != null) {
+                String expressions = expressionsElement.getValue().trim();
+                if (expressions.equalsIgnoreCase("compiled")) {
+                    siddhiAppContext.setExpressionCompilationEnabled(true);
+                } else if (!expressions.equalsIgnoreCase("interpreted")) {
+                    throw new SiddhiAppCreationException("Invalid expressions '" + expressionsElement.getValue() +
+                            "' in @app:execution of Siddhi app '" + siddhiAppContext.getName() +
+                            "', only 'interpreted' and 'compiled' are supported",
+                            expressionsElement.getQueryContextStartIndex(),
+                            expressionsElement.getQueryContextEndIndex());
+                }
+            }
 
-            siddhiAppContext.setScheduledExecutorService(Executors.newScheduledThreadPool(5,
-                    new ThreadFactoryBuilder().setNameFormat("Siddhi-" +
-                            siddhiAppContext.getName() + "-scheduler-thread-%d").build()));
+            Element conditionOrderElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_EXECUTION, SiddhiConstants.ANNOTATION_ELEMENT_CONDITION_ORDER,
+                    siddhiApp.getAnnotations());
+            if (conditionOrderElement != null) {
+                String conditionOrder = conditionOrderElement.getValue().trim();
+                if (conditionOrder.equalsIgnoreCase("adaptive")) {
+                    siddhiAppContext.setAdaptiveConditionOrderEnabled(true);
+                } else if (!conditionOrder.equalsIgnoreCase("static")) {
+                    throw new SiddhiAppCreationException("Invalid condition.order '" +
+                            conditionOrderElement.getValue() + "' in @app:execution of Siddhi app '" +
+                            siddhiAppContext.getName() + "', only 'static' and 'adaptive' are supported",
+                            conditionOrderElement.getQueryContextStartIndex(),
+                            conditionOrderElement.getQueryContextEndIndex());
+                }
+            }
+
+            Element groupByShardsElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_EXECUTION, SiddhiConstants.ANNOTATION_ELEMENT_GROUP_BY_SHARDS,
+                    siddhiApp.getAnnotations());
+            if (groupByShardsElement != null) {
+                int groupByShards;
+                try {
+                    groupByShards = Integer.parseInt(groupByShardsElement.getValue().trim());
+                } catch (NumberFormatException e) {
+                    groupByShards = 0;
+                }
+                if (groupByShards < 1) {
+                    throw new SiddhiAppCreationException("Invalid group.by.shards '" +
+                            groupByShardsElement.getValue() + "' in @app:execution of Siddhi app '" +
+                            siddhiAppContext.getName() + "', expected a positive integer",
+                            groupByShardsElement.getQueryContextStartIndex(),
+                            groupByShardsElement.getQueryContextEndIndex());
+                }
+                siddhiAppContext.setGroupByShards(groupByShards);
+            }
+
+            Element windowLookupElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_EXECUTION, SiddhiConstants.ANNOTATION_ELEMENT_WINDOW_LOOKUP,
+                    siddhiApp.getAnnotations());
+            if (windowLookupElement != null) {
+                String windowLookup = windowLookupElement.getValue().trim();
+                if (windowLookup.equalsIgnoreCase("scan")) {
+                    siddhiAppContext.setWindowIndexEnabled(false);
+                } else if (!windowLookup.equalsIgnoreCase("indexed")) {
+                    throw new SiddhiAppCreationException("Invalid window.lookup '" +
+                            windowLookupElement.getValue() + "' in @app:execution of Siddhi app '" +
+                            siddhiAppContext.getName() + "', only 'indexed' and 'scan' are supported",
+                            windowLookupElement.getQueryContextStartIndex(),
+                            windowLookupElement.getQueryContextEndIndex());
+                }
+            }
+
+            String eventPoolOwner = "@app:eventPool of Siddhi app '" + siddhiAppContext.getName() + "'";
+            Element eventPoolSizeElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_EVENT_POOL, SiddhiConstants.ANNOTATION_ELEMENT_SIZE,
+                    siddhiApp.getAnnotations());
+            if (eventPoolSizeElement != null) {
+                siddhiAppContext.setEventPoolSize(QueryParserHelper.parseEventPoolSize(eventPoolSizeElement,
+                        eventPoolOwner));
+            }
+            Element eventPoolThreadLocalCacheElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_EVENT_POOL, SiddhiConstants.ANNOTATION_ELEMENT_THREAD_LOCAL_CACHE,
+                    siddhiApp.getAnnotations());
+            if (eventPoolThreadLocalCacheElement != null) {
+                siddhiAppContext.setEventPoolThreadLocalCache(QueryParserHelper.parseEventPoolThreadLocalCache(
+                        eventPoolThreadLocalCacheElement, eventPoolOwner));
+            }
+
+            if (threadType == ThreadType.VIRTUAL) {
+                siddhiAppContext.setExecutorService(VirtualThreads.newThreadPerTaskExecutor(
+                        "Siddhi-" + siddhiAppContext.getName() + "-executor-virtual-thread-"));
+
+                siddhiAppContext.setScheduledExecutorService(Executors.newScheduledThreadPool(5,
+                        VirtualThreads.newThreadFactory("Siddhi-" + siddhiAppContext.getName() +
+                                "-scheduler-virtual-thread-")));
+            } else {
+                siddhiAppContext.setExecutorService(Executors.newCachedThreadPool(
+                        new ThreadFactoryBuilder().setNameFormat("Siddhi-" + siddhiAppContext.getName() +
+                                "-executor-thread-%d").build()));
+
+                siddhiAppContext.setScheduledExecutorService(Executors.newScheduledThreadPool(5,
+                        new ThreadFactoryBuilder().setNameFormat("Siddhi-" +
+                                siddhiAppContext.getName() + "-scheduler-thread-%d").build()));
+            }
 
             // Select the TimestampGenerator based on playback mode on/off
             annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_PLAYBACK,
@@ -27,8 +27,10 @@ import io.siddhi.core.event.state.StateEventPool;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventPool;
+import io.siddhi.core.event.stream.ThreadLocalStreamEventPool;
 import io.siddhi.core.event.stream.populater.ComplexEventPopulater;
 import io.siddhi.core.event.stream.populater.StreamEventPopulaterFactory;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.input.ProcessStreamReceiver;
 import io.siddhi.core.query.input.stream.StreamRuntime;
@@ -37,14 +39,20 @@ import io.siddhi.core.query.input.stream.single.SingleStreamRuntime;
 import io.siddhi.core.query.input.stream.state.StreamPreStateProcessor;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.query.processor.SchedulingProcessor;
+import io.siddhi.core.query.processor.filter.FilterProcessor;
 import io.siddhi.core.query.processor.stream.AbstractStreamProcessor;
+import io.siddhi.core.query.selector.QuerySelector;
+import io.siddhi.core.query.selector.attribute.processor.AttributeProcessor;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.operator.IncrementalAggregateCompileCondition;
 import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.util.AnnotationHelper;
 
 import java.util.List;
 
@@ -151,26 +159,70 @@ public class QueryParserHelper {
         }
     }
 
+    /**
+     * Compile the filter conditions and the select expressions of a query. Called once the positions of the attributes
+     * are updated, as the compiled code reads the attributes of stream events from their positions directly.
+     *
+     * @param runtime   stream runtime of the query
+     * @param selector  selector of the query
+     * @param queryName name of the query
+     */
+    public static void compileExpressions(StreamRuntime runtime, QuerySelector selector, String queryName) {
+        for (SingleStreamRuntime singleStreamRuntime : runtime.getSingleStreamRuntimes()) {
+            for (Processor processor = singleStreamRuntime.getProcessorChain(); processor != null;
+                 processor = processor.getNextProcessor()) {
+                if (processor instanceof FilterProcessor) {
+                    ((FilterProcessor) processor).compileCondition(queryName);
+                }
+            }
+        }
+        for (AttributeProcessor attributeProcessor : selector.getAttributeProcessorList()) {
+            attributeProcessor.compileExpression(queryName);
+        }
+    }
+
     public static void initStreamRuntime(StreamRuntime runtime, MetaComplexEvent metaComplexEvent,
-                                         LockWrapper lockWrapper, String queryName) {
+                                         LockWrapper lockWrapper, String queryName, List<Annotation> annotations,
+                                         SiddhiAppContext siddhiAppContext) {
+
+        int eventPoolSize = siddhiAppContext.getEventPoolSize() >= 0 ? siddhiAppContext.getEventPoolSize() : 5;
+        boolean eventPoolThreadLocalCache = siddhiAppContext.isEventPoolThreadLocalCache();
+        Element sizeElement = AnnotationHelper.getAnnotationElement(SiddhiConstants.ANNOTATION_EVENT_POOL,
+                SiddhiConstants.ANNOTATION_ELEMENT_SIZE, annotations);
+        if (sizeElement != null) {
+            eventPoolSize = parseEventPoolSize(sizeElement, "query '" + queryName + "'");
+        }
+        Element threadLocalCacheElement = AnnotationHelper.getAnnotationElement(
+                SiddhiConstants.ANNOTATION_EVENT_POOL, SiddhiConstants.ANNOTATION_ELEMENT_THREAD_LOCAL_CACHE,
+                annotations);
+        if (threadLocalCacheElement != null) {
+            eventPoolThreadLocalCache = parseEventPoolThreadLocalCache(threadLocalCacheElement,
+                    "query '" + queryName + "'");
+        }
 
         if (runtime instanceof SingleStreamRuntime) {
+            StreamEventPool streamEventPool = createStreamEventPool((MetaStreamEvent) metaComplexEvent,
+                    eventPoolSize, eventPoolThreadLocalCache, queryName + SiddhiConstants.METRIC_DELIMITER + "0",
+                    siddhiAppContext);
             initSingleStreamRuntime((SingleStreamRuntime) runtime, 0, metaComplexEvent,
-                    null, lockWrapper, queryName);
+                    null, lockWrapper, queryName, streamEventPool);
         } else {
             MetaStateEvent metaStateEvent = (MetaStateEvent) metaComplexEvent;
             StateEventPool stateEventPool = new StateEventPool(metaStateEvent, 5);
             MetaStreamEvent[] metaStreamEvents = metaStateEvent.getMetaStreamEvents();
             for (int i = 0, metaStreamEventsLength = metaStreamEvents.length; i < metaStreamEventsLength; i++) {
                 initSingleStreamRuntime(runtime.getSingleStreamRuntimes().get(i), i, metaStateEvent, stateEventPool,
-                        lockWrapper, queryName);
+                        lockWrapper, queryName, createStreamEventPool(metaStreamEvents[i], eventPoolSize,
+                                eventPoolThreadLocalCache, queryName + SiddhiConstants.METRIC_DELIMITER + i,
+                                siddhiAppContext));
             }
         }
     }
 
     private static void initSingleStreamRuntime(SingleStreamRuntime singleStreamRuntime, int streamEventChainIndex,
                                                 MetaComplexEvent metaComplexEvent, StateEventPool stateEventPool,
-                                                LockWrapper lockWrapper, String queryName) {
+                                                LockWrapper lockWrapper, String queryName,
+                                                StreamEventPool streamEventPool) {
         MetaStreamEvent metaStreamEvent;
 
         if (metaComplexEvent instanceof MetaStateEvent) {
@@ -178,7 +230,6 @@ public class QueryParserHelper {
         } else {
             metaStreamEvent = (MetaStreamEvent) metaComplexEvent;
         }
-        StreamEventPool streamEventPool = new StreamEventPool(metaStreamEvent, 5);
         ProcessStreamReceiver processStreamReceiver = singleStreamRuntime.getProcessStreamReceiver();
         processStreamReceiver.setMetaStreamEvent(metaStreamEvent);
         processStreamReceiver.setStreamEventPool(streamEventPool);
@@ -255,6 +306,82 @@ public class QueryParserHelper {
         return latencyTracker;
     }
 
+    /**
+     * Create the {@link StreamEventPool} of a query input stream. When statistics are enabled the pool reports its
+     * hits and misses, and the number of events it holds is reported as a gauge.
+     *
+     * @param metaStreamEvent   meta stream event of the pooled events
+     * @param size              maximum number of events kept in the pool (per thread when cached per thread)
+     * @param threadLocalCache  whether each thread should get its own cache of events
+     * @param name              name of the pool used in the metrics
+     * @param siddhiAppContext  Siddhi app context
+     * @return stream event pool
+     */
+    public static StreamEventPool createStreamEventPool(MetaStreamEvent metaStreamEvent, int size,
+                                                        boolean threadLocalCache, String name,
+                                                        SiddhiAppContext siddhiAppContext) {
+        StreamEventPool streamEventPool;
+        if (threadLocalCache) {
+            streamEventPool = new ThreadLocalStreamEventPool(metaStreamEvent, size);
+        } else {
+            streamEventPool = new StreamEventPool(metaStreamEvent, size);
+        }
+        if (siddhiAppContext.getStatisticsManager() != null) {
+            ThroughputTracker hitTracker = createThroughputTracker(siddhiAppContext, name,
+                    SiddhiConstants.METRIC_INFIX_EVENT_POOLS, "hits");
+            ThroughputTracker missTracker = createThroughputTracker(siddhiAppContext, name,
+                    SiddhiConstants.METRIC_INFIX_EVENT_POOLS, "misses");
+            if (hitTracker != null || missTracker != null) {
+                streamEventPool.setStatisticsTrackers(hitTracker, missTracker, siddhiAppContext);
+            }
+            siddhiAppContext.addStreamEventPool(name, streamEventPool);
+        }
+        return streamEventPool;
+    }
+
+    /**
+     * Create a {@link StreamEventPool} sized and cached per thread as configured via @app:eventPool, or of the given
+     * default size when no size is configured for the app.
+     *
+     * @param metaStreamEvent  meta stream event of the pooled events
+     * @param defaultSize      size of the pool when no size is configured for the app
+     * @param name             name of the pool used in the metrics
+     * @param siddhiAppContext Siddhi app context
+     * @return stream event pool
+     */
+    public static StreamEventPool createStreamEventPool(MetaStreamEvent metaStreamEvent, int defaultSize, String name,
+                                                        SiddhiAppContext siddhiAppContext) {
+        int size = siddhiAppContext.getEventPoolSize() >= 0 ? siddhiAppContext.getEventPoolSize() : defaultSize;
+        return createStreamEventPool(metaStreamEvent, size, siddhiAppContext.isEventPoolThreadLocalCache(), name,
+                siddhiAppContext);
+    }
+
+    public static int parseEventPoolSize(Element sizeElement, String owner) {
+        try {
+            int size = Integer.parseInt(sizeElement.getValue().trim());
+            if (size >= 0) {
+                return size;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new SiddhiAppCreationException("Invalid event pool size '" + sizeElement.getValue() + "' in " + owner +
+                ", expected a non negative integer", sizeElement.getQueryContextStartIndex(),
+                sizeElement.getQueryContextEndIndex());
+    }
+
+    public static boolean parseEventPoolThreadLocalCache(Element threadLocalCacheElement, String owner) {
+        String value = threadLocalCacheElement.getValue().trim();
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        } else if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new SiddhiAppCreationException("Invalid event pool thread.local.cache '" +
+                threadLocalCacheElement.getValue() + "' in " + owner + ", expected 'true' or 'false'",
+                threadLocalCacheElement.getQueryContextStartIndex(), threadLocalCacheElement.getQueryContextEndIndex());
+    }
+
     public static ThroughputTracker createThroughputTracker(SiddhiAppContext siddhiAppContext, String name,
                                                             String type, String function) {
         ThroughputTracker throughputTracker = null;
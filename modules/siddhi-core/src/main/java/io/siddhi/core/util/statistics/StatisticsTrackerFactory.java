@@ -33,6 +33,8 @@ public interface StatisticsTrackerFactory {
 
     BufferedEventsTracker createBufferSizeTracker(StatisticsManager statisticsManager);
 
+    GaugeTracker createGaugeTracker(StatisticsManager statisticsManager);
+
     MemoryUsageTracker createMemoryUsageTracker(StatisticsManager statisticsManager);
 
     StatisticsManager createStatisticsManager(String prefix, String siddhiAppName, List<Element> elements);
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.statistics.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.siddhi.core.util.statistics.GaugeTracker;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Class to report the current values of measures in Siddhi.
+ */
+public class SiddhiGaugeMetric implements GaugeTracker {
+    private MetricRegistry metricRegistry;
+
+    public SiddhiGaugeMetric(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    /**
+     * Register the value that needs to be reported
+     *
+     * @param valueSupplier Supplier of the current value, called each time the value is reported
+     * @param name          An unique value to identify the measure.
+     */
+    @Override
+    public void registerGauge(final LongSupplier valueSupplier, String name) {
+        metricRegistry.register(name,
+                new Gauge<Long>() {
+                    @Override
+                    public Long getValue() {
+                        try {
+                            return valueSupplier.getAsLong();
+                        } catch (Throwable e) {
+                            return 0L;
+                        }
+                    }
+                });
+    }
+}
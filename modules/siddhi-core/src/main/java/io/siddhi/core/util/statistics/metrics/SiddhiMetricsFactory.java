@@ -19,6 +19,7 @@
 package io.siddhi.core.util.statistics.metrics;
 
 import io.siddhi.core.util.statistics.BufferedEventsTracker;
+import io.siddhi.core.util.statistics.GaugeTracker;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.StatisticsManager;
@@ -45,6 +46,10 @@ public class SiddhiMetricsFactory implements StatisticsTrackerFactory {
         return new SiddhiBufferedEventsMetric(((SiddhiStatisticsManager) statisticsManager).getRegistry());
     }
 
+    public GaugeTracker createGaugeTracker(StatisticsManager statisticsManager) {
+        return new SiddhiGaugeMetric(((SiddhiStatisticsManager) statisticsManager).getRegistry());
+    }
+
     public MemoryUsageTracker createMemoryUsageTracker(StatisticsManager statisticsManager) {
         return new SiddhiMemoryUsageMetric(((SiddhiStatisticsManager) statisticsManager).getRegistry());
     }
@@ -47,10 +47,14 @@ import io.siddhi.core.util.snapshot.Snapshotable;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryCalculable;
 import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.WindowDefinition;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.execution.query.output.stream.OutputStream;
 import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.util.AnnotationHelper;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -145,6 +149,19 @@ public class Window implements FindableProcessor, Snapshotable, MemoryCalculable
             return;
         }
 
+        // Attributes of the Index annotation are preferred when looking up the window by an equal condition
+        Annotation indexAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_INDEX,
+                windowDefinition.getAnnotations());
+        if (indexAnnotation != null) {
+            if (indexAnnotation.getElements().size() == 0) {
+                throw new SiddhiAppValidationException(SiddhiConstants.ANNOTATION_INDEX + " annotation contains "
+                        + "no element, at '" + windowDefinition.getId() + "'");
+            }
+            for (Element element : indexAnnotation.getElements()) {
+                windowDefinition.getAttributePosition(element.getValue().trim());
+            }
+        }
+
         // Create and initialize MetaStreamEvent
         MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
         metaStreamEvent.addInputDefinition(windowDefinition);
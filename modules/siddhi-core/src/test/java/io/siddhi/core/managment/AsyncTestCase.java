@@ -20,12 +20,19 @@ package io.siddhi.core.managment;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.config.StatisticsConfiguration;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.event.handler.BufferOverflowState;
+import io.siddhi.core.util.statistics.GaugeTracker;
+import io.siddhi.core.util.statistics.StatisticsManager;
+import io.siddhi.core.util.statistics.metrics.SiddhiMetricsFactory;
+import io.siddhi.core.util.transport.InMemoryBroker;
+import io.siddhi.core.util.transport.SubscriberUnAvailableException;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
@@ -33,7 +40,10 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 public class AsyncTestCase {
     private static final Logger log = Logger.getLogger(AsyncTestCase.class);
@@ -400,4 +410,594 @@ public class AsyncTestCase {
         SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
 
     }
+
+    @Test
+    public void asyncTest9() throws InterruptedException {
+        log.info("async test 9");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', wait.strategy='hybrid', producer.type='multi')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@async(buffer.size='16', wait.strategy='busy.spin', producer.type='single')" +
+                "define stream innerStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 < price] " +
+                "select * " +
+                "insert into innerStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from innerStream[volume > 90] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                eventArrived = true;
+                for (Event event : events) {
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 100; i++) {
+            inputHandler.send(new Object[]{"WSO2", 115.6f, 100 + i});
+        }
+        SiddhiTestHelper.waitForEvents(100, 100, count, 10000);
+        AssertJUnit.assertEquals(100, count.get());
+        AssertJUnit.assertTrue(eventArrived);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncTest10() throws InterruptedException {
+        log.info("async test 10");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', wait.strategy='spinning')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncTest11() throws InterruptedException {
+        log.info("async test 11");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', producer.type='dual')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void asyncTest12() throws InterruptedException {
+        log.info("async test 12");
+        HashMap<String, String> symbolThreads = new HashMap<>();
+        HashMap<String, Integer> lastVolumes = new HashMap<>();
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', workers='4', batch.size.max='5', key='symbol')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 < price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                eventArrived = true;
+                synchronized (symbolThreads) {
+                    for (Event event : events) {
+                        String symbol = (String) event.getData(0);
+                        String thread = symbolThreads.putIfAbsent(symbol, Thread.currentThread().getName());
+                        if (thread != null) {
+                            AssertJUnit.assertEquals(thread, Thread.currentThread().getName());
+                        }
+                        Integer lastVolume = lastVolumes.put(symbol, (Integer) event.getData(2));
+                        if (lastVolume != null) {
+                            AssertJUnit.assertTrue(lastVolume < (Integer) event.getData(2));
+                        }
+                        count.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        String[] symbols = new String[]{"WSO2", "IBM", "ORACLE", "GOOGLE", "APPLE", "MSFT"};
+        for (int i = 0; i < 600; i++) {
+            inputHandler.send(new Object[]{symbols[i % symbols.length], 115.6f, i});
+        }
+        SiddhiTestHelper.waitForEvents(100, 600, count, 10000);
+        AssertJUnit.assertEquals(600, count.get());
+        AssertJUnit.assertEquals(symbols.length, lastVolumes.size());
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertTrue(eventArrived);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncTest13() throws InterruptedException {
+        log.info("async test 13");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', workers='2', key='company')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void asyncTest14() throws InterruptedException {
+        log.info("async test 14");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', batch.size.max='10')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@async(buffer.size='8')" +
+                "define stream innerStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.lengthBatch(50) " +
+                "select * " +
+                "insert into innerStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from innerStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                eventArrived = true;
+                for (Event event : events) {
+                    AssertJUnit.assertEquals(count.getAndIncrement(), event.getData(2));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        Event[] events = new Event[100];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new Event(System.currentTimeMillis(), new Object[]{"WSO2", 115.6f, i});
+        }
+        inputHandler.send(events);
+        SiddhiTestHelper.waitForEvents(100, 100, count, 10000);
+        AssertJUnit.assertEquals(100, count.get());
+        AssertJUnit.assertTrue(eventArrived);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void asyncTest15() throws InterruptedException {
+        log.info("async test 15");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='2', batch.size.max='1', overflow.action='drop.newest')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    log.error(e.getMessage(), e);
+                }
+                eventArrived = true;
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            inputHandler.send(new Object[]{"WSO2", 115.6f, i});
+        }
+        AssertJUnit.assertTrue(System.currentTimeMillis() - startTime < 500);
+        Thread.sleep(2000);
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertTrue(count.get() < 20);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void asyncTest16() throws InterruptedException {
+        log.info("async test 16");
+        AtomicInteger faultCount = new AtomicInteger();
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@OnError(action='stream')" +
+                "@async(buffer.size='2', batch.size.max='1', overflow.action='stream')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    log.error(e.getMessage(), e);
+                }
+                eventArrived = true;
+                count.addAndGet(events.length);
+            }
+        });
+        siddhiAppRuntime.addCallback("!cseEventStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    AssertJUnit.assertNotNull(event.getData(3));
+                    faultCount.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 20; i++) {
+            inputHandler.send(new Object[]{"WSO2", 115.6f, i});
+        }
+        SiddhiTestHelper.waitForEvents(100, 20 - faultCount.get(), count, 10000);
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertTrue(faultCount.get() > 0);
+        AssertJUnit.assertEquals(20, count.get() + faultCount.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncTest17() throws InterruptedException {
+        log.info("async test 17");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', overflow.action='stream')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncTest18() throws InterruptedException {
+        log.info("async test 18");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', overflow.action='drop.oldest', overflow.timeout='1 sec')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void asyncTest19() throws InterruptedException {
+        log.info("async test 19");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+        siddhiManager.setStatisticsConfiguration(new StatisticsConfiguration(new SiddhiMetricsFactory() {
+            @Override
+            public GaugeTracker createGaugeTracker(StatisticsManager statisticsManager) {
+                return (valueSupplier, name) -> gauges.put(name, valueSupplier);
+            }
+        }));
+
+        String siddhiApp = "" +
+                "@app:statistics(reporter = 'console', interval = '1') " +
+                "@async(buffer.size='64', batch.size.max='16', latency.target='2 ms')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicInteger lastVolume = new AtomicInteger(-1);
+        final AtomicInteger outOfOrderCount = new AtomicInteger();
+        final AtomicInteger maxBatchSize = new AtomicInteger();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    log.error(e.getMessage(), e);
+                }
+                for (Event event : events) {
+                    int volume = (Integer) event.getData(2);
+                    if (lastVolume.getAndSet(volume) >= volume) {
+                        outOfOrderCount.incrementAndGet();
+                    }
+                }
+                maxBatchSize.accumulateAndGet(events.length, Math::max);
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 1000; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, i});
+        }
+        SiddhiTestHelper.waitForEvents(100, 1000, count, 10000);
+        LongSupplier batchSize = null;
+        for (Map.Entry<String, LongSupplier> gauge : gauges.entrySet()) {
+            if (gauge.getKey().endsWith("cseEventStream.batch.size")) {
+                batchSize = gauge.getValue();
+            }
+        }
+        AssertJUnit.assertNotNull(batchSize);
+        long reportedBatchSize = batchSize.getAsLong();
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(1000, count.get());
+        AssertJUnit.assertEquals(0, outOfOrderCount.get());
+        // The batch size is grown from one while the backlog is beyond what can be processed within the target
+        AssertJUnit.assertTrue(maxBatchSize.get() > 1);
+        AssertJUnit.assertTrue(maxBatchSize.get() <= 16);
+        AssertJUnit.assertTrue(reportedBatchSize >= 1);
+        AssertJUnit.assertTrue(reportedBatchSize <= 16);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncTest20() throws InterruptedException {
+        log.info("async test 20");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', latency.target='fast')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void asyncTest21() throws InterruptedException {
+        log.info("async test 21");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='4', batch.size.max='1', overflow.action='drop.oldest')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicInteger lastVolume = new AtomicInteger(-1);
+        final AtomicInteger outOfOrderCount = new AtomicInteger();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    log.error(e.getMessage(), e);
+                }
+                for (Event event : events) {
+                    int volume = (Integer) event.getData(2);
+                    if (lastVolume.getAndSet(volume) >= volume) {
+                        outOfOrderCount.incrementAndGet();
+                    }
+                }
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 20; i++) {
+            inputHandler.send(new Object[]{"WSO2", 115.6f, i});
+        }
+        SiddhiTestHelper.waitForEvents(100, 19, lastVolume, 10000);
+        Thread.sleep(200);
+        AssertJUnit.assertEquals(19, lastVolume.get());
+        AssertJUnit.assertEquals(0, outOfOrderCount.get());
+        AssertJUnit.assertTrue(count.get() > 4);
+        AssertJUnit.assertTrue(count.get() < 20);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void asyncTest22() throws InterruptedException {
+        log.info("async test 22");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@source(type='inMemory', topic='AsyncWatermarkStock', @map(type='passThrough'))" +
+                "@async(buffer.size='16', batch.size.max='1', overflow.watermark='0.5')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    log.error(e.getMessage(), e);
+                }
+                count.addAndGet(events.length);
+            }
+        });
+        siddhiAppRuntime.start();
+
+        int published = 0;
+        boolean paused = false;
+        for (int i = 0; i < 1000 && !paused; i++) {
+            try {
+                InMemoryBroker.publish("AsyncWatermarkStock",
+                        new Event(System.currentTimeMillis(), new Object[]{"WSO2", 55.6f, i}));
+                published++;
+            } catch (SubscriberUnAvailableException e) {
+                paused = true;
+            }
+        }
+        AssertJUnit.assertTrue(paused);
+        AssertJUnit.assertTrue(published >= 8);
+        AssertJUnit.assertTrue(published < 1000);
+
+        boolean resumed = false;
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!resumed && System.currentTimeMillis() < deadline) {
+            try {
+                InMemoryBroker.publish("AsyncWatermarkStock",
+                        new Event(System.currentTimeMillis(), new Object[]{"WSO2", 55.6f, published}));
+                published++;
+                resumed = true;
+            } catch (SubscriberUnAvailableException e) {
+                Thread.sleep(50);
+            }
+        }
+        AssertJUnit.assertTrue(resumed);
+        SiddhiTestHelper.waitForEvents(100, published, count, 10000);
+        AssertJUnit.assertEquals(published, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void asyncTest23() throws InterruptedException {
+        log.info("async test 23");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', producer.type='auto')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void asyncTest24() {
+        log.info("async test 24");
+
+        BufferOverflowState bufferOverflowState = new BufferOverflowState(null, null);
+        BufferOverflowState.OldestDrops firstDrops = bufferOverflowState.requestOldestDrops(2);
+        BufferOverflowState.OldestDrops secondDrops = bufferOverflowState.requestOldestDrops(3);
+        AssertJUnit.assertTrue(bufferOverflowState.tryDropOldest());
+        // withdrawing the drops of a producer leaves the drops of the others pending
+        bufferOverflowState.cancelOldestDrops(firstDrops);
+        for (int i = 0; i < 3; i++) {
+            AssertJUnit.assertTrue(bufferOverflowState.tryDropOldest());
+        }
+        AssertJUnit.assertFalse(bufferOverflowState.tryDropOldest());
+        bufferOverflowState.cancelOldestDrops(secondDrops);
+        AssertJUnit.assertFalse(bufferOverflowState.tryDropOldest());
+        AssertJUnit.assertEquals(4, bufferOverflowState.getRejectedEvents());
+    }
 }
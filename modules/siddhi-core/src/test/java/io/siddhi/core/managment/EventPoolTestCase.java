@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.managment;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.config.StatisticsConfiguration;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.statistics.GaugeTracker;
+import io.siddhi.core.util.statistics.StatisticsManager;
+import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.core.util.statistics.metrics.SiddhiMetricsFactory;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class EventPoolTestCase {
+    private static final Logger log = Logger.getLogger(EventPoolTestCase.class);
+    private AtomicInteger count;
+
+    @BeforeMethod
+    public void init() {
+        count = new AtomicInteger();
+    }
+
+    @Test
+    public void eventPoolTest1() throws InterruptedException {
+        log.info("event pool test 1");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:eventPool(size='20', thread.local.cache='true') " +
+                "@async(buffer.size='64', workers='4') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(10) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 1000; i++) {
+            inputHandler.send(new Object[]{"IBM", 55.6f, 1});
+        }
+        SiddhiTestHelper.waitForEvents(10, 1000, count, 5000);
+        AssertJUnit.assertEquals(1000, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void eventPoolTest2() throws InterruptedException {
+        log.info("event pool test 2");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:eventPool(size='50') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "define stream twitterStream (user string, tweet string, company string);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@eventPool(size='0') " +
+                "from cseEventStream#window.length(5) join twitterStream#window.length(5) " +
+                "on cseEventStream.symbol== twitterStream.company " +
+                "select cseEventStream.symbol as symbol, twitterStream.tweet, cseEventStream.price " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler cseEventStreamHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        InputHandler twitterStreamHandler = siddhiAppRuntime.getInputHandler("twitterStream");
+        siddhiAppRuntime.start();
+        cseEventStreamHandler.send(new Object[]{"WSO2", 55.6f, 100});
+        twitterStreamHandler.send(new Object[]{"User1", "Hello World", "WSO2"});
+        cseEventStreamHandler.send(new Object[]{"IBM", 75.6f, 100});
+        cseEventStreamHandler.send(new Object[]{"WSO2", 57.6f, 100});
+        SiddhiTestHelper.waitForEvents(10, 2, count, 1000);
+        AssertJUnit.assertEquals(2, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void eventPoolTest3() {
+        log.info("event pool test 3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@eventPool(size='-1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void eventPoolTest4() {
+        log.info("event pool test 4");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:eventPool(thread.local.cache='yes') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void eventPoolTest5() throws InterruptedException {
+        log.info("event pool test 5");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        RecordingMetricsFactory metricsFactory = new RecordingMetricsFactory();
+        siddhiManager.setStatisticsConfiguration(new StatisticsConfiguration(metricsFactory));
+
+        String siddhiApp = "" +
+                "@app:statistics(reporter = 'console', interval = '2' ) " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@eventPool(size='2', thread.local.cache='true') " +
+                "from cseEventStream#window.length(2) " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 10; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, i});
+        }
+        SiddhiTestHelper.waitForEvents(10, 10, count, 1000);
+        AssertJUnit.assertEquals(10, count.get());
+
+        String eventPoolMetric = SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_EVENT_POOLS + SiddhiConstants.METRIC_DELIMITER + "query1.0";
+        LongSupplier size = metricsFactory.getGauge(eventPoolMetric + ".size");
+        AssertJUnit.assertNotNull(size);
+        AssertJUnit.assertTrue(size.getAsLong() >= 0 && size.getAsLong() <= 2);
+        AtomicLong hits = metricsFactory.getThroughput(eventPoolMetric + ".hits.throughput");
+        AtomicLong misses = metricsFactory.getThroughput(eventPoolMetric + ".misses.throughput");
+        AssertJUnit.assertNotNull(hits);
+        AssertJUnit.assertNotNull(misses);
+        // Each event of the window is borrowed from the pool, either reusing a returned event or creating one
+        AssertJUnit.assertTrue(hits.get() + misses.get() >= 10);
+        siddhiAppRuntime.shutdown();
+    }
+
+    /**
+     * Metrics factory recording the registered gauges and the events counted by the throughput trackers, by the
+     * suffix of their names following the Siddhi app name.
+     */
+    private static class RecordingMetricsFactory extends SiddhiMetricsFactory {
+        private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> throughputs = new ConcurrentHashMap<>();
+
+        @Override
+        public GaugeTracker createGaugeTracker(StatisticsManager statisticsManager) {
+            return (valueSupplier, name) -> gauges.put(name, valueSupplier);
+        }
+
+        @Override
+        public ThroughputTracker createThroughputTracker(String name, StatisticsManager statisticsManager) {
+            AtomicLong events = throughputs.computeIfAbsent(name, key -> new AtomicLong());
+            return new ThroughputTracker() {
+                @Override
+                public void eventIn() {
+                    events.incrementAndGet();
+                }
+
+                @Override
+                public void eventsIn(int eventCount) {
+                    events.addAndGet(eventCount);
+                }
+
+                @Override
+                public String getName() {
+                    return name;
+                }
+            };
+        }
+
+        LongSupplier getGauge(String nameSuffix) {
+            return find(gauges, nameSuffix);
+        }
+
+        AtomicLong getThroughput(String nameSuffix) {
+            return find(throughputs, nameSuffix);
+        }
+
+        private static <T> T find(Map<String, T> metrics, String nameSuffix) {
+            for (Map.Entry<String, T> entry : metrics.entrySet()) {
+                if (entry.getKey().endsWith(nameSuffix)) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.managment;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.config.ThreadType;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.VirtualThreads;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExecutionTestCase {
+    private static final Logger log = Logger.getLogger(ExecutionTestCase.class);
+    private AtomicInteger count;
+    private volatile String threadName;
+
+    @BeforeMethod
+    public void init() {
+        count = new AtomicInteger();
+        threadName = null;
+    }
+
+    @Test
+    public void executionTest1() throws InterruptedException {
+        log.info("execution test 1");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:name('ExecutionTest1') " +
+                "@app:execution(threads='virtual') " +
+                "@async(buffer.size='16') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        runAndAssert(siddhiManager, siddhiApp, "Siddhi-ExecutionTest1-executor-virtual-thread-");
+    }
+
+    @Test
+    public void executionTest2() throws InterruptedException {
+        log.info("execution test 2");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setThreadType(ThreadType.VIRTUAL);
+
+        String siddhiApp = "" +
+                "@app:name('ExecutionTest2') " +
+                "@async(buffer.size='16') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        runAndAssert(siddhiManager, siddhiApp, "Siddhi-ExecutionTest2-executor-virtual-thread-");
+    }
+
+    @Test
+    public void executionTest3() throws InterruptedException {
+        log.info("execution test 3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setThreadType(ThreadType.VIRTUAL);
+
+        String siddhiApp = "" +
+                "@app:name('ExecutionTest3') " +
+                "@app:execution(threads='platform') " +
+                "@async(buffer.size='16') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        runAndAssert(siddhiManager, siddhiApp, "Siddhi-ExecutionTest3-executor-thread-");
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void executionTest4() throws InterruptedException {
+        log.info("execution test 4");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:execution(threads='green') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    private void runAndAssert(SiddhiManager siddhiManager, String siddhiApp, String threadNamePrefix)
+            throws InterruptedException {
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                threadName = Thread.currentThread().getName();
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 10; i++) {
+            inputHandler.send(new Object[]{"IBM", 55.6f, i});
+        }
+        SiddhiTestHelper.waitForEvents(10, 10, count, 1000);
+        AssertJUnit.assertEquals(10, count.get());
+        if (VirtualThreads.isSupported() || !threadNamePrefix.contains("virtual")) {
+            AssertJUnit.assertTrue(threadName.startsWith(threadNamePrefix));
+        } else {
+            AssertJUnit.assertTrue(threadName.startsWith(threadNamePrefix.replace("virtual-", "")));
+        }
+        siddhiAppRuntime.shutdown();
+    }
+}
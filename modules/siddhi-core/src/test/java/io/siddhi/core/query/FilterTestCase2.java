@@ -39,6 +39,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -1773,4 +1776,470 @@ public class FilterTestCase2 {
 
 
     }
+
+    @Test
+    public void filterTest123() throws InterruptedException {
+        log.info("filter test123");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume long, " +
+                "quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[(price * 2 + volume / quantity > 100.0 and not (quantity % 2 == 0)) " +
+                "or volume is null] " +
+                "select symbol, price * quantity - volume as total " +
+                "insert into outputStream ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    switch (count.get()) {
+                        case 1:
+                            AssertJUnit.assertEquals("IBM", event.getData(0));
+                            AssertJUnit.assertEquals(2000.0f, event.getData(1));
+                            break;
+                        case 2:
+                            AssertJUnit.assertEquals("ORACLE", event.getData(0));
+                            AssertJUnit.assertNull(event.getData(1));
+                            break;
+                        default:
+                            AssertJUnit.fail("Unexpected event " + event);
+                    }
+                }
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 700f, 100L, 3});
+        inputHandler.send(new Object[]{"WSO2", 700f, 100L, 2});
+        inputHandler.send(new Object[]{"MSFT", null, 100L, 3});
+        inputHandler.send(new Object[]{"GOOG", 700f, 100L, 0});
+        inputHandler.send(new Object[]{"ORACLE", 10f, null, 3});
+        SiddhiTestHelper.waitForEvents(10, 2, count, 100);
+        AssertJUnit.assertEquals(2, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void filterTest124() throws InterruptedException {
+        log.info("filter test124");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "@app:execution(expressions='compiled') " +
+                "define stream cseEventStream (symbol string, price float, volume long, " +
+                "quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[(price * 2 + volume / quantity > 100.0 and not (quantity % 2 == 0)) " +
+                "or volume is null] " +
+                "select symbol, price * quantity - volume as total " +
+                "insert into outputStream ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    switch (count.get()) {
+                        case 1:
+                            AssertJUnit.assertEquals("IBM", event.getData(0));
+                            AssertJUnit.assertEquals(2000.0f, event.getData(1));
+                            break;
+                        case 2:
+                            AssertJUnit.assertEquals("ORACLE", event.getData(0));
+                            AssertJUnit.assertNull(event.getData(1));
+                            break;
+                        default:
+                            AssertJUnit.fail("Unexpected event " + event);
+                    }
+                }
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 700f, 100L, 3});
+        inputHandler.send(new Object[]{"WSO2", 700f, 100L, 2});
+        inputHandler.send(new Object[]{"MSFT", null, 100L, 3});
+        inputHandler.send(new Object[]{"GOOG", 700f, 100L, 0});
+        inputHandler.send(new Object[]{"ORACLE", 10f, null, 3});
+        SiddhiTestHelper.waitForEvents(10, 2, count, 100);
+        AssertJUnit.assertEquals(2, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void filterTest125() throws InterruptedException {
+        log.info("filter test125");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "@app:execution(expressions='jit') " +
+                "define stream cseEventStream (symbol string, price float, volume long);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[price > 100.0] " +
+                "select symbol " +
+                "insert into outputStream ;";
+        siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+    }
+
+    @Test
+    public void filterTest126() throws InterruptedException {
+        log.info("filter test126");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume long, " +
+                "quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[price * (1 + 0.05) > 100 and ifThenElse(true, quantity > 1, false)] " +
+                "select symbol, price * (1 + 0.05) as adjusted, ifThenElse(1 > 2, 'high', symbol) as label " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    AssertJUnit.assertEquals("IBM", event.getData(0));
+                    AssertJUnit.assertEquals(210.0, (Double) event.getData(1), 0.0001);
+                    AssertJUnit.assertEquals("IBM", event.getData(2));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 200f, 100L, 3});
+        inputHandler.send(new Object[]{"WSO2", 50f, 100L, 3});
+        inputHandler.send(new Object[]{"MSFT", 200f, 100L, 1});
+        SiddhiTestHelper.waitForEvents(10, 1, count, 100);
+        AssertJUnit.assertEquals(1, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void filterTest127() throws InterruptedException {
+        log.info("filter test127");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume long, " +
+                "quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream#window.length(2) " +
+                "select symbol, price * quantity as total, price * quantity + volume as totalWithVolume, " +
+                "sum(price * quantity) as sumTotal, sum(price * quantity) / count() as avgTotal " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    switch (count.incrementAndGet()) {
+                        case 1:
+                            AssertJUnit.assertArrayEquals(new Object[]{"IBM", 20f, 120f, 20.0, 20.0},
+                                    event.getData());
+                            break;
+                        case 2:
+                            AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 60f, 260f, 80.0, 40.0},
+                                    event.getData());
+                            break;
+                        case 3:
+                            AssertJUnit.assertArrayEquals(new Object[]{"GOOG", 30f, 330f, 90.0, 45.0},
+                                    event.getData());
+                            break;
+                        default:
+                            AssertJUnit.fail();
+                    }
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10f, 100L, 2});
+        inputHandler.send(new Object[]{"WSO2", 20f, 200L, 3});
+        inputHandler.send(new Object[]{"GOOG", 30f, 300L, 1});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        AssertJUnit.assertEquals(3, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void filterTest128() throws InterruptedException {
+        log.info("filter test128");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "@app:execution(condition.order='adaptive') " +
+                "define stream cseEventStream (symbol string, price float, volume long, quantity int);";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[price < 1000.0 and quantity % 7 != 3 and price > 900.0] " +
+                "select symbol " +
+                "insert into outputStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from cseEventStream[price >= 1000.0 or quantity % 7 == 3 or price <= 900.0] " +
+                "select symbol " +
+                "insert into outputStream2 ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final AtomicInteger orCount = new AtomicInteger(0);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                count.addAndGet(inEvents.length);
+            }
+        });
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                orCount.addAndGet(inEvents.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        int expectedAndCount = 0;
+        int expectedOrCount = 0;
+        for (int i = 0; i < 10000; i++) {
+            Float price = i % 50 == 0 ? null : (float) (i % 1000);
+            int quantity = i % 100;
+            inputHandler.send(new Object[]{"WSO2", price, 100L, quantity});
+            if (price != null && price < 1000 && quantity % 7 != 3 && price > 900) {
+                expectedAndCount++;
+            }
+            if ((price != null && (price >= 1000 || price <= 900)) || quantity % 7 == 3) {
+                expectedOrCount++;
+            }
+        }
+        SiddhiTestHelper.waitForEvents(10, expectedAndCount, count, 100);
+        SiddhiTestHelper.waitForEvents(10, expectedOrCount, orCount, 100);
+        AssertJUnit.assertEquals(expectedAndCount, count.get());
+        AssertJUnit.assertEquals(expectedOrCount, orCount.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void filterTest129() throws InterruptedException {
+        log.info("filter test129");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "@app:execution(condition.order='random') " +
+                "define stream cseEventStream (symbol string, price float, volume long);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[price > 100.0 and volume < 50] " +
+                "select symbol " +
+                "insert into outputStream ;";
+        siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+    }
+
+    @Test
+    public void filterTest130() throws InterruptedException {
+        log.info("filter test130");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume long, quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[(price > 50.0 and not (quantity % 2 == 0)) or volume is null] " +
+                "select symbol " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Object> symbols = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    symbols.add(event.getData(0));
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 70f, 100L, 3}),
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 70f, 100L, 2}),
+                new Event(System.currentTimeMillis(), new Object[]{"MSFT", null, 100L, 3}),
+                new Event(System.currentTimeMillis(), new Object[]{"GOOG", 10f, null, 2}),
+                new Event(System.currentTimeMillis(), new Object[]{"ORACLE", 80f, 100L, null}),
+                new Event(System.currentTimeMillis(), new Object[]{"APPLE", 90f, 100L, 5})
+        });
+        SiddhiTestHelper.waitForEvents(10, 4, count, 100);
+        AssertJUnit.assertEquals(Arrays.asList("IBM", "GOOG", "ORACLE", "APPLE"), symbols);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void filterTest131() throws InterruptedException {
+        log.info("filter test131");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, volume long, quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, volume + sum(quantity) as total, volume < sum(quantity) * 20 as below " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Object> totals = new ArrayList<>();
+        final List<Object> belows = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    totals.add(event.getData(1));
+                    belows.add(event.getData(2));
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 100L, 1});
+        inputHandler.send(new Object[]{"WSO2", null, 2});
+        inputHandler.send(new Object[]{"ORACLE", 100L, 4});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        // The sums still include the quantity of the event with the null volume
+        AssertJUnit.assertEquals(Arrays.asList(101L, null, 107L), totals);
+        AssertJUnit.assertEquals(Arrays.asList(false, false, true), belows);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void filterTest132() throws InterruptedException {
+        log.info("filter test132");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "@app:execution(expressions='compiled') " +
+                "define stream cseEventStream (symbol string, volume long, quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, volume + sum(quantity) as total, volume < sum(quantity) * 20 as below " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Object> totals = new ArrayList<>();
+        final List<Object> belows = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    totals.add(event.getData(1));
+                    belows.add(event.getData(2));
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 100L, 1});
+        inputHandler.send(new Object[]{"WSO2", null, 2});
+        inputHandler.send(new Object[]{"ORACLE", 100L, 4});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        // The sums still include the quantity of the event with the null volume
+        AssertJUnit.assertEquals(Arrays.asList(101L, null, 107L), totals);
+        AssertJUnit.assertEquals(Arrays.asList(false, false, true), belows);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void filterTest133() throws InterruptedException {
+        log.info("filter test133");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, volume long, quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[volume != 100 and quantity != 4] " +
+                "select symbol, volume != quantity as differs " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Object> symbols = new ArrayList<>();
+        final List<Object> differs = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    symbols.add(event.getData(0));
+                    differs.add(event.getData(1));
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 100L, 1});
+        inputHandler.send(new Object[]{"WSO2", null, 2});
+        inputHandler.send(new Object[]{"ORACLE", 4L, null});
+        inputHandler.send(new Object[]{"GOOG", 4L, 4});
+        inputHandler.send(new Object[]{"MSFT", 2L, 2});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        // Not equal is true when an operand is null
+        AssertJUnit.assertEquals(Arrays.asList("WSO2", "ORACLE", "MSFT"), symbols);
+        AssertJUnit.assertEquals(Arrays.asList(true, true, false), differs);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void filterTest134() throws InterruptedException {
+        log.info("filter test134");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "@app:execution(expressions='compiled') " +
+                "define stream cseEventStream (symbol string, volume long, quantity int);";
+        String query = "@info(name = 'query1') " +
+                "from cseEventStream[volume != 100 and quantity != 4] " +
+                "select symbol, volume != quantity as differs " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Object> symbols = new ArrayList<>();
+        final List<Object> differs = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    symbols.add(event.getData(0));
+                    differs.add(event.getData(1));
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 100L, 1});
+        inputHandler.send(new Object[]{"WSO2", null, 2});
+        inputHandler.send(new Object[]{"ORACLE", 4L, null});
+        inputHandler.send(new Object[]{"GOOG", 4L, 4});
+        inputHandler.send(new Object[]{"MSFT", 2L, 2});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        // Not equal is true when an operand is null
+        AssertJUnit.assertEquals(Arrays.asList("WSO2", "ORACLE", "MSFT"), symbols);
+        AssertJUnit.assertEquals(Arrays.asList(true, true, false), differs);
+        siddhiAppRuntime.shutdown();
+    }
 }
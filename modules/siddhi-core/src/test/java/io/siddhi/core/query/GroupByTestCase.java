@@ -19,16 +19,32 @@ package io.siddhi.core.query;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.config.SiddhiContext;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiAppRuntimeBuilder;
 import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.parser.SiddhiAppParser;
+import io.siddhi.query.compiler.SiddhiCompiler;
 import org.apache.log4j.Logger;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GroupByTestCase {
@@ -146,4 +162,439 @@ public class GroupByTestCase {
 
         siddhiAppRuntime.shutdown();
     }
+
+    @Test
+    public void testGroupByQuery3() throws InterruptedException {
+        log.info("GroupBy test3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:name('GroupByTest3') " +
+                "" +
+                "define stream cseEventStream (symbol string, exchange string, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, exchange, sum(volume) as totalVolume " +
+                "   group by symbol, exchange " +
+                "insert into outputStream;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final List<Long> totalVolumes = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    totalVolumes.add((Long) event.getData(2));
+                }
+                count = count + inEvents.length;
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM:-:NYSE", "LSE", 10L});
+        inputHandler.send(new Object[]{"IBM", "NYSE:-:LSE", 20L});
+        inputHandler.send(new Object[]{"IBM:-:NYSE", "LSE", 5L});
+        inputHandler.send(new Object[]{"null", "LSE", 1L});
+        inputHandler.send(new Object[]{null, "LSE", 2L});
+        SiddhiTestHelper.waitForEvents(10, eventArrived, 100);
+        AssertJUnit.assertEquals(5, count);
+        AssertJUnit.assertEquals(Arrays.asList(10L, 20L, 15L, 1L, 2L), totalVolumes);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testGroupByQuery4() throws InterruptedException {
+        log.info("GroupBy test4");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:name('GroupByTest4') " +
+                "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@purge(max.groups='1') " +
+                "from cseEventStream#window.length(3) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final List<Long> totalVolumes = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    totalVolumes.add((Long) event.getData(1));
+                }
+                count = count + inEvents.length;
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 700f, 10L});
+        inputHandler.send(new Object[]{"WSO2", 60.5f, 20L});
+        inputHandler.send(new Object[]{"ORACLE", 55.6f, 30L});
+        // Expires IBM, which was evicted along with its expired events
+        inputHandler.send(new Object[]{"GOOG", 75.6f, 40L});
+        inputHandler.send(new Object[]{"IBM", 700f, 5L});
+        SiddhiTestHelper.waitForEvents(10, eventArrived, 100);
+        AssertJUnit.assertEquals(5, count);
+        AssertJUnit.assertEquals(Arrays.asList(10L, 20L, 30L, 40L, 5L), totalVolumes);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testGroupByQuery5() throws InterruptedException {
+        log.info("GroupBy test5");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:name('GroupByTest5') " +
+                "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@purge(idle.period='1 sec') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final List<Long> totalVolumes = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    totalVolumes.add((Long) event.getData(1));
+                }
+                count = count + inEvents.length;
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 700f, 10L});
+        inputHandler.send(new Object[]{"WSO2", 60.5f, 20L});
+        inputHandler.send(new Object[]{"IBM", 700f, 5L});
+        Thread.sleep(1100);
+        inputHandler.send(new Object[]{"WSO2", 60.5f, 1L});
+        inputHandler.send(new Object[]{"IBM", 700f, 2L});
+        SiddhiTestHelper.waitForEvents(10, eventArrived, 100);
+        AssertJUnit.assertEquals(5, count);
+        AssertJUnit.assertEquals(Arrays.asList(10L, 20L, 15L, 1L, 2L), totalVolumes);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testGroupByQuery6() {
+        log.info("GroupBy test6");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@purge(max.groups='0') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream;" +
+                "";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void testGroupByQuery7() throws Exception {
+        log.info("GroupBy test7");
+
+        final int threads = 4;
+        final int eventsPerThread = 2000;
+        final int groups = 100;
+        String siddhiApp = "" +
+                "@app:execution(group.by.shards='4') " +
+                "define stream cseEventStream (symbol int, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume, count() as eventCount " +
+                "   group by symbol " +
+                "insert into outputStream;" +
+                "";
+
+        SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder = SiddhiAppParser.parse(SiddhiCompiler.parse(siddhiApp),
+                siddhiApp, new SiddhiContext());
+        AssertJUnit.assertEquals(4, siddhiAppRuntimeBuilder.getQueryProcessorMap().get("query1").getSelector()
+                .getGroupByShards());
+        SiddhiAppRuntime siddhiAppRuntime = siddhiAppRuntimeBuilder.build();
+        final Map<Integer, Long> totalVolumes = new ConcurrentHashMap<>();
+        final Map<Integer, Set<Long>> eventCounts = new ConcurrentHashMap<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                for (Event event : inEvents) {
+                    totalVolumes.merge((Integer) event.getData(0), (Long) event.getData(1), Math::max);
+                    eventCounts.computeIfAbsent((Integer) event.getData(0), k -> ConcurrentHashMap.newKeySet())
+                            .add((Long) event.getData(2));
+                }
+            }
+        });
+
+        final InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final long volume = i + 1;
+            futures.add(executorService.submit(() -> {
+                for (int j = 0; j < eventsPerThread; j++) {
+                    inputHandler.send(new Object[]{j % groups, 700f, volume});
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.SECONDS);
+        siddhiAppRuntime.shutdown();
+
+        // each event of a group is aggregated exactly once, hence its running counts are 1 to the number of events
+        long groupEvents = (long) threads * eventsPerThread / groups;
+        AssertJUnit.assertEquals(groups, totalVolumes.size());
+        for (int group = 0; group < groups; group++) {
+            AssertJUnit.assertEquals(Long.valueOf(groupEvents / threads * (threads * (threads + 1) / 2)),
+                    totalVolumes.get(group));
+            AssertJUnit.assertEquals(groupEvents, eventCounts.get(group).size());
+            AssertJUnit.assertEquals(Long.valueOf(groupEvents), Collections.max(eventCounts.get(group)));
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testGroupByQuery8() {
+        log.info("GroupBy test8");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:execution(group.by.shards='0') " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream;" +
+                "";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test
+    public void testGroupByQuery9() throws InterruptedException {
+        log.info("GroupBy test9");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:name('GroupByTest9') " +
+                "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@purge(max.groups='1') " +
+                "from cseEventStream#window.length(3) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert all events into outputStream;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final List<Object> inEventData = new ArrayList<>();
+        final List<Object> removeEventData = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventData.add(Arrays.asList(event.getData()));
+                    }
+                }
+                if (removeEvents != null) {
+                    for (Event event : removeEvents) {
+                        removeEventData.add(Arrays.asList(event.getData()));
+                    }
+                }
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 700f, 10L});
+        inputHandler.send(new Object[]{"WSO2", 60.5f, 20L});
+        inputHandler.send(new Object[]{"IBM", 700f, 5L});
+        // Expires the first IBM event, which was received by the evicted IBM group and not by the current one
+        inputHandler.send(new Object[]{"X", 75.6f, 1L});
+        SiddhiTestHelper.waitForEvents(10, eventArrived, 100);
+        AssertJUnit.assertEquals(Arrays.asList(Arrays.asList("IBM", 10L), Arrays.asList("WSO2", 20L),
+                Arrays.asList("IBM", 5L), Arrays.asList("X", 1L)), inEventData);
+        // Each evicted group emits its last output as an expired event
+        AssertJUnit.assertEquals(Arrays.asList(Arrays.asList("IBM", 10L), Arrays.asList("WSO2", 20L),
+                Arrays.asList("IBM", 5L)), removeEventData);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testGroupByQuery10() {
+        log.info("GroupBy test10");
+
+        String siddhiApp = "" +
+                "@app:execution(group.by.shards='4') " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream1;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from cseEventStream#window.length(10) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream2;" +
+                "" +
+                "@info(name = 'query3') " +
+                "@synchronized('true') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream3;" +
+                "" +
+                "@info(name = 'query4') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "output snapshot every 1 sec " +
+                "insert into outputStream4;" +
+                "" +
+                "@info(name = 'query5') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "   having max(totalVolume) > 100 " +
+                "insert into outputStream5;" +
+                "";
+
+        Map<String, QueryRuntime> queryRuntimeMap = SiddhiAppParser.parse(SiddhiCompiler.parse(siddhiApp),
+                siddhiApp, new SiddhiContext()).getQueryProcessorMap();
+        // only the query without a query lock, snapshot output rate limiting and aggregating having condition
+        // is sharded, the others process their groups one event at a time
+        AssertJUnit.assertEquals(4, queryRuntimeMap.get("query1").getSelector().getGroupByShards());
+        AssertJUnit.assertEquals(1, queryRuntimeMap.get("query2").getSelector().getGroupByShards());
+        AssertJUnit.assertEquals(1, queryRuntimeMap.get("query3").getSelector().getGroupByShards());
+        AssertJUnit.assertEquals(1, queryRuntimeMap.get("query4").getSelector().getGroupByShards());
+        AssertJUnit.assertEquals(1, queryRuntimeMap.get("query5").getSelector().getGroupByShards());
+    }
+
+    @Test
+    public void testGroupByQuery11() throws InterruptedException {
+        log.info("GroupBy test11");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:name('GroupByTest11') " +
+                "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@purge(idle.period='1 sec') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert all events into outputStream;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final List<Object> removeEventData = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                if (removeEvents != null) {
+                    for (Event event : removeEvents) {
+                        removeEventData.add(Arrays.asList(event.getData()));
+                    }
+                }
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 700f, 10L});
+        inputHandler.send(new Object[]{"WSO2", 60.5f, 20L});
+        inputHandler.send(new Object[]{"IBM", 700f, 5L});
+        // The idle groups are evicted without any more events arriving
+        SiddhiTestHelper.waitForEvents(100, 2, removeEventData, 3000);
+        AssertJUnit.assertEquals(Arrays.asList(Arrays.asList("WSO2", 20L), Arrays.asList("IBM", 15L)),
+                removeEventData);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testGroupByQuery12() {
+        log.info("GroupBy test12");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "@purge(max.groups='10') " +
+                "from cseEventStream#window.sort(3, volume) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream;" +
+                "";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
 }
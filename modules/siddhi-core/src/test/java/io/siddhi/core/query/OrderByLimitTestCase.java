@@ -31,6 +31,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class OrderByLimitTestCase {
@@ -824,4 +827,148 @@ public class OrderByLimitTestCase {
 
         }
     }
+
+    @Test
+    public void limitTest20() throws InterruptedException {
+        log.info("limitTest20");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume int);";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.lengthBatch(100) " +
+                "select symbol, price, volume " +
+                "order by price desc " +
+                "limit 3 " +
+                "offset 1 " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Integer> volumes = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    volumes.add((Integer) event.getData(2));
+                }
+                inEventCount = inEventCount + inEvents.length;
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 100; i++) {
+            // Prices repeat every 10 events, hence equal prices keep the order of arrival
+            inputHandler.send(new Object[]{"WSO2", (float) (i * 7 % 10), i});
+        }
+        SiddhiTestHelper.waitForEvents(10, eventArrived, 500);
+        AssertJUnit.assertEquals(3, inEventCount);
+        AssertJUnit.assertEquals(Arrays.asList(17, 27, 37), volumes);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void limitTest21() throws InterruptedException {
+        log.info("limitTest21");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume int);";
+        String query = "" +
+                "@snapshot(ordered='true') " +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(4) " +
+                "select symbol, price, volume " +
+                "order by price desc " +
+                "limit 2 " +
+                "output snapshot every 500 milliseconds " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<List<Integer>> snapshots = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                List<Integer> volumes = new ArrayList<>();
+                for (Event event : inEvents) {
+                    volumes.add((Integer) event.getData(2));
+                }
+                snapshots.add(volumes);
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 50f, 1});
+        inputHandler.send(new Object[]{"IBM", 70f, 2});
+        inputHandler.send(new Object[]{"ORACLE", 60f, 3});
+        inputHandler.send(new Object[]{"GOOG", 40f, 4});
+        Thread.sleep(700);
+        // Expires the event with volume 1, and then the event with volume 2
+        inputHandler.send(new Object[]{"WSO2", 55f, 5});
+        inputHandler.send(new Object[]{"IBM", 45f, 6});
+        Thread.sleep(700);
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertTrue(eventArrived.get());
+        AssertJUnit.assertTrue(snapshots.contains(Arrays.asList(2, 3)));
+        AssertJUnit.assertEquals(Arrays.asList(3, 5), snapshots.get(snapshots.size() - 1));
+        for (List<Integer> snapshot : snapshots) {
+            AssertJUnit.assertTrue(snapshot.size() <= 2);
+        }
+    }
+
+    @Test
+    public void limitTest22() throws InterruptedException {
+        log.info("limitTest22");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "define stream cseEventStream (symbol string, price float, volume int);";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(4) " +
+                "select symbol, price, volume " +
+                "order by price desc " +
+                "limit 2 " +
+                "output snapshot every 500 milliseconds " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<List<Integer>> snapshots = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                List<Integer> volumes = new ArrayList<>();
+                for (Event event : inEvents) {
+                    volumes.add((Integer) event.getData(2));
+                }
+                snapshots.add(volumes);
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 50f, 1});
+        inputHandler.send(new Object[]{"IBM", 70f, 2});
+        inputHandler.send(new Object[]{"ORACLE", 60f, 3});
+        inputHandler.send(new Object[]{"GOOG", 40f, 4});
+        Thread.sleep(700);
+        // Expires the event with volume 1, and then the event with volume 2
+        inputHandler.send(new Object[]{"WSO2", 55f, 5});
+        inputHandler.send(new Object[]{"IBM", 45f, 6});
+        Thread.sleep(700);
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertTrue(eventArrived.get());
+        AssertJUnit.assertTrue(snapshots.contains(Arrays.asList(1, 2, 3, 4)));
+        AssertJUnit.assertEquals(Arrays.asList(3, 4, 5, 6), snapshots.get(snapshots.size() - 1));
+    }
 }
@@ -29,6 +29,10 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class MaxAggregatorExtensionTestCase {
     private static final Logger log = Logger.getLogger(MaxAggregatorExtensionTestCase.class);
     private volatile int count;
@@ -96,4 +100,48 @@ public class MaxAggregatorExtensionTestCase {
 
     }
 
+    @Test
+    public void testMaxAggregatorExtension2() throws InterruptedException {
+        log.info("MaxAggregator TestCase 2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String inStreamDefinition = "define stream inputStream (price int);";
+        // The sort window expires the highest price, instead of the oldest
+        String query = ("@info(name = 'query1') " +
+                "from inputStream#window.sort(3, price, 'asc') " +
+                "select max(price) as maxPrice, min(price) as minPrice " +
+                "insert into outputStream;");
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(inStreamDefinition +
+                query);
+
+        final List<Object> maxPrices = new ArrayList<>();
+        final List<Object> minPrices = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                eventArrived = true;
+                for (Event event : events) {
+                    count++;
+                    maxPrices.add(event.getData(0));
+                    minPrices.add(event.getData(1));
+                }
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("inputStream");
+        siddhiAppRuntime.start();
+
+        for (int price : new int[]{5, 3, 4, 1, 2, 0}) {
+            inputHandler.send(new Object[]{price});
+        }
+
+        AssertJUnit.assertEquals(6, count);
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(Arrays.<Object>asList(5, 5, 5, 5, 4, 3), maxPrices);
+        AssertJUnit.assertEquals(Arrays.<Object>asList(5, 3, 3, 1, 1, 0), minPrices);
+        siddhiAppRuntime.shutdown();
+
+    }
 }
@@ -31,6 +31,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class JoinTestCase {
@@ -981,4 +984,197 @@ public class JoinTestCase {
             siddhiAppRuntime.shutdown();
         }
     }
+
+    @Test
+    public void joinTest21() throws InterruptedException {
+        log.info("Join test21");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "define stream CheckStockStream (symbol string, minVolume int); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from CheckStockStream as c join StockStream#window.length(4) as s " +
+                "on s.symbol == c.symbol and s.volume >= c.minVolume " +
+                "select s.symbol, s.volume " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            List<String> results = new ArrayList<>();
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            results.add(event.getData(0) + ":" + event.getData(1));
+                        }
+                    }
+                }
+            });
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100});
+            stockStream.send(new Object[]{"IBM", 75.6f, 200});
+            stockStream.send(new Object[]{"WSO2", 57.6f, 300});
+            stockStream.send(new Object[]{null, 50.0f, 400});
+            checkStockStream.send(new Object[]{"WSO2", 150});
+            checkStockStream.send(new Object[]{null, 0});
+            stockStream.send(new Object[]{"IBM", 76.6f, 500});
+            stockStream.send(new Object[]{"WSO2", 58.6f, 600});
+            checkStockStream.send(new Object[]{"WSO2", 0});
+            checkStockStream.send(new Object[]{"IBM", 0});
+            AssertJUnit.assertEquals(Arrays.asList("WSO2:300", "WSO2:300", "WSO2:600", "IBM:500"), results);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void joinTest22() throws InterruptedException {
+        log.info("Join test22");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream OrderStream (orderId string, ts long); " +
+                "define stream ShipmentStream (orderId string, ts long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from OrderStream#window.length(5) as o join ShipmentStream#window.length(5) as s " +
+                "on o.orderId == s.orderId and s.ts >= o.ts and s.ts <= o.ts + 2000 " +
+                "select o.orderId, o.ts as orderTs, s.ts as shipmentTs " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            List<String> results = new ArrayList<>();
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            results.add(event.getData(0) + ":" + event.getData(1) + ":" + event.getData(2));
+                        }
+                    }
+                }
+            });
+            InputHandler orderStream = siddhiAppRuntime.getInputHandler("OrderStream");
+            InputHandler shipmentStream = siddhiAppRuntime.getInputHandler("ShipmentStream");
+            siddhiAppRuntime.start();
+            shipmentStream.send(new Object[]{"o1", 1500L});
+            shipmentStream.send(new Object[]{"o1", 2500L});
+            shipmentStream.send(new Object[]{"o1", 3500L});
+            shipmentStream.send(new Object[]{"o2", 1200L});
+            orderStream.send(new Object[]{"o1", 1000L});
+            orderStream.send(new Object[]{"o2", 1300L});
+            orderStream.send(new Object[]{"o1", 1600L});
+            shipmentStream.send(new Object[]{"o2", 3300L});
+            shipmentStream.send(new Object[]{"o1", 1000L});
+            AssertJUnit.assertEquals(Arrays.asList("o1:1000:1500", "o1:1000:2500", "o1:1600:2500", "o1:1600:3500",
+                    "o2:1300:3300", "o1:1000:1000"), results);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void joinTest23() throws InterruptedException {
+        log.info("Join test23");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream LimitStream (id string, minQty long, ts long); " +
+                "define stream FillStream (id string, qty long, ts long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from LimitStream#window.length(5) as a join FillStream#window.length(5) as b " +
+                "on a.id == b.id and b.qty > a.minQty and b.ts <= a.ts + 2000 " +
+                "select a.id, a.minQty, b.qty, b.ts " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            List<String> results = new ArrayList<>();
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            results.add(event.getData(0) + ":" + event.getData(1) + ":" + event.getData(2) + ":" +
+                                    event.getData(3));
+                        }
+                    }
+                }
+            });
+            InputHandler limitStream = siddhiAppRuntime.getInputHandler("LimitStream");
+            InputHandler fillStream = siddhiAppRuntime.getInputHandler("FillStream");
+            siddhiAppRuntime.start();
+            fillStream.send(new Object[]{"k", 5L, 1000L});
+            fillStream.send(new Object[]{"k", 20L, 1500L});
+            fillStream.send(new Object[]{"k", 30L, 5000L});
+            // the quantity is beyond the ts bound, which must not be applied to the quantity
+            fillStream.send(new Object[]{"k", 4000L, 1800L});
+            limitStream.send(new Object[]{"k", 10L, 1000L});
+            limitStream.send(new Object[]{"k", 25L, 2000L});
+            fillStream.send(new Object[]{"k", 15L, 2900L});
+            AssertJUnit.assertEquals(Arrays.asList("k:10:20:1500", "k:10:4000:1800", "k:25:4000:1800",
+                    "k:10:15:2900"), results);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void joinTest24() throws InterruptedException {
+        log.info("Join test24");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "@app:execution(window.lookup='scan') " +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "define stream CheckStockStream (symbol string, minVolume int); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from CheckStockStream as c join StockStream#window.length(4) as s " +
+                "on s.symbol == c.symbol and s.volume >= c.minVolume " +
+                "select s.symbol, s.volume " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            List<String> results = new ArrayList<>();
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            results.add(event.getData(0) + ":" + event.getData(1));
+                        }
+                    }
+                }
+            });
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100});
+            stockStream.send(new Object[]{"IBM", 75.6f, 200});
+            stockStream.send(new Object[]{"WSO2", 57.6f, 300});
+            stockStream.send(new Object[]{null, 50.0f, 400});
+            checkStockStream.send(new Object[]{"WSO2", 150});
+            checkStockStream.send(new Object[]{null, 0});
+            stockStream.send(new Object[]{"IBM", 76.6f, 500});
+            stockStream.send(new Object[]{"WSO2", 58.6f, 600});
+            checkStockStream.send(new Object[]{"WSO2", 0});
+            checkStockStream.send(new Object[]{"IBM", 0});
+            AssertJUnit.assertEquals(Arrays.asList("WSO2:300", "WSO2:300", "WSO2:600", "IBM:500"), results);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
 }
@@ -673,4 +673,47 @@ public class PartitionTestCase2 {
 
         }
     }
+
+    @Test
+    public void partitionSharedExpressionTest() throws InterruptedException {
+        log.info("Partition partitionSharedExpressionTest");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "@app:name('partitionSharedExpressionTest') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "partition with (symbol of cseEventStream) begin @info(name = 'query1') from " +
+                "cseEventStream select symbol, price * volume as total, sum(price * volume) as summedTotal " +
+                "insert into OutStockStream ; end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        siddhiAppRuntime.addCallback("OutStockStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    count.incrementAndGet();
+                    if (count.get() == 1) {
+                        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 20f, 20.0}, event.getData());
+                    }
+                    if (count.get() == 2) {
+                        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 10f, 10.0}, event.getData());
+                    }
+                    if (count.get() == 3) {
+                        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 1f, 21.0}, event.getData());
+                    }
+                }
+                eventArrived = true;
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10f, 2});
+        inputHandler.send(new Object[]{"WSO2", 5f, 2});
+        inputHandler.send(new Object[]{"IBM", 1f, 1});
+        SiddhiTestHelper.waitForEvents(100, 3, count, 60000);
+        AssertJUnit.assertEquals(3, count.get());
+        AssertJUnit.assertTrue(eventArrived);
+        siddhiAppRuntime.shutdown();
+    }
 }
@@ -142,4 +142,51 @@ public class FrequentWindowTestCase {
 
     }
 
+    @Test
+    public void frequentUniqueWindowTest3() throws InterruptedException {
+        log.info("frequentWindow test3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "" +
+                "define stream purchase (cardNo string, zipCode string, price float);";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from purchase#window.frequent(1, cardNo, zipCode) " +
+                "select cardNo, zipCode, price " +
+                "insert all events into PotentialFraud ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    inEventCount += inEvents.length;
+                }
+                if (removeEvents != null) {
+                    removeEventCount += removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("purchase");
+        siddhiAppRuntime.start();
+        // Keys of different attribute values are distinct, even when their concatenations are equal
+        for (int i = 0; i < 2; i++) {
+            inputHandler.send(new Object[]{"1", "23", 73.36f});
+            inputHandler.send(new Object[]{"12", "3", 46.36f});
+        }
+        Thread.sleep(100);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        AssertJUnit.assertEquals("In Event count", 4, inEventCount);
+        AssertJUnit.assertEquals("Out Event count", 3, removeEventCount);
+
+        siddhiAppRuntime.shutdown();
+
+    }
+
 }
@@ -32,6 +32,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class SortWindowTestCase {
@@ -228,4 +231,145 @@ public class SortWindowTestCase {
         SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
     }
 
+    @Test
+    public void sortWindowTest7() throws InterruptedException {
+        log.info("sortWindowTest7");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream priceStream (symbol string, price int); " +
+                "define stream thresholdStream (threshold int); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from thresholdStream unidirectional join priceStream#window.sort(3, price, 'desc') " +
+                "on priceStream.price > thresholdStream.threshold " +
+                "select priceStream.symbol as symbol " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        final List<Object> symbols = new ArrayList<>();
+        try {
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timeStamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            symbols.add(event.getData(0));
+                        }
+                    }
+                    eventArrived = true;
+                }
+            });
+            InputHandler priceStreamHandler = siddhiAppRuntime.getInputHandler("priceStream");
+            InputHandler thresholdStreamHandler = siddhiAppRuntime.getInputHandler("thresholdStream");
+            siddhiAppRuntime.start();
+            priceStreamHandler.send(new Object[]{"A", 10});
+            priceStreamHandler.send(new Object[]{"B", 40});
+            priceStreamHandler.send(new Object[]{"C", 20});
+            priceStreamHandler.send(new Object[]{"D", 30});
+            priceStreamHandler.send(new Object[]{"E", 5});
+            thresholdStreamHandler.send(new Object[]{25});
+            thresholdStreamHandler.send(new Object[]{20});
+            thresholdStreamHandler.send(new Object[]{50});
+            AssertJUnit.assertEquals(Arrays.asList("B", "D", "B", "D"), symbols);
+            AssertJUnit.assertTrue(eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void sortWindowTest8() throws InterruptedException {
+        log.info("sortWindowTest8");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String cseEventStream = "" +
+                "define stream cseEventStream (symbol string, price float, volume long);";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.sort(3, volume, 'asc') " +
+                "select volume " +
+                "insert all events into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Object> removedVolumes = new ArrayList<>();
+        try {
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        inEventCount = inEventCount + inEvents.length;
+                    }
+                    if (removeEvents != null) {
+                        removeEventCount = removeEventCount + removeEvents.length;
+                        for (Event event : removeEvents) {
+                            removedVolumes.add(event.getData(0));
+                        }
+                    }
+                }
+            });
+
+            InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+            siddhiAppRuntime.start();
+            for (long volume : new long[]{50L, 10L, 40L, 30L, 20L, 60L, 10L}) {
+                inputHandler.send(new Object[]{"WSO2", 55.6f, volume});
+            }
+            AssertJUnit.assertEquals(7, inEventCount);
+            AssertJUnit.assertEquals(4, removeEventCount);
+            AssertJUnit.assertEquals(Arrays.asList(50L, 40L, 60L, 30L), removedVolumes);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void sortWindowTest9() throws InterruptedException {
+        log.info("sortWindowTest9");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream priceStream (symbol string, price int, volume int); " +
+                "define stream thresholdStream (threshold int); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from thresholdStream unidirectional join priceStream#window.sort(3, price, 'desc') " +
+                "on priceStream.volume > thresholdStream.threshold " +
+                "select priceStream.symbol as symbol " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        final List<Object> symbols = new ArrayList<>();
+        try {
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timeStamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            symbols.add(event.getData(0));
+                        }
+                    }
+                    eventArrived = true;
+                }
+            });
+            InputHandler priceStreamHandler = siddhiAppRuntime.getInputHandler("priceStream");
+            InputHandler thresholdStreamHandler = siddhiAppRuntime.getInputHandler("thresholdStream");
+            siddhiAppRuntime.start();
+            priceStreamHandler.send(new Object[]{"A", 10, 100});
+            priceStreamHandler.send(new Object[]{"B", 40, 5});
+            priceStreamHandler.send(new Object[]{"C", 20, 50});
+            priceStreamHandler.send(new Object[]{"D", 30, 30});
+            priceStreamHandler.send(new Object[]{"E", 5, 200});
+            thresholdStreamHandler.send(new Object[]{25});
+            thresholdStreamHandler.send(new Object[]{40});
+            thresholdStreamHandler.send(new Object[]{1});
+            AssertJUnit.assertEquals(Arrays.asList("D", "C", "C", "B", "D", "C"), symbols);
+            AssertJUnit.assertTrue(eventArrived);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.ColumnarEventBatch;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.query.api.definition.StreamDefinition;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ColumnarEventBatchTestCase {
+    private static final Logger log = Logger.getLogger(ColumnarEventBatchTestCase.class);
+    private AtomicInteger count;
+    private List<Event> events;
+
+    @BeforeMethod
+    public void init() {
+        count = new AtomicInteger();
+        events = new ArrayList<>();
+    }
+
+    @Test
+    public void columnarEventBatchTest1() throws InterruptedException {
+        log.info("columnar event batch test 1");
+        runQuery("");
+    }
+
+    @Test
+    public void columnarEventBatchTest2() throws InterruptedException {
+        log.info("columnar event batch test 2 - async");
+        runQuery("@async(buffer.size='2') ");
+    }
+
+    @Test(expectedExceptions = SiddhiAppRuntimeException.class)
+    public void columnarEventBatchTest3() throws InterruptedException {
+        log.info("columnar event batch test 3 - invalid column type");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price double, volume long, active bool);";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        try {
+            StreamDefinition streamDefinition = siddhiAppRuntime.getStreamDefinitionMap().get("cseEventStream");
+            new ColumnarEventBatch(streamDefinition, new long[]{1, 2})
+                    .setColumn("volume", new int[]{100, 200});
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void columnarEventBatchTest4() throws InterruptedException {
+        log.info("columnar event batch test 4 - missing column");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@OnError(action='stream')" +
+                "define stream cseEventStream (symbol string, price double, volume long, active bool);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] inEvents) {
+                EventPrinter.print(inEvents);
+                count.addAndGet(inEvents.length);
+            }
+        });
+        siddhiAppRuntime.addCallback("!cseEventStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] faultEvents) {
+                EventPrinter.print(faultEvents);
+                synchronized (events) {
+                    for (Event event : faultEvents) {
+                        events.add(new Event(event.getTimestamp(), event.getData().clone()));
+                    }
+                }
+            }
+        });
+        try {
+            StreamDefinition streamDefinition = siddhiAppRuntime.getStreamDefinitionMap().get("cseEventStream");
+            InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+            siddhiAppRuntime.start();
+            inputHandler.send(new ColumnarEventBatch(streamDefinition, new long[]{1, 2})
+                    .setColumn("symbol", new String[]{"IBM", "WSO2"})
+                    .setColumn("price", new double[]{55.6, 75.6})
+                    .setColumn("active", new boolean[]{true, false}));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+
+        // the rows of an invalid batch are sent to the fault stream, with the values of the missing column as null
+        AssertJUnit.assertEquals(0, count.get());
+        AssertJUnit.assertEquals(2, events.size());
+        AssertJUnit.assertEquals(Arrays.asList("IBM", 55.6, null, true),
+                Arrays.asList(events.get(0).getData()).subList(0, 4));
+        AssertJUnit.assertTrue(events.get(1).getData(4) instanceof SiddhiAppRuntimeException);
+    }
+
+    private void runQuery(String asyncAnnotation) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                asyncAnnotation +
+                "define stream cseEventStream (symbol string, price double, volume long, active bool);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] inEvents) {
+                EventPrinter.print(inEvents);
+                synchronized (events) {
+                    for (Event event : inEvents) {
+                        events.add(new Event(event.getTimestamp(), event.getData().clone()));
+                    }
+                }
+                count.addAndGet(inEvents.length);
+            }
+        });
+
+        StreamDefinition streamDefinition = siddhiAppRuntime.getStreamDefinitionMap().get("cseEventStream");
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new ColumnarEventBatch(streamDefinition, new long[]{1000, 1001, 1002, 1003, 1004})
+                .setColumn("symbol", new String[]{"IBM", "WSO2", "ORACLE", "IBM", null})
+                .setColumn("price", new double[]{55.6, 75.6, 57.6, 58.6, 59.6})
+                .setColumn("volume", new long[]{100L, 200L, 300L, 400L, 500L})
+                .setColumn("active", new Object[]{true, false, null, false, true}));
+        SiddhiTestHelper.waitForEvents(10, 4, count, 1000);
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(4, count.get());
+        AssertJUnit.assertEquals(new Event(1000, new Object[]{"IBM", 55.6, 100L, true}), events.get(0));
+        AssertJUnit.assertEquals(new Event(1002, new Object[]{"ORACLE", 57.6, 300L, null}), events.get(1));
+        AssertJUnit.assertEquals(new Event(1003, new Object[]{"IBM", 58.6, 400L, false}), events.get(2));
+        AssertJUnit.assertEquals(new Event(1004, new Object[]{null, 59.6, 500L, true}), events.get(3));
+    }
+}
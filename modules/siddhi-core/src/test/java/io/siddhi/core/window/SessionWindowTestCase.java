@@ -37,6 +37,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -1062,4 +1065,60 @@ public class SessionWindowTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test(description = "Check the expiry of interleaved sessions of several keys")
+    public void testSessionWindow21() throws InterruptedException {
+        log.info("SessionWindow Test21: testing expiry of interleaved sessions");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = ""
+                + "@app:playback "
+                + "define stream purchaseEventStream (user string, item_number int, price float, quantity int); ";
+
+        String query = ""
+                + "@info(name = 'query0') "
+                + "from purchaseEventStream#window.session(1 min, user) "
+                + "select * "
+                + "insert all events into outputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        final List<Object> expiredItems = new ArrayList<>();
+
+        siddhiAppRuntime.addCallback("query0", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    inEventCount = inEventCount + inEvents.length;
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                    for (Event event : removeEvents) {
+                        expiredItems.add(event.getData(1));
+                    }
+                }
+            }
+
+        });
+
+        InputHandler purchaseEventStreamHandler = siddhiAppRuntime.getInputHandler("purchaseEventStream");
+        siddhiAppRuntime.start();
+
+        purchaseEventStreamHandler.send(1000, new Object[]{"user0", 1, 34.4f, 5});
+        purchaseEventStreamHandler.send(2000, new Object[]{"user1", 2, 34.4f, 5});
+        purchaseEventStreamHandler.send(3000, new Object[]{"user0", 3, 34.4f, 5});
+        purchaseEventStreamHandler.send(4000, new Object[]{"user2", 4, 34.4f, 5});
+        // expires the session of user1 and starts a new one
+        purchaseEventStreamHandler.send(62000, new Object[]{"user1", 5, 34.4f, 5});
+        // expires the sessions of user0 and user2
+        purchaseEventStreamHandler.send(70000, new Object[]{"user1", 6, 34.4f, 5});
+        // expires the second session of user1
+        purchaseEventStreamHandler.send(200000, new Object[]{"user3", 7, 34.4f, 5});
+
+        AssertJUnit.assertEquals(7, inEventCount);
+        AssertJUnit.assertEquals(6, removeEventCount);
+        AssertJUnit.assertEquals(Arrays.asList(2, 1, 3, 4, 5, 6), expiredItems);
+        siddhiAppRuntime.shutdown();
+    }
+
 }
@@ -20,12 +20,22 @@ package io.siddhi.core.window;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.util.EventPrinter;
 import io.siddhi.query.api.exception.DuplicateDefinitionException;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.compiler.exception.SiddhiParserException;
 import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.testng.AssertJUnit.assertTrue;
 
 public class WindowDefinitionTestCase {
@@ -174,4 +184,113 @@ public class WindowDefinitionTestCase {
         SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(query);
         siddhiAppRuntime.start();
     }
+
+    @Test
+    public void testEventWindow10() throws InterruptedException {
+        log.info("WindowDefinitionTestCase Test10");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String query = "" +
+                "define stream StockStream (symbol string, price float, volume int); " +
+                "define stream CheckStockStream (symbol string, volume int); " +
+                "@index('volume') " +
+                "define window StockWindow (symbol string, price float, volume int) length(3); " +
+                "from StockStream " +
+                "insert into StockWindow; " +
+                "@info(name = 'query1') " +
+                "from CheckStockStream as c join StockWindow as s " +
+                "on s.symbol == c.symbol and s.volume == c.volume " +
+                "select s.symbol, s.price " +
+                "insert into OutputStream; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(query);
+        try {
+            List<Object> prices = new ArrayList<>();
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            prices.add(event.getData(1));
+                        }
+                    }
+                }
+            });
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100});
+            stockStream.send(new Object[]{"IBM", 75.6f, 100});
+            stockStream.send(new Object[]{"WSO2", 57.6f, 100});
+            checkStockStream.send(new Object[]{"WSO2", 100});
+            stockStream.send(new Object[]{"WSO2", 58.6f, 200});
+            checkStockStream.send(new Object[]{"WSO2", 100});
+            checkStockStream.send(new Object[]{"IBM", 200});
+            AssertJUnit.assertEquals(Arrays.asList(55.6f, 57.6f, 57.6f), prices);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppValidationException.class)
+    public void testEventWindow11() throws InterruptedException {
+        log.info("WindowDefinitionTestCase Test11");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "@index('volume') define window CheckStockWindow(symbol string) length(1); ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testEventWindow12() throws InterruptedException {
+        log.info("WindowDefinitionTestCase Test12");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String query = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream CheckStockStream (symbol string, volume int); " +
+                "@index('volume') " +
+                "define window StockWindow (symbol string, price float, volume long) length(3); " +
+                "from StockStream " +
+                "insert into StockWindow; " +
+                "@info(name = 'query1') " +
+                "from CheckStockStream as c join StockWindow as s " +
+                "on s.volume == c.volume " +
+                "select s.symbol, s.price " +
+                "insert into OutputStream; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(query);
+        try {
+            List<Object> prices = new ArrayList<>();
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            prices.add(event.getData(1));
+                        }
+                    }
+                }
+            });
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+            stockStream.send(new Object[]{"IBM", 75.6f, 200L});
+            stockStream.send(new Object[]{"WSO2", 57.6f, 100L});
+            // int volumes are equal to the long volumes of the window by value
+            checkStockStream.send(new Object[]{"WSO2", 100});
+            checkStockStream.send(new Object[]{"IBM", 200});
+            AssertJUnit.assertEquals(Arrays.asList(55.6f, 57.6f, 75.6f), prices);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the throughput and the hand-off latency of the @Async wait strategies and producer types. Events are sent
+ * by a single thread, hence the single producer type can be used.
+ */
+public class AsyncWaitStrategyPerformance {
+
+    private static final int EVENT_COUNT = 5000000;
+    private static final String[] WAIT_STRATEGIES = {"blocking", "sleeping", "yielding", "busy.spin", "hybrid"};
+    private static final String[] PRODUCER_TYPES = {"multi", "single"};
+
+    public static void main(String[] args) throws InterruptedException {
+        for (String producerType : PRODUCER_TYPES) {
+            for (String waitStrategy : WAIT_STRATEGIES) {
+                run(waitStrategy, producerType);    // warm up
+                run(waitStrategy, producerType);
+            }
+        }
+    }
+
+    private static void run(String waitStrategy, String producerType) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='1024', wait.strategy='" + waitStrategy + "', " +
+                "producer.type='" + producerType + "') " +
+                "define stream cseEventStream (symbol string, price float, volume long, timestamp long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[700 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final CountDownLatch latch = new CountDownLatch(EVENT_COUNT);
+        final AtomicLong latencySum = new AtomicLong();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                long now = System.nanoTime();
+                for (Event event : events) {
+                    latencySum.addAndGet(now - (Long) event.getData(3));
+                    latch.countDown();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, 100L, System.nanoTime()});
+        }
+        latch.await(5, TimeUnit.MINUTES);
+        long timeSpent = System.nanoTime() - startTime;
+        System.out.println("wait.strategy: " + waitStrategy + ", producer.type: " + producerType +
+                ", throughput: " + (EVENT_COUNT * 1000000000L / timeSpent) + " events/sec" +
+                ", avg latency: " + (latencySum.get() / EVENT_COUNT) + " ns");
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.ColumnarEventBatch;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.query.api.definition.StreamDefinition;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares sending primitive market data as {@link Event} arrays against sending it as {@link ColumnarEventBatch}es,
+ * including the cost of building the batches from the primitive arrays.
+ */
+public class ColumnarBatchPerformance {
+
+    private static final int BATCH_SIZE = 256;
+    private static final int BATCH_COUNT = 40000;
+    private static final String[] SYMBOLS = {"WSO2", "IBM", "ORACLE", "MSFT"};
+
+    public static void main(String[] args) throws InterruptedException {
+        for (String asyncAnnotation : new String[]{"", "@async(buffer.size='4096') "}) {
+            for (int i = 0; i < 2; i++) {   // first round is the warm up
+                run(asyncAnnotation, false);
+                run(asyncAnnotation, true);
+            }
+        }
+    }
+
+    private static void run(String asyncAnnotation, boolean columnar) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                asyncAnnotation +
+                "define stream cseEventStream (symbol string, price double, volume long, timestamp long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[700 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicLong count = new AtomicLong();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                count.addAndGet(events.length);
+            }
+        });
+
+        StreamDefinition streamDefinition = siddhiAppRuntime.getStreamDefinitionMap().get("cseEventStream");
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+
+        long[] timestamps = new long[BATCH_SIZE];
+        String[] symbols = new String[BATCH_SIZE];
+        double[] prices = new double[BATCH_SIZE];
+        long[] volumes = new long[BATCH_SIZE];
+        long totalEvents = (long) BATCH_SIZE * BATCH_COUNT;
+        long startTime = System.nanoTime();
+        for (int batch = 0; batch < BATCH_COUNT; batch++) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                timestamps[i] = now;
+                symbols[i] = SYMBOLS[i & 3];
+                prices[i] = 55.6 + i;
+                volumes[i] = 100L + i;
+            }
+            if (columnar) {
+                inputHandler.send(new ColumnarEventBatch(streamDefinition, timestamps)
+                        .setColumn("symbol", symbols)
+                        .setColumn("price", prices)
+                        .setColumn("volume", volumes)
+                        .setColumn("timestamp", timestamps));
+            } else {
+                Event[] events = new Event[BATCH_SIZE];
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    events[i] = new Event(timestamps[i], new Object[]{symbols[i], prices[i], volumes[i],
+                            timestamps[i]});
+                }
+                inputHandler.send(events);
+            }
+        }
+        while (count.get() < totalEvents) {
+            Thread.sleep(1);
+        }
+        long timeSpent = System.nanoTime() - startTime;
+        System.out.println((asyncAnnotation.isEmpty() ? "sync" : "async") + ", " +
+                (columnar ? "send(ColumnarEventBatch)" : "send(Event[])") + ", throughput: " +
+                (totalEvents * 1000000000L / timeSpent) + " events/sec");
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+}
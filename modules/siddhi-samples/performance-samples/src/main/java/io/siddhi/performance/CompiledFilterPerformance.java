@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the throughput of interpreted and compiled filter expressions with 10, 20 and 30 predicates.
+ */
+public class CompiledFilterPerformance {
+
+    private static final int EVENT_COUNT = 10000000;
+    private static final int[] PREDICATE_COUNTS = {10, 20, 30};
+    private static final String[] EXPRESSION_MODES = {"interpreted", "compiled"};
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int predicateCount : PREDICATE_COUNTS) {
+            for (String expressionMode : EXPRESSION_MODES) {
+                run(expressionMode, predicateCount);    // warm up
+                run(expressionMode, predicateCount);
+            }
+        }
+    }
+
+    private static String buildFilter(int predicateCount) {
+        StringBuilder filter = new StringBuilder();
+        for (int i = 0; i < predicateCount; i++) {
+            if (i > 0) {
+                filter.append(i % 3 == 0 ? " or " : " and ");
+            }
+            switch (i % 4) {
+                case 0:
+                    filter.append("price * ").append(i + 1).append(" > volume - ").append(i);
+                    break;
+                case 1:
+                    filter.append("(quantity + ").append(i).append(") % 7 != 3");
+                    break;
+                case 2:
+                    filter.append("not (volume / (quantity + 1) < ").append(i).append(")");
+                    break;
+                default:
+                    filter.append("price - quantity <= ").append(i * 10.0);
+                    break;
+            }
+        }
+        return filter.toString();
+    }
+
+    private static void run(String expressionMode, int predicateCount) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:execution(expressions='" + expressionMode + "') " +
+                "define stream cseEventStream (symbol string, price float, volume long, quantity int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[" + buildFilter(predicateCount) + "] " +
+                "select symbol, price * quantity - volume as total " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicLong matched = new AtomicLong();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                matched.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            inputHandler.send(new Object[]{"WSO2", (float) (i % 1000), (long) (i % 5000), i % 100});
+        }
+        long timeSpent = System.nanoTime() - startTime;
+        System.out.println("expressions: " + expressionMode + ", predicates: " + predicateCount +
+                ", throughput: " + (EVENT_COUNT * 1000000000L / timeSpent) + " events/sec" +
+                ", matched: " + matched.get());
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of a group by query receiving events from four threads, with its groups in 1, 2, 4 and 8
+ * shards.
+ */
+public class GroupByShardsPerformance {
+
+    private static final int THREADS = 4;
+    private static final int EVENTS_PER_THREAD = 1000000;
+    private static final int GROUPS = 1000;
+    private static final int[] SHARDS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        for (int shards : SHARDS) {
+            run(shards);    // warm up
+            run(shards);
+        }
+    }
+
+    private static void run(int shards) throws Exception {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:execution(group.by.shards='" + shards + "') " +
+                "@app:eventPool(thread.local.cache='true') " +
+                "define stream cseEventStream (symbol int, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "   group by symbol " +
+                "insert into outputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicLong count = new AtomicLong();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                count.addAndGet(inEvents.length);
+            }
+        });
+
+        final InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executorService.submit(() -> {
+                for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                    inputHandler.send(new Object[]{j % GROUPS, 700f, 1L});
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long timeSpent = System.nanoTime() - startTime;
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.SECONDS);
+        System.out.println("shards: " + shards +
+                ", throughput: " + ((long) THREADS * EVENTS_PER_THREAD * 1000000000L / timeSpent) + " events/sec" +
+                ", outputs: " + count.get());
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+}
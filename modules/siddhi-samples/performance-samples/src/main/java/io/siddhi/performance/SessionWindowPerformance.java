@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of a session window over 1000, 10000 and 100000 concurrent sessions.
+ */
+public class SessionWindowPerformance {
+
+    private static final int EVENTS_PER_SESSION = 2;
+    private static final int[] SESSION_COUNTS = {1000, 10000, 100000};
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int sessionCount : SESSION_COUNTS) {
+            run(sessionCount);    // warm up
+            run(sessionCount);
+        }
+    }
+
+    private static void run(int sessionCount) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@app:playback " +
+                "define stream purchaseEventStream (user string, item_number int, price float, quantity int); " +
+                "" +
+                "@info(name = 'query0') " +
+                "from purchaseEventStream#window.session(1 min, user) " +
+                "select * " +
+                "insert all events into outputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicLong expired = new AtomicLong();
+        siddhiAppRuntime.addCallback("query0", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                if (removeEvents != null) {
+                    expired.addAndGet(removeEvents.length);
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("purchaseEventStream");
+        siddhiAppRuntime.start();
+        int eventCount = EVENTS_PER_SESSION * sessionCount;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < eventCount; i++) {
+            inputHandler.send(i, new Object[]{"user" + (i % sessionCount), 101, 34.4f, 5});
+        }
+        // expires all the sessions
+        inputHandler.send(eventCount + 120000, new Object[]{"user", 101, 34.4f, 5});
+        long timeSpent = System.nanoTime() - startTime;
+        System.out.println("sessions: " + sessionCount +
+                ", throughput: " + (eventCount * 1000000000L / timeSpent) + " events/sec" +
+                ", expired: " + expired.get());
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+}
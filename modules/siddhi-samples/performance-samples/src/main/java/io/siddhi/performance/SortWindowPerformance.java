@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of sort windows of length 10, 100, 1000 and 10000.
+ */
+public class SortWindowPerformance {
+
+    private static final int EVENT_COUNT = 1000000;
+    private static final int[] WINDOW_LENGTHS = {10, 100, 1000, 10000};
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int windowLength : WINDOW_LENGTHS) {
+            run(windowLength);    // warm up
+            run(windowLength);
+        }
+    }
+
+    private static void run(int windowLength) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.sort(" + windowLength + ", volume, 'asc') " +
+                "select volume " +
+                "insert all events into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        final AtomicLong removed = new AtomicLong();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                if (removeEvents != null) {
+                    removed.addAndGet(removeEvents.length);
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        Random random = new Random(windowLength);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, (long) random.nextInt(EVENT_COUNT)});
+        }
+        long timeSpent = System.nanoTime() - startTime;
+        System.out.println("window length: " + windowLength +
+                ", throughput: " + (EVENT_COUNT * 1000000000L / timeSpent) + " events/sec" +
+                ", removed: " + removed.get());
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+}